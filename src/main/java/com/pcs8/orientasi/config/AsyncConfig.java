@@ -2,76 +2,98 @@ package com.pcs8.orientasi.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-import org.springframework.web.context.request.RequestAttributes;
-import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Konfigurasi untuk async task executor.
  * 
- * <p>Digunakan terutama untuk audit logging agar tidak memblok
- * main transaction.</p>
+ * <p>Digunakan untuk transfer file Minio, async request MVC, dan export job. Audit logging
+ * ditulis oleh {@code AuditLogWriter} dengan thread sendiri.</p>
  */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
     /**
-     * Thread pool executor khusus untuk audit tasks.
+     * Thread pool executor untuk operasi file di Minio (copy object saat
+     * promosi file temp ke dokumen).
      * 
      * <p>Konfigurasi:</p>
      * <ul>
-     *   <li>Core pool size: 2 threads</li>
-     *   <li>Max pool size: 5 threads</li>
-     *   <li>Queue capacity: 100 tasks</li>
-     *   <li>Thread name prefix: "Audit-"</li>
-     *   <li>TaskDecorator untuk copy request context ke async thread</li>
+     *   <li>Core pool size: 4 threads</li>
+     *   <li>Max pool size: 8 threads</li>
+     *   <li>Queue capacity: 200 tasks</li>
+     *   <li>Thread name prefix: "FileTransfer-"</li>
+     *   <li>CallerRunsPolicy saat penuh, sehingga tidak ada copy yang ditolak</li>
      * </ul>
      */
-    @Bean(name = "auditTaskExecutor")
-    public Executor auditTaskExecutor() {
+    @Bean(name = "fileTransferExecutor")
+    public Executor fileTransferExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("Audit-");
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("FileTransfer-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(30);
-        
-        // TaskDecorator untuk meng-copy request context ke async thread
-        executor.setTaskDecorator(new ContextCopyingTaskDecorator());
-        
         executor.initialize();
         return executor;
     }
 
     /**
-     * TaskDecorator yang meng-copy RequestContextHolder ke async thread.
-     * Ini memungkinkan audit service mendapatkan user info dari JWT
-     * meskipun berjalan di thread terpisah.
+     * Thread pool executor untuk async request Spring MVC, terutama body
+     * {@code StreamingResponseBody} (download/preview file dan export Excel).
+     * 
+     * <p>Konfigurasi:</p>
+     * <ul>
+     *   <li>Core pool size: 16 threads</li>
+     *   <li>Max pool size: 64 threads</li>
+     *   <li>Tanpa queue, sehingga download baru langsung mendapat thread sampai batas max</li>
+     *   <li>Thread name prefix: "MvcStream-"</li>
+     *   <li>CallerRunsPolicy saat penuh: body ditulis di thread container, tidak ada download yang ditolak</li>
+     * </ul>
+     * 
+     * <p>Thread di sini kebanyakan menunggu client yang lambat, bukan CPU, jadi pool dibuat lebih
+     * besar dari pool export. Export job berat tetap di {@link #exportJobExecutor()}.</p>
      */
-    static class ContextCopyingTaskDecorator implements TaskDecorator {
-        @Override
-        public Runnable decorate(Runnable runnable) {
-            // Capture request attributes dari main thread
-            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
-            
-            return () -> {
-                try {
-                    // Set request attributes ke async thread
-                    if (requestAttributes != null) {
-                        RequestContextHolder.setRequestAttributes(requestAttributes, true);
-                    }
-                    runnable.run();
-                } finally {
-                    // Clean up setelah task selesai
-                    RequestContextHolder.resetRequestAttributes();
-                }
-            };
-        }
+    @Bean(name = "mvcStreamingExecutor")
+    public ThreadPoolTaskExecutor mvcStreamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(16);
+        executor.setMaxPoolSize(64);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("MvcStream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Thread pool executor untuk export job di background (hasil disimpan di Minio).
+     * 
+     * <p>Konfigurasi:</p>
+     * <ul>
+     *   <li>Core/max pool size: 2 threads, sehingga export besar tidak berebut koneksi DB</li>
+     *   <li>Queue capacity: 20 jobs; submit ditolak jika antrian penuh</li>
+     *   <li>Thread name prefix: "ExportJob-"</li>
+     * </ul>
+     */
+    @Bean(name = "exportJobExecutor")
+    public Executor exportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("ExportJob-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
     }
 }
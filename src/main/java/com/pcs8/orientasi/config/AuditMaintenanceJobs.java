@@ -0,0 +1,44 @@
+package com.pcs8.orientasi.config;
+
+import com.pcs8.orientasi.service.AuditArchiveService;
+import com.pcs8.orientasi.service.AuditService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pemeliharaan audit log: isi rollup harian saat startup jika tabelnya masih kosong
+ * (deployment pertama setelah tabel rollup ditambahkan), dan arsip bulanan setiap malam
+ * ({@code audit.archive-cron}, default 01:30).
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditMaintenanceJobs implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditMaintenanceJobs.class);
+
+    private final AuditService auditService;
+    private final AuditArchiveService auditArchiveService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            auditService.rebuildAuditRollupsIfEmpty();
+        } catch (Exception e) {
+            log.warn("Could not initialize audit log rollups: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${audit.archive-cron:0 30 1 * * *}")
+    public void archiveExpiredAuditLogs() {
+        try {
+            auditArchiveService.archiveExpiredMonths();
+        } catch (Exception e) {
+            log.warn("Audit log archive failed: {}", e.getMessage());
+        }
+    }
+}
@@ -12,9 +12,6 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Filter untuk validasi headers pada setiap incoming request.
@@ -24,31 +21,23 @@ import java.util.Set;
  * 2. Content-Type harus application/json untuk POST/PUT/PATCH
  * 3. Authorization header (Bearer token) diperlukan untuk semua endpoint kecuali public endpoints
  * 
- * Public endpoints yang tidak memerlukan Bearer token:
- * - /api/auth/login
- * - /api/crypto/encrypt
- * - /api/crypto/decrypt
+ * Public endpoints (handler dengan @PublicAccess) dibaca dari {@link HandlerSecurityRegistry},
+ * sumber yang sama dengan {@link AuthorizationInterceptor}.
  */
 @Component
 public class AuthHeaderFilter implements Filter {
 
     private static final Logger log = LoggerFactory.getLogger(AuthHeaderFilter.class);
 
-    // Endpoints yang tidak butuh Bearer token
-    private static final Set<String> PUBLIC_ENDPOINTS = new HashSet<>(Arrays.asList(
-            "/auth/login",
-            "/crypto/encrypt",
-            "/crypto/decrypt",
-            "/api/auth/login",
-            "/api/crypto/encrypt",
-            "/api/crypto/decrypt",
-            "/minio/upload",
-            "/api/minio/upload"
-    ));
+    private final HandlerSecurityRegistry handlerSecurityRegistry;
 
     @Value("${app.api-key}")
     private String configuredApiKey;
 
+    public AuthHeaderFilter(HandlerSecurityRegistry handlerSecurityRegistry) {
+        this.handlerSecurityRegistry = handlerSecurityRegistry;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -69,7 +58,7 @@ public class AuthHeaderFilter implements Filter {
             }
 
             // Check if endpoint requires Bearer token
-            if (!isPublicEndpoint(requestPath)) {
+            if (!handlerSecurityRegistry.isPublicRequest(httpRequest)) {
                 String authHeader = httpRequest.getHeader("Authorization");
                 if (authHeader == null || !authHeader.startsWith("Bearer ")) {
                     log.warn("Missing or invalid Authorization header for: {}", requestPath);
@@ -119,16 +108,6 @@ public class AuthHeaderFilter implements Filter {
         return true;
     }
 
-    /**
-     * Check apakah endpoint adalah public endpoint (tidak memerlukan Bearer token)
-     */
-    private boolean isPublicEndpoint(String path) {
-        if (path == null) {
-            return false;
-        }
-        return PUBLIC_ENDPOINTS.contains(path);
-    }
-
     /**
      * Send error response dalam format BaseResponse
      */
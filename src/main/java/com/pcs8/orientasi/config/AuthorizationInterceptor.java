@@ -1,8 +1,6 @@
 package com.pcs8.orientasi.config;
 
-import com.pcs8.orientasi.config.annotation.PublicAccess;
-import com.pcs8.orientasi.config.annotation.RequiresRole;
-import io.jsonwebtoken.Claims;
+import com.pcs8.orientasi.config.JwtClaimsCache.AuthenticatedToken;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,11 +11,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.util.*;
+import java.util.Arrays;
 
 /**
  * Interceptor to enforce role-based authorization using custom annotations.
  * This interceptor checks @RequiresRole annotations on controller methods.
+ * Annotations are resolved once at startup by {@link HandlerSecurityRegistry} and JWT claims are
+ * served from {@link JwtClaimsCache}, so a repeated token costs a hash lookup instead of a signature check.
+ * Endpoints marked with @PublicAccess skip authentication entirely.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,7 +26,8 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(AuthorizationInterceptor.class);
 
-    private final JwtConfig jwtConfig;
+    private final JwtClaimsCache jwtClaimsCache;
+    private final HandlerSecurityRegistry handlerSecurityRegistry;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -34,10 +36,10 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
         }
 
         HandlerMethod handlerMethod = (HandlerMethod) handler;
+        HandlerSecurityRule rule = handlerSecurityRegistry.ruleFor(handlerMethod);
 
         // Check for @PublicAccess annotation (takes precedence)
-        if (handlerMethod.hasMethodAnnotation(PublicAccess.class) ||
-                handlerMethod.getBeanType().isAnnotationPresent(PublicAccess.class)) {
+        if (rule.publicAccess()) {
             log.debug("Public access allowed for: {}", request.getRequestURI());
             return true;
         }
@@ -50,56 +52,40 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
             return false;
         }
 
-        // Parse token to get user claims
-        Claims claims;
+        // Claims token yang sudah diverifikasi diambil dari cache; parse hanya untuk token baru
+        AuthenticatedToken user;
         try {
-            claims = jwtConfig.parseToken(token);
+            user = jwtClaimsCache.resolve(token);
         } catch (JwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
             sendUnauthorizedResponse(response, "Invalid or expired token");
             return false;
         }
 
-        // Extract roles from JWT
-        Set<String> userRoles = extractSetFromClaims(claims, "roles");
-        Boolean hasRole = claims.get("has_role", Boolean.class);
-
         // Store user info in request attributes for later use
-        String userUuid = claims.get("uuid", String.class);
-        String username = claims.getSubject();
-        String department = claims.get("department", String.class);
-        
-        request.setAttribute("user_uuid", userUuid);
-        request.setAttribute("username", username);  // Subject is the username
-        request.setAttribute("full_name", claims.get("full_name", String.class));
-        request.setAttribute("department", department);
-        request.setAttribute("user_roles", userRoles);
-        request.setAttribute("has_role", hasRole);
+        request.setAttribute("user_uuid", user.userUuid());
+        request.setAttribute("username", user.username());  // Subject is the username
+        request.setAttribute("full_name", user.fullName());
+        request.setAttribute("department", user.department());
+        request.setAttribute("user_roles", user.roles());
+        request.setAttribute("has_role", user.hasRole());
 
         log.info("User authenticated: username={}, uuid={}, roles={}", 
-                username, 
-                userUuid, 
-                userRoles);
+                user.username(), 
+                user.userUuid(), 
+                user.roles());
 
         // Check @RequiresRole annotation
-        RequiresRole requiresRole = handlerMethod.getMethodAnnotation(RequiresRole.class);
-        if (requiresRole == null) {
-            requiresRole = handlerMethod.getBeanType().getAnnotation(RequiresRole.class);
-        }
-
-        if (requiresRole != null) {
-            if (!hasRole || userRoles.isEmpty()) {
+        if (rule.requiredRoles() != null) {
+            if (!user.hasRole() || user.rolesLower().isEmpty()) {
                 log.warn("User has no role assigned. Access denied to: {}", request.getRequestURI());
                 sendForbiddenResponse(response, "You have not been assigned a role. Please contact an administrator.");
                 return false;
             }
 
-            String[] requiredRoles = requiresRole.value();
-            boolean requireAll = requiresRole.requireAll();
-
-            if (!checkRoles(userRoles, requiredRoles, requireAll)) {
+            if (!rule.allows(user.rolesLower())) {
                 log.warn("User does not have required roles. Access denied to: {}", request.getRequestURI());
-                sendForbiddenResponse(response, "Insufficient permissions. Required role(s): " + Arrays.toString(requiredRoles));
+                sendForbiddenResponse(response, "Insufficient permissions. Required role(s): " + Arrays.toString(rule.requiredRoles()));
                 return false;
             }
         }
@@ -116,58 +102,6 @@ public class AuthorizationInterceptor implements HandlerInterceptor {
         return null;
     }
 
-    private Set<String> extractSetFromClaims(Claims claims, String key) {
-        Object value = claims.get(key);
-        if (value == null) {
-            return new HashSet<>();
-        }
-        if (value instanceof List<?> list) {
-            Set<String> result = new HashSet<>();
-            for (Object item : list) {
-                if (item instanceof String str) {
-                    result.add(str);
-                }
-            }
-            return result;
-        }
-        if (value instanceof Set<?> set) {
-            Set<String> result = new HashSet<>();
-            for (Object item : set) {
-                if (item instanceof String str) {
-                    result.add(str);
-                }
-            }
-            return result;
-        }
-        return new HashSet<>();
-    }
-
-    private boolean checkRoles(Set<String> userRoles, String[] requiredRoles, boolean requireAll) {
-        // Convert userRoles to lowercase for case-insensitive comparison
-        Set<String> userRolesLower = new HashSet<>();
-        for (String role : userRoles) {
-            userRolesLower.add(role.toLowerCase());
-        }
-        
-        if (requireAll) {
-            // User must have ALL required roles
-            for (String requiredRole : requiredRoles) {
-                if (!userRolesLower.contains(requiredRole.toLowerCase())) {
-                    return false;
-                }
-            }
-            return true;
-        } else {
-            // User must have at least ONE of the required roles
-            for (String requiredRole : requiredRoles) {
-                if (userRolesLower.contains(requiredRole.toLowerCase())) {
-                    return true;
-                }
-            }
-            return false;
-        }
-    }
-
     private void sendUnauthorizedResponse(HttpServletResponse response, String message) throws Exception {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json");
@@ -0,0 +1,188 @@
+package com.pcs8.orientasi.config;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache in-process dengan batas jumlah entry (LRU) dan expire-after-write.
+ *
+ * <p>Evict/clear langsung dijalankan dan diulang setelah transaksi commit, sehingga
+ * pembaca lain yang sempat mengisi ulang cache dengan data lama selama transaksi
+ * penulis masih berjalan tidak meninggalkan entry basi.</p>
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final int maximumSize;
+    private final long expireAfterWriteNanos;
+    private final Map<Object, Entry> store;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maximumSize, Duration expireAfterWrite) {
+        super(true);
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.store = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                boolean evict = size() > BoundedCache.this.maximumSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Entry entry;
+        synchronized (store) {
+            entry = store.get(key);
+            if (entry != null && entry.isExpired(System.nanoTime())) {
+                store.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Entry entry = new Entry(toStoreValue(value), System.nanoTime() + expireAfterWriteNanos);
+        synchronized (store) {
+            store.put(key, entry);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Entry entry = new Entry(toStoreValue(value), System.nanoTime() + expireAfterWriteNanos);
+        Entry existing;
+        synchronized (store) {
+            existing = store.get(key);
+            if (existing == null || existing.isExpired(System.nanoTime())) {
+                store.put(key, entry);
+                return null;
+            }
+        }
+        return new SimpleValueWrapper(fromStoreValue(existing.value()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        removeKey(key);
+        afterCommit(() -> removeKey(key));
+    }
+
+    @Override
+    public void clear() {
+        removeAll();
+        afterCommit(this::removeAll);
+    }
+
+    public int size() {
+        synchronized (store) {
+            return store.size();
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Rasio hit terhadap total lookup sejak aplikasi start; 0 jika belum ada lookup
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void removeKey(Object key) {
+        synchronized (store) {
+            store.remove(key);
+        }
+    }
+
+    private void removeAll() {
+        synchronized (store) {
+            store.clear();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
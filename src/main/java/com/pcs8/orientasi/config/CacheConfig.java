@@ -0,0 +1,63 @@
+package com.pcs8.orientasi.config;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Konfigurasi cache data master (SKPA, Bidang, Sub Kategori, Variable, Menu),
+ * hasil perhitungan Formasi Efektif per tahun, statistik historis aplikasi tahun yang sudah lewat,
+ * dan atribut user LDAP hasil pencarian saat login.
+ *
+ * <p>Semua cache dibatasi jumlah entry-nya dan tetap punya TTL sebagai pengaman
+ * jika ada perubahan data yang tidak lewat service (misalnya update langsung ke database).
+ * Invalidasi normal dilakukan lewat {@code @CacheEvict} di service yang mengubah data.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MASTER_SKPA = "masterSkpa";
+    public static final String MASTER_BIDANG = "masterBidang";
+    public static final String MASTER_SUB_KATEGORI = "masterSubKategori";
+    public static final String MASTER_VARIABLE = "masterVariable";
+    public static final String MASTER_MENU = "masterMenu";
+    public static final String FORMASI_EFEKTIF = "formasiEfektif";
+    public static final String HISTORIS_STATISTIK = "historisStatistik";
+    public static final String LDAP_USER_ATTRIBUTES = "ldapUserAttributes";
+
+    /** SKPA di-cache per kode departemen user, jadi butuh ruang lebih besar */
+    private static final int SKPA_MAXIMUM_SIZE = 500;
+    private static final int DEFAULT_MAXIMUM_SIZE = 100;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(30);
+    /** Hasil Formasi Efektif bergantung pada PKSI/FS2 yang berubah tanpa evict, jadi TTL-nya pendek */
+    private static final int FORMASI_EFEKTIF_MAXIMUM_SIZE = 20;
+    private static final Duration FORMASI_EFEKTIF_EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+    /** Snapshot tahun lalu praktis tidak berubah dan setiap perubahan lewat service meng-evict tahunnya */
+    private static final Duration HISTORIS_STATISTIK_EXPIRE_AFTER_WRITE = Duration.ofHours(24);
+    /** Atribut LDAP hanya di-cache sebentar supaya perubahan di directory cepat terbawa ke login berikutnya */
+    private static final int LDAP_USER_ATTRIBUTES_MAXIMUM_SIZE = 2000;
+    private static final Duration LDAP_USER_ATTRIBUTES_EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+
+    @Bean
+    public CacheManager cacheManager() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedCache(MASTER_SKPA, SKPA_MAXIMUM_SIZE, EXPIRE_AFTER_WRITE),
+                new BoundedCache(MASTER_BIDANG, DEFAULT_MAXIMUM_SIZE, EXPIRE_AFTER_WRITE),
+                new BoundedCache(MASTER_SUB_KATEGORI, DEFAULT_MAXIMUM_SIZE, EXPIRE_AFTER_WRITE),
+                new BoundedCache(MASTER_VARIABLE, DEFAULT_MAXIMUM_SIZE, EXPIRE_AFTER_WRITE),
+                new BoundedCache(MASTER_MENU, DEFAULT_MAXIMUM_SIZE, EXPIRE_AFTER_WRITE),
+                new BoundedCache(FORMASI_EFEKTIF, FORMASI_EFEKTIF_MAXIMUM_SIZE, FORMASI_EFEKTIF_EXPIRE_AFTER_WRITE),
+                new BoundedCache(HISTORIS_STATISTIK, DEFAULT_MAXIMUM_SIZE, HISTORIS_STATISTIK_EXPIRE_AFTER_WRITE),
+                new BoundedCache(LDAP_USER_ATTRIBUTES, LDAP_USER_ATTRIBUTES_MAXIMUM_SIZE,
+                        LDAP_USER_ATTRIBUTES_EXPIRE_AFTER_WRITE)
+        ));
+        return cacheManager;
+    }
+}
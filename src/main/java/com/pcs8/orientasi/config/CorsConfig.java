@@ -1,17 +1,28 @@
 // filepath: /Users/marvelkrent/Developer/projects/orientasi/workspace/be-orientasi/src/main/java/com/pcs8/orientasi/config/CorsConfig.java
 package com.pcs8.orientasi.config;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
-@RequiredArgsConstructor
 public class CorsConfig implements WebMvcConfigurer {
 
+    /** Batas waktu async request (download, export Excel); lebih panjang dari default container (30 detik) */
+    private static final long ASYNC_REQUEST_TIMEOUT_MS = 10 * 60 * 1000L;
+
     private final AuthorizationInterceptor authorizationInterceptor;
+    private final ThreadPoolTaskExecutor mvcStreamingExecutor;
+
+    public CorsConfig(AuthorizationInterceptor authorizationInterceptor,
+                      @Qualifier("mvcStreamingExecutor") ThreadPoolTaskExecutor mvcStreamingExecutor) {
+        this.authorizationInterceptor = authorizationInterceptor;
+        this.mvcStreamingExecutor = mvcStreamingExecutor;
+    }
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -19,21 +30,20 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization", "Content-Type", "APIKey")
+                .exposedHeaders("Authorization", "Content-Type", "APIKey", "Content-Disposition", "Content-Range", "Accept-Ranges", "ETag")
                 .maxAge(3600);
     }
 
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcStreamingExecutor);
+        configurer.setDefaultTimeout(ASYNC_REQUEST_TIMEOUT_MS);
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // Endpoint public ditandai @PublicAccess dan dilewati oleh interceptor sendiri
         registry.addInterceptor(authorizationInterceptor)
-                .addPathPatterns("/**")  // Intercept all paths
-                .excludePathPatterns(
-                        "/auth/login",           // Auth endpoints
-                        "/api/auth/login",
-                        "/crypto/encrypt",       // Crypto endpoints
-                        "/crypto/decrypt",
-                        "/api/crypto/encrypt",
-                        "/api/crypto/decrypt"
-                );
+                .addPathPatterns("/**");  // Intercept all paths
     }
 }
\ No newline at end of file
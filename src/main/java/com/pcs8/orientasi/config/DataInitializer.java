@@ -6,10 +6,12 @@ import com.pcs8.orientasi.domain.entity.MstRolePermission;
 import com.pcs8.orientasi.repository.MstMenuRepository;
 import com.pcs8.orientasi.repository.MstRolePermissionRepository;
 import com.pcs8.orientasi.repository.MstRoleRepository;
+import com.pcs8.orientasi.service.RolePermissionService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,6 +39,7 @@ public class DataInitializer implements CommandLineRunner {
     private final MstRoleRepository roleRepository;
     private final MstMenuRepository menuRepository;
     private final MstRolePermissionRepository rolePermissionRepository;
+    private final RolePermissionService rolePermissionService;
 
     // List of obsolete menu codes to deactivate
     private static final Set<String> OBSOLETE_MENU_CODES = new HashSet<>(Arrays.asList(
@@ -47,6 +50,7 @@ public class DataInitializer implements CommandLineRunner {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_MENU, allEntries = true)
     public void run(String... args) {
         createRolesIfNotExist();
         deactivateObsoleteMenus();
@@ -55,6 +59,7 @@ public class DataInitializer implements CommandLineRunner {
         deactivateObsoleteMenus();
         createOrUpdateMenus();
         assignAdminPermissionsToAllMenus();
+        rolePermissionService.refreshPermissionMatrix();
     }
 
     private void createRolesIfNotExist() {
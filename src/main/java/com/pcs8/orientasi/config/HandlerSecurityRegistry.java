@@ -0,0 +1,127 @@
+package com.pcs8.orientasi.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry aturan akses semua handler method, disusun sekali saat startup dari request mapping MVC.
+ *
+ * <p>Satu-satunya sumber kebenaran endpoint public: {@link AuthHeaderFilter} memakai
+ * {@link #isPublicRequest(HttpServletRequest)} untuk melewatkan cek Bearer token, dan
+ * {@link AuthorizationInterceptor} memakai {@link #ruleFor(HandlerMethod)} untuk cek role.
+ * Endpoint public ditandai dengan {@code @PublicAccess} di controller.</p>
+ */
+@Component
+public class HandlerSecurityRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(HandlerSecurityRegistry.class);
+
+    private final ApplicationContext applicationContext;
+
+    private volatile Map<Method, HandlerSecurityRule> rules = Map.of();
+    private volatile List<PublicRoute> publicRoutes = List.of();
+
+    public HandlerSecurityRegistry(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Dijalankan setelah semua singleton (termasuk handler mapping) siap dan sebelum web server
+     * menerima request
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Method, HandlerSecurityRule> builtRules = new HashMap<>();
+        List<PublicRoute> builtRoutes = new ArrayList<>();
+
+        for (RequestMappingHandlerMapping mapping
+                : applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                HandlerSecurityRule rule = HandlerSecurityRule.of(entry.getValue());
+                builtRules.put(entry.getValue().getMethod(), rule);
+                if (rule.publicAccess()) {
+                    builtRoutes.add(PublicRoute.of(entry.getKey()));
+                }
+            }
+        }
+
+        rules = Map.copyOf(builtRules);
+        publicRoutes = List.copyOf(builtRoutes);
+        log.info("Handler security registry built: {} handler methods, {} public routes",
+                builtRules.size(), builtRoutes.size());
+    }
+
+    /**
+     * Aturan akses handler; handler yang tidak terdaftar saat startup dibaca langsung dari annotation-nya
+     */
+    public HandlerSecurityRule ruleFor(HandlerMethod handlerMethod) {
+        HandlerSecurityRule rule = rules.get(handlerMethod.getMethod());
+        return rule != null ? rule : HandlerSecurityRule.of(handlerMethod);
+    }
+
+    /**
+     * Apakah request diarahkan ke handler yang ditandai {@code @PublicAccess}
+     */
+    public boolean isPublicRequest(HttpServletRequest request) {
+        List<PublicRoute> routes = publicRoutes;
+        if (routes.isEmpty()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        String method = request.getMethod();
+        for (PublicRoute route : routes) {
+            if (route.matches(method, pathContainer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record PublicRoute(Set<String> methods, List<PathPattern> patterns) {
+
+        static PublicRoute of(RequestMappingInfo info) {
+            Set<String> methods = new HashSet<>();
+            for (RequestMethod requestMethod : info.getMethodsCondition().getMethods()) {
+                methods.add(requestMethod.name());
+            }
+            List<PathPattern> patterns = new ArrayList<>();
+            for (String pattern : info.getPatternValues()) {
+                patterns.add(PathPatternParser.defaultInstance.parse(pattern));
+            }
+            return new PublicRoute(Set.copyOf(methods), List.copyOf(patterns));
+        }
+
+        /** Mapping tanpa method tertentu berlaku untuk semua HTTP method */
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pcs8.orientasi.config;
+
+import com.pcs8.orientasi.config.annotation.PublicAccess;
+import com.pcs8.orientasi.config.annotation.RequiresRole;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Aturan akses satu handler method hasil pembacaan {@link PublicAccess} dan {@link RequiresRole}.
+ * RequiresRole di method menggantikan yang ada di class; {@code requiredRoles} null berarti
+ * cukup terautentikasi.
+ */
+public record HandlerSecurityRule(boolean publicAccess, String[] requiredRoles, Set<String> requiredRolesLower,
+                                  boolean requireAll) {
+
+    public static HandlerSecurityRule of(HandlerMethod handlerMethod) {
+        boolean publicAccess = handlerMethod.hasMethodAnnotation(PublicAccess.class) ||
+                handlerMethod.getBeanType().isAnnotationPresent(PublicAccess.class);
+
+        RequiresRole requiresRole = handlerMethod.getMethodAnnotation(RequiresRole.class);
+        if (requiresRole == null) {
+            requiresRole = handlerMethod.getBeanType().getAnnotation(RequiresRole.class);
+        }
+        if (requiresRole == null) {
+            return new HandlerSecurityRule(publicAccess, null, Set.of(), false);
+        }
+
+        Set<String> lower = new HashSet<>();
+        for (String role : requiresRole.value()) {
+            lower.add(role.toLowerCase(Locale.ROOT));
+        }
+        return new HandlerSecurityRule(publicAccess, requiresRole.value(), Set.copyOf(lower), requiresRole.requireAll());
+    }
+
+    /**
+     * @param userRolesLower role user dalam lowercase
+     */
+    public boolean allows(Set<String> userRolesLower) {
+        if (requireAll) {
+            // User must have ALL required roles
+            return userRolesLower.containsAll(requiredRolesLower);
+        }
+        // User must have at least ONE of the required roles
+        for (String requiredRole : requiredRolesLower) {
+            if (userRolesLower.contains(requiredRole)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
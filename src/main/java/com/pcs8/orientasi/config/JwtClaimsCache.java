@@ -0,0 +1,143 @@
+package com.pcs8.orientasi.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache claims JWT yang sudah diverifikasi, dengan key hash SHA-256 dari token.
+ *
+ * <p>Token yang sama dikirim frontend berulang kali selama satu sesi; verifikasi signature
+ * dan decode JSON hanya dilakukan sekali per token. Entry berlaku sampai claim {@code exp}
+ * token, jadi token yang sudah expired tidak pernah dilayani dari cache. Token yang
+ * gagal diverifikasi tidak disimpan.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtClaimsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtClaimsCache.class);
+
+    private static final int MAXIMUM_SIZE = 10_000;
+    /** Batas umur entry untuk token tanpa claim exp */
+    private static final long MAX_TTL_MILLIS = 10 * 60 * 1000L;
+
+    private final JwtConfig jwtConfig;
+
+    private final Map<String, AuthenticatedToken> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Claims token dari cache, atau hasil parse + verifikasi jika belum ada / sudah expired.
+     * @throws JwtException jika token tidak valid atau expired
+     */
+    public AuthenticatedToken resolve(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        AuthenticatedToken cached = entries.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+
+        AuthenticatedToken parsed = toAuthenticatedToken(jwtConfig.parseToken(token), now);
+        if (entries.size() >= MAXIMUM_SIZE) {
+            evictEntries(now);
+        }
+        entries.put(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Buang entry expired; jika cache masih penuh, buang sebagian entry lain
+     * (entry yang terbuang cukup di-parse ulang pada request berikutnya)
+     */
+    private void evictEntries(long now) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        Iterator<String> iterator = entries.keySet().iterator();
+        int toRemove = entries.size() - MAXIMUM_SIZE / 2;
+        while (toRemove > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            toRemove--;
+        }
+        log.debug("JWT claims cache trimmed to {} entries", entries.size());
+    }
+
+    private static AuthenticatedToken toAuthenticatedToken(Claims claims, long now) {
+        Set<String> roles = extractStrings(claims.get("roles"));
+        Set<String> rolesLower = new HashSet<>();
+        for (String role : roles) {
+            rolesLower.add(role.toLowerCase(Locale.ROOT));
+        }
+
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : now + MAX_TTL_MILLIS;
+
+        return new AuthenticatedToken(
+                claims.get("uuid", String.class),
+                claims.getSubject(),
+                claims.get("full_name", String.class),
+                claims.get("department", String.class),
+                Collections.unmodifiableSet(roles),
+                Collections.unmodifiableSet(rolesLower),
+                Boolean.TRUE.equals(claims.get("has_role", Boolean.class)),
+                expiresAt);
+    }
+
+    private static Set<String> extractStrings(Object value) {
+        Set<String> result = new HashSet<>();
+        if (value instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                if (item instanceof String str) {
+                    result.add(str);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 tidak tersedia", e);
+        }
+    }
+
+    /**
+     * Informasi user dari JWT yang sudah diverifikasi. Set role tidak bisa diubah;
+     * {@code rolesLower} sudah lowercase untuk pengecekan {@code @RequiresRole}.
+     */
+    public record AuthenticatedToken(
+            String userUuid,
+            String username,
+            String fullName,
+            String department,
+            Set<String> roles,
+            Set<String> rolesLower,
+            boolean hasRole,
+            long expiresAtMillis
+    ) {
+    }
+}
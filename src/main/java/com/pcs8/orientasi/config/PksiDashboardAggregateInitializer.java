@@ -0,0 +1,31 @@
+package com.pcs8.orientasi.config;
+
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Isi agregat dashboard PKSI saat startup jika tabelnya masih kosong (deployment pertama
+ * setelah tabel agregat ditambahkan). Selanjutnya agregat dipelihara per perubahan PKSI.
+ */
+@Component
+@RequiredArgsConstructor
+public class PksiDashboardAggregateInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PksiDashboardAggregateInitializer.class);
+
+    private final PksiDashboardAggregateService pksiDashboardAggregateService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            pksiDashboardAggregateService.rebuildIfEmpty();
+        } catch (Exception e) {
+            log.warn("Could not initialize PKSI dashboard aggregates: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pcs8.orientasi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Aktifkan {@code @Scheduled} untuk job berkala (arsip audit log).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
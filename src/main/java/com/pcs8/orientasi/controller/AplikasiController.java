@@ -9,18 +9,17 @@ import com.pcs8.orientasi.domain.dto.response.AplikasiResponse;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.service.AplikasiExcelExportService;
 import com.pcs8.orientasi.service.AplikasiService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -133,16 +132,11 @@ public class AplikasiController {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportToExcel() {
-        ByteArrayOutputStream outputStream = excelExportService.exportAplikasiToExcel();
+    public ResponseEntity<StreamingResponseBody> exportToExcel() {
+        StreamingResponseBody body = excelExportService.exportAplikasiToExcel();
         
         String filename = "Daftar_Aplikasi_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(outputStream.toByteArray(), headers, HttpStatus.OK);
+
+        return FileDownloadResponses.streamAttachment(filename, FileDownloadResponses.XLSX_MEDIA_TYPE, body);
     }
 }
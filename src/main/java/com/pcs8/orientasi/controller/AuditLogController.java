@@ -5,11 +5,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pcs8.orientasi.config.annotation.RequiresRole;
 import com.pcs8.orientasi.constant.ConstantVariable;
 import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.dto.response.AuditLogCursorPage;
 import com.pcs8.orientasi.domain.dto.response.AuditLogResponse;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.entity.AuditLog;
 import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.domain.enums.AuditExportFormat;
+import com.pcs8.orientasi.exception.BadRequestException;
+import com.pcs8.orientasi.service.AuditArchiveService;
+import com.pcs8.orientasi.service.AuditLogExportService;
 import com.pcs8.orientasi.service.AuditService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,10 +24,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,11 +45,16 @@ import java.util.UUID;
  * <ul>
  *   <li>GET /audit-logs - List semua audit logs dengan pagination</li>
  *   <li>GET /audit-logs/search - Search audit logs dengan filter</li>
+ *   <li>GET /audit-logs/search/cursor - Search audit logs dengan keyset pagination</li>
+ *   <li>GET /audit-logs/export - Export audit logs (NDJSON/CSV, opsional gzip)</li>
  *   <li>GET /audit-logs/{id} - Get detail audit log by ID</li>
  *   <li>GET /audit-logs/entity/{entityName}/{entityId} - Get audit logs untuk entity tertentu</li>
  *   <li>GET /audit-logs/entity/{entityName} - Get audit logs untuk entity type</li>
  *   <li>GET /audit-logs/user/{userId} - Get audit logs untuk user tertentu</li>
  *   <li>GET /audit-logs/statistics - Get statistik audit logs</li>
+ *   <li>GET /audit-logs/writer-stats - Get kondisi antrian writer audit log</li>
+ *   <li>POST /audit-logs/rollups/rebuild - Hitung ulang rollup statistik</li>
+ *   <li>POST /audit-logs/archive - Arsipkan audit log yang melewati masa retensi</li>
  * </ul>
  */
 @RestController
@@ -46,7 +63,11 @@ import java.util.UUID;
 @RequiresRole({"admin"})
 public class AuditLogController {
 
+    private static final long NO_ASYNC_TIMEOUT = -1L;
+
     private final AuditService auditService;
+    private final AuditArchiveService auditArchiveService;
+    private final AuditLogExportService auditLogExportService;
     private final ObjectMapper objectMapper;
 
     /**
@@ -85,27 +106,7 @@ public class AuditLogController {
             @RequestParam(defaultValue = "20") int size
     ) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, ConstantVariable.CREATED_AT_FIELD));
-        
-        AuditAction auditAction = null;
-        if (action != null && !action.isEmpty()) {
-            try {
-                auditAction = AuditAction.valueOf(action.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                return ResponseEntity.badRequest()
-                        .body(new BaseResponse(HttpStatus.BAD_REQUEST.value(), 
-                                "Invalid action. Use: CREATE, UPDATE, or DELETE", null));
-            }
-        }
-        
-        AuditLogSearchCriteria criteria = AuditLogSearchCriteria.builder()
-                .entityName(entityName)
-                .entityId(entityId)
-                .action(auditAction)
-                .userId(userId)
-                .username(username)
-                .startDate(startDate)
-                .endDate(endDate)
-                .build();
+        AuditLogSearchCriteria criteria = buildCriteria(entityName, entityId, action, userId, username, startDate, endDate);
         
         Page<AuditLog> pageResult = auditService.searchAuditLogs(criteria, pageable);
         
@@ -116,6 +117,82 @@ public class AuditLogController {
         ));
     }
 
+    /**
+     * Search audit logs dengan keyset pagination (tanpa COUNT, stabil untuk tabel besar).
+     * Kirim {@code next_cursor} dari response sebagai parameter {@code cursor} untuk halaman berikutnya.
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<BaseResponse> searchByCursor(
+            @RequestParam(name = "entity_name", required = false) String entityName,
+            @RequestParam(name = "entity_id", required = false) UUID entityId,
+            @RequestParam(required = false) String action,
+            @RequestParam(name = "user_id", required = false) UUID userId,
+            @RequestParam(required = false) String username,
+            @RequestParam(name = "start_date", required = false) 
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(name = "end_date", required = false) 
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        AuditLogSearchCriteria criteria = buildCriteria(entityName, entityId, action, userId, username, startDate, endDate);
+        AuditLogCursorPage result = auditService.searchAuditLogsByCursor(criteria, cursor, size);
+        
+        Map<String, Object> responseData = new HashMap<>();
+        responseData.put("content", result.getContent().stream()
+                .map(this::mapToResponse)
+                .toList());
+        responseData.put("next_cursor", result.getNextCursor());
+        responseData.put("has_next", result.isHasNext());
+        
+        return ResponseEntity.ok(new BaseResponse(
+                HttpStatus.OK.value(),
+                ConstantVariable.SUCCESS_MESSAGE,
+                responseData
+        ));
+    }
+
+    /**
+     * Export audit logs yang cocok dengan filter sebagai NDJSON atau CSV, di-stream langsung
+     * ke response (opsional gzip). Tidak ada batas jumlah baris.
+     *
+     * <p>Timeout async MVC (10 menit) dimatikan untuk request ini supaya export besar tidak
+     * terpotong setelah status 200 terkirim. Baris terakhir berisi trailer jumlah baris.</p>
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "entity_name", required = false) String entityName,
+            @RequestParam(name = "entity_id", required = false) UUID entityId,
+            @RequestParam(required = false) String action,
+            @RequestParam(name = "user_id", required = false) UUID userId,
+            @RequestParam(required = false) String username,
+            @RequestParam(name = "start_date", required = false) 
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(name = "end_date", required = false) 
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request
+    ) {
+        AuditExportFormat exportFormat;
+        try {
+            exportFormat = AuditExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid format. Use: ndjson or csv");
+        }
+        AuditLogSearchCriteria criteria = buildCriteria(entityName, entityId, action, userId, username, startDate, endDate);
+        StreamingResponseBody body = auditLogExportService.exportAuditLogs(criteria, exportFormat, gzip);
+        disableAsyncTimeout(request);
+        
+        String filename = "Audit_Log_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
+                + "." + exportFormat.getFileExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8");
+        
+        return FileDownloadResponses.streamAttachment(filename, contentType, body);
+    }
+
     /**
      * Get audit log by ID.
      */
@@ -233,8 +310,73 @@ public class AuditLogController {
         ));
     }
 
+    /**
+     * Get kondisi antrian dan writer audit log (antrian, batch, spill ke disk).
+     */
+    @GetMapping("/writer-stats")
+    public ResponseEntity<BaseResponse> getWriterStats() {
+        return ResponseEntity.ok(new BaseResponse(
+                HttpStatus.OK.value(),
+                ConstantVariable.SUCCESS_MESSAGE,
+                auditService.getWriterStats()
+        ));
+    }
+
+    /**
+     * Hitung ulang rollup harian statistik audit dari audit_log dan arsipnya.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<BaseResponse> rebuildRollups() {
+        int rows = auditService.rebuildAuditRollups();
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), ConstantVariable.SUCCESS_MESSAGE,
+                Map.of("rollup_rows", rows)));
+    }
+
+    /**
+     * Jalankan arsip audit log yang melewati masa retensi sekarang (normalnya berjalan tiap malam).
+     */
+    @PostMapping("/archive")
+    public ResponseEntity<BaseResponse> archive() {
+        int moved = auditArchiveService.archiveExpiredMonths();
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), ConstantVariable.SUCCESS_MESSAGE,
+                Map.of("archived_count", moved)));
+    }
+
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Timeout <= 0 berarti tanpa batas waktu untuk async request ini saja; request lain tetap
+     * memakai timeout default dari konfigurasi MVC.
+     */
+    private static void disableAsyncTimeout(HttpServletRequest request) {
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(NO_ASYNC_TIMEOUT);
+        }
+    }
+
+    private AuditLogSearchCriteria buildCriteria(String entityName, UUID entityId, String action, UUID userId,
+                                                 String username, LocalDateTime startDate, LocalDateTime endDate) {
+        AuditAction auditAction = null;
+        if (action != null && !action.isEmpty()) {
+            try {
+                auditAction = AuditAction.valueOf(action.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid action. Use: CREATE, UPDATE, or DELETE");
+            }
+        }
+        
+        return AuditLogSearchCriteria.builder()
+                .entityName(entityName)
+                .entityId(entityId)
+                .action(auditAction)
+                .userId(userId)
+                .username(username)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
     private Map<String, Object> buildPageResponse(Page<AuditLog> pageResult) {
         Map<String, Object> responseData = new HashMap<>();
         responseData.put("content", pageResult.getContent().stream()
@@ -255,6 +397,7 @@ public class AuditLogController {
                 .action(entity.getAction().name())
                 .oldValue(parseJson(entity.getOldValue()))
                 .newValue(parseJson(entity.getNewValue()))
+                .valueDelta(parseJson(entity.getValueDelta()))
                 .changedFields(parseJson(entity.getChangedFields()))
                 .userId(entity.getUserId())
                 .username(entity.getUsername())
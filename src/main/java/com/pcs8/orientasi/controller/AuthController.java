@@ -1,6 +1,7 @@
 package com.pcs8.orientasi.controller;
 
 import com.pcs8.orientasi.config.JwtConfig;
+import com.pcs8.orientasi.config.annotation.PublicAccess;
 import com.pcs8.orientasi.domain.dto.request.LoginRequest;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.LoginResponse;
@@ -27,6 +28,7 @@ import java.util.Set;
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
+@PublicAccess
 public class AuthController {
 
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
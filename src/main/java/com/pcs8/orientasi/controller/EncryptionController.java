@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.controller;
 
+import com.pcs8.orientasi.config.annotation.PublicAccess;
 import com.pcs8.orientasi.domain.dto.request.EncryptionRequest;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.EncryptionResponse;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/crypto")
 @RequiredArgsConstructor
+@PublicAccess
 public class EncryptionController {
 
     private static final Logger log = LoggerFactory.getLogger(EncryptionController.class);
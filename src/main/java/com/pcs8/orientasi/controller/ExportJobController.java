@@ -0,0 +1,33 @@
+package com.pcs8.orientasi.controller;
+
+import com.pcs8.orientasi.config.annotation.RequiresRole;
+import com.pcs8.orientasi.constant.ConstantVariable;
+import com.pcs8.orientasi.domain.dto.response.BaseResponse;
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
+import com.pcs8.orientasi.service.ExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Status export job yang di-submit lewat endpoint {@code .../export/jobs}
+ */
+@RestController
+@RequestMapping("/export-jobs")
+@RequiredArgsConstructor
+@RequiresRole({"admin", "pengembang", "skpa"})
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BaseResponse> getJob(@PathVariable UUID jobId, HttpServletRequest httpRequest) {
+        String username = (String) httpRequest.getAttribute("username");
+        ExportJobResponse response = exportJobService.getJob(jobId, username);
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), ConstantVariable.SUCCESS_MESSAGE, response));
+    }
+}
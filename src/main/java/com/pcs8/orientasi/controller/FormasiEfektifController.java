@@ -2,10 +2,13 @@ package com.pcs8.orientasi.controller;
 
 import com.pcs8.orientasi.config.annotation.RequiresRole;
 import com.pcs8.orientasi.domain.dto.request.FormasiEfektifRequest;
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifDetailResponse;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifResponse;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse;
 import com.pcs8.orientasi.service.FormasiEfektifService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -71,6 +74,25 @@ public class FormasiEfektifController {
         ));
     }
 
+    /**
+     * Simulate parameter scenarios (what-if) without saving them
+     * 
+     * @param request Year and list of scenario parameter overrides
+     * @return Baseline and per-scenario summaries
+     */
+    @PostMapping("/simulate")
+    public ResponseEntity<BaseResponse> simulate(
+            @Valid @RequestBody FormasiEfektifSimulationRequest request) {
+        
+        FormasiEfektifSimulationResponse response = formasiEfektifService.simulate(request);
+        
+        return ResponseEntity.ok(new BaseResponse(
+                HttpStatus.OK.value(),
+                "Success",
+                response
+        ));
+    }
+
     /**
      * Get configuration parameters
      * 
@@ -5,11 +5,15 @@ import com.pcs8.orientasi.constant.ConstantVariable;
 import com.pcs8.orientasi.domain.dto.request.Fs2ApprovedSearchFilter;
 import com.pcs8.orientasi.domain.dto.request.Fs2DocumentRequest;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
 import com.pcs8.orientasi.domain.dto.response.Fs2ChangelogResponse;
 import com.pcs8.orientasi.domain.dto.response.Fs2DocumentResponse;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import com.pcs8.orientasi.service.ExportJobService;
 import com.pcs8.orientasi.service.Fs2ChangelogService;
 import com.pcs8.orientasi.service.Fs2ExcelExportService;
 import com.pcs8.orientasi.service.Fs2Service;
+import com.pcs8.orientasi.util.FileDownloadResponses;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,13 +21,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -42,6 +44,7 @@ public class Fs2Controller {
     private final Fs2Service fs2Service;
     private final Fs2ChangelogService fs2ChangelogService;
     private final Fs2ExcelExportService fs2ExcelExportService;
+    private final ExportJobService exportJobService;
 
     /**
      * Build pagination response map from Page result
@@ -223,7 +226,7 @@ public class Fs2Controller {
      * Export all F.S.2 documents to Excel
      */
     @GetMapping("/export")
-        public ResponseEntity<byte[]> exportAllToExcel(
+    public ResponseEntity<StreamingResponseBody> exportAllToExcel(
             @RequestParam(required = false) String search,
             @RequestParam(name = "bidang_id", required = false) UUID bidangId,
             @RequestParam(name = "aplikasi_id", required = false) UUID aplikasiId,
@@ -243,24 +246,19 @@ public class Fs2Controller {
         boolean canSeeAll = userRoles != null && userRoles.stream()
                 .anyMatch(role -> "admin".equalsIgnoreCase(role) || "pengembang".equalsIgnoreCase(role));
         
-        ByteArrayOutputStream outputStream = fs2ExcelExportService.exportAllFs2ToExcel(
+        StreamingResponseBody body = fs2ExcelExportService.exportAllFs2ToExcel(
             search, bidangId, aplikasiId, statusTahapan, skpaId, status, year, startMonth, endMonth, userDepartment, canSeeAll);
         
         String filename = "Semua_FS2_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(outputStream.toByteArray(), headers, HttpStatus.OK);
+
+        return FileDownloadResponses.streamAttachment(filename, FileDownloadResponses.XLSX_MEDIA_TYPE, body);
     }
 
     /**
      * Export approved F.S.2 documents (Monitoring) to Excel
      */
     @GetMapping("/approved/export")
-    public ResponseEntity<byte[]> exportApprovedToExcel(
+    public ResponseEntity<StreamingResponseBody> exportApprovedToExcel(
             @RequestParam(required = false) String search,
             @RequestParam(name = "bidang_id", required = false) UUID bidangId,
             @RequestParam(name = "skpa_id", required = false) UUID skpaId,
@@ -281,17 +279,104 @@ public class Fs2Controller {
         boolean canSeeAll = userRoles != null && userRoles.stream()
                 .anyMatch(role -> "admin".equalsIgnoreCase(role) || "pengembang".equalsIgnoreCase(role));
         
-        ByteArrayOutputStream outputStream = fs2ExcelExportService.exportApprovedFs2ToExcel(
+        StreamingResponseBody body = fs2ExcelExportService.exportApprovedFs2ToExcel(
                 search, bidangId, skpaId, progres, fasePengajuan, mekanisme, pelaksanaan,
                 year, startMonth, endMonth, userDepartment, canSeeAll);
         
         String filename = "Monitoring_FS2_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(outputStream.toByteArray(), headers, HttpStatus.OK);
+
+        return FileDownloadResponses.streamAttachment(filename, FileDownloadResponses.XLSX_MEDIA_TYPE, body);
+    }
+
+    /**
+     * Submit export all F.S.2 as a background job; poll /export-jobs/{jobId} for the download URL
+     */
+    @PostMapping("/export/jobs")
+    public ResponseEntity<BaseResponse> submitExportAllJob(
+            @RequestParam(required = false) String search,
+            @RequestParam(name = "bidang_id", required = false) UUID bidangId,
+            @RequestParam(name = "aplikasi_id", required = false) UUID aplikasiId,
+            @RequestParam(name = "status_tahapan", required = false) String statusTahapan,
+            @RequestParam(name = "skpa_id", required = false) UUID skpaId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(name = "start_month", required = false) Integer startMonth,
+            @RequestParam(name = "end_month", required = false) Integer endMonth,
+            HttpServletRequest httpRequest
+    ) {
+        @SuppressWarnings("unchecked")
+        Set<String> userRoles = (Set<String>) httpRequest.getAttribute("user_roles");
+        String userDepartment = (String) httpRequest.getAttribute("department");
+        String username = (String) httpRequest.getAttribute("username");
+
+        boolean canSeeAll = userRoles != null && userRoles.stream()
+                .anyMatch(role -> "admin".equalsIgnoreCase(role) || "pengembang".equalsIgnoreCase(role));
+
+        // Every input that changes the file content is part of the dedupe key, including the data scope
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("scope", canSeeAll ? "ALL" : userDepartment);
+        parameters.put("search", search);
+        parameters.put("bidang_id", bidangId);
+        parameters.put("aplikasi_id", aplikasiId);
+        parameters.put("status_tahapan", statusTahapan);
+        parameters.put("skpa_id", skpaId);
+        parameters.put("status", status);
+        parameters.put("year", year);
+        parameters.put("start_month", startMonth);
+        parameters.put("end_month", endMonth);
+
+        String filename = "Semua_FS2_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
+        ExportJobResponse job = exportJobService.submit(ExportJobType.FS2_ALL, parameters, filename, username,
+                () -> fs2ExcelExportService.exportAllFs2ToExcel(
+                        search, bidangId, aplikasiId, statusTahapan, skpaId, status, year, startMonth, endMonth, userDepartment, canSeeAll));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new BaseResponse(HttpStatus.ACCEPTED.value(), "Export sedang diproses", job));
+    }
+
+    /**
+     * Submit export approved F.S.2 (Monitoring) as a background job; poll /export-jobs/{jobId} for the download URL
+     */
+    @PostMapping("/approved/export/jobs")
+    public ResponseEntity<BaseResponse> submitExportApprovedJob(
+            @RequestParam(required = false) String search,
+            @RequestParam(name = "bidang_id", required = false) UUID bidangId,
+            @RequestParam(name = "skpa_id", required = false) UUID skpaId,
+            @RequestParam(required = false) String progres,
+            @RequestParam(name = "fase_pengajuan", required = false) String fasePengajuan,
+            @RequestParam(required = false) String mekanisme,
+            @RequestParam(required = false) String pelaksanaan,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(name = "start_month", required = false) Integer startMonth,
+            @RequestParam(name = "end_month", required = false) Integer endMonth,
+            HttpServletRequest httpRequest
+    ) {
+        @SuppressWarnings("unchecked")
+        Set<String> userRoles = (Set<String>) httpRequest.getAttribute("user_roles");
+        String userDepartment = (String) httpRequest.getAttribute("department");
+        String username = (String) httpRequest.getAttribute("username");
+
+        boolean canSeeAll = userRoles != null && userRoles.stream()
+                .anyMatch(role -> "admin".equalsIgnoreCase(role) || "pengembang".equalsIgnoreCase(role));
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("scope", canSeeAll ? "ALL" : userDepartment);
+        parameters.put("search", search);
+        parameters.put("bidang_id", bidangId);
+        parameters.put("skpa_id", skpaId);
+        parameters.put("progres", progres);
+        parameters.put("fase_pengajuan", fasePengajuan);
+        parameters.put("mekanisme", mekanisme);
+        parameters.put("pelaksanaan", pelaksanaan);
+        parameters.put("year", year);
+        parameters.put("start_month", startMonth);
+        parameters.put("end_month", endMonth);
+
+        String filename = "Monitoring_FS2_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
+        ExportJobResponse job = exportJobService.submit(ExportJobType.FS2_APPROVED, parameters, filename, username,
+                () -> fs2ExcelExportService.exportApprovedFs2ToExcel(
+                        search, bidangId, skpaId, progres, fasePengajuan, mekanisme, pelaksanaan,
+                        year, startMonth, endMonth, userDepartment, canSeeAll));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new BaseResponse(HttpStatus.ACCEPTED.value(), "Export sedang diproses", job));
     }
 }
@@ -1,19 +1,21 @@
 package com.pcs8.orientasi.controller;
 
 import com.pcs8.orientasi.config.annotation.RequiresRole;
+import com.pcs8.orientasi.domain.dto.FileDownload;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.Fs2FileResponse;
 import com.pcs8.orientasi.service.Fs2FileService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -116,21 +118,15 @@ public class Fs2FileController {
     }
 
     /**
-     * Download file
+     * Download file (streamed from Minio, supports Range and If-None-Match)
      */
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable UUID fileId) {
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable UUID fileId, @RequestHeader HttpHeaders requestHeaders) {
         log.info("Downloading file");
         
-        Fs2FileResponse fileInfo = fs2FileService.getFileById(fileId);
-        byte[] fileContent = fs2FileService.downloadFile(fileId);
+        FileDownload download = fs2FileService.downloadFile(fileId);
         
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(fileInfo.getContentType()));
-        headers.setContentDispositionFormData("attachment", fileInfo.getOriginalName());
-        headers.setContentLength(fileContent.length);
-        
-        return new ResponseEntity<>(fileContent, headers, HttpStatus.OK);
+        return FileDownloadResponses.build(download, requestHeaders, false);
     }
 
     /**
@@ -217,31 +213,19 @@ public class Fs2FileController {
     }
 
     /**
-     * Download a specific version of a file
+     * Download a specific version of a file (streamed from Minio, supports Range and If-None-Match)
      */
     @GetMapping("/download/{fs2Id}/{fileType}/{version}")
-    public ResponseEntity<byte[]> downloadFileVersion(
+    public ResponseEntity<StreamingResponseBody> downloadFileVersion(
             @PathVariable UUID fs2Id,
             @PathVariable String fileType,
-            @PathVariable Integer version) {
+            @PathVariable Integer version,
+            @RequestHeader HttpHeaders requestHeaders) {
         
         log.info("Downloading file version for F.S.2 document");
         
-        byte[] content = fs2FileService.downloadFileVersion(fs2Id, fileType, version);
-        List<Fs2FileResponse> history = fs2FileService.getFileHistory(fs2Id, fileType);
-        Fs2FileResponse fileInfo = history.stream()
-                .filter(f -> f.getVersion().equals(version))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("File not found"));
-
-        String fileName = fileInfo.getDisplayName() != null ? fileInfo.getDisplayName() : fileInfo.getOriginalName();
-        String contentType = fileInfo.getContentType() != null ? fileInfo.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", fileName);
-        headers.setContentLength(content.length);
+        FileDownload download = fs2FileService.downloadFileVersion(fs2Id, fileType, version);
 
-        return new ResponseEntity<>(content, headers, HttpStatus.OK);
+        return FileDownloadResponses.build(download, requestHeaders, false);
     }
 }
@@ -7,19 +7,20 @@ import com.pcs8.orientasi.domain.dto.request.GenerateSnapshotRequest;
 import com.pcs8.orientasi.domain.dto.request.UpdateSnapshotRequest;
 import com.pcs8.orientasi.domain.dto.response.*;
 import com.pcs8.orientasi.service.AplikasiExcelExportService;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
 import com.pcs8.orientasi.service.AplikasiHistorisService;
+import com.pcs8.orientasi.service.ExportJobService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -32,6 +33,7 @@ public class HistorisAplikasiController {
 
     private final AplikasiHistorisService historisService;
     private final AplikasiExcelExportService excelExportService;
+    private final ExportJobService exportJobService;
 
     /**
      * Get list of snapshots for a specific year
@@ -119,16 +121,12 @@ public class HistorisAplikasiController {
      */
     @PostMapping("/generate")
     public ResponseEntity<BaseResponse> generateSnapshots(@Valid @RequestBody GenerateSnapshotRequest request) {
-        List<AplikasiSnapshotResponse> responses = historisService.generateSnapshotsForYear(request.getTahun());
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("tahun", request.getTahun());
-        result.put("total_generated", responses.size());
-        result.put("snapshots", responses);
+        boolean resume = request.getResume() == null || request.getResume();
+        SnapshotGenerationResponse result = historisService.generateSnapshotsForYear(request.getTahun(), resume);
         
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(new BaseResponse(HttpStatus.CREATED.value(), 
-                        "Berhasil generate " + responses.size() + " snapshot untuk tahun " + request.getTahun(), 
+                        "Berhasil generate " + result.getTotalGenerated() + " snapshot untuk tahun " + request.getTahun(), 
                         result));
     }
 
@@ -201,16 +199,25 @@ public class HistorisAplikasiController {
      * Export historis aplikasi data for a specific year to Excel
      */
     @GetMapping("/tahun/{tahun}/export")
-    public ResponseEntity<byte[]> exportToExcel(@PathVariable Integer tahun) {
-        ByteArrayOutputStream outputStream = excelExportService.exportHistorisAplikasiToExcel(tahun);
+    public ResponseEntity<StreamingResponseBody> exportToExcel(@PathVariable Integer tahun) {
+        StreamingResponseBody body = excelExportService.exportHistorisAplikasiToExcel(tahun);
         
         String filename = "Historis_Aplikasi_" + tahun + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(outputStream.toByteArray(), headers, HttpStatus.OK);
+
+        return FileDownloadResponses.streamAttachment(filename, FileDownloadResponses.XLSX_MEDIA_TYPE, body);
+    }
+
+    /**
+     * Submit export historis aplikasi for a specific year as a background job
+     */
+    @PostMapping("/tahun/{tahun}/export/jobs")
+    public ResponseEntity<BaseResponse> submitExportJob(@PathVariable Integer tahun, HttpServletRequest httpRequest) {
+        String username = (String) httpRequest.getAttribute("username");
+        String filename = "Historis_Aplikasi_" + tahun + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
+
+        ExportJobResponse job = exportJobService.submit(ExportJobType.HISTORIS_APLIKASI, Map.of("tahun", tahun), filename, username,
+                () -> excelExportService.exportHistorisAplikasiToExcel(tahun));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new BaseResponse(HttpStatus.ACCEPTED.value(), "Export sedang diproses", job));
     }
 }
@@ -0,0 +1,30 @@
+package com.pcs8.orientasi.controller;
+
+import com.pcs8.orientasi.config.annotation.RequiresRole;
+import com.pcs8.orientasi.constant.ConstantVariable;
+import com.pcs8.orientasi.domain.dto.response.BaseResponse;
+import com.pcs8.orientasi.service.LdapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Monitoring latensi login LDAP. Terpisah dari AuthController karena controller tersebut public.
+ */
+@RestController
+@RequestMapping("/ldap")
+@RequiredArgsConstructor
+@RequiresRole({"admin"})
+public class LdapStatsController {
+
+    private final LdapService ldapService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<BaseResponse> getStats() {
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), ConstantVariable.SUCCESS_MESSAGE,
+                ldapService.getStats()));
+    }
+}
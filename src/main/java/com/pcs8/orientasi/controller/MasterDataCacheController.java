@@ -0,0 +1,31 @@
+package com.pcs8.orientasi.controller;
+
+import com.pcs8.orientasi.config.annotation.RequiresRole;
+import com.pcs8.orientasi.constant.ConstantVariable;
+import com.pcs8.orientasi.domain.dto.response.BaseResponse;
+import com.pcs8.orientasi.domain.dto.response.CacheStatsResponse;
+import com.pcs8.orientasi.service.MasterDataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Monitoring cache data master (ukuran dan hit ratio)
+ */
+@RestController
+@RequestMapping("/master-data/cache")
+@RequiredArgsConstructor
+@RequiresRole({"admin"})
+public class MasterDataCacheController {
+
+    private final MasterDataService masterDataService;
+
+    @GetMapping("/stats")
+    public ResponseEntity<BaseResponse> getStats() {
+        List<CacheStatsResponse> response = masterDataService.getCacheStats();
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), ConstantVariable.SUCCESS_MESSAGE, response));
+    }
+}
@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.controller;
 
+import com.pcs8.orientasi.config.annotation.RequiresRole;
 import com.pcs8.orientasi.domain.dto.MinioUploadResponse;
 import com.pcs8.orientasi.exception.MinioOperationException;
 import com.pcs8.orientasi.service.MinioService;
@@ -85,6 +86,12 @@ public class MinioController {
         return ResponseEntity.ok(Map.of("message", "File deleted successfully"));
     }
 
+    @GetMapping("/cache-stats")
+    @RequiresRole("admin")
+    public ResponseEntity<Map<String, Long>> getCacheStats() {
+        return ResponseEntity.ok(minioService.getCacheStats());
+    }
+
     @ExceptionHandler(MinioOperationException.class)
     public ResponseEntity<Map<String, String>> handleMinioException(MinioOperationException e) {
         log.error("Minio operation error: {}", e.getMessage());
@@ -12,6 +12,7 @@ import com.pcs8.orientasi.domain.dto.response.PksiDashboardResponse;
 import com.pcs8.orientasi.domain.dto.response.PksiDocumentResponse;
 import com.pcs8.orientasi.domain.dto.response.PksiHistorisResponse;
 import com.pcs8.orientasi.service.PksiChangelogService;
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
 import com.pcs8.orientasi.service.PksiDashboardService;
 import com.pcs8.orientasi.service.PksiDocumentService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,6 +50,7 @@ public class PksiDocumentController {
     private final PksiDocumentService pksiDocumentService;
     private final PksiChangelogService pksiChangelogService;
     private final PksiDashboardService pksiDashboardService;
+    private final PksiDashboardAggregateService pksiDashboardAggregateService;
 
     /**
      * Create a new PKSI document.
@@ -282,6 +284,17 @@ public class PksiDocumentController {
         return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), SUCCESS_MESSAGE, response));
     }
 
+    /**
+     * Rebuild agregat dashboard PKSI dari seluruh data PKSI (recovery jika counter tidak sinkron)
+     */
+    @RequiresRole("Admin")
+    @PostMapping("/dashboard/aggregates/rebuild")
+    public ResponseEntity<BaseResponse> rebuildDashboardAggregates() {
+        int processed = pksiDashboardAggregateService.rebuild();
+        return ResponseEntity.ok(new BaseResponse(HttpStatus.OK.value(), SUCCESS_MESSAGE,
+                Map.of("processed_pksi", processed)));
+    }
+
     // ==================== NESTED PKSI ENDPOINTS ====================
 
     /**
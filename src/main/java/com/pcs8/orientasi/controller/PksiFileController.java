@@ -1,19 +1,21 @@
 package com.pcs8.orientasi.controller;
 
 import com.pcs8.orientasi.config.annotation.RequiresRole;
+import com.pcs8.orientasi.domain.dto.FileDownload;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.PksiFileResponse;
 import com.pcs8.orientasi.service.PksiFileService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -118,44 +120,27 @@ public class PksiFileController {
     }
 
     /**
-     * Download a file
+     * Download a file (streamed from Minio, supports Range and If-None-Match)
      */
     @GetMapping("/download/{fileId}")
-    public ResponseEntity<byte[]> downloadFile(@PathVariable UUID fileId) {
+    public ResponseEntity<StreamingResponseBody> downloadFile(@PathVariable UUID fileId, @RequestHeader HttpHeaders requestHeaders) {
         log.info("Downloading file");
         
-        byte[] content = pksiFileService.downloadFile(fileId);
-        PksiFileResponse fileInfo = pksiFileService.getFileById(fileId);
-        
-        String fileName = fileInfo.getOriginalName() != null ? fileInfo.getOriginalName() : "download";
-        String contentType = fileInfo.getContentType() != null ? fileInfo.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", fileName);
-        headers.setContentLength(content.length);
+        FileDownload download = pksiFileService.downloadFile(fileId);
 
-        return new ResponseEntity<>(content, headers, HttpStatus.OK);
+        return FileDownloadResponses.build(download, requestHeaders, false);
     }
 
     /**
      * Preview a file inline (for PDF, images, etc.)
      */
     @GetMapping("/preview/{fileId}")
-    public ResponseEntity<byte[]> previewFile(@PathVariable UUID fileId) {
+    public ResponseEntity<StreamingResponseBody> previewFile(@PathVariable UUID fileId, @RequestHeader HttpHeaders requestHeaders) {
         log.info("Previewing file");
         
-        byte[] content = pksiFileService.downloadFile(fileId);
-        PksiFileResponse fileInfo = pksiFileService.getFileById(fileId);
-        
-        String contentType = fileInfo.getContentType() != null ? fileInfo.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline");
-        headers.setContentLength(content.length);
+        FileDownload download = pksiFileService.downloadFile(fileId);
 
-        return new ResponseEntity<>(content, headers, HttpStatus.OK);
+        return FileDownloadResponses.build(download, requestHeaders, true);
     }
 
     /**
@@ -242,31 +227,19 @@ public class PksiFileController {
     }
 
     /**
-     * Download a specific version of a file
+     * Download a specific version of a file (streamed from Minio, supports Range and If-None-Match)
      */
     @GetMapping("/download/{pksiId}/{fileType}/{version}")
-    public ResponseEntity<byte[]> downloadFileVersion(
+    public ResponseEntity<StreamingResponseBody> downloadFileVersion(
             @PathVariable UUID pksiId,
             @PathVariable String fileType,
-            @PathVariable Integer version) {
+            @PathVariable Integer version,
+            @RequestHeader HttpHeaders requestHeaders) {
         
         log.info("Downloading file version for PKSI document");
         
-        byte[] content = pksiFileService.downloadFileVersion(pksiId, fileType, version);
-        List<PksiFileResponse> history = pksiFileService.getFileHistory(pksiId, fileType);
-        PksiFileResponse fileInfo = history.stream()
-                .filter(f -> f.getVersion().equals(version))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("File not found"));
-
-        String fileName = fileInfo.getDisplayName() != null ? fileInfo.getDisplayName() : fileInfo.getOriginalName();
-        String contentType = fileInfo.getContentType() != null ? fileInfo.getContentType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(contentType));
-        headers.setContentDispositionFormData("attachment", fileName);
-        headers.setContentLength(content.length);
+        FileDownload download = pksiFileService.downloadFileVersion(pksiId, fileType, version);
 
-        return new ResponseEntity<>(content, headers, HttpStatus.OK);
+        return FileDownloadResponses.build(download, requestHeaders, false);
     }
 }
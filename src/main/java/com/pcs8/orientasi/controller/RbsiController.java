@@ -12,6 +12,7 @@ import com.pcs8.orientasi.domain.dto.request.RbsiProgramRequest;
 import com.pcs8.orientasi.domain.dto.request.RbsiRequest;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.dto.response.BatchKepProgressResponse;
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
 import com.pcs8.orientasi.domain.dto.response.InisiatifGroupDropdownResponse;
 import com.pcs8.orientasi.domain.dto.response.InisiatifGroupResponse;
 import com.pcs8.orientasi.domain.dto.response.KepProgressFullResponse;
@@ -25,22 +26,25 @@ import com.pcs8.orientasi.domain.dto.response.RbsiKepResponse;
 import com.pcs8.orientasi.domain.dto.response.RbsiMonitoringResponse;
 import com.pcs8.orientasi.domain.dto.response.RbsiProgramResponse;
 import com.pcs8.orientasi.domain.dto.response.RbsiResponse;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import com.pcs8.orientasi.service.ExportJobService;
 import com.pcs8.orientasi.service.RbsiDashboardService;
 import com.pcs8.orientasi.service.RbsiExcelExportService;
 import com.pcs8.orientasi.service.RbsiService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -55,6 +59,7 @@ public class RbsiController {
     private final RbsiService rbsiService;
     private final RbsiDashboardService rbsiDashboardService;
     private final RbsiExcelExportService excelExportService;
+    private final ExportJobService exportJobService;
 
     @PostMapping
     public ResponseEntity<BaseResponse> createRbsi(@Valid @RequestBody RbsiRequest request) {
@@ -312,16 +317,22 @@ public class RbsiController {
     }
 
     @GetMapping("/{rbsiId}/monitoring/export")
-    public ResponseEntity<byte[]> exportMonitoringToExcel(@PathVariable UUID rbsiId) {
-        ByteArrayOutputStream outputStream = excelExportService.exportMonitoringToExcel(rbsiId);
+    public ResponseEntity<StreamingResponseBody> exportMonitoringToExcel(@PathVariable UUID rbsiId) {
+        StreamingResponseBody body = excelExportService.exportMonitoringToExcel(rbsiId);
         
         String filename = "RBSI_Monitoring_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
-        
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
-        headers.setContentDispositionFormData("attachment", filename);
-        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
-        
-        return new ResponseEntity<>(outputStream.toByteArray(), headers, HttpStatus.OK);
+
+        return FileDownloadResponses.streamAttachment(filename, FileDownloadResponses.XLSX_MEDIA_TYPE, body);
+    }
+
+    @PostMapping("/{rbsiId}/monitoring/export/jobs")
+    public ResponseEntity<BaseResponse> submitMonitoringExportJob(@PathVariable UUID rbsiId, HttpServletRequest httpRequest) {
+        String username = (String) httpRequest.getAttribute("username");
+        String filename = "RBSI_Monitoring_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".xlsx";
+
+        ExportJobResponse job = exportJobService.submit(ExportJobType.RBSI_MONITORING, Map.of("rbsi_id", rbsiId), filename, username,
+                () -> excelExportService.exportMonitoringToExcel(rbsiId));
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new BaseResponse(HttpStatus.ACCEPTED.value(), "Export sedang diproses", job));
     }
 }
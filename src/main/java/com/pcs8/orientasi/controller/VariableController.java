@@ -3,7 +3,7 @@ package com.pcs8.orientasi.controller;
 import com.pcs8.orientasi.config.annotation.RequiresRole;
 import com.pcs8.orientasi.domain.dto.response.BaseResponse;
 import com.pcs8.orientasi.domain.entity.MstVariable;
-import com.pcs8.orientasi.repository.MstVariableRepository;
+import com.pcs8.orientasi.service.MasterDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +17,12 @@ import java.util.List;
 @RequiresRole({"admin", "pengembang"})
 public class VariableController {
 
-    private final MstVariableRepository variableRepository;
+    private final MasterDataService masterDataService;
 
     @GetMapping
     public ResponseEntity<BaseResponse> getByKategori(@RequestParam String kategori) {
-        List<VariableResponse> responses = variableRepository
-            .findByKategoriAndIsActiveTrueOrderByUrutanAscNamaAsc(kategori)
+        List<VariableResponse> responses = masterDataService
+            .getActiveVariables(kategori)
             .stream()
             .map(this::mapToResponse)
             .toList();
@@ -31,8 +31,8 @@ public class VariableController {
 
     @GetMapping("/all")
     public ResponseEntity<BaseResponse> getAll() {
-        List<VariableResponse> responses = variableRepository
-            .findByIsActiveTrueOrderByKategoriAscUrutanAscNamaAsc()
+        List<VariableResponse> responses = masterDataService
+            .getAllActiveVariables()
             .stream()
             .map(this::mapToResponse)
             .toList();
@@ -0,0 +1,45 @@
+package com.pcs8.orientasi.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.InputStream;
+
+/**
+ * DTO untuk file yang akan di-stream langsung dari Minio ke response.
+ *
+ * <p>Stream ke Minio baru dibuka saat body response ditulis, sehingga request
+ * yang dijawab 304 Not Modified tidak menyentuh storage sama sekali.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileDownload {
+
+    private String fileName;
+    private String contentType;
+
+    /** Ukuran file dalam byte, null jika tidak tercatat (Range request tidak didukung). */
+    private Long contentLength;
+
+    /** ETag tanpa tanda kutip, diturunkan dari ID dan versi file yang tersimpan. */
+    private String etag;
+
+    private ContentOpener opener;
+
+    /**
+     * Membuka stream isi file mulai dari offset tertentu.
+     */
+    @FunctionalInterface
+    public interface ContentOpener {
+
+        /**
+         * @param offset byte pertama yang dibaca
+         * @param length jumlah byte yang dibaca, atau -1 untuk sampai akhir file
+         */
+        InputStream open(long offset, long length);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pcs8.orientasi.domain.dto;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kontribusi PKSI ke tabel agregat dashboard: jumlah per kunci tahunan dan bulanan.
+ *
+ * <p>Diambil sebelum dan sesudah PKSI berubah; hanya selisih keduanya yang ditulis ke agregat.
+ * Untuk satu dokumen setiap kunci bernilai 1, untuk rebuild berisi total semua dokumen.</p>
+ */
+public class PksiDashboardContribution {
+
+    private final Map<YearlyKey, Integer> yearly = new HashMap<>();
+    private final Map<MonthlyKey, Integer> monthly = new HashMap<>();
+
+    /**
+     * Kontribusi kosong, misalnya sebagai kondisi "sebelum" untuk PKSI baru
+     */
+    public static PksiDashboardContribution empty() {
+        return new PksiDashboardContribution();
+    }
+
+    public void add(YearlyKey key) {
+        yearly.merge(key, 1, Integer::sum);
+    }
+
+    public void add(MonthlyKey key) {
+        monthly.merge(key, 1, Integer::sum);
+    }
+
+    public void addAll(PksiDashboardContribution other) {
+        other.yearly.forEach((key, count) -> yearly.merge(key, count, Integer::sum));
+        other.monthly.forEach((key, count) -> monthly.merge(key, count, Integer::sum));
+    }
+
+    public Map<YearlyKey, Integer> getYearly() {
+        return Collections.unmodifiableMap(yearly);
+    }
+
+    public Map<MonthlyKey, Integer> getMonthly() {
+        return Collections.unmodifiableMap(monthly);
+    }
+
+    /**
+     * Selisih per kunci ({@code after - before}), hanya kunci yang berubah
+     */
+    public static <K> Map<K, Integer> delta(Map<K, Integer> before, Map<K, Integer> after) {
+        Set<K> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+
+        Map<K, Integer> result = new HashMap<>();
+        for (K key : keys) {
+            int diff = after.getOrDefault(key, 0) - before.getOrDefault(key, 0);
+            if (diff != 0) {
+                result.put(key, diff);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Kunci {@code agg_pksi_dashboard_tahunan}; dimensi kosong ditulis sebagai {@code ""}
+     */
+    public record YearlyKey(int tahun, String status, String approvalKategori, String jenisKategori,
+                            String pelaksana, String bidangKode) {
+    }
+
+    /**
+     * Kunci {@code agg_pksi_dashboard_bulanan}; {@code deadlineTahun} 0 berarti tidak relevan
+     */
+    public record MonthlyKey(int tahun, int bulan, String progress, String bidangKode,
+                             int deadlineTahun, boolean sudahDibuat) {
+    }
+}
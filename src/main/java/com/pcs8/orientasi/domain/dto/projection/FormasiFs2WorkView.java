@@ -0,0 +1,26 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection FS2 disetujui untuk perhitungan Formasi Efektif
+ */
+public interface FormasiFs2WorkView {
+
+    UUID getId();
+
+    String getNamaAplikasi();
+
+    String getDeskripsiPengubahan();
+
+    String getMekanisme();
+
+    UUID getTeamId();
+
+    String getTeamName();
+
+    LocalDate getTanggalPengajuan();
+
+    LocalDate getTargetGoLive();
+}
@@ -0,0 +1,29 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projection PKSI disetujui untuk perhitungan Formasi Efektif: tanggal USREQ/UAT terjauh
+ * dari timeline sudah dihitung di query
+ */
+public interface FormasiPksiWorkView {
+
+    UUID getId();
+
+    String getNamaPksi();
+
+    String getNamaAplikasi();
+
+    String getJenisPksi();
+
+    String getInhouseOutsource();
+
+    UUID getTeamId();
+
+    String getTeamName();
+
+    LocalDate getUsreqDate();
+
+    LocalDate getUatDate();
+}
@@ -0,0 +1,43 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection kolom yang dibutuhkan dashboard PKSI (status, progress, PIC satker, target tanggal, inisiatif)
+ */
+public interface PksiDashboardView {
+
+    UUID getId();
+
+    String getNamaPksi();
+
+    String getJenisPksi();
+
+    PksiDocument.DocumentStatus getStatus();
+
+    String getProgress();
+
+    String getPicSatker();
+
+    String getInhouseOutsource();
+
+    LocalDate getTargetUsreq();
+
+    LocalDate getTargetSit();
+
+    LocalDate getTargetUat();
+
+    LocalDate getTargetGoLive();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getInisiatifId();
+
+    String getInisiatifNomor();
+
+    String getInisiatifNama();
+}
@@ -0,0 +1,133 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection kolom grid PKSI untuk halaman "Semua PKSI" dan Monitoring.
+ * Kolom narasi NVARCHAR(MAX) (deskripsi, tujuan, ruang lingkup, risiko, dst) sengaja tidak diambil;
+ * hanya anggota tim dan detail pembayaran kontrak yang ikut karena tampil di grid monitoring.
+ */
+public interface PksiDocumentListView {
+
+    UUID getId();
+
+    String getNamaPksi();
+
+    String getJenisPksi();
+
+    LocalDate getTanggalPengajuan();
+
+    String getKapanDiselesaikan();
+
+    String getPicSatker();
+
+    String getPengelolaAplikasi();
+
+    String getProgramInisiatifRbsi();
+
+    PksiDocument.DocumentStatus getStatus();
+
+    String getIku();
+
+    String getInhouseOutsource();
+
+    String getPicApproval();
+
+    String getPicApprovalName();
+
+    String getAnggotaTim();
+
+    String getAnggotaTimNames();
+
+    String getProgress();
+
+    String getAnggaranTotal();
+
+    String getAnggaranTahunIni();
+
+    String getAnggaranTahunDepan();
+
+    LocalDate getTargetUsreq();
+
+    LocalDate getTargetSit();
+
+    LocalDate getTargetUat();
+
+    LocalDate getTargetGoLive();
+
+    LocalDate getTanggalPengadaan();
+
+    LocalDate getTanggalDesain();
+
+    LocalDate getTanggalCoding();
+
+    LocalDate getTanggalUnitTest();
+
+    String getStatusT01T02();
+
+    String getBerkasT01T02();
+
+    String getStatusT11();
+
+    String getBerkasT11();
+
+    String getStatusCd();
+
+    String getNomorCd();
+
+    String getKontrakTanggalMulai();
+
+    String getKontrakTanggalSelesai();
+
+    String getKontrakNilai();
+
+    String getKontrakJumlahTermin();
+
+    String getKontrakDetailPembayaran();
+
+    String getBaDeploy();
+
+    String getTahapanStatusUsreq();
+
+    String getTahapanStatusPengadaan();
+
+    String getTahapanStatusDesain();
+
+    String getTahapanStatusCoding();
+
+    String getTahapanStatusUnitTest();
+
+    String getTahapanStatusSit();
+
+    String getTahapanStatusUat();
+
+    String getTahapanStatusDeployment();
+
+    String getTahapanStatusSelesai();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    UUID getUserId();
+
+    String getUserFullName();
+
+    UUID getAplikasiId();
+
+    String getNamaAplikasi();
+
+    UUID getTeamId();
+
+    String getTeamName();
+
+    UUID getInisiatifId();
+
+    UUID getInisiatifGroupId();
+
+    UUID getParentPksiId();
+}
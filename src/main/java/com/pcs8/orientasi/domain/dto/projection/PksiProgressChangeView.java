@@ -0,0 +1,16 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection perubahan progress PKSI (awal interval di his_pksi_progress), untuk menghitung progress historis
+ */
+public interface PksiProgressChangeView {
+
+    UUID getPksiId();
+
+    LocalDateTime getChangedAt();
+
+    String getProgress();
+}
@@ -0,0 +1,13 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+/**
+ * Jumlah snapshot aplikasi per (tahun, status aplikasi)
+ */
+public interface SnapshotStatusCountView {
+
+    Integer getTahun();
+
+    String getStatusAplikasi();
+
+    Long getJumlah();
+}
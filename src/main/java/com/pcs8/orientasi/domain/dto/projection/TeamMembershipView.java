@@ -0,0 +1,13 @@
+package com.pcs8.orientasi.domain.dto.projection;
+
+import java.util.UUID;
+
+/**
+ * Pasangan team - user anggota team
+ */
+public interface TeamMembershipView {
+
+    UUID getTeamId();
+
+    UUID getUserUuid();
+}
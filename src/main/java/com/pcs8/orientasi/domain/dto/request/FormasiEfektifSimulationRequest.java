@@ -0,0 +1,88 @@
+package com.pcs8.orientasi.domain.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for Formasi Efektif what-if simulation.
+ * Setiap skenario hanya berisi parameter yang di-override; parameter yang kosong memakai nilai tersimpan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormasiEfektifSimulationRequest {
+
+    public static final int MAX_SCENARIOS = 100;
+
+    @JsonProperty("tahun")
+    private Integer tahun;
+
+    @JsonProperty("scenarios")
+    @Valid
+    @NotEmpty(message = "Scenarios cannot be empty")
+    @Size(max = MAX_SCENARIOS, message = "Maximum " + MAX_SCENARIOS + " scenarios per request")
+    private List<ScenarioParameters> scenarios;
+
+    /**
+     * Parameter override untuk satu skenario
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScenarioParameters {
+
+        @JsonProperty("name")
+        private String name;
+
+        @JsonProperty("working_days")
+        @Positive(message = "Working days must be positive")
+        private Integer workingDays;
+
+        @JsonProperty("working_hours")
+        @Positive(message = "Working hours must be positive")
+        private Integer workingHours;
+
+        @JsonProperty("inhouse_pct")
+        @PositiveOrZero(message = "Inhouse percentage cannot be negative")
+        private Double inhousePct;
+
+        @JsonProperty("outsource_pct")
+        @PositiveOrZero(message = "Outsource percentage cannot be negative")
+        private Double outsourcePct;
+
+        @JsonProperty("manager_pct")
+        @PositiveOrZero(message = "Manager percentage cannot be negative")
+        private Double managerPct;
+
+        @JsonProperty("asman_pct")
+        @PositiveOrZero(message = "Asman percentage cannot be negative")
+        private Double asmanPct;
+
+        /**
+         * Jumlah aplikasi yang dipelihara; jika diisi menggantikan jumlah aplikasi aktif di snapshot
+         */
+        @JsonProperty("maint_base_count")
+        @PositiveOrZero(message = "Maintenance base count cannot be negative")
+        private Integer maintBaseCount;
+
+        @JsonProperty("maint_mgr_pct")
+        @PositiveOrZero(message = "Maintenance manager percentage cannot be negative")
+        private Double maintMgrPct;
+
+        @JsonProperty("maint_hours")
+        @PositiveOrZero(message = "Maintenance hours cannot be negative")
+        private Integer maintHours;
+    }
+}
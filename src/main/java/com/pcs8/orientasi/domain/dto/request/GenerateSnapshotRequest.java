@@ -14,4 +14,10 @@ public class GenerateSnapshotRequest {
     @JsonProperty("tahun")
     @NotNull(message = "Tahun is required")
     private Integer tahun;
+
+    /**
+     * Lanjutkan generate sebelumnya yang terputus (default true)
+     */
+    @JsonProperty("resume")
+    private Boolean resume;
 }
@@ -0,0 +1,23 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Satu halaman hasil keyset pagination audit log.
+ * {@code nextCursor} dikirim balik sebagai parameter cursor untuk halaman berikutnya.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogCursorPage {
+    private List<AuditLog> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
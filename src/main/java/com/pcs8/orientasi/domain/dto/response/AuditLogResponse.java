@@ -35,6 +35,9 @@ public class AuditLogResponse {
     @JsonProperty("new_value")
     private Object newValue;
 
+    @JsonProperty("value_delta")
+    private Object valueDelta;
+
     @JsonProperty("changed_fields")
     private Object changedFields;
 
@@ -0,0 +1,33 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kondisi antrian dan writer audit log sejak aplikasi start
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AuditWriterStatsResponse {
+    private int queueDepth;
+    private int queueCapacity;
+    private long enqueuedCount;
+    private long writtenCount;
+    private long spilledCount;
+    private long replayedCount;
+    private long failedCount;
+    private long flushCount;
+    private double averageFlushMillis;
+    private long maxFlushMillis;
+    private long lastFlushMillis;
+    private long deadLetteredCount;
+    private long spillFileBytes;
+    private long deadLetterFileBytes;
+}
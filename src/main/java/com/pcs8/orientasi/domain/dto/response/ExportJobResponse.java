@@ -0,0 +1,33 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.pcs8.orientasi.domain.enums.ExportJobStatus;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status export job; downloadUrl hanya terisi ketika status COMPLETED
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ExportJobResponse {
+    private UUID jobId;
+    private ExportJobType type;
+    private ExportJobStatus status;
+    private String fileName;
+    private String downloadUrl;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,90 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for Formasi Efektif what-if simulation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FormasiEfektifSimulationResponse {
+
+    @JsonProperty("selected_tahun")
+    private Integer selectedTahun;
+
+    /**
+     * Hasil dengan parameter tersimpan, sebagai pembanding
+     */
+    @JsonProperty("baseline")
+    private ScenarioResult baseline;
+
+    @JsonProperty("scenarios")
+    private List<ScenarioResult> scenarios;
+
+    @JsonProperty("elapsed_ms")
+    private Long elapsedMs;
+
+    /**
+     * Hasil perhitungan satu skenario
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ScenarioResult {
+
+        @JsonProperty("name")
+        private String name;
+
+        @JsonProperty("parameters")
+        private SimulationParameters parameters;
+
+        @JsonProperty("summary")
+        private FormasiEfektifDetailResponse.CalculationSummary summary;
+    }
+
+    /**
+     * Parameter efektif yang dipakai skenario (nilai tersimpan + override)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SimulationParameters {
+
+        @JsonProperty("working_days")
+        private Integer workingDays;
+
+        @JsonProperty("working_hours")
+        private Integer workingHours;
+
+        @JsonProperty("inhouse_pct")
+        private Double inhousePct;
+
+        @JsonProperty("outsource_pct")
+        private Double outsourcePct;
+
+        @JsonProperty("manager_pct")
+        private Double managerPct;
+
+        @JsonProperty("asman_pct")
+        private Double asmanPct;
+
+        @JsonProperty("maint_base_count")
+        private Integer maintBaseCount;
+
+        @JsonProperty("maint_mgr_pct")
+        private Double maintMgrPct;
+
+        @JsonProperty("maint_hours")
+        private Integer maintHours;
+    }
+}
@@ -0,0 +1,33 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latensi dan jumlah login LDAP sejak aplikasi start
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class LdapStatsResponse {
+    private boolean serviceAccountEnabled;
+    private long loginCount;
+    private long failedCount;
+    private double averageLoginMillis;
+    private long maxLoginMillis;
+    private long lastLoginMillis;
+    private long bindCount;
+    private double averageBindMillis;
+    private long maxBindMillis;
+    private long searchCount;
+    private double averageSearchMillis;
+    private long maxSearchMillis;
+    private long attributeCacheHitCount;
+    private long attributeCacheMissCount;
+}
@@ -0,0 +1,52 @@
+package com.pcs8.orientasi.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ringkasan hasil generate snapshot satu tahun
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SnapshotGenerationResponse {
+
+    @JsonProperty("tahun")
+    private Integer tahun;
+
+    /**
+     * Jumlah aplikasi yang diproses di run ini (tidak termasuk chunk yang sudah selesai sebelum resume)
+     */
+    @JsonProperty("total_generated")
+    private Integer totalGenerated;
+
+    @JsonProperty("created_count")
+    private Integer createdCount;
+
+    @JsonProperty("updated_count")
+    private Integer updatedCount;
+
+    @JsonProperty("child_row_count")
+    private Integer childRowCount;
+
+    @JsonProperty("chunk_count")
+    private Integer chunkCount;
+
+    /**
+     * Kode aplikasi terakhir dari run sebelumnya yang terputus; null jika mulai dari awal
+     */
+    @JsonProperty("resumed_after")
+    private String resumedAfter;
+
+    @JsonProperty("elapsed_ms")
+    private Long elapsedMs;
+
+    @JsonProperty("aplikasi_per_second")
+    private Double aplikasiPerSecond;
+}
@@ -3,6 +3,7 @@ package com.pcs8.orientasi.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
@@ -108,33 +109,39 @@ public class AplikasiSnapshot extends BaseEntity {
     @Column(name = KETERANGAN_HISTORIS, columnDefinition = "NVARCHAR(MAX)")
     private String keteranganHistoris;
 
-    // One-to-many relations
+    // One-to-many relations (batch-fetched so paging through a year's snapshots loads each relation per page, not per row)
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiSnapshotUrl> urls = new ArrayList<>();
 
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiSnapshotSatkerInternal> satkerInternals = new ArrayList<>();
 
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiSnapshotPenggunaEksternal> penggunaEksternals = new ArrayList<>();
 
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiSnapshotKomunikasiSistem> komunikasiSistems = new ArrayList<>();
 
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiSnapshotPenghargaan> penghargaans = new ArrayList<>();
 
     @OneToMany(mappedBy = "snapshot", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 200)
     @Builder.Default
     @ToString.Exclude
     private List<AplikasiChangelog> changelogs = new ArrayList<>();
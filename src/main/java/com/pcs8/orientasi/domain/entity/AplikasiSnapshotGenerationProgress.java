@@ -0,0 +1,59 @@
+package com.pcs8.orientasi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progres generate snapshot satu tahun. Di-update di transaksi yang sama dengan setiap chunk
+ * snapshot, sehingga generate yang terputus bisa dilanjutkan dari kode aplikasi terakhir yang tersimpan.
+ */
+@Entity
+@Table(name = "his_snapshot_generation_progress", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_snapshot_generation_tahun", columnNames = {"tahun"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class AplikasiSnapshotGenerationProgress extends BaseEntity {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tahun", nullable = false)
+    private Integer tahun;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status; // RUNNING, COMPLETED, FAILED
+
+    /**
+     * Kode aplikasi terakhir yang snapshot-nya sudah di-commit
+     */
+    @Column(name = "last_kode_aplikasi", length = 50)
+    private String lastKodeAplikasi;
+
+    @Column(name = "processed_count", nullable = false)
+    private Integer processedCount;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+}
@@ -19,7 +19,7 @@ import java.util.UUID;
  *   <li>Entity apa yang dimodifikasi</li>
  *   <li>ID dari entity tersebut</li>
  *   <li>Jenis aksi (CREATE, UPDATE, DELETE)</li>
- *   <li>Data sebelum dan sesudah perubahan (dalam format JSON)</li>
+ *   <li>Snapshot data (CREATE/DELETE) atau delta perubahan (UPDATE) dalam format JSON</li>
  *   <li>Field-field yang berubah</li>
  *   <li>Informasi user yang melakukan perubahan</li>
  *   <li>IP address dan user agent</li>
@@ -27,8 +27,10 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "audit_log", indexes = {
-    @Index(name = "idx_audit_entity", columnList = "entity_name, entity_id"),
-    @Index(name = "idx_audit_user", columnList = "user_id"),
+    @Index(name = "idx_audit_entity_created", columnList = "entity_name, entity_id, created_at"),
+    @Index(name = "idx_audit_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_audit_action_created", columnList = "action, created_at"),
+    @Index(name = "idx_audit_username_created", columnList = "username, created_at"),
     @Index(name = "idx_audit_created", columnList = "created_at")
 })
 @Data
@@ -63,18 +65,25 @@ public class AuditLog {
 
     /**
      * Nilai sebelum perubahan (JSON format)
-     * Null untuk CREATE action
+     * Snapshot untuk DELETE action; null untuk CREATE dan UPDATE baru (lihat valueDelta)
      */
     @Column(name = "old_value", columnDefinition = "NVARCHAR(MAX)")
     private String oldValue;
 
     /**
      * Nilai setelah perubahan (JSON format)
-     * Null untuk DELETE action
+     * Snapshot untuk CREATE action; null untuk DELETE dan UPDATE baru (lihat valueDelta)
      */
     @Column(name = "new_value", columnDefinition = "NVARCHAR(MAX)")
     private String newValue;
 
+    /**
+     * Delta perubahan bergaya JSON Patch (JSON array of {op, path, old, value})
+     * Hanya untuk UPDATE action
+     */
+    @Column(name = "value_delta", columnDefinition = "NVARCHAR(MAX)")
+    private String valueDelta;
+
     /**
      * List field yang berubah (JSON array)
      * Hanya untuk UPDATE action
@@ -114,6 +123,9 @@ public class AuditLog {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Audit ditulis async/batch; pertahankan waktu kejadian yang di-set saat audit dibuat
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.pcs8.orientasi.domain.entity;
+
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Audit log yang sudah melewati masa retensi, dipindahkan dari audit_log per bulan.
+ *
+ * <p>Kolom sama dengan {@link AuditLog}; {@code partitionMonth} (format yyyyMM) menandai
+ * bulan asal baris sehingga satu bulan arsip bisa dibaca atau dihapus sebagai satu range.
+ * Baris hanya ditulis oleh proses arsip ({@code AuditArchiveService}).</p>
+ */
+@Entity
+@Table(name = "audit_log_archive", indexes = {
+    @Index(name = "idx_audit_archive_month", columnList = "partition_month, created_at"),
+    @Index(name = "idx_audit_archive_entity", columnList = "entity_name, entity_id, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogArchive {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "partition_month", nullable = false)
+    private Integer partitionMonth;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 20)
+    private AuditAction action;
+
+    @Column(name = "old_value", columnDefinition = "NVARCHAR(MAX)")
+    private String oldValue;
+
+    @Column(name = "new_value", columnDefinition = "NVARCHAR(MAX)")
+    private String newValue;
+
+    @Column(name = "value_delta", columnDefinition = "NVARCHAR(MAX)")
+    private String valueDelta;
+
+    @Column(name = "changed_fields", columnDefinition = "NVARCHAR(MAX)")
+    private String changedFields;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "username", length = 100)
+    private String username;
+
+    @Column(name = "ip_address", length = 45)
+    private String ipAddress;
+
+    @Column(name = "user_agent", length = 500)
+    private String userAgent;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,46 @@
+package com.pcs8.orientasi.domain.entity;
+
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Counter audit log per hari, entity dan aksi. Dipelihara oleh {@code AuditLogWriter} di
+ * transaksi yang sama dengan insert audit log, sehingga statistik audit tidak perlu
+ * menghitung ulang tabel audit_log. Baris audit yang sudah diarsipkan tetap terhitung.
+ */
+@Entity
+@Table(name = "agg_audit_log_harian", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_agg_audit_harian", columnNames = {"tanggal", "entity_name", "action"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class AuditLogDailyAggregate extends BaseEntity {
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tanggal", nullable = false)
+    private LocalDate tanggal;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 20)
+    private AuditAction action;
+
+    @Column(name = "jumlah", nullable = false)
+    private Long jumlah;
+}
@@ -0,0 +1,54 @@
+package com.pcs8.orientasi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * Counter dashboard PKSI per akhir bulan untuk PKSI yang disetujui: jumlah per progress
+ * (historis pada akhir bulan tersebut), bidang, tahun deadline dan apakah PKSI sudah dibuat
+ * sebelum akhir bulan. {@code deadline_tahun} hanya diisi untuk deadline di tahun itu atau
+ * tahun berikutnya, selain itu 0. Dipelihara oleh {@code PksiDashboardAggregateService}.
+ */
+@Entity
+@Table(name = "agg_pksi_dashboard_bulanan", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_agg_pksi_bulanan",
+            columnNames = {"tahun", "bulan", "progress", "bidang_kode", "deadline_tahun", "sudah_dibuat"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class PksiDashboardMonthlyAggregate extends BaseEntity {
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tahun", nullable = false)
+    private Integer tahun;
+
+    @Column(name = "bulan", nullable = false)
+    private Integer bulan;
+
+    @Column(name = "progress", nullable = false, length = 50)
+    private String progress;
+
+    @Column(name = "bidang_kode", nullable = false, length = 50)
+    private String bidangKode;
+
+    @Column(name = "deadline_tahun", nullable = false)
+    private Integer deadlineTahun;
+
+    @Column(name = "sudah_dibuat", nullable = false)
+    private Boolean sudahDibuat;
+
+    @Column(name = "jumlah", nullable = false)
+    private Integer jumlah;
+}
@@ -0,0 +1,54 @@
+package com.pcs8.orientasi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * Counter dashboard PKSI per tahun: jumlah PKSI per kombinasi status, kategori persetujuan,
+ * jenis (single/multiyear), pelaksana dan bidang. Kolom dimensi tidak pernah null; nilai
+ * kosong ({@code ""}) berarti tidak berlaku, misalnya kategori persetujuan untuk PKSI yang
+ * belum disetujui. Dipelihara oleh {@code PksiDashboardAggregateService}.
+ */
+@Entity
+@Table(name = "agg_pksi_dashboard_tahunan", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_agg_pksi_tahunan",
+            columnNames = {"tahun", "status", "approval_kategori", "jenis_kategori", "pelaksana", "bidang_kode"})
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class PksiDashboardYearlyAggregate extends BaseEntity {
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "tahun", nullable = false)
+    private Integer tahun;
+
+    @Column(name = "status", nullable = false, length = 50)
+    private String status;
+
+    @Column(name = "approval_kategori", nullable = false, length = 30)
+    private String approvalKategori;
+
+    @Column(name = "jenis_kategori", nullable = false, length = 30)
+    private String jenisKategori;
+
+    @Column(name = "pelaksana", nullable = false, length = 20)
+    private String pelaksana;
+
+    @Column(name = "bidang_kode", nullable = false, length = 50)
+    private String bidangKode;
+
+    @Column(name = "jumlah", nullable = false)
+    private Integer jumlah;
+}
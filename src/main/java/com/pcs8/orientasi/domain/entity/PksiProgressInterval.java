@@ -0,0 +1,50 @@
+package com.pcs8.orientasi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Riwayat progress PKSI dalam bentuk interval [validFrom, validTo), diturunkan dari changelog
+ * field progress. Interval yang masih berlaku memakai {@link #OPEN_END} sebagai validTo, sehingga
+ * progress "per tanggal X" cukup satu range scan: {@code validFrom <= X AND validTo > X}.
+ * PKSI tanpa interval pada tanggal X memakai progress saat ini.
+ */
+@Entity
+@Table(name = "his_pksi_progress", indexes = {
+    @Index(name = "idx_pksi_progress_range", columnList = "valid_to, valid_from"),
+    @Index(name = "idx_pksi_progress_pksi", columnList = "pksi_id, valid_from")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class PksiProgressInterval extends BaseEntity {
+
+    /** validTo untuk interval yang masih berlaku */
+    public static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pksi_id", nullable = false)
+    private PksiDocument pksiDocument;
+
+    @Column(name = "progress", length = 50)
+    private String progress;
+
+    @Column(name = "valid_from", nullable = false)
+    private LocalDateTime validFrom;
+
+    @Column(name = "valid_to", nullable = false)
+    private LocalDateTime validTo;
+}
@@ -0,0 +1,41 @@
+package com.pcs8.orientasi.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * Relasi PKSI - SKPA (PIC Satker) yang dinormalisasi dari {@link PksiDocument#getPicSatker()}.
+ * String picSatker tetap menjadi sumber data form; tabel ini disinkronkan setiap kali PKSI
+ * disimpan dan dipakai untuk filter departemen yang bisa memakai index.
+ */
+@Entity
+@Table(name = "trn_pksi_skpa", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"pksi_id", "skpa_id"})
+}, indexes = {
+    @Index(name = "idx_pksi_skpa_skpa", columnList = "skpa_id, pksi_id")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class PksiSkpa extends BaseEntity {
+
+    @Id
+    @UuidGenerator
+    @EqualsAndHashCode.Include
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pksi_id", nullable = false)
+    private PksiDocument pksiDocument;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "skpa_id", nullable = false)
+    private MstSkpa skpa;
+}
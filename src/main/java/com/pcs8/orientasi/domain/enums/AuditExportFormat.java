@@ -0,0 +1,25 @@
+package com.pcs8.orientasi.domain.enums;
+
+/**
+ * Enum untuk format export audit log.
+ */
+public enum AuditExportFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String fileExtension;
+    private final String contentType;
+
+    AuditExportFormat(String fileExtension, String contentType) {
+        this.fileExtension = fileExtension;
+        this.contentType = contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
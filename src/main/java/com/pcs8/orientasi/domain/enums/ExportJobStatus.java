@@ -0,0 +1,11 @@
+package com.pcs8.orientasi.domain.enums;
+
+/**
+ * Enum untuk status export job.
+ */
+public enum ExportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
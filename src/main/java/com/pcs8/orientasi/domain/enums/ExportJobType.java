@@ -0,0 +1,11 @@
+package com.pcs8.orientasi.domain.enums;
+
+/**
+ * Enum untuk jenis export yang dapat dijalankan sebagai job di background.
+ */
+public enum ExportJobType {
+    FS2_ALL,
+    FS2_APPROVED,
+    HISTORIS_APLIKASI,
+    RBSI_MONITORING
+}
@@ -0,0 +1,18 @@
+package com.pcs8.orientasi.exception;
+
+/**
+ * Server sedang penuh sementara; dijawab 503 dengan header Retry-After
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
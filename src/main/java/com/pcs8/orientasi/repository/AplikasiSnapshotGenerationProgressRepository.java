@@ -0,0 +1,14 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.AplikasiSnapshotGenerationProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AplikasiSnapshotGenerationProgressRepository extends JpaRepository<AplikasiSnapshotGenerationProgress, UUID> {
+
+    Optional<AplikasiSnapshotGenerationProgress> findByTahun(Integer tahun);
+}
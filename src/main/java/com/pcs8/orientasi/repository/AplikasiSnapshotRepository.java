@@ -1,6 +1,9 @@
 package com.pcs8.orientasi.repository;
 
+import com.pcs8.orientasi.domain.dto.projection.SnapshotStatusCountView;
 import com.pcs8.orientasi.domain.entity.AplikasiSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,12 +14,14 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AplikasiSnapshotRepository extends JpaRepository<AplikasiSnapshot, UUID> {
+public interface AplikasiSnapshotRepository extends JpaRepository<AplikasiSnapshot, UUID>, AplikasiSnapshotRepositoryCustom {
 
     Optional<AplikasiSnapshot> findByAplikasiIdAndTahun(UUID aplikasiId, Integer tahun);
 
     List<AplikasiSnapshot> findByTahunOrderByNamaAplikasi(Integer tahun);
 
+    Slice<AplikasiSnapshot> findByTahun(Integer tahun, Pageable pageable);
+
     List<AplikasiSnapshot> findByTahunBetweenOrderByTahunDescNamaAplikasiAsc(Integer startYear, Integer endYear);
 
     @Query("SELECT DISTINCT s.tahun FROM AplikasiSnapshot s ORDER BY s.tahun DESC")
@@ -25,11 +30,14 @@ public interface AplikasiSnapshotRepository extends JpaRepository<AplikasiSnapsh
     @Query("SELECT s FROM AplikasiSnapshot s WHERE s.tahun BETWEEN :startYear AND :endYear ORDER BY s.namaAplikasi, s.tahun")
     List<AplikasiSnapshot> findByPeriode(@Param("startYear") Integer startYear, @Param("endYear") Integer endYear);
 
-    @Query("SELECT COUNT(s) FROM AplikasiSnapshot s WHERE s.tahun = :tahun")
-    Long countByTahun(@Param("tahun") Integer tahun);
-
-    @Query("SELECT s.statusAplikasi, COUNT(s) FROM AplikasiSnapshot s WHERE s.tahun = :tahun GROUP BY s.statusAplikasi")
-    List<Object[]> countByStatusAndTahun(@Param("tahun") Integer tahun);
+    /**
+     * Matriks jumlah snapshot (tahun x status aplikasi) untuk rentang tahun dalam satu query
+     */
+    @Query("SELECT s.tahun AS tahun, s.statusAplikasi AS statusAplikasi, COUNT(s) AS jumlah " +
+           "FROM AplikasiSnapshot s WHERE s.tahun BETWEEN :startYear AND :endYear " +
+           "GROUP BY s.tahun, s.statusAplikasi")
+    List<SnapshotStatusCountView> countByTahunAndStatus(@Param("startYear") Integer startYear,
+                                                        @Param("endYear") Integer endYear);
 
     @Query("SELECT COUNT(s) FROM AplikasiSnapshot s WHERE s.tahun = :tahun AND s.statusAplikasi = 'AKTIF'")
     Long countAktifByTahun(@Param("tahun") Integer tahun);
@@ -0,0 +1,82 @@
+package com.pcs8.orientasi.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Operasi bulk untuk generate snapshot satu tahun lewat JDBC: baca aplikasi beserta child-nya per chunk,
+ * lalu tulis snapshot dan child row dengan batch insert/update tanpa melewati persistence context.
+ */
+public interface AplikasiSnapshotRepositoryCustom {
+
+    /**
+     * Baca satu chunk aplikasi urut kode_aplikasi sesudah {@code afterKodeAplikasi}, beserta bidang, SKPA
+     * dan kelima child collection-nya (masing-masing satu query untuk seluruh chunk).
+     *
+     * @param afterKodeAplikasi kode aplikasi terakhir chunk sebelumnya, null untuk chunk pertama
+     * @param limit jumlah aplikasi maksimal
+     */
+    List<SnapshotSource> findSnapshotSources(String afterKodeAplikasi, int limit);
+
+    /**
+     * Tulis snapshot tahun {@code tahun} untuk chunk aplikasi. Snapshot yang sudah ada di-update
+     * (id, changelog, keterangan historis dan tipe snapshot tetap) dan child-nya diganti;
+     * yang belum ada di-insert baru. Harus dipanggil di dalam transaksi.
+     */
+    SnapshotWriteResult writeSnapshots(int tahun, String snapshotType, List<SnapshotSource> sources,
+                                       LocalDateTime snapshotDate);
+
+    record SnapshotSource(
+            UUID aplikasiId,
+            String kodeAplikasi,
+            String namaAplikasi,
+            String deskripsi,
+            String statusAplikasi,
+            LocalDate tanggalStatus,
+            UUID bidangId,
+            String bidangKode,
+            String bidangNama,
+            UUID skpaId,
+            String skpaKode,
+            String skpaNama,
+            LocalDate tanggalImplementasi,
+            String akses,
+            boolean prosesDataPribadi,
+            String dataPribadiDiproses,
+            String kategoriIdle,
+            String alasanIdle,
+            String rencanaPengakhiran,
+            String alasanBelumDiakhiri,
+            List<UrlSource> urls,
+            List<SatkerInternalSource> satkerInternals,
+            List<PenggunaEksternalSource> penggunaEksternals,
+            List<KomunikasiSistemSource> komunikasiSistems,
+            List<PenghargaanSource> penghargaans
+    ) {
+    }
+
+    record UrlSource(String url, String tipeAkses, String keterangan) {
+    }
+
+    record SatkerInternalSource(String namaSatker, String keterangan) {
+    }
+
+    record PenggunaEksternalSource(String namaPengguna, String keterangan) {
+    }
+
+    record KomunikasiSistemSource(String namaSistem, String tipeSistem, String deskripsiKomunikasi,
+                                  String keterangan, boolean isPlanned) {
+    }
+
+    record PenghargaanSource(UUID kategoriId, String kategoriKode, String kategoriNama,
+                             LocalDate tanggal, String deskripsi) {
+    }
+
+    /**
+     * Jumlah snapshot baru, snapshot yang di-update, dan child row yang ditulis
+     */
+    record SnapshotWriteResult(int created, int updated, int childRows) {
+    }
+}
@@ -0,0 +1,279 @@
+package com.pcs8.orientasi.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementasi {@link AplikasiSnapshotRepositoryCustom} dengan JdbcTemplate.
+ * Semua query child memakai {@code IN} per chunk, jadi jumlah aplikasi per chunk harus tetap di bawah
+ * batas 2100 parameter SQL Server.
+ */
+class AplikasiSnapshotRepositoryCustomImpl implements AplikasiSnapshotRepositoryCustom {
+
+    private static final String SOURCE_SELECT = "SELECT a.id, a.kode_aplikasi, a.nama_aplikasi, a.deskripsi, " +
+            "a.status_aplikasi, a.tanggal_status, b.id AS bidang_id, b.kode_bidang, b.nama_bidang, " +
+            "s.id AS skpa_id, s.kode_skpa, s.nama_skpa, a.tanggal_implementasi, a.akses, a.proses_data_pribadi, " +
+            "a.data_pribadi_diproses, a.kategori_idle, a.alasan_idle, a.rencana_pengakhiran, a.alasan_belum_diakhiri " +
+            "FROM mst_aplikasi a LEFT JOIN mst_bidang b ON b.id = a.bidang_id LEFT JOIN mst_skpa s ON s.id = a.skpa_id";
+
+    private static final String SNAPSHOT_INSERT = "INSERT INTO his_aplikasi_snapshot (id, aplikasi_id, tahun, " +
+            "kode_aplikasi, nama_aplikasi, deskripsi, status_aplikasi, tanggal_status, bidang_id, bidang_kode, " +
+            "bidang_nama, skpa_id, skpa_kode, skpa_nama, tanggal_implementasi, akses, proses_data_pribadi, " +
+            "data_pribadi_diproses, kategori_idle, alasan_idle, rencana_pengakhiran, alasan_belum_diakhiri, " +
+            "snapshot_date, snapshot_type, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SNAPSHOT_UPDATE = "UPDATE his_aplikasi_snapshot SET kode_aplikasi = ?, " +
+            "nama_aplikasi = ?, deskripsi = ?, status_aplikasi = ?, tanggal_status = ?, bidang_id = ?, " +
+            "bidang_kode = ?, bidang_nama = ?, skpa_id = ?, skpa_kode = ?, skpa_nama = ?, tanggal_implementasi = ?, " +
+            "akses = ?, proses_data_pribadi = ?, data_pribadi_diproses = ?, kategori_idle = ?, alasan_idle = ?, " +
+            "rencana_pengakhiran = ?, alasan_belum_diakhiri = ?, snapshot_date = ?, updated_at = ? WHERE id = ?";
+
+    private static final String[] CHILD_TABLES = {
+        "his_aplikasi_url", "his_aplikasi_satker_internal", "his_aplikasi_pengguna_eksternal",
+        "his_aplikasi_komunikasi_sistem", "his_aplikasi_penghargaan"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AplikasiSnapshotRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SnapshotSource> findSnapshotSources(String afterKodeAplikasi, int limit) {
+        RowMapper<SnapshotSource> mapper = (rs, rowNum) -> new SnapshotSource(
+                uuid(rs, "id"),
+                rs.getString("kode_aplikasi"),
+                rs.getString("nama_aplikasi"),
+                rs.getString("deskripsi"),
+                rs.getString("status_aplikasi"),
+                rs.getObject("tanggal_status", LocalDate.class),
+                uuid(rs, "bidang_id"),
+                rs.getString("kode_bidang"),
+                rs.getString("nama_bidang"),
+                uuid(rs, "skpa_id"),
+                rs.getString("kode_skpa"),
+                rs.getString("nama_skpa"),
+                rs.getObject("tanggal_implementasi", LocalDate.class),
+                rs.getString("akses"),
+                rs.getBoolean("proses_data_pribadi"),
+                rs.getString("data_pribadi_diproses"),
+                rs.getString("kategori_idle"),
+                rs.getString("alasan_idle"),
+                rs.getString("rencana_pengakhiran"),
+                rs.getString("alasan_belum_diakhiri"),
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        String sql = "SELECT TOP (?) * FROM (" + SOURCE_SELECT + ") src"
+                + (afterKodeAplikasi != null ? " WHERE src.kode_aplikasi > ?" : "")
+                + " ORDER BY src.kode_aplikasi";
+        Object[] params = afterKodeAplikasi != null ? new Object[]{limit, afterKodeAplikasi} : new Object[]{limit};
+        Map<UUID, SnapshotSource> sources = new LinkedHashMap<>();
+        for (SnapshotSource source : jdbcTemplate.query(sql, mapper, params)) {
+            sources.put(source.aplikasiId(), source);
+        }
+        if (sources.isEmpty()) {
+            return List.of();
+        }
+
+        Collection<UUID> aplikasiIds = sources.keySet();
+        String in = placeholders(aplikasiIds.size());
+        Object[] ids = toParams(aplikasiIds);
+
+        jdbcTemplate.query("SELECT aplikasi_id, url, tipe_akses, keterangan FROM trn_aplikasi_url " +
+                "WHERE aplikasi_id IN (" + in + ")", rs -> {
+            sources.get(uuid(rs, "aplikasi_id")).urls().add(new UrlSource(
+                    rs.getString("url"), rs.getString("tipe_akses"), rs.getString("keterangan")));
+        }, ids);
+        jdbcTemplate.query("SELECT aplikasi_id, nama_satker, keterangan FROM trn_aplikasi_satker_internal " +
+                "WHERE aplikasi_id IN (" + in + ")", rs -> {
+            sources.get(uuid(rs, "aplikasi_id")).satkerInternals().add(new SatkerInternalSource(
+                    rs.getString("nama_satker"), rs.getString("keterangan")));
+        }, ids);
+        jdbcTemplate.query("SELECT aplikasi_id, nama_pengguna, keterangan FROM trn_aplikasi_pengguna_eksternal " +
+                "WHERE aplikasi_id IN (" + in + ")", rs -> {
+            sources.get(uuid(rs, "aplikasi_id")).penggunaEksternals().add(new PenggunaEksternalSource(
+                    rs.getString("nama_pengguna"), rs.getString("keterangan")));
+        }, ids);
+        jdbcTemplate.query("SELECT aplikasi_id, nama_sistem, tipe_sistem, deskripsi_komunikasi, keterangan, is_planned " +
+                "FROM trn_aplikasi_komunikasi_sistem WHERE aplikasi_id IN (" + in + ")", rs -> {
+            sources.get(uuid(rs, "aplikasi_id")).komunikasiSistems().add(new KomunikasiSistemSource(
+                    rs.getString("nama_sistem"), rs.getString("tipe_sistem"), rs.getString("deskripsi_komunikasi"),
+                    rs.getString("keterangan"), rs.getBoolean("is_planned")));
+        }, ids);
+        jdbcTemplate.query("SELECT p.aplikasi_id, p.kategori_id, v.kode, v.nama, p.tanggal, p.deskripsi " +
+                "FROM trn_aplikasi_penghargaan p LEFT JOIN mst_variable v ON v.id = p.kategori_id " +
+                "WHERE p.aplikasi_id IN (" + in + ")", rs -> {
+            sources.get(uuid(rs, "aplikasi_id")).penghargaans().add(new PenghargaanSource(
+                    uuid(rs, "kategori_id"), rs.getString("kode"), rs.getString("nama"),
+                    rs.getObject("tanggal", LocalDate.class), rs.getString("deskripsi")));
+        }, ids);
+
+        return new ArrayList<>(sources.values());
+    }
+
+    @Override
+    public SnapshotWriteResult writeSnapshots(int tahun, String snapshotType, List<SnapshotSource> sources,
+                                              LocalDateTime snapshotDate) {
+        if (sources.isEmpty()) {
+            return new SnapshotWriteResult(0, 0, 0);
+        }
+
+        List<UUID> aplikasiIds = sources.stream().map(SnapshotSource::aplikasiId).toList();
+        Map<UUID, UUID> existing = findSnapshotIds(tahun, aplikasiIds);
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Map<UUID, SnapshotSource> bySnapshotId = new LinkedHashMap<>();
+        for (SnapshotSource source : sources) {
+            UUID snapshotId = existing.get(source.aplikasiId());
+            if (snapshotId != null) {
+                updates.add(updateParams(source, snapshotId, snapshotDate));
+            } else {
+                snapshotId = UUID.randomUUID();
+                inserts.add(insertParams(source, snapshotId, tahun, snapshotType, snapshotDate));
+            }
+            bySnapshotId.put(snapshotId, source);
+        }
+
+        if (!existing.isEmpty()) {
+            // Child snapshot lama diganti seluruhnya, sama seperti clear() + orphanRemoval sebelumnya
+            String in = placeholders(existing.size());
+            Object[] snapshotIds = toParams(existing.values());
+            for (String table : CHILD_TABLES) {
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE snapshot_id IN (" + in + ")", snapshotIds);
+            }
+            jdbcTemplate.batchUpdate(SNAPSHOT_UPDATE, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(SNAPSHOT_INSERT, inserts);
+        }
+
+        int childRows = insertChildren(bySnapshotId, snapshotDate);
+        return new SnapshotWriteResult(inserts.size(), updates.size(), childRows);
+    }
+
+    private Map<UUID, UUID> findSnapshotIds(int tahun, List<UUID> aplikasiIds) {
+        Object[] params = new Object[aplikasiIds.size() + 1];
+        params[0] = tahun;
+        for (int i = 0; i < aplikasiIds.size(); i++) {
+            params[i + 1] = aplikasiIds.get(i).toString();
+        }
+
+        Map<UUID, UUID> snapshotIds = new HashMap<>();
+        jdbcTemplate.query("SELECT aplikasi_id, id FROM his_aplikasi_snapshot WHERE tahun = ? AND aplikasi_id IN ("
+                + placeholders(aplikasiIds.size()) + ")", rs -> {
+            snapshotIds.put(uuid(rs, "aplikasi_id"), uuid(rs, "id"));
+        }, params);
+        return snapshotIds;
+    }
+
+    private int insertChildren(Map<UUID, SnapshotSource> bySnapshotId, LocalDateTime now) {
+        List<Object[]> urls = new ArrayList<>();
+        List<Object[]> satkers = new ArrayList<>();
+        List<Object[]> penggunas = new ArrayList<>();
+        List<Object[]> komunikasis = new ArrayList<>();
+        List<Object[]> penghargaans = new ArrayList<>();
+
+        bySnapshotId.forEach((snapshotId, source) -> {
+            String snapshot = snapshotId.toString();
+            for (UrlSource url : source.urls()) {
+                urls.add(new Object[]{newId(), snapshot, url.url(), url.tipeAkses(), url.keterangan(), now, now});
+            }
+            for (SatkerInternalSource satker : source.satkerInternals()) {
+                satkers.add(new Object[]{newId(), snapshot, satker.namaSatker(), satker.keterangan(), now, now});
+            }
+            for (PenggunaEksternalSource pengguna : source.penggunaEksternals()) {
+                penggunas.add(new Object[]{newId(), snapshot, pengguna.namaPengguna(), pengguna.keterangan(), now, now});
+            }
+            for (KomunikasiSistemSource kom : source.komunikasiSistems()) {
+                komunikasis.add(new Object[]{newId(), snapshot, kom.namaSistem(), kom.tipeSistem(),
+                        kom.deskripsiKomunikasi(), kom.keterangan(), kom.isPlanned(), now, now});
+            }
+            for (PenghargaanSource penghargaan : source.penghargaans()) {
+                penghargaans.add(new Object[]{newId(), snapshot, toParam(penghargaan.kategoriId()),
+                        penghargaan.kategoriKode(), penghargaan.kategoriNama(), penghargaan.tanggal(),
+                        penghargaan.deskripsi(), now, now});
+            }
+        });
+
+        batchInsert("INSERT INTO his_aplikasi_url (id, snapshot_id, url, tipe_akses, keterangan, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)", urls);
+        batchInsert("INSERT INTO his_aplikasi_satker_internal (id, snapshot_id, nama_satker, keterangan, created_at, " +
+                "updated_at) VALUES (?, ?, ?, ?, ?, ?)", satkers);
+        batchInsert("INSERT INTO his_aplikasi_pengguna_eksternal (id, snapshot_id, nama_pengguna, keterangan, " +
+                "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", penggunas);
+        batchInsert("INSERT INTO his_aplikasi_komunikasi_sistem (id, snapshot_id, nama_sistem, tipe_sistem, " +
+                "deskripsi_komunikasi, keterangan, is_planned, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", komunikasis);
+        batchInsert("INSERT INTO his_aplikasi_penghargaan (id, snapshot_id, kategori_id, kategori_kode, kategori_nama, " +
+                "tanggal, deskripsi, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", penghargaans);
+
+        return urls.size() + satkers.size() + penggunas.size() + komunikasis.size() + penghargaans.size();
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static Object[] insertParams(SnapshotSource source, UUID snapshotId, int tahun, String snapshotType,
+                                         LocalDateTime now) {
+        return new Object[]{
+            snapshotId.toString(), source.aplikasiId().toString(), tahun,
+            source.kodeAplikasi(), source.namaAplikasi(), source.deskripsi(), source.statusAplikasi(),
+            source.tanggalStatus(), toParam(source.bidangId()), source.bidangKode(), source.bidangNama(),
+            toParam(source.skpaId()), source.skpaKode(), source.skpaNama(), source.tanggalImplementasi(),
+            source.akses(), source.prosesDataPribadi(), source.dataPribadiDiproses(), source.kategoriIdle(),
+            source.alasanIdle(), source.rencanaPengakhiran(), source.alasanBelumDiakhiri(),
+            now, snapshotType, now, now
+        };
+    }
+
+    private static Object[] updateParams(SnapshotSource source, UUID snapshotId, LocalDateTime now) {
+        return new Object[]{
+            source.kodeAplikasi(), source.namaAplikasi(), source.deskripsi(), source.statusAplikasi(),
+            source.tanggalStatus(), toParam(source.bidangId()), source.bidangKode(), source.bidangNama(),
+            toParam(source.skpaId()), source.skpaKode(), source.skpaNama(), source.tanggalImplementasi(),
+            source.akses(), source.prosesDataPribadi(), source.dataPribadiDiproses(), source.kategoriIdle(),
+            source.alasanIdle(), source.rencanaPengakhiran(), source.alasanBelumDiakhiri(),
+            now, now, snapshotId.toString()
+        };
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static String toParam(UUID value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Object[] toParams(Collection<UUID> values) {
+        return values.stream().map(UUID::toString).toArray();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static UUID uuid(ResultSet rs, String column) throws SQLException {
+        String value = rs.getString(column);
+        return value != null ? UUID.fromString(value) : null;
+    }
+}
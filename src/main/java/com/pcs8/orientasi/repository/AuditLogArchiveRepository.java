@@ -0,0 +1,11 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.AuditLogArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AuditLogArchiveRepository extends JpaRepository<AuditLogArchive, UUID> {
+}
@@ -0,0 +1,63 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.AuditLogDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AuditLogDailyAggregateRepository extends JpaRepository<AuditLogDailyAggregate, UUID> {
+
+    /**
+     * Tambah counter secara atomik. HOLDLOCK mencegah dua transaksi sama-sama meng-insert
+     * kunci yang belum ada.
+     */
+    @Modifying
+    @Query(value = "MERGE agg_audit_log_harian WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :tanggal AS tanggal, :entityName AS entity_name, :action AS action) AS s " +
+            "ON t.tanggal = s.tanggal AND t.entity_name = s.entity_name AND t.action = s.action " +
+            "WHEN MATCHED THEN UPDATE SET jumlah = t.jumlah + :delta, updated_at = SYSDATETIME() " +
+            "WHEN NOT MATCHED THEN " +
+            "   INSERT (id, tanggal, entity_name, action, jumlah, created_at, updated_at) " +
+            "   VALUES (NEWID(), s.tanggal, s.entity_name, s.action, :delta, SYSDATETIME(), SYSDATETIME());",
+            nativeQuery = true)
+    void applyDelta(@Param("tanggal") LocalDate tanggal,
+                    @Param("entityName") String entityName,
+                    @Param("action") String action,
+                    @Param("delta") long delta);
+
+    /**
+     * Isi ulang counter dari audit_log dan audit_log_archive. Dipanggil setelah tabel dikosongkan.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO agg_audit_log_harian (id, tanggal, entity_name, action, jumlah, created_at, updated_at) " +
+            "SELECT NEWID(), src.tanggal, src.entity_name, src.action, SUM(src.jumlah), SYSDATETIME(), SYSDATETIME() " +
+            "FROM (" +
+            "   SELECT CAST(created_at AS DATE) AS tanggal, entity_name, action, COUNT_BIG(*) AS jumlah " +
+            "   FROM audit_log GROUP BY CAST(created_at AS DATE), entity_name, action " +
+            "   UNION ALL " +
+            "   SELECT CAST(created_at AS DATE), entity_name, action, COUNT_BIG(*) " +
+            "   FROM audit_log_archive GROUP BY CAST(created_at AS DATE), entity_name, action" +
+            ") src GROUP BY src.tanggal, src.entity_name, src.action",
+            nativeQuery = true)
+    int rebuildFromAuditLog();
+
+    @Query("SELECT COALESCE(SUM(a.jumlah), 0) FROM AuditLogDailyAggregate a")
+    long sumTotal();
+
+    @Query("SELECT a.entityName, SUM(a.jumlah) FROM AuditLogDailyAggregate a " +
+            "GROUP BY a.entityName ORDER BY SUM(a.jumlah) DESC")
+    List<Object[]> sumByEntityName();
+
+    @Query("SELECT a.action, SUM(a.jumlah) FROM AuditLogDailyAggregate a GROUP BY a.action")
+    List<Object[]> sumByAction();
+
+    @Query("SELECT DISTINCT a.entityName FROM AuditLogDailyAggregate a ORDER BY a.entityName")
+    List<String> findDistinctEntityNames();
+}
@@ -1,11 +1,11 @@
 package com.pcs8.orientasi.repository;
 
-import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
 import com.pcs8.orientasi.domain.entity.AuditLog;
 import com.pcs8.orientasi.domain.enums.AuditAction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,7 +18,7 @@ import java.util.UUID;
  * Repository untuk AuditLog entity.
  */
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, UUID>, AuditLogRepositoryCustom {
 
     /**
      * Cari audit log berdasarkan entity name dan entity id (dengan pagination).
@@ -60,35 +60,29 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
             String entityName, UUID entityId);
 
     /**
-     * Search audit log dengan multiple filter.
+     * Waktu audit log tertua yang masih ada di tabel live.
      */
-    @Query("SELECT a FROM AuditLog a WHERE " +
-           "(:#{#criteria.entityName} IS NULL OR a.entityName = :#{#criteria.entityName}) AND " +
-           "(:#{#criteria.entityId} IS NULL OR a.entityId = :#{#criteria.entityId}) AND " +
-           "(:#{#criteria.action} IS NULL OR a.action = :#{#criteria.action}) AND " +
-           "(:#{#criteria.userId} IS NULL OR a.userId = :#{#criteria.userId}) AND " +
-           "(:#{#criteria.username} IS NULL OR a.username LIKE %:#{#criteria.username}%) AND " +
-           "(:#{#criteria.startDate} IS NULL OR a.createdAt >= :#{#criteria.startDate}) AND " +
-           "(:#{#criteria.endDate} IS NULL OR a.createdAt <= :#{#criteria.endDate})")
-    Page<AuditLog> searchAuditLogs(
-            @Param("criteria") AuditLogSearchCriteria criteria,
-            Pageable pageable);
+    @Query("SELECT MIN(a.createdAt) FROM AuditLog a")
+    LocalDateTime findOldestCreatedAt();
 
     /**
-     * Count audit logs per entity name.
+     * Pindahkan maksimal {@code batchSize} audit log dalam rentang [from, to) ke audit_log_archive
+     * secara atomik (DELETE ... OUTPUT INTO), ditandai dengan bulan arsip.
+     *
+     * @return jumlah baris yang dipindahkan
      */
-    @Query("SELECT a.entityName, COUNT(a) FROM AuditLog a GROUP BY a.entityName ORDER BY COUNT(a) DESC")
-    List<Object[]> countByEntityName();
-
-    /**
-     * Count audit logs per action.
-     */
-    @Query("SELECT a.action, COUNT(a) FROM AuditLog a GROUP BY a.action")
-    List<Object[]> countByAction();
-
-    /**
-     * Get distinct entity names.
-     */
-    @Query("SELECT DISTINCT a.entityName FROM AuditLog a ORDER BY a.entityName")
-    List<String> findDistinctEntityNames();
+    @Modifying
+    @Query(value = "DELETE TOP (:batchSize) FROM audit_log " +
+            "OUTPUT DELETED.id, :partitionMonth, DELETED.entity_name, DELETED.entity_id, DELETED.action, " +
+            "       DELETED.old_value, DELETED.new_value, DELETED.value_delta, DELETED.changed_fields, " +
+            "       DELETED.user_id, DELETED.username, DELETED.ip_address, DELETED.user_agent, DELETED.created_at " +
+            "INTO audit_log_archive (id, partition_month, entity_name, entity_id, action, " +
+            "       old_value, new_value, value_delta, changed_fields, " +
+            "       user_id, username, ip_address, user_agent, created_at) " +
+            "WHERE created_at >= :from AND created_at < :to",
+            nativeQuery = true)
+    int moveToArchive(@Param("from") LocalDateTime from,
+                      @Param("to") LocalDateTime to,
+                      @Param("partitionMonth") int partitionMonth,
+                      @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,43 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query audit log dengan predicate dinamis: hanya kriteria yang diisi yang masuk ke WHERE,
+ * sehingga SQL Server bisa memakai index idx_audit_* yang sesuai.
+ */
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Search audit log dengan multiple filter (offset pagination).
+     */
+    Page<AuditLog> searchAuditLogs(AuditLogSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Keyset pagination urut (createdAt, id) menurun: audit log sesudah posisi cursor.
+     *
+     * @param cursorCreatedAt createdAt baris terakhir halaman sebelumnya, null untuk halaman pertama
+     * @param cursorId id baris terakhir halaman sebelumnya
+     * @param limit jumlah baris maksimal
+     */
+    List<AuditLog> searchAuditLogsAfter(AuditLogSearchCriteria criteria,
+                                        LocalDateTime cursorCreatedAt,
+                                        UUID cursorId,
+                                        int limit);
+
+    /**
+     * Baca semua audit log yang cocok dengan kriteria (urut createdAt, id menurun) lewat cursor
+     * JDBC forward-only, satu baris per panggilan handler. Baris tidak ditampung di memory
+     * maupun di persistence context, jadi aman untuk export dengan jumlah baris berapa pun.
+     * Kolom result set mengikuti nama kolom tabel audit_log.
+     */
+    void streamAuditLogRows(AuditLogSearchCriteria criteria, RowCallbackHandler handler);
+}
@@ -0,0 +1,188 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementasi {@link AuditLogRepositoryCustom} dengan query yang disusun dari kriteria yang diisi:
+ * JPQL untuk search, SQL native lewat JdbcTemplate untuk streaming export.
+ */
+class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final int STREAM_FETCH_SIZE = 1_000;
+    private static final String STREAM_SELECT = "SELECT id, entity_name, entity_id, action, old_value, new_value, " +
+            "value_delta, changed_fields, user_id, username, ip_address, user_agent, created_at FROM audit_log";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AuditLogRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Page<AuditLog> searchAuditLogs(AuditLogSearchCriteria criteria, Pageable pageable) {
+        Predicates predicates = Predicates.of(criteria);
+        Sort sort = pageable.getSort().isSorted() ? pageable.getSort() : DEFAULT_SORT;
+
+        TypedQuery<AuditLog> query = entityManager.createQuery(
+                QueryUtils.applySorting("SELECT a FROM AuditLog a" + predicates.where(), sort, "a"), AuditLog.class);
+        predicates.bind(query);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> {
+            TypedQuery<Long> countQuery = entityManager.createQuery(
+                    "SELECT COUNT(a) FROM AuditLog a" + predicates.where(), Long.class);
+            predicates.bind(countQuery);
+            return countQuery.getSingleResult();
+        });
+    }
+
+    @Override
+    public List<AuditLog> searchAuditLogsAfter(AuditLogSearchCriteria criteria,
+                                               LocalDateTime cursorCreatedAt,
+                                               UUID cursorId,
+                                               int limit) {
+        Predicates predicates = Predicates.of(criteria);
+        if (cursorCreatedAt != null && cursorId != null) {
+            predicates.add("(a.createdAt < :cursorCreatedAt OR (a.createdAt = :cursorCreatedAt AND a.id < :cursorId))",
+                    "cursorCreatedAt", cursorCreatedAt);
+            predicates.param("cursorId", cursorId);
+        }
+
+        TypedQuery<AuditLog> query = entityManager.createQuery(
+                "SELECT a FROM AuditLog a" + predicates.where() + " ORDER BY a.createdAt DESC, a.id DESC",
+                AuditLog.class);
+        predicates.bind(query);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public void streamAuditLogRows(AuditLogSearchCriteria criteria, RowCallbackHandler handler) {
+        List<String> clauses = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (criteria != null) {
+            addNative(clauses, params, "entity_name = ?", criteria.getEntityName());
+            addNative(clauses, params, "entity_id = ?", criteria.getEntityId() != null ? criteria.getEntityId().toString() : null);
+            addNative(clauses, params, "action = ?", criteria.getAction() != null ? criteria.getAction().name() : null);
+            addNative(clauses, params, "user_id = ?", criteria.getUserId() != null ? criteria.getUserId().toString() : null);
+            if (criteria.getUsername() != null && !criteria.getUsername().isBlank()) {
+                addNative(clauses, params, "username LIKE ? ESCAPE '!'",
+                        "%" + Predicates.escapeLike(criteria.getUsername().trim()) + "%");
+            }
+            addNative(clauses, params, "created_at >= ?", criteria.getStartDate());
+            addNative(clauses, params, "created_at <= ?", criteria.getEndDate());
+        }
+        String sql = STREAM_SELECT
+                + (clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses))
+                + " ORDER BY created_at DESC, id DESC";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, handler);
+    }
+
+    private static void addNative(List<String> clauses, List<Object> params, String clause, Object value) {
+        if (value != null) {
+            clauses.add(clause);
+            params.add(value);
+        }
+    }
+
+    /**
+     * Kumpulan kondisi WHERE beserta parameternya
+     */
+    private static final class Predicates {
+
+        private final List<String> clauses = new ArrayList<>();
+        private final Map<String, Object> params = new HashMap<>();
+
+        static Predicates of(AuditLogSearchCriteria criteria) {
+            Predicates predicates = new Predicates();
+            if (criteria == null) {
+                return predicates;
+            }
+            if (criteria.getEntityName() != null) {
+                predicates.add("a.entityName = :entityName", "entityName", criteria.getEntityName());
+            }
+            if (criteria.getEntityId() != null) {
+                predicates.add("a.entityId = :entityId", "entityId", criteria.getEntityId());
+            }
+            if (criteria.getAction() != null) {
+                predicates.add("a.action = :action", "action", criteria.getAction());
+            }
+            if (criteria.getUserId() != null) {
+                predicates.add("a.userId = :userId", "userId", criteria.getUserId());
+            }
+            if (criteria.getUsername() != null && !criteria.getUsername().isBlank()) {
+                predicates.add("a.username LIKE :username ESCAPE '!'", "username",
+                        "%" + escapeLike(criteria.getUsername().trim()) + "%");
+            }
+            if (criteria.getStartDate() != null) {
+                predicates.add("a.createdAt >= :startDate", "startDate", criteria.getStartDate());
+            }
+            if (criteria.getEndDate() != null) {
+                predicates.add("a.createdAt <= :endDate", "endDate", criteria.getEndDate());
+            }
+            return predicates;
+        }
+
+        void add(String clause, String name, Object value) {
+            clauses.add(clause);
+            params.put(name, value);
+        }
+
+        void param(String name, Object value) {
+            params.put(name, value);
+        }
+
+        String where() {
+            return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+        }
+
+        void bind(Query query) {
+            params.forEach(query::setParameter);
+        }
+
+        /** Escape wildcard LIKE, termasuk '[' yang khusus di SQL Server */
+        static String escapeLike(String value) {
+            return value.replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_")
+                    .replace("[", "![");
+        }
+    }
+}
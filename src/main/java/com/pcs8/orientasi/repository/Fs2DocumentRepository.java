@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.repository;
 
+import com.pcs8.orientasi.domain.dto.projection.FormasiFs2WorkView;
 import com.pcs8.orientasi.domain.entity.Fs2Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,6 +20,19 @@ public interface Fs2DocumentRepository extends JpaRepository<Fs2Document, UUID>
 
     List<Fs2Document> findByStatusOrderByCreatedAtDesc(String status);
 
+    /**
+     * FS2 dengan status tertentu yang diajukan di rentang tanggal, untuk Formasi Efektif
+     */
+    @Query("SELECT f.id AS id, a.namaAplikasi AS namaAplikasi, f.deskripsiPengubahan AS deskripsiPengubahan, " +
+           "f.mekanisme AS mekanisme, t.id AS teamId, t.name AS teamName, " +
+           "f.tanggalPengajuan AS tanggalPengajuan, f.targetGoLive AS targetGoLive " +
+           "FROM Fs2Document f LEFT JOIN f.aplikasi a LEFT JOIN f.team t " +
+           "WHERE f.status = :status AND f.tanggalPengajuan BETWEEN :startDate AND :endDate " +
+           "ORDER BY f.createdAt DESC")
+    List<FormasiFs2WorkView> findFormasiWorkViews(@Param("status") String status,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
+
     @Query("SELECT f FROM Fs2Document f WHERE " +
            "(:search IS NULL OR LOWER(f.aplikasi.namaAplikasi) LIKE LOWER(CONCAT('%', :search, '%'))) " +
            "AND (:bidangId IS NULL OR f.bidang.id = :bidangId) " +
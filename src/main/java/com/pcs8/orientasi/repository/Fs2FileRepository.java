@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -61,6 +62,13 @@ public interface Fs2FileRepository extends JpaRepository<Fs2File, UUID> {
            "(SELECT MAX(f2.version) FROM Fs2File f2 WHERE f2.fs2Document.id = :fs2Id AND f2.fileType = f.fileType)")
     List<Fs2File> findLatestVersionFilesByFs2Id(@Param("fs2Id") UUID fs2Id);
 
+    /**
+     * Find all latest version files for a batch of F.S.2 documents (one per document and file type)
+     */
+    @Query("SELECT f FROM Fs2File f WHERE f.fs2Document.id IN :fs2Ids AND f.version = " +
+           "(SELECT MAX(f2.version) FROM Fs2File f2 WHERE f2.fs2Document.id = f.fs2Document.id AND f2.fileType = f.fileType)")
+    List<Fs2File> findLatestVersionFilesByFs2IdIn(@Param("fs2Ids") Collection<UUID> fs2Ids);
+
     /**
      * Find file history for a specific file type (all versions)
      */
@@ -4,6 +4,7 @@ import com.pcs8.orientasi.domain.entity.Fs2Timeline;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,5 +13,7 @@ public interface Fs2TimelineRepository extends JpaRepository<Fs2Timeline, UUID>
     
     List<Fs2Timeline> findByFs2DocumentIdOrderByStageAscPhaseAsc(UUID fs2DocumentId);
     
+    List<Fs2Timeline> findByFs2DocumentIdInOrderByStageAscPhaseAsc(Collection<UUID> fs2DocumentIds);
+    
     void deleteByFs2DocumentId(UUID fs2DocumentId);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +20,10 @@ public interface KepProgressRepository extends JpaRepository<KepProgress, UUID>
 
     Optional<KepProgress> findByKepIdAndInisiatifGroupIdAndTahun(UUID kepId, UUID inisiatifGroupId, Integer tahun);
 
+    @Query("SELECT kp FROM KepProgress kp WHERE kp.kep.id IN :kepIds AND kp.inisiatifGroup.id IN :groupIds")
+    List<KepProgress> findByKepIdInAndInisiatifGroupIdIn(@Param("kepIds") Collection<UUID> kepIds,
+                                                        @Param("groupIds") Collection<UUID> groupIds);
+
     boolean existsByKepIdAndInisiatifGroupIdAndTahun(UUID kepId, UUID inisiatifGroupId, Integer tahun);
 
     @Query("SELECT kp FROM KepProgress kp WHERE kp.kep.rbsi.id = :rbsiId ORDER BY kp.inisiatifGroup.id, kp.kep.tahunPelaporan, kp.tahun")
@@ -27,6 +32,13 @@ public interface KepProgressRepository extends JpaRepository<KepProgress, UUID>
     @Query("SELECT kp FROM KepProgress kp WHERE kp.kep.rbsi.id = :rbsiId AND kp.kep.id = :kepId ORDER BY kp.inisiatifGroup.id, kp.tahun")
     List<KepProgress> findByRbsiIdAndKepId(@Param("rbsiId") UUID rbsiId, @Param("kepId") UUID kepId);
 
+    // Progress matrix for all KEPs of an RBSI, limited to groups that have active inisiatifs in the given year
+    @Query("SELECT kp FROM KepProgress kp WHERE kp.kep.rbsi.id = :rbsiId AND kp.inisiatifGroup.id IN (" +
+           "SELECT i.group.id FROM RbsiInisiatif i WHERE i.program.programGroup.rbsi.id = :rbsiId " +
+           "AND i.program.tahun = :tahun AND i.program.isDeleted = false AND i.tahun = :tahun AND i.isDeleted = false) " +
+           "ORDER BY kp.inisiatifGroup.id, kp.tahun")
+    List<KepProgress> findByRbsiIdForInisiatifTahun(@Param("rbsiId") UUID rbsiId, @Param("tahun") Integer tahun);
+
     void deleteByKepId(UUID kepId);
 
     // Analytics queries - optimized for performance
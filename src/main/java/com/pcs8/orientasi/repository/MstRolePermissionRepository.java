@@ -20,6 +20,11 @@ public interface MstRolePermissionRepository extends JpaRepository<MstRolePermis
            "WHERE rp.role.id = :roleId")
     List<MstRolePermission> findByRoleId(@Param("roleId") UUID roleId);
 
+    @Query("SELECT rp FROM MstRolePermission rp " +
+           "JOIN FETCH rp.role " +
+           "JOIN FETCH rp.menu")
+    List<MstRolePermission> findAllWithRoleAndMenu();
+
     @Query("SELECT rp FROM MstRolePermission rp " +
            "JOIN FETCH rp.role " +
            "JOIN FETCH rp.menu " +
@@ -2,8 +2,11 @@ package com.pcs8.orientasi.repository;
 
 import com.pcs8.orientasi.domain.entity.MstSkpa;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,4 +19,10 @@ public interface MstSkpaRepository extends JpaRepository<MstSkpa, UUID> {
     boolean existsByKodeSkpa(String kodeSkpa);
 
     List<MstSkpa> findAllByOrderByKodeSkpaAsc();
+
+    @Query("SELECT s FROM MstSkpa s LEFT JOIN FETCH s.bidang ORDER BY s.kodeSkpa")
+    List<MstSkpa> findAllWithBidang();
+
+    @Query("SELECT s FROM MstSkpa s LEFT JOIN FETCH s.bidang WHERE s.id IN :ids")
+    List<MstSkpa> findAllWithBidangByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -32,19 +32,6 @@ public interface PksiChangelogRepository extends JpaRepository<PksiChangelog, UU
      */
     void deleteByPksiDocumentId(UUID pksiDocumentId);
 
-    /**
-     * Find the last progress change for each PKSI document before a given date
-     * Used for historical snapshot of progress status
-     */
-    @Query("SELECT c FROM PksiChangelog c " +
-           "WHERE c.fieldName = 'progress' " +
-           "AND c.createdAt <= :beforeDate " +
-           "AND c.createdAt = (SELECT MAX(c2.createdAt) FROM PksiChangelog c2 " +
-           "                   WHERE c2.pksiDocument.id = c.pksiDocument.id " +
-           "                   AND c2.fieldName = 'progress' " +
-           "                   AND c2.createdAt <= :beforeDate)")
-    List<PksiChangelog> findLastProgressChangeBeforeDate(@Param("beforeDate") LocalDateTime beforeDate);
-
     /**
      * Find all progress changes within a date range
      */
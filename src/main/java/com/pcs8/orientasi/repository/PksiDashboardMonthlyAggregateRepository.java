@@ -0,0 +1,42 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.PksiDashboardMonthlyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PksiDashboardMonthlyAggregateRepository extends JpaRepository<PksiDashboardMonthlyAggregate, UUID> {
+
+    List<PksiDashboardMonthlyAggregate> findByTahun(Integer tahun);
+
+    /**
+     * Tambah/kurangi counter secara atomik, lihat
+     * {@link PksiDashboardYearlyAggregateRepository#applyDelta}.
+     */
+    @Modifying
+    @Query(value = "MERGE agg_pksi_dashboard_bulanan WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :tahun AS tahun, :bulan AS bulan, :progress AS progress, :bidangKode AS bidang_kode, " +
+            "       :deadlineTahun AS deadline_tahun, :sudahDibuat AS sudah_dibuat) AS s " +
+            "ON t.tahun = s.tahun AND t.bulan = s.bulan AND t.progress = s.progress AND t.bidang_kode = s.bidang_kode " +
+            "   AND t.deadline_tahun = s.deadline_tahun AND t.sudah_dibuat = s.sudah_dibuat " +
+            "WHEN MATCHED AND t.jumlah + :delta <= 0 THEN DELETE " +
+            "WHEN MATCHED THEN UPDATE SET jumlah = t.jumlah + :delta, updated_at = SYSDATETIME() " +
+            "WHEN NOT MATCHED AND :delta > 0 THEN " +
+            "   INSERT (id, tahun, bulan, progress, bidang_kode, deadline_tahun, sudah_dibuat, jumlah, created_at, updated_at) " +
+            "   VALUES (NEWID(), s.tahun, s.bulan, s.progress, s.bidang_kode, s.deadline_tahun, s.sudah_dibuat, " +
+            "           :delta, SYSDATETIME(), SYSDATETIME());",
+            nativeQuery = true)
+    void applyDelta(@Param("tahun") int tahun,
+                    @Param("bulan") int bulan,
+                    @Param("progress") String progress,
+                    @Param("bidangKode") String bidangKode,
+                    @Param("deadlineTahun") int deadlineTahun,
+                    @Param("sudahDibuat") boolean sudahDibuat,
+                    @Param("delta") int delta);
+}
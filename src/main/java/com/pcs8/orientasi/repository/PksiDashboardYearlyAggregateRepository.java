@@ -0,0 +1,48 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.PksiDashboardYearlyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PksiDashboardYearlyAggregateRepository extends JpaRepository<PksiDashboardYearlyAggregate, UUID> {
+
+    List<PksiDashboardYearlyAggregate> findByTahun(Integer tahun);
+
+    /**
+     * Tahun yang punya minimal satu PKSI, untuk dropdown tahun di dashboard
+     */
+    @Query("SELECT DISTINCT a.tahun FROM PksiDashboardYearlyAggregate a WHERE a.jumlah > 0 ORDER BY a.tahun")
+    List<Integer> findAvailableYears();
+
+    /**
+     * Tambah/kurangi counter secara atomik. HOLDLOCK mencegah dua transaksi sama-sama
+     * meng-insert kunci yang belum ada; baris yang jumlahnya menjadi 0 dihapus.
+     */
+    @Modifying
+    @Query(value = "MERGE agg_pksi_dashboard_tahunan WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :tahun AS tahun, :status AS status, :approvalKategori AS approval_kategori, " +
+            "       :jenisKategori AS jenis_kategori, :pelaksana AS pelaksana, :bidangKode AS bidang_kode) AS s " +
+            "ON t.tahun = s.tahun AND t.status = s.status AND t.approval_kategori = s.approval_kategori " +
+            "   AND t.jenis_kategori = s.jenis_kategori AND t.pelaksana = s.pelaksana AND t.bidang_kode = s.bidang_kode " +
+            "WHEN MATCHED AND t.jumlah + :delta <= 0 THEN DELETE " +
+            "WHEN MATCHED THEN UPDATE SET jumlah = t.jumlah + :delta, updated_at = SYSDATETIME() " +
+            "WHEN NOT MATCHED AND :delta > 0 THEN " +
+            "   INSERT (id, tahun, status, approval_kategori, jenis_kategori, pelaksana, bidang_kode, jumlah, created_at, updated_at) " +
+            "   VALUES (NEWID(), s.tahun, s.status, s.approval_kategori, s.jenis_kategori, s.pelaksana, s.bidang_kode, " +
+            "           :delta, SYSDATETIME(), SYSDATETIME());",
+            nativeQuery = true)
+    void applyDelta(@Param("tahun") int tahun,
+                    @Param("status") String status,
+                    @Param("approvalKategori") String approvalKategori,
+                    @Param("jenisKategori") String jenisKategori,
+                    @Param("pelaksana") String pelaksana,
+                    @Param("bidangKode") String bidangKode,
+                    @Param("delta") int delta);
+}
@@ -1,7 +1,11 @@
 package com.pcs8.orientasi.repository;
 
+import com.pcs8.orientasi.domain.dto.projection.FormasiPksiWorkView;
+import com.pcs8.orientasi.domain.dto.projection.PksiDashboardView;
+import com.pcs8.orientasi.domain.dto.projection.PksiDocumentListView;
 import com.pcs8.orientasi.domain.dto.response.ParentPksiSummary;
 import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiTimeline;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -10,12 +14,95 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID> {
+
+    /**
+     * Select clause for {@link PksiDocumentListView}: grid columns only, without the NVARCHAR(MAX) narrative columns.
+     */
+    String LIST_VIEW_SELECT = "SELECT p.id AS id, p.namaPksi AS namaPksi, p.jenisPksi AS jenisPksi, " +
+           "p.tanggalPengajuan AS tanggalPengajuan, p.kapanDiselesaikan AS kapanDiselesaikan, " +
+           "p.picSatker AS picSatker, p.pengelolaAplikasi AS pengelolaAplikasi, " +
+           "p.programInisiatifRbsi AS programInisiatifRbsi, p.status AS status, " +
+           "p.iku AS iku, p.inhouseOutsource AS inhouseOutsource, " +
+           "p.picApproval AS picApproval, p.picApprovalName AS picApprovalName, " +
+           "p.anggotaTim AS anggotaTim, p.anggotaTimNames AS anggotaTimNames, p.progress AS progress, " +
+           "p.anggaranTotal AS anggaranTotal, p.anggaranTahunIni AS anggaranTahunIni, " +
+           "p.anggaranTahunDepan AS anggaranTahunDepan, " +
+           "p.targetUsreq AS targetUsreq, p.targetSit AS targetSit, " +
+           "p.targetUat AS targetUat, p.targetGoLive AS targetGoLive, " +
+           "p.tanggalPengadaan AS tanggalPengadaan, p.tanggalDesain AS tanggalDesain, " +
+           "p.tanggalCoding AS tanggalCoding, p.tanggalUnitTest AS tanggalUnitTest, " +
+           "p.statusT01T02 AS statusT01T02, p.berkasT01T02 AS berkasT01T02, " +
+           "p.statusT11 AS statusT11, p.berkasT11 AS berkasT11, " +
+           "p.statusCd AS statusCd, p.nomorCd AS nomorCd, " +
+           "p.kontrakTanggalMulai AS kontrakTanggalMulai, p.kontrakTanggalSelesai AS kontrakTanggalSelesai, " +
+           "p.kontrakNilai AS kontrakNilai, p.kontrakJumlahTermin AS kontrakJumlahTermin, " +
+           "p.kontrakDetailPembayaran AS kontrakDetailPembayaran, p.baDeploy AS baDeploy, " +
+           "p.tahapanStatusUsreq AS tahapanStatusUsreq, p.tahapanStatusPengadaan AS tahapanStatusPengadaan, " +
+           "p.tahapanStatusDesain AS tahapanStatusDesain, p.tahapanStatusCoding AS tahapanStatusCoding, " +
+           "p.tahapanStatusUnitTest AS tahapanStatusUnitTest, p.tahapanStatusSit AS tahapanStatusSit, " +
+           "p.tahapanStatusUat AS tahapanStatusUat, p.tahapanStatusDeployment AS tahapanStatusDeployment, " +
+           "p.tahapanStatusSelesai AS tahapanStatusSelesai, " +
+           "p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+           "u.uuid AS userId, u.fullName AS userFullName, " +
+           "a.id AS aplikasiId, a.namaAplikasi AS namaAplikasi, " +
+           "t.id AS teamId, t.name AS teamName, " +
+           "ini.id AS inisiatifId, g.id AS inisiatifGroupId, pp.id AS parentPksiId " +
+           "FROM PksiDocument p " +
+           "LEFT JOIN p.user u LEFT JOIN p.aplikasi a LEFT JOIN p.team t " +
+           "LEFT JOIN p.inisiatif ini LEFT JOIN p.inisiatifGroup g LEFT JOIN p.parentPksi pp ";
+
+    /**
+     * Load grid rows for a page of IDs returned by the searchDocumentIds* queries.
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE p.id IN :ids")
+    List<PksiDocumentListView> findListViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Load grid rows of child PKSI for the given parent IDs (child_pksi_list / child_count).
+     */
+    @Query(LIST_VIEW_SELECT + "WHERE pp.id IN :parentIds")
+    List<PksiDocumentListView> findListViewsByParentPksiIdIn(@Param("parentIds") Collection<UUID> parentIds);
+
+    /**
+     * Dashboard columns of PKSI documents, without NVARCHAR(MAX) columns.
+     */
+    String DASHBOARD_VIEW_SELECT = "SELECT p.id AS id, p.namaPksi AS namaPksi, p.jenisPksi AS jenisPksi, p.status AS status, " +
+           "p.progress AS progress, p.picSatker AS picSatker, p.inhouseOutsource AS inhouseOutsource, " +
+           "p.targetUsreq AS targetUsreq, p.targetSit AS targetSit, " +
+           "p.targetUat AS targetUat, p.targetGoLive AS targetGoLive, p.createdAt AS createdAt, " +
+           "ini.id AS inisiatifId, ini.nomorInisiatif AS inisiatifNomor, ini.namaInisiatif AS inisiatifNama " +
+           "FROM PksiDocument p LEFT JOIN p.inisiatif ini ";
+
+    /**
+     * Load all PKSI rows needed by the dashboard.
+     */
+    @Query(DASHBOARD_VIEW_SELECT)
+    List<PksiDashboardView> findAllDashboardViews();
+
+    @Query(DASHBOARD_VIEW_SELECT + "WHERE p.id = :id")
+    Optional<PksiDashboardView> findDashboardViewById(@Param("id") UUID id);
+
+    /**
+     * Dashboard rows with at least one timeline or legacy target date in the given range.
+     * Candidates only: the exact per-year rule is applied by the caller.
+     */
+    @Query(DASHBOARD_VIEW_SELECT + "WHERE " +
+           "EXISTS (SELECT 1 FROM PksiTimeline tl WHERE tl.pksiDocument.id = p.id " +
+           "        AND tl.targetDate BETWEEN :startDate AND :endDate) " +
+           "OR p.targetUsreq BETWEEN :startDate AND :endDate " +
+           "OR p.targetSit BETWEEN :startDate AND :endDate " +
+           "OR p.targetUat BETWEEN :startDate AND :endDate " +
+           "OR p.targetGoLive BETWEEN :startDate AND :endDate")
+    List<PksiDashboardView> findDashboardViewsByTargetDateBetween(@Param("startDate") LocalDate startDate,
+                                                                  @Param("endDate") LocalDate endDate);
     
     @Query("SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.inisiatif ini LEFT JOIN FETCH ini.group LEFT JOIN FETCH p.inisiatifGroup WHERE p.user.uuid = :userUuid")
     List<PksiDocument> findByUserUuid(@Param("userUuid") UUID userUuid);
@@ -24,6 +111,24 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
     List<PksiDocument> findByUserUuidWithAplikasi(@Param("userUuid") UUID userUuid);
     
     List<PksiDocument> findByStatus(PksiDocument.DocumentStatus status);
+
+    /**
+     * PKSI dengan status tertentu yang punya timeline {@code stages} di rentang tanggal, untuk
+     * Formasi Efektif. Tanggal USREQ/UAT terjauh (semua fase) dihitung di database.
+     */
+    @Query("SELECT p.id AS id, p.namaPksi AS namaPksi, a.namaAplikasi AS namaAplikasi, p.jenisPksi AS jenisPksi, " +
+           "p.inhouseOutsource AS inhouseOutsource, t.id AS teamId, t.name AS teamName, " +
+           "(SELECT MAX(u.targetDate) FROM PksiTimeline u WHERE u.pksiDocument.id = p.id AND u.stage = :usreqStage) AS usreqDate, " +
+           "(SELECT MAX(v.targetDate) FROM PksiTimeline v WHERE v.pksiDocument.id = p.id AND v.stage = :uatStage) AS uatDate " +
+           "FROM PksiDocument p LEFT JOIN p.aplikasi a LEFT JOIN p.team t " +
+           "WHERE p.status = :status AND EXISTS (SELECT 1 FROM PksiTimeline tl WHERE tl.pksiDocument.id = p.id " +
+           "    AND tl.stage IN :stages AND tl.targetDate BETWEEN :startDate AND :endDate)")
+    List<FormasiPksiWorkView> findFormasiWorkViews(@Param("status") PksiDocument.DocumentStatus status,
+                                                  @Param("stages") Collection<PksiTimeline.TimelineStage> stages,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate,
+                                                  @Param("usreqStage") PksiTimeline.TimelineStage usreqStage,
+                                                  @Param("uatStage") PksiTimeline.TimelineStage uatStage);
     
     @Query("SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.inisiatif ini LEFT JOIN FETCH ini.group LEFT JOIN FETCH p.inisiatifGroup")
     List<PksiDocument> findAllWithUser();
@@ -31,7 +136,10 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
     @Query("SELECT p FROM PksiDocument p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.inisiatif ini LEFT JOIN FETCH ini.group LEFT JOIN FETCH p.inisiatifGroup WHERE p.id = :id")
     Optional<PksiDocument> findByIdWithUser(@Param("id") UUID id);
 
-    @Query(value = "SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user u WHERE " +
+    /**
+     * Search PKSI document IDs; rows are loaded afterwards via {@link #findListViewsByIdIn}.
+     */
+    @Query(value = "SELECT p.id FROM PksiDocument p LEFT JOIN p.user u WHERE " +
            "(:searchPattern IS NULL OR :searchPattern = '' OR " +
            "LOWER(p.namaPksi) LIKE :searchPattern OR " +
            "LOWER(u.fullName) LIKE :searchPattern OR " +
@@ -43,7 +151,7 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
            "LOWER(u.fullName) LIKE :searchPattern OR " +
            "LOWER(p.picSatker) LIKE :searchPattern) " +
            "AND (:status IS NULL OR :status = '' OR CAST(p.status AS string) = :status)")
-    Page<PksiDocument> searchDocuments(
+    Page<UUID> searchDocumentIds(
             @Param("searchPattern") String searchPattern, 
             @Param("status") String status, 
             Pageable pageable);
@@ -70,36 +178,34 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
     long countByStatus(@Param("status") PksiDocument.DocumentStatus status);
 
     /**
-     * Search PKSI documents filtered by user department.
+     * Search PKSI documents filtered by the SKPA of the user's department.
      * Matches documents where:
-     * 1. aplikasi.skpa.kodeSkpa matches userDepartment, OR
-     * 2. picSatker field contains SKPA ID whose kodeSkpa matches userDepartment
+     * 1. aplikasi.skpa is the department SKPA, OR
+     * 2. the department SKPA is one of the PIC Satker (trn_pksi_skpa, indexed on skpa_id)
      * 
-     * Note: userDepartment is validated at service layer to be non-null/non-empty.
-     * CONCAT is used with internal database UUID values (skpa.id), not user input,
-     * so this is safe from SQL injection.
+     * Note: skpaId is resolved from userDepartment at service layer.
+     * Returns IDs only; rows are loaded afterwards via {@link #findListViewsByIdIn}.
      */
-    @SuppressWarnings("java:S2077") // CONCAT uses internal UUID, not user input
-    @Query(value = "SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user u LEFT JOIN p.aplikasi a LEFT JOIN a.skpa s WHERE " +
+    @Query(value = "SELECT p.id FROM PksiDocument p LEFT JOIN p.user u LEFT JOIN p.aplikasi a LEFT JOIN a.skpa s WHERE " +
            "(:searchPattern IS NULL OR :searchPattern = '' OR " +
            "LOWER(p.namaPksi) LIKE :searchPattern OR " +
            "LOWER(u.fullName) LIKE :searchPattern OR " +
            "LOWER(p.picSatker) LIKE :searchPattern) " +
            "AND (:status IS NULL OR :status = '' OR CAST(p.status AS string) = :status) " +
-           "AND ((s IS NOT NULL AND UPPER(s.kodeSkpa) = UPPER(:userDepartment)) OR " +
-           "EXISTS (SELECT 1 FROM MstSkpa skpa WHERE UPPER(skpa.kodeSkpa) = UPPER(:userDepartment) AND p.picSatker LIKE CONCAT('%', CAST(skpa.id AS string), '%')))",
+           "AND (s.id = :skpaId OR " +
+           "EXISTS (SELECT 1 FROM PksiSkpa ps WHERE ps.skpa.id = :skpaId AND ps.pksiDocument.id = p.id))",
            countQuery = "SELECT COUNT(DISTINCT p) FROM PksiDocument p LEFT JOIN p.user u LEFT JOIN p.aplikasi a LEFT JOIN a.skpa s WHERE " +
            "(:searchPattern IS NULL OR :searchPattern = '' OR " +
            "LOWER(p.namaPksi) LIKE :searchPattern OR " +
            "LOWER(u.fullName) LIKE :searchPattern OR " +
            "LOWER(p.picSatker) LIKE :searchPattern) " +
            "AND (:status IS NULL OR :status = '' OR CAST(p.status AS string) = :status) " +
-           "AND ((s IS NOT NULL AND UPPER(s.kodeSkpa) = UPPER(:userDepartment)) OR " +
-           "EXISTS (SELECT 1 FROM MstSkpa skpa WHERE UPPER(skpa.kodeSkpa) = UPPER(:userDepartment) AND p.picSatker LIKE CONCAT('%', CAST(skpa.id AS string), '%')))")
-    Page<PksiDocument> searchDocumentsByDepartment(
+           "AND (s.id = :skpaId OR " +
+           "EXISTS (SELECT 1 FROM PksiSkpa ps WHERE ps.skpa.id = :skpaId AND ps.pksiDocument.id = p.id))")
+    Page<UUID> searchDocumentIdsByDepartment(
             @Param("searchPattern") String searchPattern, 
             @Param("status") String status,
-            @Param("userDepartment") String userDepartment,
+            @Param("skpaId") UUID skpaId,
             Pageable pageable);
 
     /**
@@ -176,8 +282,9 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
      * - timelineFromMonth: filter by month range start (1-12)
      * - timelineToMonth: filter by month range end (1-12)
      * - timelineYear: filter by specific year for timeline date
+     * Returns IDs only; rows are loaded afterwards via {@link #findListViewsByIdIn}.
      */
-    @Query("SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user u WHERE " +
+    @Query("SELECT p.id FROM PksiDocument p LEFT JOIN p.user u WHERE " +
            "(:searchPattern IS NULL OR :searchPattern = '' OR " +
            "LOWER(p.namaPksi) LIKE :searchPattern OR " +
            "LOWER(u.fullName) LIKE :searchPattern OR " +
@@ -192,7 +299,7 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
            "AND (:timelineYear IS NULL OR YEAR(pt.targetDate) = :timelineYear) " +
            "AND ((:timelineFromMonth IS NULL AND :timelineToMonth IS NULL) OR " +
            "(MONTH(pt.targetDate) BETWEEN COALESCE(:timelineFromMonth, 1) AND COALESCE(:timelineToMonth, 12)))))")
-    Page<PksiDocument> searchDocumentsWithFilters(
+    Page<UUID> searchDocumentIdsWithFilters(
             @Param("searchPattern") String searchPattern, 
             @Param("status") String status,
             @Param("year") Integer year,
@@ -211,9 +318,10 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
      * - timelineFromMonth: filter by month range start (1-12)
      * - timelineToMonth: filter by month range end (1-12)
      * - timelineYear: filter by specific year for timeline date
+     * - skpaId: SKPA of the user's department, matched on aplikasi.skpa or trn_pksi_skpa
+     * Returns IDs only; rows are loaded afterwards via {@link #findListViewsByIdIn}.
      */
-    @SuppressWarnings("java:S2077") // CONCAT uses internal UUID, not user input
-    @Query("SELECT DISTINCT p FROM PksiDocument p LEFT JOIN FETCH p.user u LEFT JOIN p.aplikasi a LEFT JOIN a.skpa s WHERE " +
+    @Query("SELECT p.id FROM PksiDocument p LEFT JOIN p.user u LEFT JOIN p.aplikasi a LEFT JOIN a.skpa s WHERE " +
            "(:searchPattern IS NULL OR :searchPattern = '' OR " +
            "LOWER(p.namaPksi) LIKE :searchPattern OR " +
            "LOWER(u.fullName) LIKE :searchPattern OR " +
@@ -228,9 +336,9 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
            "AND (:timelineYear IS NULL OR YEAR(pt.targetDate) = :timelineYear) " +
            "AND ((:timelineFromMonth IS NULL AND :timelineToMonth IS NULL) OR " +
            "(MONTH(pt.targetDate) BETWEEN COALESCE(:timelineFromMonth, 1) AND COALESCE(:timelineToMonth, 12))))) " +
-           "AND ((s IS NOT NULL AND UPPER(s.kodeSkpa) = UPPER(:userDepartment)) OR " +
-           "EXISTS (SELECT 1 FROM MstSkpa skpa WHERE UPPER(skpa.kodeSkpa) = UPPER(:userDepartment) AND p.picSatker LIKE CONCAT('%', CAST(skpa.id AS string), '%')))")
-    Page<PksiDocument> searchDocumentsByDepartmentWithFilters(
+           "AND (s.id = :skpaId OR " +
+           "EXISTS (SELECT 1 FROM PksiSkpa ps WHERE ps.skpa.id = :skpaId AND ps.pksiDocument.id = p.id))")
+    Page<UUID> searchDocumentIdsByDepartmentWithFilters(
             @Param("searchPattern") String searchPattern, 
             @Param("status") String status,
             @Param("year") Integer year,
@@ -239,7 +347,7 @@ public interface PksiDocumentRepository extends JpaRepository<PksiDocument, UUID
             @Param("timelineFromMonth") Integer timelineFromMonth,
             @Param("timelineToMonth") Integer timelineToMonth,
             @Param("timelineYear") Integer timelineYear,
-            @Param("userDepartment") String userDepartment,
+            @Param("skpaId") UUID skpaId,
             Pageable pageable);
 
     /**
@@ -0,0 +1,48 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.dto.projection.PksiProgressChangeView;
+import com.pcs8.orientasi.domain.entity.PksiProgressInterval;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PksiProgressIntervalRepository extends JpaRepository<PksiProgressInterval, UUID> {
+
+    /**
+     * Progress of every PKSI that has a recorded progress at the given time (one range scan on valid_to)
+     */
+    @Query("SELECT i.pksiDocument.id AS pksiId, i.validFrom AS changedAt, i.progress AS progress " +
+           "FROM PksiProgressInterval i " +
+           "WHERE i.validTo > :at AND i.validFrom <= :at")
+    List<PksiProgressChangeView> findProgressAt(@Param("at") LocalDateTime at);
+
+    /**
+     * Progress history of one PKSI document, oldest first
+     */
+    @Query("SELECT i.pksiDocument.id AS pksiId, i.validFrom AS changedAt, i.progress AS progress " +
+           "FROM PksiProgressInterval i " +
+           "WHERE i.pksiDocument.id = :pksiDocumentId " +
+           "ORDER BY i.validFrom ASC")
+    List<PksiProgressChangeView> findHistoryByPksiDocumentId(@Param("pksiDocumentId") UUID pksiDocumentId);
+
+    /**
+     * Progress history of all PKSI documents, oldest first (dashboard aggregate rebuild)
+     */
+    @Query("SELECT i.pksiDocument.id AS pksiId, i.validFrom AS changedAt, i.progress AS progress " +
+           "FROM PksiProgressInterval i " +
+           "ORDER BY i.validFrom ASC")
+    List<PksiProgressChangeView> findAllHistory();
+
+    Optional<PksiProgressInterval> findFirstByPksiDocumentIdAndValidTo(UUID pksiDocumentId, LocalDateTime validTo);
+
+    @Modifying
+    void deleteByPksiDocumentId(UUID pksiDocumentId);
+}
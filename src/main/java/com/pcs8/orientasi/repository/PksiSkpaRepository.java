@@ -0,0 +1,31 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.entity.PksiSkpa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repository untuk relasi PKSI - SKPA (PIC Satker)
+ */
+@Repository
+public interface PksiSkpaRepository extends JpaRepository<PksiSkpa, UUID> {
+
+    /**
+     * Delete all SKPA links of a PKSI document
+     */
+    @Modifying
+    @Query("DELETE FROM PksiSkpa ps WHERE ps.pksiDocument.id = :pksiId")
+    void deleteByPksiDocumentId(@Param("pksiId") UUID pksiId);
+
+    /**
+     * Delete all PKSI links of an SKPA, used before the SKPA itself is deleted
+     */
+    @Modifying
+    @Query("DELETE FROM PksiSkpa ps WHERE ps.skpa.id = :skpaId")
+    void deleteBySkpaId(@Param("skpaId") UUID skpaId);
+}
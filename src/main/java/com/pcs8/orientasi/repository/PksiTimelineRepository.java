@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +22,16 @@ public interface PksiTimelineRepository extends JpaRepository<PksiTimeline, UUID
      */
     List<PksiTimeline> findByPksiDocumentIdOrderByStageAscPhaseAsc(UUID pksiDocumentId);
 
+    /**
+     * Find all timelines for a batch of PKSI documents
+     */
+    List<PksiTimeline> findByPksiDocumentIdInOrderByStageAscPhaseAsc(Collection<UUID> pksiDocumentIds);
+
+    /**
+     * Find all timelines, used by the dashboard which covers every PKSI document
+     */
+    List<PksiTimeline> findAllByOrderByStageAscPhaseAsc();
+
     /**
      * Delete all timelines for a specific PKSI document
      */
@@ -25,6 +25,13 @@ public interface RbsiInisiatifRepository extends JpaRepository<RbsiInisiatif, UU
     // Get all inisiatifs for multiple programs
     List<RbsiInisiatif> findByProgramIdInAndIsDeletedFalse(List<UUID> programIds);
 
+    // Get all active inisiatifs of an RBSI year with program and group, ordered like the program/inisiatif tree
+    @Query("SELECT i FROM RbsiInisiatif i JOIN FETCH i.program p JOIN FETCH i.group g " +
+           "WHERE p.programGroup.rbsi.id = :rbsiId AND p.tahun = :tahun AND p.isDeleted = false " +
+           "AND i.tahun = :tahun AND i.isDeleted = false " +
+           "ORDER BY p.nomorProgram ASC, i.nomorInisiatif ASC")
+    List<RbsiInisiatif> findActiveByRbsiIdAndTahunWithGroup(@Param("rbsiId") UUID rbsiId, @Param("tahun") Integer tahun);
+
     // Find inisiatif by group ID (latest version)
     @Query("SELECT i FROM RbsiInisiatif i WHERE i.group.id IN :groupIds AND i.isDeleted = false")
     List<RbsiInisiatif> findByGroupIdIn(@Param("groupIds") List<UUID> groupIds);
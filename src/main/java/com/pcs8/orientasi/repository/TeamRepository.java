@@ -1,11 +1,13 @@
 package com.pcs8.orientasi.repository;
 
+import com.pcs8.orientasi.domain.dto.projection.TeamMembershipView;
 import com.pcs8.orientasi.domain.entity.MstTeam;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -63,4 +65,10 @@ public interface TeamRepository extends JpaRepository<MstTeam, UUID> {
            "JOIN t.teamMembers tm " +
            "WHERE tm.user.uuid = :userUuid")
     List<MstTeam> findByMemberUuid(@Param("userUuid") UUID userUuid);
+
+    /**
+     * Semua pasangan team - anggota untuk team yang diberikan
+     */
+    @Query("SELECT tm.team.id AS teamId, tm.user.uuid AS userUuid FROM MstTeamMember tm WHERE tm.team.id IN :teamIds")
+    List<TeamMembershipView> findMemberships(@Param("teamIds") Collection<UUID> teamIds);
 }
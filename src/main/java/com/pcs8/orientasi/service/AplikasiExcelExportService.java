@@ -1,6 +1,6 @@
 package com.pcs8.orientasi.service;
 
-import java.io.ByteArrayOutputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Service for exporting Aplikasi data to Excel format
@@ -9,14 +9,14 @@ public interface AplikasiExcelExportService {
 
     /**
      * Export all aplikasi data to Excel format
-     * @return ByteArrayOutputStream containing the Excel file
+     * @return body that streams the Excel file
      */
-    ByteArrayOutputStream exportAplikasiToExcel();
+    StreamingResponseBody exportAplikasiToExcel();
 
     /**
      * Export historis aplikasi data for a specific year to Excel format
      * @param tahun The year to export
-     * @return ByteArrayOutputStream containing the Excel file
+     * @return body that streams the Excel file
      */
-    ByteArrayOutputStream exportHistorisAplikasiToExcel(Integer tahun);
+    StreamingResponseBody exportHistorisAplikasiToExcel(Integer tahun);
 }
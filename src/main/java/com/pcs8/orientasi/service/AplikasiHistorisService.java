@@ -6,7 +6,10 @@ import com.pcs8.orientasi.domain.dto.response.AplikasiHistorisListResponse;
 import com.pcs8.orientasi.domain.dto.response.AplikasiSnapshotResponse;
 import com.pcs8.orientasi.domain.dto.response.AplikasiStatistikResponse;
 import com.pcs8.orientasi.domain.dto.response.ChangelogInfo;
+import com.pcs8.orientasi.domain.dto.response.SnapshotGenerationResponse;
 import com.pcs8.orientasi.domain.entity.MstAplikasi;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.UUID;
@@ -29,9 +32,11 @@ public interface AplikasiHistorisService {
     AplikasiSnapshotResponse createSnapshotFromAplikasi(MstAplikasi aplikasi, Integer tahun, String snapshotType);
 
     /**
-     * Generate snapshots for all active applications for a specific year
+     * Generate snapshots for all applications for a specific year, committed per chunk
+     *
+     * @param resume continue an unfinished previous run instead of starting over
      */
-    List<AplikasiSnapshotResponse> generateSnapshotsForYear(Integer tahun);
+    SnapshotGenerationResponse generateSnapshotsForYear(Integer tahun, boolean resume);
 
     /**
      * Get snapshot by ID
@@ -58,6 +63,11 @@ public interface AplikasiHistorisService {
      */
     List<AplikasiSnapshotResponse> getFullSnapshotsByTahun(Integer tahun);
 
+    /**
+     * Get one page of full snapshot details for a specific year, ordered by nama aplikasi (for streaming export)
+     */
+    Slice<AplikasiSnapshotResponse> getFullSnapshotsByTahun(Integer tahun, Pageable pageable);
+
     /**
      * Get all available years that have snapshots
      */
@@ -0,0 +1,15 @@
+package com.pcs8.orientasi.service;
+
+/**
+ * Service untuk memindahkan audit log lama ke tabel arsip bulanan.
+ */
+public interface AuditArchiveService {
+
+    /**
+     * Pindahkan audit log yang lebih tua dari masa retensi ke audit_log_archive,
+     * satu bulan kalender per langkah.
+     *
+     * @return jumlah audit log yang dipindahkan
+     */
+    int archiveExpiredMonths();
+}
@@ -0,0 +1,22 @@
+package com.pcs8.orientasi.service;
+
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.enums.AuditExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Service untuk export audit log dalam jumlah besar.
+ */
+public interface AuditLogExportService {
+
+    /**
+     * Export audit log yang cocok dengan kriteria, urut createdAt menurun.
+     * Baris terakhir adalah trailer jumlah baris; tanpa trailer berarti export terpotong.
+     *
+     * @param criteria filter, sama seperti search audit log
+     * @param format NDJSON (satu object JSON per baris) atau CSV
+     * @param gzip true untuk mengompres body dengan gzip
+     * @return body yang ditulis baris per baris ke response
+     */
+    StreamingResponseBody exportAuditLogs(AuditLogSearchCriteria criteria, AuditExportFormat format, boolean gzip);
+}
@@ -1,6 +1,8 @@
 package com.pcs8.orientasi.service;
 
 import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.dto.response.AuditLogCursorPage;
+import com.pcs8.orientasi.domain.dto.response.AuditWriterStatsResponse;
 import com.pcs8.orientasi.domain.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -82,6 +84,16 @@ public interface AuditService {
             AuditLogSearchCriteria criteria,
             Pageable pageable);
 
+    /**
+     * Search audit logs dengan keyset pagination (createdAt, id) menurun.
+     *
+     * @param cursor cursor dari halaman sebelumnya, null untuk halaman pertama
+     */
+    AuditLogCursorPage searchAuditLogsByCursor(
+            AuditLogSearchCriteria criteria,
+            String cursor,
+            int size);
+
     /**
      * Get recent 10 audit logs untuk entity tertentu.
      */
@@ -93,12 +105,29 @@ public interface AuditService {
     AuditLog getAuditLogById(UUID id);
 
     /**
-     * Get statistik audit logs.
+     * Get statistik audit logs dari tabel rollup harian.
      */
     Map<String, Object> getAuditStatistics();
 
+    /**
+     * Hitung ulang tabel rollup harian dari audit_log dan arsipnya.
+     *
+     * @return jumlah baris rollup yang terbentuk
+     */
+    int rebuildAuditRollups();
+
+    /**
+     * Rebuild rollup jika tabelnya masih kosong (deployment pertama).
+     */
+    void rebuildAuditRollupsIfEmpty();
+
     /**
      * Get distinct entity names yang pernah tercatat di audit log.
      */
     List<String> getDistinctEntityNames();
+
+    /**
+     * Get kondisi antrian dan writer audit log.
+     */
+    AuditWriterStatsResponse getWriterStats();
 }
@@ -0,0 +1,37 @@
+package com.pcs8.orientasi.service;
+
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Service untuk menjalankan export besar di background dan menyimpan hasilnya di Minio.
+ */
+public interface ExportJobService {
+
+    /**
+     * Submit export job. Request dengan type dan parameter yang sama selama job masih
+     * berjalan digabung ke job yang sudah ada.
+     * @param type jenis export
+     * @param parameters parameter yang menentukan isi file, termasuk cakupan data user
+     *                   (dipakai sebagai kunci deduplikasi)
+     * @param fileName nama file hasil export
+     * @param requestedBy username yang men-submit job
+     * @param exporter pembuat body export, dipanggil di worker thread
+     * @return status job
+     */
+    ExportJobResponse submit(ExportJobType type, Map<String, Object> parameters, String fileName,
+                             String requestedBy, Supplier<StreamingResponseBody> exporter);
+
+    /**
+     * Get status job; hanya untuk user yang pernah men-submit job tersebut
+     * @param jobId ID job
+     * @param requestedBy username yang meminta status
+     * @return status job beserta URL download jika sudah selesai
+     */
+    ExportJobResponse getJob(UUID jobId, String requestedBy);
+}
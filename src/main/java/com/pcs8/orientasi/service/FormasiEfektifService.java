@@ -1,8 +1,10 @@
 package com.pcs8.orientasi.service;
 
 import com.pcs8.orientasi.domain.dto.request.FormasiEfektifRequest;
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifDetailResponse;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifResponse;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse;
 
 import java.util.List;
 
@@ -27,6 +29,14 @@ public interface FormasiEfektifService {
      */
     FormasiEfektifDetailResponse getDetailData(FormasiEfektifRequest request);
 
+    /**
+     * Simulate one or more parameter scenarios without saving them
+     *
+     * @param request Year and scenario parameter overrides
+     * @return Baseline and per-scenario calculation summaries
+     */
+    FormasiEfektifSimulationResponse simulate(FormasiEfektifSimulationRequest request);
+
     /**
      * Update configuration parameters
      *
@@ -1,6 +1,7 @@
 package com.pcs8.orientasi.service;
 
-import java.io.ByteArrayOutputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.Set;
 import java.util.UUID;
 
@@ -18,9 +19,9 @@ public interface Fs2ExcelExportService {
      * @param endMonth filter by end month
      * @param userDepartment filter by user's department
      * @param canSeeAll whether user can see all records
-     * @return ByteArrayOutputStream containing the Excel file
+     * @return body that streams the Excel file, reading data page by page
      */
-    ByteArrayOutputStream exportAllFs2ToExcel(
+    StreamingResponseBody exportAllFs2ToExcel(
             String search, UUID bidangId, UUID aplikasiId, String statusTahapan, UUID skpaId, String status,
             Integer year, Integer startMonth, Integer endMonth,
             String userDepartment, boolean canSeeAll);
@@ -39,9 +40,9 @@ public interface Fs2ExcelExportService {
      * @param endMonth filter by end month
      * @param userDepartment user's department for filtering
      * @param canSeeAll whether user can see all data
-     * @return ByteArrayOutputStream containing the Excel file
+     * @return body that streams the Excel file, reading data page by page
      */
-    ByteArrayOutputStream exportApprovedFs2ToExcel(
+    StreamingResponseBody exportApprovedFs2ToExcel(
             String search, UUID bidangId, UUID skpaId, String progres,
             String fasePengajuan, String mekanisme, String pelaksanaan,
             Integer year, Integer startMonth, Integer endMonth,
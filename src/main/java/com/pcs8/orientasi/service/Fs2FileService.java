@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service;
 
+import com.pcs8.orientasi.domain.dto.FileDownload;
 import com.pcs8.orientasi.domain.dto.response.Fs2FileResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -50,9 +51,9 @@ public interface Fs2FileService {
     String getDownloadUrl(UUID fileId);
     
     /**
-     * Download file content
+     * Open a streaming download of the file content (not buffered in memory)
      */
-    byte[] downloadFile(UUID fileId);
+    FileDownload downloadFile(UUID fileId);
     
     /**
      * Get file metadata by ID
@@ -83,7 +84,7 @@ public interface Fs2FileService {
     List<Fs2FileResponse> getFilesByGroupId(UUID fileGroupId);
 
     /**
-     * Download a specific version of a file
+     * Open a streaming download of a specific version of a file
      */
-    byte[] downloadFileVersion(UUID fs2Id, String fileType, Integer version);
+    FileDownload downloadFileVersion(UUID fs2Id, String fileType, Integer version);
 }
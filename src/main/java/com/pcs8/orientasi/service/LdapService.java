@@ -1,8 +1,14 @@
 package com.pcs8.orientasi.service;
 
+import com.pcs8.orientasi.domain.dto.response.LdapStatsResponse;
 import com.pcs8.orientasi.domain.dto.response.LoginResponse.UserInfo;
 
 public interface LdapService {
     
     UserInfo authenticate(String username, String password);
-}
\ No newline at end of file
+
+    /**
+     * Latensi login LDAP (bind dan pencarian atribut) dan hit cache atribut sejak aplikasi start
+     */
+    LdapStatsResponse getStats();
+}
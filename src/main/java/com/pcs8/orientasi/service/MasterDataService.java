@@ -0,0 +1,61 @@
+package com.pcs8.orientasi.service;
+
+import com.pcs8.orientasi.domain.dto.response.CacheStatsResponse;
+import com.pcs8.orientasi.domain.entity.MstBidang;
+import com.pcs8.orientasi.domain.entity.MstMenu;
+import com.pcs8.orientasi.domain.entity.MstSkpa;
+import com.pcs8.orientasi.domain.entity.MstSubKategori;
+import com.pcs8.orientasi.domain.entity.MstVariable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Akses baca data master yang di-cache (lihat {@link com.pcs8.orientasi.config.CacheConfig}).
+ *
+ * <p>Entity yang dikembalikan sudah detached dan dipakai bersama antar request,
+ * jadi hanya boleh dibaca. Relasi yang ikut di-fetch disebutkan di tiap method;
+ * relasi lain yang lazy tidak bisa diakses.</p>
+ */
+public interface MasterDataService {
+
+    /**
+     * Semua SKPA urut kode, bidang ikut di-fetch
+     */
+    List<MstSkpa> getAllSkpa();
+
+    /**
+     * SKPA berdasarkan kode (sudah uppercase); hanya kolom SKPA, tanpa bidang
+     */
+    Optional<MstSkpa> findSkpaByKode(String kodeSkpa);
+
+    /**
+     * Semua bidang urut kode
+     */
+    List<MstBidang> getAllBidang();
+
+    /**
+     * Semua sub kategori urut kode
+     */
+    List<MstSubKategori> getAllSubKategori();
+
+    /**
+     * Variable aktif satu kategori, urut urutan lalu nama
+     */
+    List<MstVariable> getActiveVariables(String kategori);
+
+    /**
+     * Semua variable aktif, urut kategori, urutan lalu nama
+     */
+    List<MstVariable> getAllActiveVariables();
+
+    /**
+     * Semua menu aktif, parent ikut di-fetch
+     */
+    List<MstMenu> getActiveMenus();
+
+    /**
+     * Statistik hit/miss dan ukuran semua cache data master
+     */
+    List<CacheStatsResponse> getCacheStats();
+}
@@ -3,6 +3,8 @@ package com.pcs8.orientasi.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
 
 public interface MinioService {
     
@@ -30,6 +32,15 @@ public interface MinioService {
      * @return presigned URL
      */
     String getFileUrl(String path);
+
+    /**
+     * Mendapatkan presigned URL berumur pendek yang memaksa browser mengunduh file
+     * dengan nama tertentu (tidak di-cache)
+     * @param path path file di Minio
+     * @param downloadFileName nama file untuk Content-Disposition
+     * @return presigned URL
+     */
+    String getDownloadUrl(String path, String downloadFileName);
     
     /**
      * Download file dari Minio
@@ -38,16 +49,69 @@ public interface MinioService {
      */
     InputStream downloadFile(String path);
     
+    /**
+     * Download sebagian file dari Minio (ranged GET)
+     * @param path path file di Minio
+     * @param offset byte pertama yang dibaca
+     * @param length jumlah byte yang dibaca, atau -1 untuk sampai akhir file
+     * @return InputStream bagian file
+     */
+    InputStream downloadFile(String path, long offset, long length);
+    
+    /**
+     * Copy file di sisi server Minio (tanpa transfer data lewat aplikasi)
+     * @param sourcePath path file sumber di Minio
+     * @param targetPath path file tujuan di Minio
+     * @return URL akses file tujuan
+     */
+    String copyFile(String sourcePath, String targetPath);
+    
+    /**
+     * Copy beberapa file di sisi server Minio secara paralel.
+     * Jika salah satu gagal, file tujuan yang sudah ter-copy dihapus kembali.
+     * @param sourceToTarget map path sumber ke path tujuan
+     * @return map path tujuan ke URL akses file
+     */
+    Map<String, String> copyFiles(Map<String, String> sourceToTarget);
+    
     /**
      * Hapus file dari Minio
      * @param path path file di Minio
      */
     void deleteFile(String path);
     
+    /**
+     * Hapus banyak file dari Minio dalam satu batch request.
+     * File yang tidak ada diabaikan.
+     * @param paths path file di Minio
+     */
+    void deleteFiles(Collection<String> paths);
+    
+    /**
+     * Hapus banyak file setelah transaksi yang sedang berjalan commit, sehingga rollback tidak
+     * meninggalkan record database yang menunjuk ke file yang sudah terhapus.
+     * Tanpa transaksi aktif file langsung dihapus.
+     * @param paths path file di Minio
+     */
+    void deleteFilesAfterCommit(Collection<String> paths);
+    
+    /**
+     * Hapus banyak file jika transaksi yang sedang berjalan di-rollback, misalnya hasil copy
+     * ke lokasi permanen yang record-nya batal tersimpan. Tanpa transaksi aktif tidak ada yang dihapus.
+     * @param paths path file di Minio
+     */
+    void deleteFilesOnRollback(Collection<String> paths);
+    
     /**
      * Cek apakah file exists di Minio
      * @param path path file di Minio
      * @return true jika file ada
      */
     boolean fileExists(String path);
+    
+    /**
+     * Statistik cache presigned URL (hit, miss, eviction, ukuran) dan status verifikasi bucket
+     * @return map nama counter ke nilainya
+     */
+    Map<String, Long> getCacheStats();
 }
@@ -0,0 +1,43 @@
+package com.pcs8.orientasi.service;
+
+import com.pcs8.orientasi.domain.dto.PksiDashboardContribution;
+
+import java.util.UUID;
+
+/**
+ * Pemeliharaan agregat dashboard PKSI (agg_pksi_dashboard_tahunan dan agg_pksi_dashboard_bulanan).
+ *
+ * <p>Pola pemakaian di setiap perubahan PKSI, di dalam transaksi yang sama:</p>
+ * <pre>
+ * PksiDashboardContribution before = aggregateService.capture(id);
+ * // ... simpan perubahan PKSI, timeline dan changelog ...
+ * aggregateService.refresh(id, before);
+ * </pre>
+ */
+public interface PksiDashboardAggregateService {
+
+    /**
+     * Kontribusi PKSI ke agregat berdasarkan data di database saat ini.
+     * PKSI yang tidak ada menghasilkan kontribusi kosong.
+     */
+    PksiDashboardContribution capture(UUID pksiId);
+
+    /**
+     * Hitung ulang kontribusi PKSI dan tulis selisihnya terhadap {@code before} ke agregat.
+     * Dipanggil setelah create, update, perubahan status/progress maupun delete.
+     */
+    void refresh(UUID pksiId, PksiDashboardContribution before);
+
+    /**
+     * Bangun ulang seluruh agregat dari data PKSI, untuk recovery atau setelah
+     * perubahan master SKPA/Bidang yang mengubah pemetaan bidang.
+     *
+     * @return jumlah PKSI yang diproses
+     */
+    int rebuild();
+
+    /**
+     * Rebuild hanya jika agregat masih kosong padahal sudah ada PKSI (deployment pertama)
+     */
+    void rebuildIfEmpty();
+}
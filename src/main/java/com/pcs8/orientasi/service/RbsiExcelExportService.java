@@ -1,6 +1,7 @@
 package com.pcs8.orientasi.service;
 
-import java.io.ByteArrayOutputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.UUID;
 
 public interface RbsiExcelExportService {
@@ -8,7 +9,7 @@ public interface RbsiExcelExportService {
     /**
      * Export RBSI monitoring data to Excel format
      * @param rbsiId the RBSI ID
-     * @return ByteArrayOutputStream containing the Excel file
+     * @return body that streams the Excel file
      */
-    ByteArrayOutputStream exportMonitoringToExcel(UUID rbsiId);
+    StreamingResponseBody exportMonitoringToExcel(UUID rbsiId);
 }
@@ -85,4 +85,10 @@ public interface RolePermissionService {
      * Get combined permissions for multiple roles (used for current user's accessible menus)
      */
     RolePermissionMatrixResponse getCombinedPermissionsForRoles(List<String> roleNames);
+
+    /**
+     * Compile ulang matrix permission in-memory setelah transaksi aktif commit
+     * (dipakai ketika data role berubah di luar service ini)
+     */
+    void refreshPermissionMatrix();
 }
\ No newline at end of file
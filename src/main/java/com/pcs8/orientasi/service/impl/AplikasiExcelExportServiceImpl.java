@@ -4,14 +4,18 @@ import com.pcs8.orientasi.domain.dto.response.*;
 import com.pcs8.orientasi.service.AplikasiExcelExportService;
 import com.pcs8.orientasi.service.AplikasiHistorisService;
 import com.pcs8.orientasi.service.AplikasiService;
+import com.pcs8.orientasi.util.StreamingExcelWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,131 +27,121 @@ public class AplikasiExcelExportServiceImpl implements AplikasiExcelExportServic
 
     private final AplikasiService aplikasiService;
     private final AplikasiHistorisService aplikasiHistorisService;
-    
+
+    /** Persistence context yang terikat ke thread export, dikosongkan setiap selesai menulis satu halaman */
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
     private static final String LINE_BREAK = "\n";
+    private static final int EXPORT_PAGE_SIZE = 200;
+    private static final int MIN_COLUMN_WIDTH = 2560;
+    private static final int MAX_COLUMN_WIDTH = 12800;
 
     @Override
-    public ByteArrayOutputStream exportAplikasiToExcel() {
-        List<AplikasiResponse> aplikasiList = aplikasiService.getAll();
-
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Daftar Aplikasi");
-
-            // Create styles
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle wrapStyle = createWrapStyle(workbook);
-
-            // Define column headers
-            String[] headers = {
-                "No", "Kode Aplikasi", "Nama Aplikasi", "Deskripsi", "Status Aplikasi",
-                "Tanggal Status", "Kode Bidang", "Nama Bidang", "Kode SKPA", "Nama SKPA",
-                "Tanggal Implementasi", "Akses", "Proses Data Pribadi", "Data Pribadi Diproses",
-                "Kategori Idle", "Alasan Idle", "Rencana Pengakhiran", "Alasan Belum Diakhiri",
-                "URLs", "Satker Internal", "Pengguna Eksternal", "Komunikasi Sistem", "Penghargaan"
-            };
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            headerRow.setHeightInPoints(25);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+    public StreamingResponseBody exportAplikasiToExcel() {
+        return outputStream -> {
+            List<AplikasiResponse> aplikasiList = aplikasiService.getAll();
 
-            // Populate data rows
-            int rowNum = 1;
-            for (AplikasiResponse aplikasi : aplikasiList) {
-                Row row = sheet.createRow(rowNum);
-                int colNum = 0;
-
-                // No
-                createCell(row, colNum++, rowNum, dataStyle);
-                
-                // Kode Aplikasi
-                createCell(row, colNum++, aplikasi.getKodeAplikasi(), dataStyle);
-                
-                // Nama Aplikasi
-                createCell(row, colNum++, aplikasi.getNamaAplikasi(), dataStyle);
-                
-                // Deskripsi
-                createCell(row, colNum++, aplikasi.getDeskripsi(), wrapStyle);
-                
-                // Status Aplikasi
-                createCell(row, colNum++, aplikasi.getStatusAplikasi(), dataStyle);
-                
-                // Tanggal Status
-                createCell(row, colNum++, formatDate(aplikasi.getTanggalStatus()), dataStyle);
-                
-                // Bidang
-                BidangInfo bidang = aplikasi.getBidang();
-                createCell(row, colNum++, bidang != null ? bidang.getKodeBidang() : "", dataStyle);
-                createCell(row, colNum++, bidang != null ? bidang.getNamaBidang() : "", dataStyle);
-                
-                // SKPA
-                SkpaInfo skpa = aplikasi.getSkpa();
-                createCell(row, colNum++, skpa != null ? skpa.getKodeSkpa() : "", dataStyle);
-                createCell(row, colNum++, skpa != null ? skpa.getNamaSkpa() : "", dataStyle);
-                
-                // Tanggal Implementasi
-                createCell(row, colNum++, formatDate(aplikasi.getTanggalImplementasi()), dataStyle);
-                
-                // Akses
-                createCell(row, colNum++, formatAkses(aplikasi.getAkses()), dataStyle);
-                
-                // Proses Data Pribadi
-                createCell(row, colNum++, formatBoolean(aplikasi.getProsesDataPribadi()), dataStyle);
-                
-                // Data Pribadi Diproses
-                createCell(row, colNum++, aplikasi.getDataPribadiDiproses(), wrapStyle);
-                
-                // Idle Info
-                IdleInfo idleInfo = aplikasi.getIdleInfo();
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getKategoriIdle() : "", dataStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getAlasanIdle() : "", wrapStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getRencanaPengakhiran() : "", wrapStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getAlasanBelumDiakhiri() : "", wrapStyle);
-                
-                // URLs (multi-line)
-                createCell(row, colNum++, formatUrls(aplikasi.getUrls()), wrapStyle);
-                
-                // Satker Internal (multi-line)
-                createCell(row, colNum++, formatSatkerInternals(aplikasi.getSatkerInternals()), wrapStyle);
-                
-                // Pengguna Eksternal (multi-line)
-                createCell(row, colNum++, formatPenggunaEksternals(aplikasi.getPenggunaEksternals()), wrapStyle);
-                
-                // Komunikasi Sistem (multi-line)
-                createCell(row, colNum++, formatKomunikasiSistems(aplikasi.getKomunikasiSistems()), wrapStyle);
-                
-                // Penghargaan (multi-line)
-                createCell(row, colNum++, formatPenghargaans(aplikasi.getPenghargaans()), wrapStyle);
-
-                rowNum++;
-            }
+            try (StreamingExcelWriter writer = new StreamingExcelWriter("Daftar Aplikasi")) {
+                Workbook workbook = writer.getWorkbook();
+
+                // Create styles
+                CellStyle headerStyle = createHeaderStyle(workbook);
+                CellStyle dataStyle = createDataStyle(workbook);
+                CellStyle wrapStyle = createWrapStyle(workbook);
+
+                // Define column headers
+                String[] headers = {
+                    "No", "Kode Aplikasi", "Nama Aplikasi", "Deskripsi", "Status Aplikasi",
+                    "Tanggal Status", "Kode Bidang", "Nama Bidang", "Kode SKPA", "Nama SKPA",
+                    "Tanggal Implementasi", "Akses", "Proses Data Pribadi", "Data Pribadi Diproses",
+                    "Kategori Idle", "Alasan Idle", "Rencana Pengakhiran", "Alasan Belum Diakhiri",
+                    "URLs", "Satker Internal", "Pengguna Eksternal", "Komunikasi Sistem", "Penghargaan"
+                };
+
+                // Create header row
+                createHeaderRow(writer, headers, headerStyle);
+
+                // Populate data rows
+                int rowNum = 1;
+                for (AplikasiResponse aplikasi : aplikasiList) {
+                    Row row = writer.createRow(rowNum);
+                    int colNum = 0;
+
+                    // No
+                    createCell(writer, row, colNum++, rowNum, dataStyle);
+
+                    // Kode Aplikasi
+                    createCell(writer, row, colNum++, aplikasi.getKodeAplikasi(), dataStyle);
+
+                    // Nama Aplikasi
+                    createCell(writer, row, colNum++, aplikasi.getNamaAplikasi(), dataStyle);
+
+                    // Deskripsi
+                    createCell(writer, row, colNum++, aplikasi.getDeskripsi(), wrapStyle);
+
+                    // Status Aplikasi
+                    createCell(writer, row, colNum++, aplikasi.getStatusAplikasi(), dataStyle);
+
+                    // Tanggal Status
+                    createCell(writer, row, colNum++, formatDate(aplikasi.getTanggalStatus()), dataStyle);
+
+                    // Bidang
+                    BidangInfo bidang = aplikasi.getBidang();
+                    createCell(writer, row, colNum++, bidang != null ? bidang.getKodeBidang() : "", dataStyle);
+                    createCell(writer, row, colNum++, bidang != null ? bidang.getNamaBidang() : "", dataStyle);
+
+                    // SKPA
+                    SkpaInfo skpa = aplikasi.getSkpa();
+                    createCell(writer, row, colNum++, skpa != null ? skpa.getKodeSkpa() : "", dataStyle);
+                    createCell(writer, row, colNum++, skpa != null ? skpa.getNamaSkpa() : "", dataStyle);
+
+                    // Tanggal Implementasi
+                    createCell(writer, row, colNum++, formatDate(aplikasi.getTanggalImplementasi()), dataStyle);
+
+                    // Akses
+                    createCell(writer, row, colNum++, formatAkses(aplikasi.getAkses()), dataStyle);
+
+                    // Proses Data Pribadi
+                    createCell(writer, row, colNum++, formatBoolean(aplikasi.getProsesDataPribadi()), dataStyle);
 
-            // Auto-size columns with max width limit
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-                int currentWidth = sheet.getColumnWidth(i);
-                // Limit max width to 50 characters (50 * 256)
-                if (currentWidth > 12800) {
-                    sheet.setColumnWidth(i, 12800);
+                    // Data Pribadi Diproses
+                    createCell(writer, row, colNum++, aplikasi.getDataPribadiDiproses(), wrapStyle);
+
+                    // Idle Info
+                    IdleInfo idleInfo = aplikasi.getIdleInfo();
+                    createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getKategoriIdle() : "", dataStyle);
+                    createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getAlasanIdle() : "", wrapStyle);
+                    createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getRencanaPengakhiran() : "", wrapStyle);
+                    createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getAlasanBelumDiakhiri() : "", wrapStyle);
+
+                    // URLs (multi-line)
+                    createCell(writer, row, colNum++, formatUrls(aplikasi.getUrls()), wrapStyle);
+
+                    // Satker Internal (multi-line)
+                    createCell(writer, row, colNum++, formatSatkerInternals(aplikasi.getSatkerInternals()), wrapStyle);
+
+                    // Pengguna Eksternal (multi-line)
+                    createCell(writer, row, colNum++, formatPenggunaEksternals(aplikasi.getPenggunaEksternals()), wrapStyle);
+
+                    // Komunikasi Sistem (multi-line)
+                    createCell(writer, row, colNum++, formatKomunikasiSistems(aplikasi.getKomunikasiSistems()), wrapStyle);
+
+                    // Penghargaan (multi-line)
+                    createCell(writer, row, colNum++, formatPenghargaans(aplikasi.getPenghargaans()), wrapStyle);
+
+                    rowNum++;
                 }
-            }
 
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            log.info("Successfully exported {} aplikasi records to Excel", aplikasiList.size());
-            return outputStream;
+                // Size columns from tracked text widths, max 50 characters (50 * 256)
+                writer.applyColumnWidths(headers.length, MIN_COLUMN_WIDTH, MAX_COLUMN_WIDTH);
 
-        } catch (IOException e) {
-            log.error("Error generating Excel file: {}", e.getMessage());
-            throw new RuntimeException("Gagal membuat file Excel: " + e.getMessage(), e);
-        }
+                // Write to output stream
+                writer.write(outputStream);
+                log.info("Successfully exported {} aplikasi records to Excel", aplikasiList.size());
+            }
+        };
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
@@ -183,14 +177,16 @@ public class AplikasiExcelExportServiceImpl implements AplikasiExcelExportServic
         return style;
     }
 
-    private void createCell(Row row, int colNum, Object value, CellStyle style) {
-        Cell cell = row.createCell(colNum);
-        if (value instanceof Number) {
-            cell.setCellValue(((Number) value).doubleValue());
-        } else {
-            cell.setCellValue(value != null ? value.toString() : "");
+    private void createHeaderRow(StreamingExcelWriter writer, String[] headers, CellStyle headerStyle) {
+        Row headerRow = writer.createRow(0);
+        headerRow.setHeightInPoints(25);
+        for (int i = 0; i < headers.length; i++) {
+            writer.writeCell(headerRow, i, headers[i], headerStyle);
         }
-        cell.setCellStyle(style);
+    }
+
+    private void createCell(StreamingExcelWriter writer, Row row, int colNum, Object value, CellStyle style) {
+        writer.writeCell(row, colNum, value, style);
     }
 
     private String formatDate(java.time.LocalDate date) {
@@ -289,128 +285,118 @@ public class AplikasiExcelExportServiceImpl implements AplikasiExcelExportServic
     }
 
     @Override
-    public ByteArrayOutputStream exportHistorisAplikasiToExcel(Integer tahun) {
-        List<AplikasiSnapshotResponse> historisList = aplikasiHistorisService.getFullSnapshotsByTahun(tahun);
-
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Historis Aplikasi Tahun " + tahun);
-
-            // Create styles
-            CellStyle headerStyle = createHeaderStyle(workbook);
-            CellStyle dataStyle = createDataStyle(workbook);
-            CellStyle wrapStyle = createWrapStyle(workbook);
-
-            // Define column headers - sama seperti export aplikasi + changelog
-            String[] headers = {
-                "No", "Kode Aplikasi", "Nama Aplikasi", "Deskripsi", "Status Aplikasi",
-                "Tanggal Status", "Kode Bidang", "Nama Bidang", "Kode SKPA", "Nama SKPA",
-                "Tanggal Implementasi", "Akses", "Proses Data Pribadi", "Data Pribadi Diproses",
-                "Kategori Idle", "Alasan Idle", "Rencana Pengakhiran", "Alasan Belum Diakhiri",
-                "URLs", "Satker Internal", "Pengguna Eksternal", "Komunikasi Sistem", "Penghargaan",
-                "Changelog"
-            };
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            headerRow.setHeightInPoints(25);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+    public StreamingResponseBody exportHistorisAplikasiToExcel(Integer tahun) {
+        return outputStream -> {
+            try (StreamingExcelWriter writer = new StreamingExcelWriter("Historis Aplikasi Tahun " + tahun)) {
+                Workbook workbook = writer.getWorkbook();
+
+                // Create styles
+                CellStyle headerStyle = createHeaderStyle(workbook);
+                CellStyle dataStyle = createDataStyle(workbook);
+                CellStyle wrapStyle = createWrapStyle(workbook);
+
+                // Define column headers - sama seperti export aplikasi + changelog
+                String[] headers = {
+                    "No", "Kode Aplikasi", "Nama Aplikasi", "Deskripsi", "Status Aplikasi",
+                    "Tanggal Status", "Kode Bidang", "Nama Bidang", "Kode SKPA", "Nama SKPA",
+                    "Tanggal Implementasi", "Akses", "Proses Data Pribadi", "Data Pribadi Diproses",
+                    "Kategori Idle", "Alasan Idle", "Rencana Pengakhiran", "Alasan Belum Diakhiri",
+                    "URLs", "Satker Internal", "Pengguna Eksternal", "Komunikasi Sistem", "Penghargaan",
+                    "Changelog"
+                };
+
+                // Create header row
+                createHeaderRow(writer, headers, headerStyle);
+
+                // Populate data rows, reading snapshots page by page
+                int rowNum = 1;
+                int pageNumber = 0;
+                Slice<AplikasiSnapshotResponse> page;
+                do {
+                    page = aplikasiHistorisService.getFullSnapshotsByTahun(tahun,
+                            PageRequest.of(pageNumber++, EXPORT_PAGE_SIZE, Sort.by("namaAplikasi", "id")));
+                    for (AplikasiSnapshotResponse snapshot : page.getContent()) {
+                        Row row = writer.createRow(rowNum);
+                        int colNum = 0;
+
+                        // No
+                        createCell(writer, row, colNum++, rowNum, dataStyle);
+
+                        // Kode Aplikasi
+                        createCell(writer, row, colNum++, snapshot.getKodeAplikasi(), dataStyle);
+
+                        // Nama Aplikasi
+                        createCell(writer, row, colNum++, snapshot.getNamaAplikasi(), dataStyle);
+
+                        // Deskripsi
+                        createCell(writer, row, colNum++, snapshot.getDeskripsi(), wrapStyle);
+
+                        // Status Aplikasi
+                        createCell(writer, row, colNum++, snapshot.getStatusAplikasi(), dataStyle);
+
+                        // Tanggal Status
+                        createCell(writer, row, colNum++, formatDate(snapshot.getTanggalStatus()), dataStyle);
+
+                        // Bidang
+                        BidangInfo bidang = snapshot.getBidang();
+                        createCell(writer, row, colNum++, bidang != null ? bidang.getKodeBidang() : "", dataStyle);
+                        createCell(writer, row, colNum++, bidang != null ? bidang.getNamaBidang() : "", dataStyle);
+
+                        // SKPA
+                        SkpaInfo skpa = snapshot.getSkpa();
+                        createCell(writer, row, colNum++, skpa != null ? skpa.getKodeSkpa() : "", dataStyle);
+                        createCell(writer, row, colNum++, skpa != null ? skpa.getNamaSkpa() : "", dataStyle);
+
+                        // Tanggal Implementasi
+                        createCell(writer, row, colNum++, formatDate(snapshot.getTanggalImplementasi()), dataStyle);
+
+                        // Akses
+                        createCell(writer, row, colNum++, formatAkses(snapshot.getAkses()), dataStyle);
+
+                        // Proses Data Pribadi
+                        createCell(writer, row, colNum++, formatBoolean(snapshot.getProsesDataPribadi()), dataStyle);
+
+                        // Data Pribadi Diproses
+                        createCell(writer, row, colNum++, snapshot.getDataPribadiDiproses(), wrapStyle);
+
+                        // Idle Info
+                        IdleInfo idleInfo = snapshot.getIdleInfo();
+                        createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getKategoriIdle() : "", dataStyle);
+                        createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getAlasanIdle() : "", wrapStyle);
+                        createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getRencanaPengakhiran() : "", wrapStyle);
+                        createCell(writer, row, colNum++, idleInfo != null ? idleInfo.getAlasanBelumDiakhiri() : "", wrapStyle);
+
+                        // URLs (multi-line)
+                        createCell(writer, row, colNum++, formatUrls(snapshot.getUrls()), wrapStyle);
+
+                        // Satker Internal (multi-line)
+                        createCell(writer, row, colNum++, formatSatkerInternals(snapshot.getSatkerInternals()), wrapStyle);
+
+                        // Pengguna Eksternal (multi-line)
+                        createCell(writer, row, colNum++, formatPenggunaEksternals(snapshot.getPenggunaEksternals()), wrapStyle);
+
+                        // Komunikasi Sistem (multi-line)
+                        createCell(writer, row, colNum++, formatKomunikasiSistems(snapshot.getKomunikasiSistems()), wrapStyle);
+
+                        // Penghargaan (multi-line)
+                        createCell(writer, row, colNum++, formatPenghargaans(snapshot.getPenghargaans()), wrapStyle);
+
+                        // Changelog (multi-line)
+                        createCell(writer, row, colNum++, formatChangelogs(snapshot.getChangelogs()), wrapStyle);
+
+                        rowNum++;
+                    }
+                    // Entity halaman ini sudah dipetakan ke DTO; lepas supaya memori tidak tumbuh per halaman
+                    entityManager.clear();
+                } while (page.hasNext());
 
-            // Populate data rows
-            int rowNum = 1;
-            for (AplikasiSnapshotResponse snapshot : historisList) {
-                Row row = sheet.createRow(rowNum);
-                int colNum = 0;
-
-                // No
-                createCell(row, colNum++, rowNum, dataStyle);
-                
-                // Kode Aplikasi
-                createCell(row, colNum++, snapshot.getKodeAplikasi(), dataStyle);
-                
-                // Nama Aplikasi
-                createCell(row, colNum++, snapshot.getNamaAplikasi(), dataStyle);
-                
-                // Deskripsi
-                createCell(row, colNum++, snapshot.getDeskripsi(), wrapStyle);
-                
-                // Status Aplikasi
-                createCell(row, colNum++, snapshot.getStatusAplikasi(), dataStyle);
-                
-                // Tanggal Status
-                createCell(row, colNum++, formatDate(snapshot.getTanggalStatus()), dataStyle);
-                
-                // Bidang
-                BidangInfo bidang = snapshot.getBidang();
-                createCell(row, colNum++, bidang != null ? bidang.getKodeBidang() : "", dataStyle);
-                createCell(row, colNum++, bidang != null ? bidang.getNamaBidang() : "", dataStyle);
-                
-                // SKPA
-                SkpaInfo skpa = snapshot.getSkpa();
-                createCell(row, colNum++, skpa != null ? skpa.getKodeSkpa() : "", dataStyle);
-                createCell(row, colNum++, skpa != null ? skpa.getNamaSkpa() : "", dataStyle);
-                
-                // Tanggal Implementasi
-                createCell(row, colNum++, formatDate(snapshot.getTanggalImplementasi()), dataStyle);
-                
-                // Akses
-                createCell(row, colNum++, formatAkses(snapshot.getAkses()), dataStyle);
-                
-                // Proses Data Pribadi
-                createCell(row, colNum++, formatBoolean(snapshot.getProsesDataPribadi()), dataStyle);
-                
-                // Data Pribadi Diproses
-                createCell(row, colNum++, snapshot.getDataPribadiDiproses(), wrapStyle);
-                
-                // Idle Info
-                IdleInfo idleInfo = snapshot.getIdleInfo();
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getKategoriIdle() : "", dataStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getAlasanIdle() : "", wrapStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getRencanaPengakhiran() : "", wrapStyle);
-                createCell(row, colNum++, idleInfo != null ? idleInfo.getAlasanBelumDiakhiri() : "", wrapStyle);
-                
-                // URLs (multi-line)
-                createCell(row, colNum++, formatUrls(snapshot.getUrls()), wrapStyle);
-                
-                // Satker Internal (multi-line)
-                createCell(row, colNum++, formatSatkerInternals(snapshot.getSatkerInternals()), wrapStyle);
-                
-                // Pengguna Eksternal (multi-line)
-                createCell(row, colNum++, formatPenggunaEksternals(snapshot.getPenggunaEksternals()), wrapStyle);
-                
-                // Komunikasi Sistem (multi-line)
-                createCell(row, colNum++, formatKomunikasiSistems(snapshot.getKomunikasiSistems()), wrapStyle);
-                
-                // Penghargaan (multi-line)
-                createCell(row, colNum++, formatPenghargaans(snapshot.getPenghargaans()), wrapStyle);
-                
-                // Changelog (multi-line)
-                createCell(row, colNum++, formatChangelogs(snapshot.getChangelogs()), wrapStyle);
-
-                rowNum++;
-            }
+                // Size columns from tracked text widths
+                writer.applyColumnWidths(headers.length, MIN_COLUMN_WIDTH, MAX_COLUMN_WIDTH);
 
-            // Auto-size columns with max width limit
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-                int currentWidth = sheet.getColumnWidth(i);
-                if (currentWidth > 12800) {
-                    sheet.setColumnWidth(i, 12800);
-                }
+                // Write to output stream
+                writer.write(outputStream);
+                log.info("Successfully exported {} historis aplikasi records for year {} to Excel", rowNum - 1, tahun);
             }
-
-            // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            log.info("Successfully exported {} historis aplikasi records for year {} to Excel", historisList.size(), tahun);
-            return outputStream;
-
-        } catch (IOException e) {
-            log.error("Error generating Excel file for historis aplikasi: {}", e.getMessage());
-            throw new RuntimeException("Gagal membuat file Excel: " + e.getMessage(), e);
-        }
+        };
     }
 }
@@ -1,6 +1,8 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.constant.ConstantVariable;
+import com.pcs8.orientasi.domain.dto.projection.SnapshotStatusCountView;
 import com.pcs8.orientasi.domain.dto.request.ChangelogRequest;
 import com.pcs8.orientasi.domain.dto.request.UpdateSnapshotRequest;
 import com.pcs8.orientasi.domain.dto.response.*;
@@ -13,6 +15,10 @@ import com.pcs8.orientasi.service.AplikasiHistorisService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +36,8 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
     private final AplikasiSnapshotRepository snapshotRepository;
     private final AplikasiChangelogRepository changelogRepository;
     private final MstAplikasiRepository aplikasiRepository;
+    private final AplikasiSnapshotGenerator snapshotGenerator;
+    private final CacheManager cacheManager;
 
     @Override
     @Transactional
@@ -58,6 +66,7 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
         }
         
         AplikasiSnapshot saved = snapshotRepository.save(snapshot);
+        evictStatistik(tahun);
         log.info("Snapshot created/updated for aplikasi {} tahun {}", aplikasi.getKodeAplikasi(), tahun);
         
         return mapToResponse(saved);
@@ -99,6 +108,7 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
         snapshot.setSnapshotDate(LocalDateTime.now());
         
         AplikasiSnapshot saved = snapshotRepository.save(snapshot);
+        evictStatistik(saved.getTahun());
         
         // Add changelog entry if keterangan provided
         if (request.getChangelogKeterangan() != null && !request.getChangelogKeterangan().isBlank()) {
@@ -117,18 +127,14 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
     }
 
     @Override
-    @Transactional
-    public List<AplikasiSnapshotResponse> generateSnapshotsForYear(Integer tahun) {
-        List<MstAplikasi> allAplikasi = aplikasiRepository.findAllByOrderByKodeAplikasiAsc();
-        List<AplikasiSnapshotResponse> results = new ArrayList<>();
-        
-        for (MstAplikasi aplikasi : allAplikasi) {
-            AplikasiSnapshotResponse response = createSnapshotFromAplikasi(aplikasi, tahun, "MANUAL");
-            results.add(response);
+    public SnapshotGenerationResponse generateSnapshotsForYear(Integer tahun, boolean resume) {
+        // Tanpa @Transactional: generator meng-commit per chunk
+        try {
+            return snapshotGenerator.generate(tahun, resume);
+        } finally {
+            // Chunk yang sudah ter-commit tetap mengubah statistik meskipun generate gagal di tengah
+            evictStatistik(tahun);
         }
-        
-        log.info("Generated {} snapshots for year {}", results.size(), tahun);
-        return results;
     }
 
     @Override
@@ -174,6 +180,13 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<AplikasiSnapshotResponse> getFullSnapshotsByTahun(Integer tahun, Pageable pageable) {
+        return snapshotRepository.findByTahun(tahun, pageable)
+                .map(this::mapToResponse);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Integer> getAvailableYears() {
@@ -183,29 +196,49 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
     @Override
     @Transactional(readOnly = true)
     public AplikasiStatistikResponse getStatistikByTahun(Integer tahun) {
-        Long total = snapshotRepository.countByTahun(tahun);
-        List<Object[]> statusCounts = snapshotRepository.countByStatusAndTahun(tahun);
-        
-        Map<String, Long> byStatus = new HashMap<>();
-        for (Object[] row : statusCounts) {
-            String status = (String) row[0];
-            Long count = (Long) row[1];
-            byStatus.put(status, count);
-        }
-        
-        return AplikasiStatistikResponse.builder()
-                .tahun(tahun)
-                .totalAplikasi(total)
-                .byStatus(byStatus)
-                .build();
+        return getStatistikByPeriode(tahun, tahun).get(0);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<AplikasiStatistikResponse> getStatistikByPeriode(Integer startYear, Integer endYear) {
+        int currentYear = LocalDate.now().getYear();
+        Cache cache = statistikCache();
+
+        // Tahun yang sudah lewat diambil dari cache; sisanya dihitung dalam satu query grouped
+        Map<Integer, AplikasiStatistikResponse> byYear = new HashMap<>();
+        Integer missingFrom = null;
+        Integer missingTo = null;
+        for (int year = startYear; year <= endYear; year++) {
+            AplikasiStatistikResponse cached = year < currentYear ? cache.get(year, AplikasiStatistikResponse.class) : null;
+            if (cached != null) {
+                byYear.put(year, cached);
+            } else {
+                missingFrom = missingFrom != null ? missingFrom : year;
+                missingTo = year;
+            }
+        }
+
+        if (missingFrom != null) {
+            Map<Integer, Map<String, Long>> matrix = new HashMap<>();
+            for (SnapshotStatusCountView row : snapshotRepository.countByTahunAndStatus(missingFrom, missingTo)) {
+                matrix.computeIfAbsent(row.getTahun(), k -> new HashMap<>()).put(row.getStatusAplikasi(), row.getJumlah());
+            }
+            for (int year = missingFrom; year <= missingTo; year++) {
+                if (byYear.containsKey(year)) {
+                    continue;
+                }
+                AplikasiStatistikResponse statistik = toStatistik(year, matrix.getOrDefault(year, Map.of()));
+                if (year < currentYear) {
+                    cache.put(year, statistik);
+                }
+                byYear.put(year, statistik);
+            }
+        }
+
         List<AplikasiStatistikResponse> results = new ArrayList<>();
         for (int year = startYear; year <= endYear; year++) {
-            results.add(getStatistikByTahun(year));
+            results.add(byYear.get(year));
         }
         return results;
     }
@@ -250,10 +283,10 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
     @Override
     @Transactional
     public void deleteSnapshot(UUID id) {
-        if (!snapshotRepository.existsById(id)) {
-            throw new ResourceNotFoundException(ConstantVariable.SNAPSHOT_NOT_FOUND);
-        }
-        snapshotRepository.deleteById(id);
+        AplikasiSnapshot snapshot = snapshotRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(ConstantVariable.SNAPSHOT_NOT_FOUND));
+        snapshotRepository.delete(snapshot);
+        evictStatistik(snapshot.getTahun());
         log.info("Snapshot deleted: {}", id);
     }
 
@@ -300,6 +333,25 @@ public class AplikasiHistorisServiceImpl implements AplikasiHistorisService {
 
     // ==================== Private Helper Methods ====================
 
+    private Cache statistikCache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.HISTORIS_STATISTIK));
+    }
+
+    private void evictStatistik(Integer tahun) {
+        if (tahun != null) {
+            statistikCache().evict(tahun);
+        }
+    }
+
+    private AplikasiStatistikResponse toStatistik(int tahun, Map<String, Long> byStatus) {
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        return AplikasiStatistikResponse.builder()
+                .tahun(tahun)
+                .totalAplikasi(total)
+                .byStatus(Map.copyOf(byStatus))
+                .build();
+    }
+
     private AplikasiSnapshot buildSnapshotFromAplikasi(MstAplikasi aplikasi, Integer tahun, String snapshotType) {
         AplikasiSnapshot snapshot = AplikasiSnapshot.builder()
                 .aplikasi(aplikasi)
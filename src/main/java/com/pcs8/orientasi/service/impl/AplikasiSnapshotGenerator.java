@@ -0,0 +1,172 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.response.SnapshotGenerationResponse;
+import com.pcs8.orientasi.domain.entity.AplikasiSnapshotGenerationProgress;
+import com.pcs8.orientasi.exception.BadRequestException;
+import com.pcs8.orientasi.repository.AplikasiSnapshotGenerationProgressRepository;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepository;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepositoryCustom.SnapshotSource;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepositoryCustom.SnapshotWriteResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pipeline generate snapshot semua aplikasi untuk satu tahun.
+ *
+ * <p>Aplikasi dibaca per {@link #CHUNK_SIZE} (urut kode aplikasi) beserta child-nya lewat JDBC,
+ * lalu snapshot dan child row ditulis dengan batch insert/update. Setiap chunk di-commit di
+ * transaksi sendiri bersama progress-nya ({@link AplikasiSnapshotGenerationProgress}), jadi tidak ada
+ * transaksi panjang dan generate yang terputus bisa dilanjutkan dari chunk berikutnya.</p>
+ */
+@Component
+public class AplikasiSnapshotGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(AplikasiSnapshotGenerator.class);
+
+    /** Di bawah batas 2100 parameter SQL Server untuk query IN per chunk */
+    private static final int CHUNK_SIZE = 500;
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 500;
+    private static final String SNAPSHOT_TYPE_MANUAL = "MANUAL";
+
+    private final AplikasiSnapshotRepository snapshotRepository;
+    private final AplikasiSnapshotGenerationProgressRepository progressRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock generationLock = new ReentrantLock();
+
+    public AplikasiSnapshotGenerator(AplikasiSnapshotRepository snapshotRepository,
+                                     AplikasiSnapshotGenerationProgressRepository progressRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.progressRepository = progressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Generate snapshot tahun {@code tahun} untuk semua aplikasi.
+     *
+     * @param resume lanjutkan dari progress run sebelumnya yang belum selesai; false untuk mulai dari awal
+     */
+    public SnapshotGenerationResponse generate(int tahun, boolean resume) {
+        if (!generationLock.tryLock()) {
+            throw new BadRequestException("Generate snapshot sedang berjalan");
+        }
+        try {
+            return run(tahun, resume);
+        } finally {
+            generationLock.unlock();
+        }
+    }
+
+    private SnapshotGenerationResponse run(int tahun, boolean resume) {
+        long start = System.currentTimeMillis();
+        AplikasiSnapshotGenerationProgress progress = startProgress(tahun, resume);
+        String resumedAfter = progress.getLastKodeAplikasi();
+        if (resumedAfter != null) {
+            log.info("Resuming snapshot generation for year {} after aplikasi {}", tahun, resumedAfter);
+        }
+
+        String committedKode = resumedAfter;
+        int committedCount = progress.getProcessedCount();
+        int processed = 0;
+        int created = 0;
+        int updated = 0;
+        int childRows = 0;
+        int chunks = 0;
+        try {
+            List<SnapshotSource> sources;
+            while (!(sources = snapshotRepository.findSnapshotSources(committedKode, CHUNK_SIZE)).isEmpty()) {
+                String lastKode = sources.get(sources.size() - 1).kodeAplikasi();
+                int nextCount = committedCount + sources.size();
+                List<SnapshotSource> chunk = sources;
+
+                SnapshotWriteResult result = transactionTemplate.execute(status -> {
+                    SnapshotWriteResult written = snapshotRepository.writeSnapshots(
+                            tahun, SNAPSHOT_TYPE_MANUAL, chunk, LocalDateTime.now());
+                    progress.setLastKodeAplikasi(lastKode);
+                    progress.setProcessedCount(nextCount);
+                    progressRepository.save(progress);
+                    return written;
+                });
+
+                committedKode = lastKode;
+                committedCount = nextCount;
+                chunks++;
+                processed += sources.size();
+                if (result != null) {
+                    created += result.created();
+                    updated += result.updated();
+                    childRows += result.childRows();
+                }
+                log.debug("Snapshot chunk {} for year {} committed: {} aplikasi up to {}",
+                        chunks, tahun, sources.size(), lastKode);
+            }
+        } catch (RuntimeException e) {
+            // Simpan posisi chunk terakhir yang benar-benar ter-commit supaya bisa di-resume
+            progress.setLastKodeAplikasi(committedKode);
+            progress.setProcessedCount(committedCount);
+            progress.setStatus(AplikasiSnapshotGenerationProgress.STATUS_FAILED);
+            progress.setErrorMessage(truncate(e.getMessage()));
+            progress.setFinishedAt(LocalDateTime.now());
+            progressRepository.save(progress);
+            log.error("Snapshot generation for year {} failed after {} aplikasi", tahun, committedCount, e);
+            throw e;
+        }
+
+        progress.setStatus(AplikasiSnapshotGenerationProgress.STATUS_COMPLETED);
+        progress.setFinishedAt(LocalDateTime.now());
+        progressRepository.save(progress);
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        double perSecond = Math.round(processed * 1000.0 / Math.max(elapsedMs, 1) * 100.0) / 100.0;
+        log.info("Generated {} snapshots for year {} ({} new, {} updated, {} child rows) in {} chunks, {} ms ({} aplikasi/s)",
+                processed, tahun, created, updated, childRows, chunks, elapsedMs, perSecond);
+
+        return SnapshotGenerationResponse.builder()
+                .tahun(tahun)
+                .totalGenerated(processed)
+                .createdCount(created)
+                .updatedCount(updated)
+                .childRowCount(childRows)
+                .chunkCount(chunks)
+                .resumedAfter(resumedAfter)
+                .elapsedMs(elapsedMs)
+                .aplikasiPerSecond(perSecond)
+                .build();
+    }
+
+    /**
+     * Ambil progress tahun tersebut; dilanjutkan jika diminta dan run sebelumnya belum selesai,
+     * selain itu di-reset ke awal
+     */
+    private AplikasiSnapshotGenerationProgress startProgress(int tahun, boolean resume) {
+        AplikasiSnapshotGenerationProgress progress = progressRepository.findByTahun(tahun)
+                .orElseGet(() -> AplikasiSnapshotGenerationProgress.builder().tahun(tahun).build());
+
+        boolean unfinished = progress.getId() != null
+                && !AplikasiSnapshotGenerationProgress.STATUS_COMPLETED.equals(progress.getStatus());
+        if (!resume || !unfinished) {
+            progress.setLastKodeAplikasi(null);
+            progress.setProcessedCount(0);
+            progress.setStartedAt(LocalDateTime.now());
+        }
+        progress.setStatus(AplikasiSnapshotGenerationProgress.STATUS_RUNNING);
+        progress.setFinishedAt(null);
+        progress.setErrorMessage(null);
+        return progressRepository.save(progress);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= ERROR_MESSAGE_MAX_LENGTH) {
+            return message;
+        }
+        return message.substring(0, ERROR_MESSAGE_MAX_LENGTH);
+    }
+}
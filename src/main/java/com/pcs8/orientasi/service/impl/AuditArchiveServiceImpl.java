@@ -0,0 +1,89 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.exception.BadRequestException;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import com.pcs8.orientasi.service.AuditArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementasi AuditArchiveService.
+ *
+ * <p>Audit log yang lebih tua dari {@code audit.retention-months} bulan (default 12) dipindahkan
+ * ke audit_log_archive dengan {@code partition_month} = yyyyMM bulan asalnya. Setiap potongan
+ * {@link #MOVE_BATCH_SIZE} baris dipindahkan dalam transaksi sendiri (DELETE ... OUTPUT INTO),
+ * sehingga lock di audit_log tetap singkat dan proses yang terputus bisa dilanjutkan.
+ * Counter rollup harian tidak diubah, jadi statistik audit tetap mencakup baris yang diarsipkan.</p>
+ */
+@Service
+public class AuditArchiveServiceImpl implements AuditArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveServiceImpl.class);
+
+    private static final int MOVE_BATCH_SIZE = 5_000;
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+
+    private final ReentrantLock archiveLock = new ReentrantLock();
+
+    public AuditArchiveServiceImpl(AuditLogRepository auditLogRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${audit.retention-months:12}") int retentionMonths) {
+        this.auditLogRepository = auditLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Override
+    public int archiveExpiredMonths() {
+        if (!archiveLock.tryLock()) {
+            throw new BadRequestException("Arsip audit log sedang berjalan");
+        }
+        try {
+            YearMonth cutoffMonth = YearMonth.now().minusMonths(retentionMonths);
+            LocalDateTime oldest = auditLogRepository.findOldestCreatedAt();
+            if (oldest == null || !YearMonth.from(oldest).isBefore(cutoffMonth)) {
+                return 0;
+            }
+
+            int total = 0;
+            for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoffMonth); month = month.plusMonths(1)) {
+                total += archiveMonth(month);
+            }
+            log.info("Audit log archive finished: {} rows moved (retention {} months)", total, retentionMonths);
+            return total;
+        } finally {
+            archiveLock.unlock();
+        }
+    }
+
+    private int archiveMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        int partitionMonth = month.getYear() * 100 + month.getMonthValue();
+
+        int total = 0;
+        int moved;
+        do {
+            Integer result = transactionTemplate.execute(status ->
+                    auditLogRepository.moveToArchive(from, to, partitionMonth, MOVE_BATCH_SIZE));
+            moved = result != null ? result : 0;
+            total += moved;
+        } while (moved == MOVE_BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Archived {} audit logs for {}", total, month);
+        }
+        return total;
+    }
+}
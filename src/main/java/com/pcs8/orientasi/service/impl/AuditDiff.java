@@ -0,0 +1,115 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selisih dua snapshot JSON untuk audit UPDATE, dihitung dalam satu kali walk kedua tree.
+ *
+ * <p>Delta berformat mirip JSON Patch (RFC 6902): array operasi {@code add}, {@code remove}
+ * dan {@code replace} dengan {@code path} JSON Pointer. Operasi remove/replace juga menyimpan
+ * nilai lama di {@code old} sehingga histori tetap bisa dibaca tanpa snapshot penuh.
+ * Object dibandingkan per field secara rekursif; array yang berbeda dicatat sebagai satu
+ * replace utuh agar pergeseran index tidak menghasilkan noise.</p>
+ */
+final class AuditDiff {
+
+    private final ArrayNode operations;
+    private final Set<String> changedFields;
+
+    private AuditDiff(ArrayNode operations, Set<String> changedFields) {
+        this.operations = operations;
+        this.changedFields = changedFields;
+    }
+
+    static AuditDiff between(JsonNode oldNode, JsonNode newNode) {
+        AuditDiff diff = new AuditDiff(JsonNodeFactory.instance.arrayNode(), new LinkedHashSet<>());
+        diff.compare("", null, oldNode, newNode);
+        return diff;
+    }
+
+    boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    ArrayNode operations() {
+        return operations;
+    }
+
+    /** Nama field level teratas yang berubah, urut sesuai kemunculan */
+    Set<String> changedFields() {
+        return changedFields;
+    }
+
+    private void compare(String path, String topField, JsonNode oldNode, JsonNode newNode) {
+        boolean oldMissing = oldNode == null || oldNode.isMissingNode();
+        boolean newMissing = newNode == null || newNode.isMissingNode();
+        if (oldMissing && newMissing) {
+            return;
+        }
+        if (oldMissing) {
+            record(topField, operation("add", path).set("value", newNode));
+            return;
+        }
+        if (newMissing) {
+            record(topField, operation("remove", path).set("old", oldNode));
+            return;
+        }
+        if (oldNode.isObject() && newNode.isObject()) {
+            compareObjects(path, topField, oldNode, newNode);
+            return;
+        }
+        if (!oldNode.equals(newNode)) {
+            ObjectNode operation = operation("replace", path);
+            operation.set("old", oldNode);
+            operation.set("value", newNode);
+            record(topField, operation);
+        }
+    }
+
+    private void compareObjects(String path, String topField, JsonNode oldNode, JsonNode newNode) {
+        Iterator<Map.Entry<String, JsonNode>> newFields = newNode.fields();
+        while (newFields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = newFields.next();
+            String key = entry.getKey();
+            compare(path + "/" + escape(key), topField != null ? topField : key, oldNode.get(key), entry.getValue());
+        }
+        Iterator<Map.Entry<String, JsonNode>> oldFields = oldNode.fields();
+        while (oldFields.hasNext()) {
+            Map.Entry<String, JsonNode> entry = oldFields.next();
+            String key = entry.getKey();
+            if (!newNode.has(key)) {
+                compare(path + "/" + escape(key), topField != null ? topField : key, entry.getValue(), null);
+            }
+        }
+    }
+
+    private void record(String topField, ObjectNode operation) {
+        operations.add(operation);
+        if (topField != null) {
+            changedFields.add(topField);
+        }
+    }
+
+    private static ObjectNode operation(String op, String path) {
+        ObjectNode operation = JsonNodeFactory.instance.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        return operation;
+    }
+
+    /** Escape token JSON Pointer (RFC 6901) */
+    private static String escape(String key) {
+        if (key.indexOf('~') < 0 && key.indexOf('/') < 0) {
+            return key;
+        }
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,256 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.enums.AuditExportFormat;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import com.pcs8.orientasi.service.AuditLogExportService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Implementasi AuditLogExportService.
+ *
+ * <p>Baris dibaca dari cursor JDBC forward-only ({@link AuditLogRepository#streamAuditLogRows})
+ * dan langsung ditulis ke output stream response, sehingga memory yang dipakai konstan
+ * berapa pun jumlah baris yang cocok. Kolom JSON (old_value, new_value, value_delta,
+ * changed_fields) ditulis apa adanya: sebagai JSON di NDJSON dan sebagai teks di CSV.</p>
+ *
+ * <p>Setelah baris terakhir ditulis trailer berisi jumlah baris ({@link #NDJSON_TRAILER_FIELD} di NDJSON,
+ * {@link #CSV_TRAILER_PREFIX} di CSV). Export yang terputus di tengah jalan tidak punya trailer,
+ * sehingga file yang terpotong bisa dikenali oleh penerimanya.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLogExportServiceImpl implements AuditLogExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogExportServiceImpl.class);
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final int FLUSH_EVERY_ROWS = 1_000;
+
+    static final String NDJSON_TRAILER_FIELD = "export_complete";
+    static final String CSV_TRAILER_PREFIX = "# export_complete row_count=";
+
+    private static final String[] COLUMNS = {
+        "id", "entity_name", "entity_id", "action", "old_value", "new_value", "value_delta",
+        "changed_fields", "user_id", "username", "ip_address", "user_agent", "created_at"
+    };
+    private static final String[] UUID_COLUMNS = {"id", "entity_id", "user_id"};
+    private static final String[] JSON_COLUMNS = {"old_value", "new_value", "value_delta", "changed_fields"};
+
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public StreamingResponseBody exportAuditLogs(AuditLogSearchCriteria criteria, AuditExportFormat format, boolean gzip) {
+        return outputStream -> {
+            long start = System.currentTimeMillis();
+            GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) : null;
+            OutputStream target = gzipStream != null ? gzipStream : outputStream;
+
+            RowWriter writer = format == AuditExportFormat.CSV ? new CsvRowWriter(target) : new NdjsonRowWriter(target);
+            try {
+                writer.begin();
+                auditLogRepository.streamAuditLogRows(criteria, resultSet -> {
+                    try {
+                        writer.writeRow(resultSet);
+                    } catch (IOException e) {
+                        // Biasanya client memutus download; hentikan query
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                log.warn("Audit log export aborted after {} rows: {}", writer.rowCount, e.getCause().getMessage());
+                throw e.getCause();
+            }
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+            outputStream.flush();
+            log.info("Exported {} audit logs as {}{} in {} ms", writer.rowCount, format,
+                    gzip ? " (gzip)" : "", System.currentTimeMillis() - start);
+        };
+    }
+
+    private static String valueOf(ResultSet resultSet, String column) throws SQLException {
+        if ("created_at".equals(column)) {
+            return createdAtColumn(resultSet);
+        }
+        if (isOneOf(column, UUID_COLUMNS)) {
+            return uuidColumn(resultSet, column);
+        }
+        return resultSet.getString(column);
+    }
+
+    private static String uuidColumn(ResultSet resultSet, String column) throws SQLException {
+        String value = resultSet.getString(column);
+        // uniqueidentifier dikembalikan SQL Server dalam huruf besar; samakan dengan format UUID di API
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String createdAtColumn(ResultSet resultSet) throws SQLException {
+        LocalDateTime createdAt = resultSet.getObject("created_at", LocalDateTime.class);
+        return createdAt != null ? createdAt.toString() : null;
+    }
+
+    private static boolean isOneOf(String column, String[] columns) {
+        for (String candidate : columns) {
+            if (candidate.equals(column)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Penulis satu format export; buffer di-flush ke response setiap {@link #FLUSH_EVERY_ROWS} baris
+     */
+    private abstract static class RowWriter {
+
+        private long rowCount;
+
+        final void writeRow(ResultSet resultSet) throws IOException, SQLException {
+            write(resultSet);
+            if (++rowCount % FLUSH_EVERY_ROWS == 0) {
+                flush();
+            }
+        }
+
+        abstract void begin() throws IOException;
+
+        abstract void write(ResultSet resultSet) throws IOException, SQLException;
+
+        /**
+         * Tulis trailer jumlah baris; hanya dipanggil jika seluruh baris berhasil ditulis
+         */
+        abstract void finish() throws IOException;
+
+        abstract void flush() throws IOException;
+    }
+
+    /**
+     * Satu object JSON per baris; kolom JSON disisipkan sebagai nilai JSON, bukan string
+     */
+    private final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream target) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(target);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void begin() {
+            // NDJSON tidak punya header
+        }
+
+        @Override
+        void write(ResultSet resultSet) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (String column : COLUMNS) {
+                generator.writeFieldName(column);
+                String value = valueOf(resultSet, column);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (isOneOf(column, JSON_COLUMNS)) {
+                    generator.writeRawValue(value);
+                } else {
+                    generator.writeString(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.writeStartObject();
+            generator.writeBooleanField(NDJSON_TRAILER_FIELD, true);
+            generator.writeNumberField("row_count", super.rowCount);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV RFC 4180 dengan header kolom
+     */
+    private static final class CsvRowWriter extends RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream target) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void begin() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void write(ResultSet resultSet) throws IOException, SQLException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = valueOf(resultSet, COLUMNS[i]);
+                if (value != null) {
+                    writeEscaped(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.write(CSV_TRAILER_PREFIX + super.rowCount);
+            writer.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+}
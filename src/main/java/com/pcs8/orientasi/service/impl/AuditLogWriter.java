@@ -0,0 +1,582 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.dto.response.AuditWriterStatsResponse;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.repository.AuditLogDailyAggregateRepository;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Pipeline penulisan audit log: antrian terbatas dengan satu thread writer yang menyimpan
+ * audit log dalam batch JDBC (sesuai {@code hibernate.jdbc.batch_size}).
+ *
+ * <p>Batch di-flush ketika sudah berisi {@link #BATCH_SIZE} entry atau {@link #MAX_BATCH_DELAY_MS}
+ * setelah entry pertama masuk. Jika antrian penuh, pemanggil menunggu sebentar (back-pressure)
+ * lalu entry ditulis ke spill file lokal (satu JSON per baris). Batch yang gagal karena database
+ * tidak bisa diakses (error koneksi/transient) langsung ditulis utuh ke spill file. Isi spill file
+ * dimasukkan ulang ke database ketika writer sedang idle.</p>
+ *
+ * <p>Entry yang ditolak database (constraint, data terlalu panjang, dsb.) tidak dibuang diam-diam
+ * tetapi ditulis ke dead-letter file untuk diperiksa manual. Jika seluruh batch ditolak, entry
+ * dikembalikan ke spill file dan baru dipindah ke dead-letter setelah ditolak
+ * {@link #MAX_REJECTED_ATTEMPTS} kali.</p>
+ *
+ * <p>Setiap batch juga menambah counter di agg_audit_log_harian dalam transaksi yang sama,
+ * sumber statistik audit.</p>
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int BATCH_SIZE = 50;
+    private static final long MAX_BATCH_DELAY_MS = 200;
+    private static final long ENQUEUE_TIMEOUT_MS = 50;
+    private static final long REPLAY_INTERVAL_MS = 60_000;
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+    private static final int MAX_REJECTED_ATTEMPTS = 5;
+    private static final String SPILL_FILE_NAME = "audit-spill.ndjson";
+    private static final String DEAD_LETTER_FILE_NAME = "audit-dead-letter.ndjson";
+
+    private final AuditLogRepository auditLogRepository;
+    private final AuditLogDailyAggregateRepository dailyAggregateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path spillFile;
+    private final Path deadLetterFile;
+
+    private final BlockingQueue<AuditLog> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Object spillLock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanosTotal = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    private volatile boolean running;
+    private Thread writerThread;
+    private long lastReplayAttempt;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          AuditLogDailyAggregateRepository dailyAggregateRepository,
+                          PlatformTransactionManager transactionManager,
+                          ObjectMapper objectMapper,
+                          @Value("${audit.spill-dir:${java.io.tmpdir}/orientasi-audit}") String spillDir) {
+        this.auditLogRepository = auditLogRepository;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.spillFile = Path.of(spillDir).resolve(SPILL_FILE_NAME);
+        this.deadLetterFile = Path.of(spillDir).resolve(DEAD_LETTER_FILE_NAME);
+    }
+
+    /**
+     * Masukkan audit log ke antrian. Tidak pernah membuang entry: jika antrian tetap penuh
+     * setelah menunggu {@link #ENQUEUE_TIMEOUT_MS}, entry ditulis ke spill file.
+     */
+    public void enqueue(AuditLog auditLog) {
+        enqueued.increment();
+        try {
+            if (running && queue.offer(auditLog, ENQUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("Audit queue full or writer stopped, spilling audit log {} {} to disk",
+                auditLog.getEntityName(), auditLog.getEntityId());
+        spill(fresh(List.of(auditLog)));
+    }
+
+    /**
+     * Jalankan {@code action} selama writer berhenti menulis ke database. Batch yang sedang
+     * di-flush ditunggu sampai commit; entry baru tetap menunggu di antrian (atau spill file)
+     * sampai {@code action} selesai. Dipakai saat rollup harian dihitung ulang, supaya tidak ada
+     * MERGE dari writer di antara penghapusan dan pengisian ulang rollup.
+     * {@code action} harus commit transaksinya sendiri sebelum kembali.
+     */
+    public <T> T runPaused(Supplier<T> action) {
+        flushLock.lock();
+        try {
+            return action.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public AuditWriterStatsResponse getStats() {
+        long flushes = flushCount.sum();
+        return AuditWriterStatsResponse.builder()
+                .queueDepth(queue.size())
+                .queueCapacity(QUEUE_CAPACITY)
+                .enqueuedCount(enqueued.sum())
+                .writtenCount(written.sum())
+                .spilledCount(spilled.sum())
+                .replayedCount(replayed.sum())
+                .failedCount(failed.sum())
+                .deadLetteredCount(deadLettered.sum())
+                .flushCount(flushes)
+                .averageFlushMillis(flushes == 0 ? 0.0 : flushNanosTotal.sum() / 1_000_000.0 / flushes)
+                .maxFlushMillis(TimeUnit.NANOSECONDS.toMillis(maxFlushNanos.get()))
+                .lastFlushMillis(TimeUnit.NANOSECONDS.toMillis(lastFlushNanos))
+                .spillFileBytes(fileSize(spillFile))
+                .deadLetterFileBytes(fileSize(deadLetterFile))
+                .build();
+    }
+
+    private long fileSize(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            log.debug("Cannot read size of {}: {}", file, e.getMessage());
+            return 0;
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "AuditWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit log writer started (queue capacity {}, batch size {})", QUEUE_CAPACITY, BATCH_SIZE);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Sisa antrian yang belum sempat ditulis disimpan ke spill file
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            spill(fresh(remaining));
+        }
+        log.info("Audit log writer stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start sebelum dan stop sesudah web server beserta graceful shutdown-nya (phase
+     * {@code DEFAULT_PHASE - 2048} dan {@code DEFAULT_PHASE - 1024}), supaya request terakhir
+     * masih bisa menulis audit
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    // ==================== WRITER ====================
+
+    private void runWriter() {
+        List<AuditLog> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(MAX_BATCH_DELAY_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpillIfDue();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_BATCH_DELAY_MS);
+                while (batch.size() < BATCH_SIZE) {
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= BATCH_SIZE || remainingNanos <= 0 || !running) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (Exception e) {
+                log.error("Unexpected error in audit log writer: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Simpan batch dari antrian; entry yang tidak tersimpan masuk spill file atau dead-letter file
+     */
+    void writeBatch(List<AuditLog> batch) {
+        flush(fresh(batch));
+    }
+
+    /**
+     * Simpan satu batch dalam satu transaksi. Jika database tidak bisa diakses, seluruh batch
+     * langsung di-spill tanpa dicoba satu per satu. Jika batch ditolak, entry dicoba satu per satu:
+     * entry yang ditolak padahal entry lain tersimpan masuk dead-letter file; jika semua ditolak,
+     * entry dikembalikan ke spill file sampai {@link #MAX_REJECTED_ATTEMPTS} kali.
+     * @return false jika database tidak bisa diakses
+     */
+    private boolean flush(List<SpilledAuditLog> batch) {
+        flushLock.lock();
+        try {
+            return flushBatch(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean flushBatch(List<SpilledAuditLog> batch) {
+        List<AuditLog> auditLogs = batch.stream().map(SpilledAuditLog::auditLog).toList();
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                auditLogRepository.saveAll(auditLogs);
+                applyRollup(auditLogs);
+            });
+            written.add(batch.size());
+            return true;
+        } catch (Exception e) {
+            if (isDatabaseUnavailable(e)) {
+                log.warn("Database unavailable, spilling audit batch of {}: {}", batch.size(), e.getMessage());
+                spill(batch);
+                return false;
+            }
+            log.warn("Audit batch of {} rejected, retrying individually: {}", batch.size(), e.getMessage());
+        } finally {
+            recordFlushLatency(System.nanoTime() - start);
+        }
+
+        int saved = 0;
+        List<SpilledAuditLog> rejected = new ArrayList<>();
+        String lastError = null;
+        for (int i = 0; i < batch.size(); i++) {
+            SpilledAuditLog entry = batch.get(i);
+            AuditLog auditLog = entry.auditLog();
+            auditLog.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    auditLogRepository.save(auditLog);
+                    applyRollup(List.of(auditLog));
+                });
+                saved++;
+            } catch (Exception e) {
+                auditLog.setId(null);
+                if (isDatabaseUnavailable(e)) {
+                    log.warn("Database unavailable, spilling {} remaining audit logs: {}",
+                            batch.size() - i, e.getMessage());
+                    written.add(saved);
+                    spill(rejected);
+                    spill(batch.subList(i, batch.size()));
+                    return false;
+                }
+                lastError = e.getMessage();
+                rejected.add(entry);
+            }
+        }
+        written.add(saved);
+        if (rejected.isEmpty()) {
+            return true;
+        }
+        if (saved > 0) {
+            deadLetter(rejected, lastError);
+            return true;
+        }
+
+        List<SpilledAuditLog> retry = new ArrayList<>();
+        List<SpilledAuditLog> exhausted = new ArrayList<>();
+        for (SpilledAuditLog entry : rejected) {
+            SpilledAuditLog next = new SpilledAuditLog(entry.rejectedAttempts() + 1, entry.auditLog());
+            if (next.rejectedAttempts() >= MAX_REJECTED_ATTEMPTS) {
+                exhausted.add(next);
+            } else {
+                retry.add(next);
+            }
+        }
+        if (!retry.isEmpty()) {
+            log.warn("All {} audit logs in batch rejected, returning them to the spill file: {}",
+                    retry.size(), lastError);
+            spill(retry);
+        }
+        deadLetter(exhausted, lastError);
+        return true;
+    }
+
+    /**
+     * Error koneksi atau transient: database (sementara) tidak bisa diakses, bukan data yang ditolak
+     */
+    private static boolean isDatabaseUnavailable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof CannotCreateTransactionException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof TransientDataAccessException
+                    || t instanceof RecoverableDataAccessException
+                    || t instanceof SQLTransientException
+                    || t instanceof SQLRecoverableException
+                    || t instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            // SQLState class 08 = connection exception; driver SQL Server tidak memakai subclass di atas
+            if (t instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tambah counter rollup harian di transaksi yang sama dengan insert audit log
+     */
+    private void applyRollup(List<AuditLog> auditLogs) {
+        Map<RollupKey, Long> counts = new HashMap<>();
+        for (AuditLog auditLog : auditLogs) {
+            RollupKey key = new RollupKey(auditLog.getCreatedAt().toLocalDate(),
+                    auditLog.getEntityName(), auditLog.getAction().name());
+            counts.merge(key, 1L, Long::sum);
+        }
+        counts.forEach((key, count) ->
+                dailyAggregateRepository.applyDelta(key.tanggal(), key.entityName(), key.action(), count));
+    }
+
+    private void recordFlushLatency(long nanos) {
+        flushCount.increment();
+        flushNanosTotal.add(nanos);
+        lastFlushNanos = nanos;
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // ==================== SPILL FILE ====================
+
+    private static List<SpilledAuditLog> fresh(List<AuditLog> auditLogs) {
+        return auditLogs.stream().map(auditLog -> new SpilledAuditLog(0, auditLog)).toList();
+    }
+
+    private void spill(List<SpilledAuditLog> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // saveAll/save sudah memberi id walaupun transaksinya gagal; id itu tidak boleh ikut di-spill,
+        // karena saat replay entity dengan id dianggap detached dan di-merge ke baris yang tidak ada
+        entries.forEach(entry -> entry.auditLog().setId(null));
+        synchronized (spillLock) {
+            try {
+                appendLines(spillFile, entries);
+                spilled.add(entries.size());
+            } catch (IOException e) {
+                failed.add(entries.size());
+                log.error("Failed to spill {} audit logs to {}: {}", entries.size(), spillFile, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Simpan entry yang ditolak database ke dead-letter file untuk diperiksa dan dimasukkan manual
+     */
+    private void deadLetter(List<SpilledAuditLog> entries, String reason) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.forEach(entry -> entry.auditLog().setId(null));
+        LocalDateTime now = LocalDateTime.now();
+        List<DeadLetterEntry> lines = entries.stream()
+                .map(entry -> new DeadLetterEntry(now, reason, entry.rejectedAttempts(), entry.auditLog()))
+                .toList();
+        synchronized (spillLock) {
+            try {
+                appendLines(deadLetterFile, lines);
+                deadLettered.add(entries.size());
+            } catch (IOException e) {
+                failed.add(entries.size());
+                log.error("Failed to dead-letter {} audit logs to {}: {}", entries.size(), deadLetterFile,
+                        e.getMessage(), e);
+                return;
+            }
+        }
+        for (SpilledAuditLog entry : entries) {
+            log.error("Audit log for {} {} rejected by database, moved to {}: {}",
+                    entry.auditLog().getEntityName(), entry.auditLog().getEntityId(), deadLetterFile, reason);
+        }
+    }
+
+    private void appendLines(Path file, List<?> lines) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Object line : lines) {
+                writer.write(objectMapper.writeValueAsString(line));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Baca satu baris spill file; baris dari versi lama berisi audit log saja tanpa jumlah penolakan.
+     * Id yang terlanjur tersimpan di spill file dibuang supaya entry di-insert, bukan di-merge.
+     */
+    private SpilledAuditLog readSpillLine(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        SpilledAuditLog entry = node.has(SpilledAuditLog.AUDIT_LOG_FIELD)
+                ? objectMapper.treeToValue(node, SpilledAuditLog.class)
+                : new SpilledAuditLog(0, objectMapper.treeToValue(node, AuditLog.class));
+        entry.auditLog().setId(null);
+        return entry;
+    }
+
+    private void replaySpillIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastReplayAttempt < REPLAY_INTERVAL_MS) {
+            return;
+        }
+        lastReplayAttempt = now;
+        replaySpill();
+    }
+
+    /**
+     * Masukkan ulang isi spill file ke database (dipanggil writer paling sering sekali per
+     * {@link #REPLAY_INTERVAL_MS}). Setelah database terdeteksi tidak bisa diakses, sisa entry
+     * dikembalikan ke spill file. File replay yang tertinggal dari percobaan sebelumnya diproses
+     * dulu sebelum spill file baru diambil.
+     */
+    void replaySpill() {
+        Path replayFile = spillFile.resolveSibling(SPILL_FILE_NAME + ".replay");
+        if (!Files.exists(spillFile) && !Files.exists(replayFile)) {
+            return;
+        }
+
+        if (!Files.exists(replayFile)) {
+            synchronized (spillLock) {
+                try {
+                    Files.move(spillFile, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    log.warn("Cannot move audit spill file for replay: {}", e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        long writtenBefore = written.sum();
+        List<SpilledAuditLog> batch = new ArrayList<>(BATCH_SIZE);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            String line;
+            boolean databaseDown = false;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(readSpillLine(line));
+                } catch (JsonProcessingException e) {
+                    failed.increment();
+                    log.error("Skipping unreadable audit spill entry: {}", e.getOriginalMessage());
+                    continue;
+                }
+                if (batch.size() >= BATCH_SIZE) {
+                    databaseDown = replayBatch(batch, databaseDown);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                replayBatch(batch, databaseDown);
+            }
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            log.error("Failed to replay audit spill file {}: {}", replayFile, e.getMessage(), e);
+            return;
+        }
+        long count = written.sum() - writtenBefore;
+        replayed.add(count);
+        if (count > 0) {
+            log.info("Replayed {} spilled audit logs", count);
+        }
+    }
+
+    /**
+     * @return true jika database tidak bisa diakses, sehingga batch berikutnya langsung di-spill
+     */
+    private boolean replayBatch(List<SpilledAuditLog> batch, boolean databaseDown) {
+        if (databaseDown) {
+            spill(batch);
+            return true;
+        }
+        return !flush(batch);
+    }
+
+    private record RollupKey(LocalDate tanggal, String entityName, String action) {
+    }
+
+    /**
+     * Satu baris spill file: audit log beserta berapa kali seluruh batch-nya ditolak database
+     */
+    record SpilledAuditLog(@JsonProperty("rejected_attempts") int rejectedAttempts,
+                           @JsonProperty(AUDIT_LOG_FIELD) AuditLog auditLog) {
+
+        static final String AUDIT_LOG_FIELD = "audit_log";
+    }
+
+    /**
+     * Satu baris dead-letter file
+     */
+    private record DeadLetterEntry(@JsonProperty("dead_lettered_at") LocalDateTime deadLetteredAt,
+                                   @JsonProperty("reason") String reason,
+                                   @JsonProperty("rejected_attempts") int rejectedAttempts,
+                                   @JsonProperty("audit_log") AuditLog auditLog) {
+    }
+}
@@ -1,25 +1,35 @@
 package com.pcs8.orientasi.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
 import com.pcs8.orientasi.constant.ConstantVariable;
 import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.dto.response.AuditLogCursorPage;
+import com.pcs8.orientasi.domain.dto.response.AuditWriterStatsResponse;
 import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.entity.AuditLogArchive;
 import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.exception.BadRequestException;
 import com.pcs8.orientasi.exception.ResourceNotFoundException;
+import com.pcs8.orientasi.repository.AuditLogArchiveRepository;
+import com.pcs8.orientasi.repository.AuditLogDailyAggregateRepository;
 import com.pcs8.orientasi.repository.AuditLogRepository;
 import com.pcs8.orientasi.service.AuditService;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 /**
@@ -27,34 +37,57 @@ import java.util.*;
  * 
  * <p>Fitur utama:</p>
  * <ul>
- *   <li>Async logging untuk tidak memblok main transaction</li>
- *   <li>REQUIRES_NEW propagation untuk memastikan audit tersimpan meski main transaction rollback</li>
+ *   <li>Audit log dibuat di thread pemanggil lalu ditulis batch oleh {@link AuditLogWriter},
+ *       terpisah dari main transaction sehingga tetap tersimpan meski main transaction rollback</li>
  *   <li>User info (userId & username) di-pass sebagai parameter dari main thread</li>
- *   <li>JSON serialization untuk old/new values</li>
- *   <li>Automatic changed fields detection</li>
+ *   <li>CREATE menyimpan snapshot baru; DELETE menyimpan snapshot lama
+ *       (bisa dimatikan dengan {@code audit.delete-snapshot=false})</li>
+ *   <li>UPDATE hanya menyimpan delta ({@link AuditDiff}) dan changed fields,
+ *       dihitung dari satu kali walk kedua snapshot</li>
  * </ul>
  */
 @Service
-@RequiredArgsConstructor
 public class AuditServiceImpl implements AuditService {
 
     private static final Logger log = LoggerFactory.getLogger(AuditServiceImpl.class);
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final String INVALID_CURSOR_MESSAGE = "Cursor tidak valid";
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogArchiveRepository auditLogArchiveRepository;
+    private final AuditLogDailyAggregateRepository dailyAggregateRepository;
+    private final AuditLogWriter auditLogWriter;
     private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean storeDeleteSnapshot;
+
+    public AuditServiceImpl(AuditLogRepository auditLogRepository,
+                            AuditLogArchiveRepository auditLogArchiveRepository,
+                            AuditLogDailyAggregateRepository dailyAggregateRepository,
+                            AuditLogWriter auditLogWriter,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.delete-snapshot:true}") boolean storeDeleteSnapshot) {
+        this.auditLogRepository = auditLogRepository;
+        this.auditLogArchiveRepository = auditLogArchiveRepository;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storeDeleteSnapshot = storeDeleteSnapshot;
+    }
 
     // ==================== LOGGING METHODS ====================
 
     @Override
-    @Async("auditTaskExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logCreate(String entityName, UUID entityId, Object newValue, UUID userId, String username) {
         try {
             AuditLog auditLog = buildAuditLog(entityName, entityId, AuditAction.CREATE, userId, username);
             auditLog.setNewValue(toJson(newValue));
             
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} - CREATE by {}", 
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued: {} {} - CREATE by {}", 
                     entityName, entityId, username);
         } catch (Exception e) {
             log.error(ConstantVariable.AUDIT_LOG_CREATION_FAILED, 
@@ -63,27 +96,27 @@ public class AuditServiceImpl implements AuditService {
     }
 
     @Override
-    @Async("auditTaskExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logUpdate(String entityName, UUID entityId, Object oldValue, Object newValue, UUID userId, String username) {
         try {
-            // Convert to JSON for comparison
-            String oldJson = toJson(oldValue);
-            String newJson = toJson(newValue);
-            
-            // Skip logging if nothing changed
-            if (Objects.equals(oldJson, newJson)) {
-                log.debug("Skipping audit log for {} {} - no changes detected", entityName, entityId);
-                return;
-            }
-            
             AuditLog auditLog = buildAuditLog(entityName, entityId, AuditAction.UPDATE, userId, username);
-            auditLog.setOldValue(oldJson);
-            auditLog.setNewValue(newJson);
-            auditLog.setChangedFields(calculateChangedFields(oldValue, newValue));
-            
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} - UPDATE by {}", 
+            if (oldValue == null) {
+                // Tidak ada snapshot lama untuk dibandingkan, simpan nilai baru saja
+                auditLog.setNewValue(toJson(newValue));
+            } else {
+                AuditDiff diff = AuditDiff.between(toTree(oldValue), toTree(newValue));
+
+                // Skip logging if nothing changed
+                if (diff.isEmpty()) {
+                    log.debug("Skipping audit log for {} {} - no changes detected", entityName, entityId);
+                    return;
+                }
+
+                auditLog.setValueDelta(objectMapper.writeValueAsString(diff.operations()));
+                auditLog.setChangedFields(objectMapper.writeValueAsString(diff.changedFields()));
+            }
+
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued: {} {} - UPDATE by {}", 
                     entityName, entityId, username);
         } catch (Exception e) {
             log.error(ConstantVariable.AUDIT_LOG_CREATION_FAILED, 
@@ -92,15 +125,15 @@ public class AuditServiceImpl implements AuditService {
     }
 
     @Override
-    @Async("auditTaskExecutor")
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logDelete(String entityName, UUID entityId, Object oldValue, UUID userId, String username) {
         try {
             AuditLog auditLog = buildAuditLog(entityName, entityId, AuditAction.DELETE, userId, username);
-            auditLog.setOldValue(toJson(oldValue));
+            if (storeDeleteSnapshot) {
+                auditLog.setOldValue(toJson(oldValue));
+            }
             
-            auditLogRepository.save(auditLog);
-            log.debug("Audit log created: {} {} - DELETE by {}", 
+            auditLogWriter.enqueue(auditLog);
+            log.debug("Audit log queued: {} {} - DELETE by {}", 
                     entityName, entityId, username);
         } catch (Exception e) {
             log.error(ConstantVariable.AUDIT_LOG_CREATION_FAILED, 
@@ -143,6 +176,35 @@ public class AuditServiceImpl implements AuditService {
         return auditLogRepository.searchAuditLogs(criteria, pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public AuditLogCursorPage searchAuditLogsByCursor(
+            AuditLogSearchCriteria criteria,
+            String cursor,
+            int size) {
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Cursor position = cursor != null && !cursor.isBlank() ? Cursor.decode(cursor) : null;
+
+        // Ambil satu baris lebih untuk mengetahui ada halaman berikutnya tanpa COUNT
+        List<AuditLog> rows = auditLogRepository.searchAuditLogsAfter(criteria,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<AuditLog> content = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            AuditLog last = content.get(content.size() - 1);
+            nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return AuditLogCursorPage.builder()
+                .content(List.copyOf(content))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AuditLog> getRecentAuditLogs(String entityName, UUID entityId) {
@@ -154,6 +216,7 @@ public class AuditServiceImpl implements AuditService {
     @Transactional(readOnly = true)
     public AuditLog getAuditLogById(UUID id) {
         return auditLogRepository.findById(id)
+                .or(() -> auditLogArchiveRepository.findById(id).map(this::fromArchive))
                 .orElseThrow(() -> new ResourceNotFoundException("Audit log tidak ditemukan"));
     }
 
@@ -163,21 +226,21 @@ public class AuditServiceImpl implements AuditService {
         Map<String, Object> stats = new HashMap<>();
         
         // Total count
-        stats.put("total_count", auditLogRepository.count());
+        stats.put("total_count", dailyAggregateRepository.sumTotal());
         
         // Count by entity
-        List<Object[]> entityCounts = auditLogRepository.countByEntityName();
+        List<Object[]> entityCounts = dailyAggregateRepository.sumByEntityName();
         Map<String, Long> byEntity = new LinkedHashMap<>();
         for (Object[] row : entityCounts) {
-            byEntity.put((String) row[0], (Long) row[1]);
+            byEntity.put((String) row[0], ((Number) row[1]).longValue());
         }
         stats.put("by_entity", byEntity);
         
         // Count by action
-        List<Object[]> actionCounts = auditLogRepository.countByAction();
+        List<Object[]> actionCounts = dailyAggregateRepository.sumByAction();
         Map<String, Long> byAction = new LinkedHashMap<>();
         for (Object[] row : actionCounts) {
-            byAction.put(((AuditAction) row[0]).name(), (Long) row[1]);
+            byAction.put(((AuditAction) row[0]).name(), ((Number) row[1]).longValue());
         }
         stats.put("by_action", byAction);
         
@@ -185,12 +248,41 @@ public class AuditServiceImpl implements AuditService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> getDistinctEntityNames() {
-        return auditLogRepository.findDistinctEntityNames();
+        return dailyAggregateRepository.findDistinctEntityNames();
+    }
+
+    /**
+     * Writer di-pause selama rebuild sampai transaksi rebuild commit: MERGE dari batch yang
+     * masuk di antara delete dan insert akan hilang atau terhitung dua kali.
+     */
+    @Override
+    public int rebuildAuditRollups() {
+        return auditLogWriter.runPaused(() -> transactionTemplate.execute(status -> rebuildRollups()));
+    }
+
+    @Override
+    public void rebuildAuditRollupsIfEmpty() {
+        auditLogWriter.runPaused(() -> transactionTemplate.execute(status ->
+                dailyAggregateRepository.count() == 0 ? rebuildRollups() : 0));
+    }
+
+    @Override
+    public AuditWriterStatsResponse getWriterStats() {
+        return auditLogWriter.getStats();
     }
 
     // ==================== HELPER METHODS ====================
 
+    private int rebuildRollups() {
+        log.info("Rebuilding audit log daily rollups");
+        dailyAggregateRepository.deleteAllInBatch();
+        int rows = dailyAggregateRepository.rebuildFromAuditLog();
+        log.info("Audit log daily rollups rebuilt: {} rows", rows);
+        return rows;
+    }
+
     /**
      * Build AuditLog object dengan informasi user yang sudah di-pass.
      * 
@@ -213,6 +305,34 @@ public class AuditServiceImpl implements AuditService {
                 .build();
     }
 
+    private AuditLog fromArchive(AuditLogArchive archive) {
+        return AuditLog.builder()
+                .id(archive.getId())
+                .entityName(archive.getEntityName())
+                .entityId(archive.getEntityId())
+                .action(archive.getAction())
+                .oldValue(archive.getOldValue())
+                .newValue(archive.getNewValue())
+                .valueDelta(archive.getValueDelta())
+                .changedFields(archive.getChangedFields())
+                .userId(archive.getUserId())
+                .username(archive.getUsername())
+                .ipAddress(archive.getIpAddress())
+                .userAgent(archive.getUserAgent())
+                .createdAt(archive.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Convert object ke JSON tree untuk perbandingan; null menjadi MissingNode.
+     */
+    private JsonNode toTree(Object value) {
+        if (value == null) {
+            return MissingNode.getInstance();
+        }
+        return objectMapper.valueToTree(value);
+    }
+
     /**
      * Convert object ke JSON string.
      */
@@ -229,40 +349,27 @@ public class AuditServiceImpl implements AuditService {
     }
 
     /**
-     * Calculate changed fields antara old dan new value.
-     * Mengembalikan JSON array dari field names yang berubah.
+     * Posisi keyset; dikirim ke client sebagai base64url dari "createdAt|id" baris terakhir halaman.
      */
-    @SuppressWarnings("unchecked")
-    private String calculateChangedFields(Object oldValue, Object newValue) {
-        try {
-            Map<String, Object> oldMap = objectMapper.convertValue(oldValue, Map.class);
-            Map<String, Object> newMap = objectMapper.convertValue(newValue, Map.class);
-            
-            Set<String> changedFields = new LinkedHashSet<>();
-            
-            // Check all keys in new map
-            for (Map.Entry<String, Object> entry : newMap.entrySet()) {
-                String key = entry.getKey();
-                Object newVal = entry.getValue();
-                Object oldVal = oldMap.get(key);
-                
-                if (!Objects.equals(oldVal, newVal)) {
-                    changedFields.add(key);
-                }
-            }
-            
-            // Check for removed keys
-            for (Map.Entry<String, Object> entry : oldMap.entrySet()) {
-                String key = entry.getKey();
-                if (!newMap.containsKey(key)) {
-                    changedFields.add(key);
+    private record Cursor(LocalDateTime createdAt, UUID id) {
+
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                if (separator < 0) {
+                    throw new BadRequestException(INVALID_CURSOR_MESSAGE);
                 }
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        UUID.fromString(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BadRequestException(INVALID_CURSOR_MESSAGE);
             }
-            
-            return objectMapper.writeValueAsString(changedFields);
-        } catch (Exception e) {
-            log.error("Failed to calculate changed fields: {}", e.getMessage());
-            return "[]";
         }
     }
 }
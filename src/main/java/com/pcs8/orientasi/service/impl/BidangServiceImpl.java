@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.config.UserContext;
 import com.pcs8.orientasi.domain.dto.request.BidangRequest;
 import com.pcs8.orientasi.domain.dto.response.BidangResponse;
@@ -9,9 +10,12 @@ import com.pcs8.orientasi.exception.ResourceNotFoundException;
 import com.pcs8.orientasi.repository.MstBidangRepository;
 import com.pcs8.orientasi.service.AuditService;
 import com.pcs8.orientasi.service.BidangService;
+import com.pcs8.orientasi.service.MasterDataService;
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,11 +31,14 @@ public class BidangServiceImpl implements BidangService {
     private static final String ENTITY_NAME = "Bidang";
 
     private final MstBidangRepository bidangRepository;
+    private final PksiDashboardAggregateService pksiDashboardAggregateService;
+    private final MasterDataService masterDataService;
     private final AuditService auditService;
     private final UserContext userContext;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_BIDANG, allEntries = true)
     public BidangResponse create(BidangRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -78,7 +85,7 @@ public class BidangServiceImpl implements BidangService {
     @Override
     @Transactional(readOnly = true)
     public List<BidangResponse> getAll() {
-        return bidangRepository.findAllByOrderByKodeBidangAsc()
+        return masterDataService.getAllBidang()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -86,6 +93,7 @@ public class BidangServiceImpl implements BidangService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.MASTER_BIDANG, CacheConfig.MASTER_SKPA}, allEntries = true)
     public BidangResponse update(UUID id, BidangRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -103,12 +111,18 @@ public class BidangServiceImpl implements BidangService {
             throw new BadRequestException("Bidang dengan kode '" + newKode + "' sudah ada");
         }
 
+        boolean kodeChanged = !bidang.getKodeBidang().equals(newKode);
         bidang.setKodeBidang(newKode);
         bidang.setNamaBidang(request.getNamaBidang().trim());
 
         MstBidang updated = bidangRepository.save(bidang);
         log.info("Bidang updated: {} - {}", updated.getKodeBidang(), updated.getNamaBidang());
 
+        // Agregat dashboard PKSI menyimpan kode bidang
+        if (kodeChanged) {
+            pksiDashboardAggregateService.rebuild();
+        }
+
         BidangResponse newValue = mapToResponse(updated);
         
         // Audit log
@@ -119,6 +133,7 @@ public class BidangServiceImpl implements BidangService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.MASTER_BIDANG, CacheConfig.MASTER_SKPA}, allEntries = true)
     public void delete(UUID id) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
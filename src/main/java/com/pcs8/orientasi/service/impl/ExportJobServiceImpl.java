@@ -0,0 +1,233 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
+import com.pcs8.orientasi.domain.enums.ExportJobStatus;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import com.pcs8.orientasi.exception.ResourceNotFoundException;
+import com.pcs8.orientasi.exception.ServiceUnavailableException;
+import com.pcs8.orientasi.service.ExportJobService;
+import com.pcs8.orientasi.service.MinioService;
+import com.pcs8.orientasi.util.FileDownloadResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Export job dijalankan di exportJobExecutor (pool terbatas), ditulis ke temp file lalu
+ * di-upload ke Minio. Status job disimpan di memory dan dibersihkan setelah
+ * {@link #JOB_RETENTION}; file hasilnya ikut dihapus dari Minio.
+ *
+ * <p>Thread executor tidak punya EntityManager dari open-session-in-view, jadi pembacaan data
+ * export dijalankan di dalam satu transaksi read-only supaya relasi LAZY tetap bisa dimuat.</p>
+ */
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobServiceImpl.class);
+
+    private static final String EXPORT_PREFIX = "exports/";
+    private static final Duration JOB_RETENTION = Duration.ofHours(24);
+    private static final long QUEUE_FULL_RETRY_AFTER_SECONDS = 30;
+
+    private final MinioService minioService;
+    private final Executor exportJobExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** Semua job yang masih disimpan, by ID */
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    /** Job yang masih QUEUED/RUNNING, by kunci deduplikasi */
+    private final Map<String, ExportJob> activeJobs = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(MinioService minioService,
+                                @Qualifier("exportJobExecutor") Executor exportJobExecutor,
+                                PlatformTransactionManager transactionManager) {
+        this.minioService = minioService;
+        this.exportJobExecutor = exportJobExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ExportJobResponse submit(ExportJobType type, Map<String, Object> parameters, String fileName,
+                                    String requestedBy, Supplier<StreamingResponseBody> exporter) {
+        purgeExpiredJobs();
+
+        String dedupeKey = type + ":" + new TreeMap<>(parameters);
+        ExportJob[] created = new ExportJob[1];
+        ExportJob job = activeJobs.compute(dedupeKey, (key, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            created[0] = new ExportJob(UUID.randomUUID(), type, key, fileName);
+            return created[0];
+        });
+        job.requesters.add(requestedBy);
+
+        if (created[0] == null) {
+            log.info("Export {} by {} joined running job {}", type, requestedBy, job.id);
+            return toResponse(job);
+        }
+
+        jobs.put(job.id, job);
+        try {
+            exportJobExecutor.execute(() -> run(job, exporter));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(dedupeKey, job);
+            jobs.remove(job.id);
+            log.warn("Export job queue is full, rejected {} by {}", type, requestedBy);
+            throw new ServiceUnavailableException("Antrian export sedang penuh, silakan coba lagi beberapa saat lagi",
+                    QUEUE_FULL_RETRY_AFTER_SECONDS);
+        }
+        log.info("Export job {} ({}) submitted by {}", job.id, type, requestedBy);
+        return toResponse(job);
+    }
+
+    @Override
+    public ExportJobResponse getJob(UUID jobId, String requestedBy) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.requesters.contains(requestedBy)) {
+            throw new ResourceNotFoundException("Export job not found with id: " + jobId);
+        }
+        return toResponse(job);
+    }
+
+    private void run(ExportJob job, Supplier<StreamingResponseBody> exporter) {
+        job.status = ExportJobStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("export-" + job.id, ".xlsx");
+            writeExport(tempFile, exporter);
+
+            String objectName = EXPORT_PREFIX + job.id + "/" + job.fileName;
+            try (InputStream in = Files.newInputStream(tempFile)) {
+                minioService.uploadFile(in, objectName, FileDownloadResponses.XLSX_MEDIA_TYPE.toString(), Files.size(tempFile));
+            }
+
+            job.objectName = objectName;
+            job.status = ExportJobStatus.COMPLETED;
+            log.info("Export job {} ({}) completed", job.id, job.type);
+        } catch (Exception e) {
+            job.errorMessage = e.getMessage() != null ? e.getMessage() : "Gagal membuat file export";
+            job.status = ExportJobStatus.FAILED;
+            log.error("Export job {} ({}) failed: {}", job.id, job.type, e.getMessage(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            activeJobs.remove(job.dedupeKey, job);
+            deleteTempFile(tempFile);
+        }
+    }
+
+    /**
+     * Tulis file export di dalam transaksi read-only; upload ke Minio dilakukan sesudah transaksi selesai
+     */
+    private void writeExport(Path tempFile, Supplier<StreamingResponseBody> exporter) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                exporter.get().writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Hapus job yang sudah selesai lebih lama dari retensi beserta file hasilnya di Minio
+     */
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION);
+        List<String> expiredObjects = new ArrayList<>();
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(cutoff);
+            if (expired && job.objectName != null) {
+                expiredObjects.add(job.objectName);
+            }
+            return expired;
+        });
+        if (!expiredObjects.isEmpty()) {
+            try {
+                minioService.deleteFiles(expiredObjects);
+            } catch (Exception e) {
+                log.warn("Failed to delete {} expired export files: {}", expiredObjects.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.warn("Failed to delete export temp file {}: {}", tempFile, e.getMessage());
+        }
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        ExportJobStatus status = job.status;
+        return ExportJobResponse.builder()
+                .jobId(job.id)
+                .type(job.type)
+                .status(status)
+                .fileName(job.fileName)
+                .downloadUrl(status == ExportJobStatus.COMPLETED
+                        ? minioService.getDownloadUrl(job.objectName, job.fileName)
+                        : null)
+                .errorMessage(job.errorMessage)
+                .createdAt(job.createdAt)
+                .startedAt(job.startedAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    /**
+     * State satu export job; field yang berubah ditulis oleh worker dan dibaca oleh request status
+     */
+    private static class ExportJob {
+        private final UUID id;
+        private final ExportJobType type;
+        private final String dedupeKey;
+        private final String fileName;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final Set<String> requesters = ConcurrentHashMap.newKeySet();
+
+        private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        private volatile String objectName;
+        private volatile String errorMessage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ExportJob(UUID id, ExportJobType type, String dedupeKey, String fileName) {
+            this.id = id;
+            this.type = type;
+            this.dedupeKey = dedupeKey;
+            this.fileName = fileName;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.config.CacheConfig;
+import com.pcs8.orientasi.domain.dto.projection.FormasiFs2WorkView;
+import com.pcs8.orientasi.domain.dto.projection.FormasiPksiWorkView;
+import com.pcs8.orientasi.domain.dto.projection.TeamMembershipView;
+import com.pcs8.orientasi.domain.entity.MstUser;
+import com.pcs8.orientasi.domain.entity.MstVariable;
+import com.pcs8.orientasi.domain.entity.PksiDocument.DocumentStatus;
+import com.pcs8.orientasi.domain.entity.PksiTimeline.TimelineStage;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepository;
+import com.pcs8.orientasi.repository.Fs2DocumentRepository;
+import com.pcs8.orientasi.repository.MstUserRepository;
+import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.TeamRepository;
+import com.pcs8.orientasi.service.MasterDataService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Mesin perhitungan Formasi Efektif per tahun.
+ *
+ * <p>Data satu tahun dimuat dengan query set-based: PKSI disetujui yang punya timeline di tahun
+ * tersebut (tanggal USREQ/UAT terjauh dihitung di database), FS2 disetujui yang diajukan di tahun
+ * tersebut, dan keanggotaan team dalam satu query. Semua disimpan sebagai record primitif, lalu
+ * {@link #compute(YearInputs, ConfigParams)} menghitung man hour per level tanpa akses database.</p>
+ *
+ * <p>Hasil per tahun di-cache ({@link CacheConfig#FORMASI_EFEKTIF}) dan dipakai bersama oleh
+ * dashboard dan detail; cache di-evict saat parameter diubah.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class FormasiEfektifEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FormasiEfektifEngine.class);
+
+    static final String KATEGORI_FORMASI_EFEKTIF = "FORMASI_EFEKTIF";
+    private static final String ROLE_PENGEMBANG = "Pengembang";
+    private static final String FS2_STATUS_DISETUJUI = "DISETUJUI";
+    private static final Set<TimelineStage> PKSI_YEAR_STAGES =
+            EnumSet.of(TimelineStage.USREQ, TimelineStage.SIT, TimelineStage.UAT, TimelineStage.GO_LIVE);
+
+    // Parameter codes
+    private static final String PARAM_WORKING_DAYS = "WORKING_DAYS";
+    private static final String PARAM_WORKING_HOURS = "WORKING_HOURS";
+    private static final String PARAM_INHOUSE_PCT = "INHOUSE_PCT";
+    private static final String PARAM_OUTSOURCE_PCT = "OUTSOURCE_PCT";
+    private static final String PARAM_MANAGER_PCT = "MANAGER_PCT";
+    private static final String PARAM_ASMAN_PCT = "ASMAN_PCT";
+    private static final String PARAM_MAINT_BASE_COUNT = "MAINT_BASE_COUNT";
+    private static final String PARAM_MAINT_MGR_PCT = "MAINT_MGR_PCT";
+    private static final String PARAM_MAINT_HOURS = "MAINT_HOURS";
+
+    private final MstUserRepository userRepository;
+    private final TeamRepository teamRepository;
+    private final PksiDocumentRepository pksiDocumentRepository;
+    private final Fs2DocumentRepository fs2DocumentRepository;
+    private final AplikasiSnapshotRepository aplikasiSnapshotRepository;
+    private final MasterDataService masterDataService;
+
+    /**
+     * Hasil perhitungan tahun {@code tahun} dengan parameter yang tersimpan saat ini
+     */
+    @Cacheable(cacheNames = CacheConfig.FORMASI_EFEKTIF, key = "#tahun")
+    @Transactional(readOnly = true)
+    public YearResult calculate(int tahun) {
+        log.info("Calculating Formasi Efektif for year: {}", tahun);
+        return compute(loadInputs(tahun), loadConfigParams());
+    }
+
+    /**
+     * Muat data satu tahun sebagai record primitif
+     */
+    @Transactional(readOnly = true)
+    public YearInputs loadInputs(int tahun) {
+        LocalDate yearStart = LocalDate.of(tahun, 1, 1);
+        LocalDate yearEnd = LocalDate.of(tahun, 12, 31);
+
+        List<PksiWork> pksiList = new ArrayList<>();
+        for (FormasiPksiWorkView view : pksiDocumentRepository.findFormasiWorkViews(DocumentStatus.DISETUJUI,
+                PKSI_YEAR_STAGES, yearStart, yearEnd, TimelineStage.USREQ, TimelineStage.UAT)) {
+            pksiList.add(new PksiWork(view.getId(), view.getNamaPksi(), view.getNamaAplikasi(), view.getJenisPksi(),
+                    view.getInhouseOutsource(), view.getTeamId(), view.getTeamName(),
+                    view.getUsreqDate(), view.getUatDate()));
+        }
+
+        List<Fs2Work> fs2List = new ArrayList<>();
+        for (FormasiFs2WorkView view : fs2DocumentRepository.findFormasiWorkViews(FS2_STATUS_DISETUJUI, yearStart, yearEnd)) {
+            fs2List.add(new Fs2Work(view.getId(), view.getNamaAplikasi(), view.getDeskripsiPengubahan(),
+                    view.getMekanisme(), view.getTeamId(), view.getTeamName(),
+                    view.getTanggalPengajuan(), view.getTargetGoLive()));
+        }
+
+        List<Developer> developers = new ArrayList<>();
+        for (MstUser user : userRepository.findByRoleName(ROLE_PENGEMBANG)) {
+            if (isManagerLevel(user.getTitle()) || isAsmanLevel(user.getTitle())) {
+                developers.add(new Developer(user.getUuid(), user.getFullName(), user.getUsername(), user.getTitle()));
+            }
+        }
+
+        return new YearInputs(tahun, List.copyOf(pksiList), List.copyOf(fs2List), List.copyOf(developers),
+                loadTeamsByUser(pksiList, fs2List), countAplikasiAktif(tahun));
+    }
+
+    /**
+     * Parameter perhitungan yang tersimpan di mst_variable
+     */
+    public ConfigParams loadConfigParams() {
+        Map<String, String> params = new HashMap<>();
+        for (MstVariable variable : masterDataService.getActiveVariables(KATEGORI_FORMASI_EFEKTIF)) {
+            params.put(variable.getKode(), variable.getNilai() != null ? variable.getNilai() : "0");
+        }
+
+        return new ConfigParams(
+                parseInt(params.getOrDefault(PARAM_WORKING_DAYS, "22")),
+                parseInt(params.getOrDefault(PARAM_WORKING_HOURS, "8")),
+                parseDouble(params.getOrDefault(PARAM_INHOUSE_PCT, "100")),
+                parseDouble(params.getOrDefault(PARAM_OUTSOURCE_PCT, "30")),
+                parseDouble(params.getOrDefault(PARAM_MANAGER_PCT, "80")),
+                parseDouble(params.getOrDefault(PARAM_ASMAN_PCT, "100")),
+                parseInt(params.getOrDefault(PARAM_MAINT_BASE_COUNT, "86")),
+                parseDouble(params.getOrDefault(PARAM_MAINT_MGR_PCT, "50")),
+                parseInt(params.getOrDefault(PARAM_MAINT_HOURS, "80")),
+                null
+        );
+    }
+
+    /**
+     * Hitung man hour per PKSI/FS2, maintenance, dan totalnya. Murni dari input, tanpa akses database.
+     */
+    static YearResult compute(YearInputs inputs, ConfigParams config) {
+        int tahun = inputs.tahun();
+
+        List<WorkLoad> pksiLoads = new ArrayList<>(inputs.pksi().size());
+        double pksiManajer = 0;
+        double pksiAsman = 0;
+        for (PksiWork pksi : inputs.pksi()) {
+            WorkLoad load = workLoad(durationInYear(pksi.usreqDate(), pksi.uatDate(), tahun),
+                    pksi.inhouseOutsource(), config);
+            pksiLoads.add(load);
+            pksiManajer += load.manajer();
+            pksiAsman += load.asman();
+        }
+
+        List<WorkLoad> fs2Loads = new ArrayList<>(inputs.fs2().size());
+        double fs2Manajer = 0;
+        double fs2Asman = 0;
+        for (Fs2Work fs2 : inputs.fs2()) {
+            WorkLoad load = workLoad(durationInYear(fs2.tanggalPengajuan(), fs2.targetGoLive(), tahun),
+                    fs2.mekanisme(), config);
+            fs2Loads.add(load);
+            fs2Manajer += load.manajer();
+            fs2Asman += load.asman();
+        }
+
+        // Maintenance dihitung dari override skenario, aplikasi aktif di snapshot tahun tersebut,
+        // atau parameter default (urutan prioritas)
+        int maintenanceBaseCount;
+        if (config.maintBaseCountOverride() != null) {
+            maintenanceBaseCount = config.maintBaseCountOverride();
+        } else if (inputs.aplikasiAktifCount() > 0) {
+            maintenanceBaseCount = (int) inputs.aplikasiAktifCount();
+        } else {
+            maintenanceBaseCount = config.maintBaseCount();
+        }
+        double maintManajer = maintenanceBaseCount * (config.maintMgrPct() / 100.0) * config.maintHours();
+        double maintAsman = (double) maintenanceBaseCount * config.maintHours();
+
+        return new YearResult(inputs, config, List.copyOf(pksiLoads), List.copyOf(fs2Loads), maintenanceBaseCount,
+                new ManHour(pksiManajer, pksiAsman),
+                new ManHour(fs2Manajer, fs2Asman),
+                new ManHour(maintManajer, maintAsman));
+    }
+
+    static boolean isManagerLevel(String title) {
+        if (title == null) return false;
+        String lower = title.toLowerCase();
+        return lower.contains("manajer") && !lower.contains("asisten");
+    }
+
+    static boolean isAsmanLevel(String title) {
+        if (title == null) return false;
+        String lower = title.toLowerCase();
+        return lower.contains("asisten") && lower.contains("manajer");
+    }
+
+    private Map<UUID, Set<UUID>> loadTeamsByUser(List<PksiWork> pksiList, List<Fs2Work> fs2List) {
+        Set<UUID> teamIds = new HashSet<>();
+        pksiList.forEach(pksi -> addIfNotNull(teamIds, pksi.teamId()));
+        fs2List.forEach(fs2 -> addIfNotNull(teamIds, fs2.teamId()));
+        if (teamIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Set<UUID>> teamsByUser = new HashMap<>();
+        for (TeamMembershipView membership : teamRepository.findMemberships(teamIds)) {
+            teamsByUser.computeIfAbsent(membership.getUserUuid(), k -> new HashSet<>()).add(membership.getTeamId());
+        }
+        Map<UUID, Set<UUID>> result = new HashMap<>();
+        teamsByUser.forEach((userId, teams) -> result.put(userId, Set.copyOf(teams)));
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Jumlah aplikasi aktif di snapshot tahun tersebut; 0 jika belum ada snapshot
+     */
+    private long countAplikasiAktif(int tahun) {
+        try {
+            Long count = aplikasiSnapshotRepository.countAktifByTahun(tahun);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            log.warn("Failed to fetch active application count for year {}, using default value", tahun, e);
+            return 0;
+        }
+    }
+
+    private static WorkLoad workLoad(int durationMonths, String type, ConfigParams config) {
+        double workloadPct = getWorkloadPercentage(type, config);
+        double manHour = (double) durationMonths * config.manHourPerMonth() * workloadPct;
+        return new WorkLoad(durationMonths, workloadPct * 100.0, manHour,
+                manHour * (config.managerPct() / 100.0),
+                manHour * (config.asmanPct() / 100.0));
+    }
+
+    /**
+     * Durasi dalam bulan di tahun tertentu; rentang lintas tahun dipotong ke batas tahun
+     */
+    private static int durationInYear(LocalDate start, LocalDate end, int tahun) {
+        if (start == null || end == null) {
+            return 0;
+        }
+
+        LocalDate yearStart = LocalDate.of(tahun, 1, 1);
+        LocalDate yearEnd = LocalDate.of(tahun, 12, 31);
+
+        LocalDate effectiveStart = start.isBefore(yearStart) ? yearStart : start;
+        LocalDate effectiveEnd = end.isAfter(yearEnd) ? yearEnd : end;
+
+        if (effectiveStart.isAfter(effectiveEnd)) {
+            return 0;
+        }
+
+        long months = ChronoUnit.MONTHS.between(effectiveStart.withDayOfMonth(1), effectiveEnd.withDayOfMonth(1)) + 1;
+        return Math.min((int) months, 12);
+    }
+
+    /**
+     * Get workload percentage based on inhouse/outsource
+     */
+    private static double getWorkloadPercentage(String type, ConfigParams config) {
+        if (type == null) {
+            return config.inhousePct() / 100.0;
+        }
+        return type.toUpperCase().contains("OUTSOURCE")
+                ? config.outsourcePct() / 100.0
+                : config.inhousePct() / 100.0;
+    }
+
+    private static void addIfNotNull(Set<UUID> target, UUID value) {
+        if (value != null) {
+            target.add(value);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    // ==================== RECORDS ====================
+
+    /**
+     * Configuration parameters holder for reuse across calculations.
+     * {@code maintBaseCount} hanya dipakai jika snapshot tahun tersebut kosong;
+     * {@code maintBaseCountOverride} (dari skenario simulasi) selalu dipakai jika diisi.
+     */
+    public record ConfigParams(
+            int workingDays,
+            int workingHours,
+            double inhousePct,
+            double outsourcePct,
+            double managerPct,
+            double asmanPct,
+            int maintBaseCount,
+            double maintMgrPct,
+            int maintHours,
+            Integer maintBaseCountOverride
+    ) {
+        int manHourPerMonth() {
+            return workingDays * workingHours;
+        }
+
+        int manHourPerYear() {
+            return manHourPerMonth() * 12;
+        }
+    }
+
+    public record PksiWork(UUID id, String namaPksi, String namaAplikasi, String jenisPksi, String inhouseOutsource,
+                           UUID teamId, String teamName, LocalDate usreqDate, LocalDate uatDate) {
+    }
+
+    public record Fs2Work(UUID id, String namaAplikasi, String deskripsiPengubahan, String mekanisme,
+                          UUID teamId, String teamName, LocalDate tanggalPengajuan, LocalDate targetGoLive) {
+    }
+
+    public record Developer(UUID uuid, String fullName, String username, String title) {
+    }
+
+    /**
+     * Data satu tahun; {@code teamsByUser} hanya berisi team dari PKSI/FS2 tahun tersebut
+     */
+    public record YearInputs(int tahun, List<PksiWork> pksi, List<Fs2Work> fs2, List<Developer> developers,
+                             Map<UUID, Set<UUID>> teamsByUser, long aplikasiAktifCount) {
+    }
+
+    /**
+     * Beban satu PKSI/FS2; {@code workloadPct} dalam persen
+     */
+    public record WorkLoad(int durationMonths, double workloadPct, double manHour, double manajer, double asman) {
+    }
+
+    public record ManHour(double manajer, double asman) {
+
+        double total() {
+            return manajer + asman;
+        }
+    }
+
+    /**
+     * Hasil perhitungan satu tahun (belum dibulatkan). {@code pksiLoads}/{@code fs2Loads} sejajar
+     * dengan urutan {@code inputs.pksi()}/{@code inputs.fs2()}.
+     */
+    public record YearResult(YearInputs inputs, ConfigParams config, List<WorkLoad> pksiLoads, List<WorkLoad> fs2Loads,
+                             int maintenanceBaseCount, ManHour pksi, ManHour fs2, ManHour maintenance) {
+
+        ManHour total() {
+            return new ManHour(pksi.manajer() + fs2.manajer() + maintenance.manajer(),
+                    pksi.asman() + fs2.asman() + maintenance.asman());
+        }
+    }
+}
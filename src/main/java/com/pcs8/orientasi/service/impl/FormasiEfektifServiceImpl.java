@@ -1,79 +1,56 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.domain.dto.request.FormasiEfektifRequest;
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest;
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest.ScenarioParameters;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifDetailResponse;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifDetailResponse.*;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifResponse;
 import com.pcs8.orientasi.domain.dto.response.FormasiEfektifResponse.*;
-import com.pcs8.orientasi.domain.entity.*;
-import com.pcs8.orientasi.domain.entity.PksiDocument.DocumentStatus;
-import com.pcs8.orientasi.domain.entity.PksiTimeline.TimelineStage;
-import com.pcs8.orientasi.repository.*;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse.ScenarioResult;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse.SimulationParameters;
+import com.pcs8.orientasi.domain.entity.MstVariable;
+import com.pcs8.orientasi.repository.MstVariableRepository;
 import com.pcs8.orientasi.service.FormasiEfektifService;
+import com.pcs8.orientasi.service.MasterDataService;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.ConfigParams;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.Developer;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.Fs2Work;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.ManHour;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.PksiWork;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.WorkLoad;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.YearInputs;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.YearResult;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of FormasiEfektifService
- * Handles all Formasi Efektif calculations following DRY principles
+ * Perhitungan dilakukan oleh {@link FormasiEfektifEngine}; dashboard dan detail memakai hasil
+ * per tahun yang sama (di-cache), service ini hanya memetakan ke DTO response.
  */
 @Service
 @RequiredArgsConstructor
 public class FormasiEfektifServiceImpl implements FormasiEfektifService {
 
     private static final Logger log = LoggerFactory.getLogger(FormasiEfektifServiceImpl.class);
-    private static final String KATEGORI_FORMASI_EFEKTIF = "FORMASI_EFEKTIF";
-    private static final String ROLE_PENGEMBANG = "Pengembang";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
-    // Parameter codes
-    private static final String PARAM_WORKING_DAYS = "WORKING_DAYS";
-    private static final String PARAM_WORKING_HOURS = "WORKING_HOURS";
-    private static final String PARAM_INHOUSE_PCT = "INHOUSE_PCT";
-    private static final String PARAM_OUTSOURCE_PCT = "OUTSOURCE_PCT";
-    private static final String PARAM_MANAGER_PCT = "MANAGER_PCT";
-    private static final String PARAM_ASMAN_PCT = "ASMAN_PCT";
-    private static final String PARAM_MAINT_BASE_COUNT = "MAINT_BASE_COUNT";
-    private static final String PARAM_MAINT_MGR_PCT = "MAINT_MGR_PCT";
-    private static final String PARAM_MAINT_HOURS = "MAINT_HOURS";
-
-    private final MstUserRepository userRepository;
+    private final FormasiEfektifEngine engine;
     private final MstVariableRepository variableRepository;
-    private final PksiDocumentRepository pksiDocumentRepository;
-    private final Fs2DocumentRepository fs2DocumentRepository;
-    private final AplikasiSnapshotRepository aplikasiSnapshotRepository;
-
-    /**
-     * Configuration parameters holder for reuse across calculations
-     */
-    private record ConfigParams(
-            int workingDays,
-            int workingHours,
-            double inhousePct,
-            double outsourcePct,
-            double managerPct,
-            double asmanPct,
-            int maintBaseCount,
-            double maintMgrPct,
-            int maintHours
-    ) {
-        int manHourPerMonth() {
-            return workingDays * workingHours;
-        }
-
-        int manHourPerYear() {
-            return manHourPerMonth() * 12;
-        }
-    }
+    private final MasterDataService masterDataService;
 
     @Override
     @Transactional(readOnly = true)
@@ -81,19 +58,12 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
         int selectedTahun = resolveYear(request.getTahun());
         log.info("Getting Formasi Efektif dashboard for year: {}", selectedTahun);
 
-        ConfigParams config = loadConfigParams();
-        List<MstUser> developers = getDeveloperUsers();
-        List<PksiDocument> pksiList = getFilteredPksiDocuments(selectedTahun);
-        List<Fs2Document> fs2List = getFilteredFs2Documents(selectedTahun);
+        YearResult result = engine.calculate(selectedTahun);
 
-        // Calculate formasi efektif using shared logic
-        FormasiByLevel formasiEfektif = calculateFormasiEfektif(pksiList, fs2List, selectedTahun, config);
-        FormasiByLevel formasiSaatIni = calculateFormasiSaatIni(developers);
+        FormasiByLevel formasiEfektif = calculateFormasiFromManHour(result.total(), result.config());
+        FormasiByLevel formasiSaatIni = calculateFormasiSaatIni(result.inputs().developers());
         FormasiByLevel kebutuhan = calculateKebutuhan(formasiEfektif, formasiSaatIni);
 
-        // Build developer list with PKSI count
-        List<DeveloperItem> developerList = buildDeveloperList(developers, pksiList, selectedTahun);
-
         return FormasiEfektifResponse.builder()
                 .selectedTahun(selectedTahun)
                 .availableYears(getAvailableYears())
@@ -102,7 +72,7 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
                         .formasiSaatIni(formasiSaatIni)
                         .kebutuhan(kebutuhan)
                         .build())
-                .developerList(developerList)
+                .developerList(buildDeveloperList(result))
                 .parameters(mapToParameterItems(loadVariables()))
                 .build();
     }
@@ -113,50 +83,53 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
         int selectedTahun = resolveYear(request.getTahun());
         log.info("Getting Formasi Efektif detail for year: {}", selectedTahun);
 
-        ConfigParams config = loadConfigParams();
-        List<MstUser> developers = getDeveloperUsers();
-        List<PksiDocument> pksiList = getFilteredPksiDocuments(selectedTahun);
-        List<Fs2Document> fs2List = getFilteredFs2Documents(selectedTahun);
-
-        // Calculate individual PKSI/FS2 details
-        List<PksiDetailItem> pksiDetails = calculatePksiDetails(pksiList, selectedTahun, config);
-        List<Fs2DetailItem> fs2Details = calculateFs2Details(fs2List, selectedTahun, config);
-
-        // Get maintenance base count (active applications)
-        int maintenanceBaseCount = getAplikasiAktifCount(selectedTahun, config.maintBaseCount());
-
-        // Calculate man hours by source
-        ManHourByLevel pksiManHour = aggregatePksiManHour(pksiDetails);
-        ManHourByLevel fs2ManHour = aggregateFs2ManHour(fs2Details);
-        ManHourByLevel maintenanceManHour = calculateMaintenanceManHour(selectedTahun, config);
-        ManHourByLevel totalManHour = sumManHours(pksiManHour, fs2ManHour, maintenanceManHour);
-
-        // Calculate formasi using shared logic
-        FormasiByLevel formasiEfektif = calculateFormasiFromManHour(totalManHour, config);
-        FormasiByLevel formasiSaatIni = calculateFormasiSaatIni(developers);
-        FormasiByLevel kebutuhan = calculateKebutuhan(formasiEfektif, formasiSaatIni);
+        YearResult result = engine.calculate(selectedTahun);
 
         return FormasiEfektifDetailResponse.builder()
                 .selectedTahun(selectedTahun)
                 .availableYears(getAvailableYears())
-                .summary(CalculationSummary.builder()
-                        .pksiManHour(pksiManHour)
-                        .fs2ManHour(fs2ManHour)
-                        .maintenanceManHour(maintenanceManHour)
-                        .maintenanceBaseCount(maintenanceBaseCount)
-                        .totalManHour(totalManHour)
-                        .formasiEfektif(formasiEfektif)
-                        .formasiSaatIni(formasiSaatIni)
-                        .kebutuhan(kebutuhan)
-                        .build())
-                .pksiDetails(pksiDetails)
-                .fs2Details(fs2Details)
+                .summary(buildCalculationSummary(result))
+                .pksiDetails(buildPksiDetails(result))
+                .fs2Details(buildFs2Details(result))
                 .parameters(mapToParameterItems(loadVariables()))
                 .build();
     }
 
+    @Override
+    public FormasiEfektifSimulationResponse simulate(FormasiEfektifSimulationRequest request) {
+        int selectedTahun = resolveYear(request.getTahun());
+        long start = System.currentTimeMillis();
+
+        // Data workload tahun tersebut diambil dari hasil cache; skenario hanya mengganti parameter
+        YearResult baseline = engine.calculate(selectedTahun);
+        YearInputs inputs = baseline.inputs();
+        List<ScenarioParameters> scenarios = request.getScenarios();
+
+        // Perhitungan murni in-memory tanpa akses database, jadi aman dievaluasi paralel
+        List<ScenarioResult> results = IntStream.range(0, scenarios.size())
+                .parallel()
+                .mapToObj(i -> {
+                    ScenarioParameters scenario = scenarios.get(i);
+                    String name = scenario.getName() != null ? scenario.getName() : "Skenario " + (i + 1);
+                    YearResult simulated = FormasiEfektifEngine.compute(inputs, applyOverrides(baseline.config(), scenario));
+                    return toScenarioResult(name, simulated);
+                })
+                .toList();
+
+        long elapsedMs = System.currentTimeMillis() - start;
+        log.info("Simulated {} Formasi Efektif scenarios for year {} in {} ms", scenarios.size(), selectedTahun, elapsedMs);
+
+        return FormasiEfektifSimulationResponse.builder()
+                .selectedTahun(selectedTahun)
+                .baseline(toScenarioResult("Baseline", baseline))
+                .scenarios(results)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = {CacheConfig.MASTER_VARIABLE, CacheConfig.FORMASI_EFEKTIF}, allEntries = true)
     public List<ParameterItem> updateParameters(List<ParameterItem> parameters) {
         log.info("Updating {} Formasi Efektif parameters", parameters.size());
 
@@ -168,7 +141,9 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
                     });
         }
 
-        return mapToParameterItems(loadVariables());
+        // Baca langsung dari database, cache variable baru di-evict setelah method ini selesai
+        return mapToParameterItems(variableRepository.findByKategoriAndIsActiveTrueOrderByUrutanAscNamaAsc(
+                FormasiEfektifEngine.KATEGORI_FORMASI_EFEKTIF));
     }
 
     @Override
@@ -179,173 +154,32 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
 
     // ==================== SHARED CALCULATION METHODS (DRY) ====================
 
-    /**
-     * Calculate Formasi Efektif from PKSI, FS2, and Maintenance
-     */
-    private FormasiByLevel calculateFormasiEfektif(List<PksiDocument> pksiList,
-                                                    List<Fs2Document> fs2List,
-                                                    int tahun,
-                                                    ConfigParams config) {
-        // Calculate PKSI man hours
-        double pksiManajer = 0;
-        double pksiAsman = 0;
-        for (PksiDocument pksi : pksiList) {
-            double[] manHours = calculatePksiManHour(pksi, tahun, config);
-            pksiManajer += manHours[0];
-            pksiAsman += manHours[1];
-        }
-
-        // Calculate FS2 man hours
-        double fs2Manajer = 0;
-        double fs2Asman = 0;
-        for (Fs2Document fs2 : fs2List) {
-            double[] manHours = calculateFs2ManHour(fs2, tahun, config);
-            fs2Manajer += manHours[0];
-            fs2Asman += manHours[1];
-        }
-
-        // Calculate maintenance man hours based on active applications
-        int maintBaseCount = getAplikasiAktifCount(tahun, config.maintBaseCount());
-        double maintManajer = maintBaseCount * (config.maintMgrPct() / 100.0) * config.maintHours();
-        double maintAsman = (double) maintBaseCount * config.maintHours();
-
-        // Total man hours
-        double totalManajer = pksiManajer + fs2Manajer + maintManajer;
-        double totalAsman = pksiAsman + fs2Asman + maintAsman;
-
-        // Convert to formasi (divide by yearly man hour)
-        int manHourPerYear = config.manHourPerYear();
-        double formasiManajer = totalManajer / manHourPerYear;
-        double formasiAsman = totalAsman / manHourPerYear;
+    private CalculationSummary buildCalculationSummary(YearResult result) {
+        FormasiByLevel formasiEfektif = calculateFormasiFromManHour(result.total(), result.config());
+        FormasiByLevel formasiSaatIni = calculateFormasiSaatIni(result.inputs().developers());
+        FormasiByLevel kebutuhan = calculateKebutuhan(formasiEfektif, formasiSaatIni);
 
-        return FormasiByLevel.builder()
-                .manajer(roundToTwoDecimals(formasiManajer))
-                .asistenManajer(roundToTwoDecimals(formasiAsman))
-                .total(roundToTwoDecimals(formasiManajer + formasiAsman))
+        return CalculationSummary.builder()
+                .pksiManHour(toManHourByLevel(result.pksi()))
+                .fs2ManHour(toManHourByLevel(result.fs2()))
+                .maintenanceManHour(toManHourByLevel(result.maintenance()))
+                .maintenanceBaseCount(result.maintenanceBaseCount())
+                .totalManHour(toManHourByLevel(result.total()))
+                .formasiEfektif(formasiEfektif)
+                .formasiSaatIni(formasiSaatIni)
+                .kebutuhan(kebutuhan)
                 .build();
     }
 
-    /**
-     * Calculate PKSI man hours: returns [manajer, asman]
-     */
-    private double[] calculatePksiManHour(PksiDocument pksi, int tahun, ConfigParams config) {
-        int durationMonths = calculatePksiDuration(pksi, tahun);
-        double manHour = (double) durationMonths * config.manHourPerMonth();
-        double workloadPct = getWorkloadPercentage(pksi.getInhouseOutsource(), config);
-
-        double manajer = manHour * workloadPct * (config.managerPct() / 100.0);
-        double asman = manHour * workloadPct * (config.asmanPct() / 100.0);
-
-        return new double[]{manajer, asman};
-    }
-
-    /**
-     * Calculate FS2 man hours: returns [manajer, asman]
-     */
-    private double[] calculateFs2ManHour(Fs2Document fs2, int tahun, ConfigParams config) {
-        int durationMonths = calculateFs2Duration(fs2, tahun);
-        double manHour = (double) durationMonths * config.manHourPerMonth();
-        double workloadPct = getWorkloadPercentage(fs2.getMekanisme(), config);
-
-        double manajer = manHour * workloadPct * (config.managerPct() / 100.0);
-        double asman = manHour * workloadPct * (config.asmanPct() / 100.0);
-
-        return new double[]{manajer, asman};
-    }
-
-    /**
-     * Calculate PKSI duration in months for a given year
-     * Handles cross-year scenarios by capping to the selected year
-     */
-    private int calculatePksiDuration(PksiDocument pksi, int tahun) {
-        List<PksiTimeline> timelines = pksi.getTimelines();
-        if (timelines == null || timelines.isEmpty()) {
-            return 0;
-        }
-
-        // Find furthest USREQ and UAT dates (handle multiple phases)
-        LocalDate usreqDate = findFurthestDateByStage(timelines, TimelineStage.USREQ);
-        LocalDate uatDate = findFurthestDateByStage(timelines, TimelineStage.UAT);
-
-        if (usreqDate == null || uatDate == null) {
-            return 0;
-        }
-
-        // Apply year boundaries
-        LocalDate yearStart = LocalDate.of(tahun, 1, 1);
-        LocalDate yearEnd = LocalDate.of(tahun, 12, 31);
-
-        // Adjust dates to fit within the selected year
-        LocalDate effectiveStart = usreqDate.isBefore(yearStart) ? yearStart : usreqDate;
-        LocalDate effectiveEnd = uatDate.isAfter(yearEnd) ? yearEnd : uatDate;
-
-        if (effectiveStart.isAfter(effectiveEnd)) {
-            return 0;
-        }
-
-        // Calculate months difference
-        long months = ChronoUnit.MONTHS.between(effectiveStart.withDayOfMonth(1), effectiveEnd.withDayOfMonth(1)) + 1;
-        return Math.min((int) months, 12);
-    }
-
-    /**
-     * Calculate FS2 duration in months for a given year
-     */
-    private int calculateFs2Duration(Fs2Document fs2, int tahun) {
-        LocalDate pengajuan = fs2.getTanggalPengajuan();
-        LocalDate goLive = fs2.getTargetGoLive();
-
-        if (pengajuan == null || goLive == null) {
-            return 0;
-        }
-
-        LocalDate yearStart = LocalDate.of(tahun, 1, 1);
-        LocalDate yearEnd = LocalDate.of(tahun, 12, 31);
-
-        LocalDate effectiveStart = pengajuan.isBefore(yearStart) ? yearStart : pengajuan;
-        LocalDate effectiveEnd = goLive.isAfter(yearEnd) ? yearEnd : goLive;
-
-        if (effectiveStart.isAfter(effectiveEnd)) {
-            return 0;
-        }
-
-        long months = ChronoUnit.MONTHS.between(effectiveStart.withDayOfMonth(1), effectiveEnd.withDayOfMonth(1)) + 1;
-        return Math.min((int) months, 12);
-    }
-
-    /**
-     * Find the furthest date for a given stage from timeline list
-     */
-    private LocalDate findFurthestDateByStage(List<PksiTimeline> timelines, TimelineStage stage) {
-        return timelines.stream()
-                .filter(t -> t.getStage() == stage)
-                .map(PksiTimeline::getTargetDate)
-                .filter(Objects::nonNull)
-                .max(LocalDate::compareTo)
-                .orElse(null);
-    }
-
-    /**
-     * Get workload percentage based on inhouse/outsource
-     */
-    private double getWorkloadPercentage(String type, ConfigParams config) {
-        if (type == null) {
-            return config.inhousePct() / 100.0;
-        }
-        return type.toUpperCase().contains("OUTSOURCE")
-                ? config.outsourcePct() / 100.0
-                : config.inhousePct() / 100.0;
-    }
-
     /**
      * Calculate Formasi Saat Ini from active developers
      */
-    private FormasiByLevel calculateFormasiSaatIni(List<MstUser> developers) {
+    private FormasiByLevel calculateFormasiSaatIni(List<Developer> developers) {
         long manajerCount = developers.stream()
-                .filter(u -> isManagerLevel(u.getTitle()))
+                .filter(d -> FormasiEfektifEngine.isManagerLevel(d.title()))
                 .count();
         long asmanCount = developers.stream()
-                .filter(u -> isAsmanLevel(u.getTitle()))
+                .filter(d -> FormasiEfektifEngine.isAsmanLevel(d.title()))
                 .count();
 
         return FormasiByLevel.builder()
@@ -370,213 +204,119 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
     }
 
     /**
-     * Convert total man hours to formasi
+     * Convert total man hours to formasi (dari total yang belum dibulatkan)
      */
-    private FormasiByLevel calculateFormasiFromManHour(ManHourByLevel manHour, ConfigParams config) {
+    private FormasiByLevel calculateFormasiFromManHour(ManHour manHour, ConfigParams config) {
         int manHourPerYear = config.manHourPerYear();
         return FormasiByLevel.builder()
-                .manajer(roundToTwoDecimals(manHour.getManajer() / manHourPerYear))
-                .asistenManajer(roundToTwoDecimals(manHour.getAsistenManajer() / manHourPerYear))
-                .total(roundToTwoDecimals(manHour.getTotal() / manHourPerYear))
-                .build();
-    }
-
-    // ==================== DETAIL CALCULATION METHODS ====================
-
-    private List<PksiDetailItem> calculatePksiDetails(List<PksiDocument> pksiList, int tahun, ConfigParams config) {
-        return pksiList.stream().map(pksi -> {
-            int duration = calculatePksiDuration(pksi, tahun);
-            double manHourBase = (double) duration * config.manHourPerMonth();
-            double workloadPct = getWorkloadPercentage(pksi.getInhouseOutsource(), config) * 100.0;
-            double manHour = manHourBase * (workloadPct / 100);
-
-            LocalDate usreq = findFurthestDateByStage(pksi.getTimelines(), TimelineStage.USREQ);
-            LocalDate uat = findFurthestDateByStage(pksi.getTimelines(), TimelineStage.UAT);
-
-            return PksiDetailItem.builder()
-                    .id(pksi.getId().toString())
-                    .namaPksi(pksi.getNamaPksi())
-                    .namaAplikasi(pksi.getAplikasi() != null ? pksi.getAplikasi().getNamaAplikasi() : null)
-                    .jenisPksi(pksi.getJenisPksi())
-                    .inhouseOutsource(pksi.getInhouseOutsource())
-                    .workloadPct(workloadPct)
-                    .usreqDate(usreq != null ? usreq.format(DATE_FORMATTER) : null)
-                    .uatDate(uat != null ? uat.format(DATE_FORMATTER) : null)
-                    .durationMonths(duration)
-                    .manHour(roundToTwoDecimals(manHour))
-                    .manHourManajer(roundToTwoDecimals(manHour * (config.managerPct() / 100.0)))
-                    .manHourAsman(roundToTwoDecimals(manHour * (config.asmanPct() / 100.0)))
-                    .build();
-        }).collect(Collectors.toList());
-    }
-
-    private List<Fs2DetailItem> calculateFs2Details(List<Fs2Document> fs2List, int tahun, ConfigParams config) {
-        return fs2List.stream().map(fs2 -> {
-            int duration = calculateFs2Duration(fs2, tahun);
-            double manHourBase = (double) duration * config.manHourPerMonth();
-            double workloadPct = getWorkloadPercentage(fs2.getMekanisme(), config) * 100.0;
-            double manHour = manHourBase * (workloadPct / 100);
-
-            return Fs2DetailItem.builder()
-                    .id(fs2.getId().toString())
-                    .namaAplikasi(fs2.getAplikasi() != null ? fs2.getAplikasi().getNamaAplikasi() : null)
-                    .deskripsiPengubahan(fs2.getDeskripsiPengubahan())
-                    .mekanisme(fs2.getMekanisme())
-                    .workloadPct(workloadPct)
-                    .tanggalPengajuan(fs2.getTanggalPengajuan() != null ? fs2.getTanggalPengajuan().format(DATE_FORMATTER) : null)
-                    .targetGoLive(fs2.getTargetGoLive() != null ? fs2.getTargetGoLive().format(DATE_FORMATTER) : null)
-                    .durationMonths(duration)
-                    .manHour(roundToTwoDecimals(manHour))
-                    .manHourManajer(roundToTwoDecimals(manHour * (config.managerPct() / 100.0)))
-                    .manHourAsman(roundToTwoDecimals(manHour * (config.asmanPct() / 100.0)))
-                    .build();
-        }).collect(Collectors.toList());
-    }
-
-    private ManHourByLevel aggregatePksiManHour(List<PksiDetailItem> details) {
-        double manajer = details.stream().mapToDouble(PksiDetailItem::getManHourManajer).sum();
-        double asman = details.stream().mapToDouble(PksiDetailItem::getManHourAsman).sum();
-        return ManHourByLevel.builder()
-                .manajer(roundToTwoDecimals(manajer))
-                .asistenManajer(roundToTwoDecimals(asman))
-                .total(roundToTwoDecimals(manajer + asman))
+                .manajer(roundToTwoDecimals(manHour.manajer() / manHourPerYear))
+                .asistenManajer(roundToTwoDecimals(manHour.asman() / manHourPerYear))
+                .total(roundToTwoDecimals(manHour.total() / manHourPerYear))
                 .build();
     }
 
-    private ManHourByLevel aggregateFs2ManHour(List<Fs2DetailItem> details) {
-        double manajer = details.stream().mapToDouble(Fs2DetailItem::getManHourManajer).sum();
-        double asman = details.stream().mapToDouble(Fs2DetailItem::getManHourAsman).sum();
+    private ManHourByLevel toManHourByLevel(ManHour manHour) {
         return ManHourByLevel.builder()
-                .manajer(roundToTwoDecimals(manajer))
-                .asistenManajer(roundToTwoDecimals(asman))
-                .total(roundToTwoDecimals(manajer + asman))
+                .manajer(roundToTwoDecimals(manHour.manajer()))
+                .asistenManajer(roundToTwoDecimals(manHour.asman()))
+                .total(roundToTwoDecimals(manHour.total()))
                 .build();
     }
 
-    private ManHourByLevel calculateMaintenanceManHour(int tahun, ConfigParams config) {
-        int maintBaseCount = getAplikasiAktifCount(tahun, config.maintBaseCount());
-        double manajer = maintBaseCount * (config.maintMgrPct() / 100.0) * config.maintHours();
-        double asman = (double) maintBaseCount * config.maintHours();
-        return ManHourByLevel.builder()
-                .manajer(roundToTwoDecimals(manajer))
-                .asistenManajer(roundToTwoDecimals(asman))
-                .total(roundToTwoDecimals(manajer + asman))
-                .build();
-    }
+    // ==================== SIMULATION METHODS ====================
 
     /**
-     * Get count of active applications for a specific year
-     * Falls back to default value if no snapshot data exists
+     * Parameter tersimpan yang ditimpa dengan nilai skenario yang diisi
      */
-    private int getAplikasiAktifCount(int tahun, int defaultValue) {
-        try {
-            Long count = aplikasiSnapshotRepository.countAktifByTahun(tahun);
-            if (count != null && count > 0) {
-                log.info("Using {} active applications from snapshot for year {}", count, tahun);
-                return count.intValue();
-            }
-            log.info("No active application snapshot found for year {}, using default value: {}", tahun, defaultValue);
-            return defaultValue;
-        } catch (Exception e) {
-            log.warn("Failed to fetch active application count for year {}, using default value: {}", tahun, defaultValue, e);
-            return defaultValue;
-        }
-    }
-
-    private ManHourByLevel sumManHours(ManHourByLevel... sources) {
-        double manajer = Arrays.stream(sources).mapToDouble(ManHourByLevel::getManajer).sum();
-        double asman = Arrays.stream(sources).mapToDouble(ManHourByLevel::getAsistenManajer).sum();
-        return ManHourByLevel.builder()
-                .manajer(roundToTwoDecimals(manajer))
-                .asistenManajer(roundToTwoDecimals(asman))
-                .total(roundToTwoDecimals(manajer + asman))
-                .build();
-    }
-
-    // ==================== DATA LOADING METHODS ====================
-
-    private ConfigParams loadConfigParams() {
-        Map<String, String> params = loadVariables().stream()
-                .collect(Collectors.toMap(MstVariable::getKode, v -> v.getNilai() != null ? v.getNilai() : "0"));
-
+    private ConfigParams applyOverrides(ConfigParams base, ScenarioParameters scenario) {
         return new ConfigParams(
-                parseInt(params.getOrDefault(PARAM_WORKING_DAYS, "22")),
-                parseInt(params.getOrDefault(PARAM_WORKING_HOURS, "8")),
-                parseDouble(params.getOrDefault(PARAM_INHOUSE_PCT, "100")),
-                parseDouble(params.getOrDefault(PARAM_OUTSOURCE_PCT, "30")),
-                parseDouble(params.getOrDefault(PARAM_MANAGER_PCT, "80")),
-                parseDouble(params.getOrDefault(PARAM_ASMAN_PCT, "100")),
-                parseInt(params.getOrDefault(PARAM_MAINT_BASE_COUNT, "86")),
-                parseDouble(params.getOrDefault(PARAM_MAINT_MGR_PCT, "50")),
-                parseInt(params.getOrDefault(PARAM_MAINT_HOURS, "80"))
+                scenario.getWorkingDays() != null ? scenario.getWorkingDays() : base.workingDays(),
+                scenario.getWorkingHours() != null ? scenario.getWorkingHours() : base.workingHours(),
+                scenario.getInhousePct() != null ? scenario.getInhousePct() : base.inhousePct(),
+                scenario.getOutsourcePct() != null ? scenario.getOutsourcePct() : base.outsourcePct(),
+                scenario.getManagerPct() != null ? scenario.getManagerPct() : base.managerPct(),
+                scenario.getAsmanPct() != null ? scenario.getAsmanPct() : base.asmanPct(),
+                base.maintBaseCount(),
+                scenario.getMaintMgrPct() != null ? scenario.getMaintMgrPct() : base.maintMgrPct(),
+                scenario.getMaintHours() != null ? scenario.getMaintHours() : base.maintHours(),
+                scenario.getMaintBaseCount()
         );
     }
 
-    private List<MstVariable> loadVariables() {
-        return variableRepository.findByKategoriAndIsActiveTrueOrderByUrutanAscNamaAsc(KATEGORI_FORMASI_EFEKTIF);
-    }
-
-    private List<MstUser> getDeveloperUsers() {
-        return userRepository.findByRoleName(ROLE_PENGEMBANG).stream()
-                .filter(u -> isManagerLevel(u.getTitle()) || isAsmanLevel(u.getTitle()))
-                .toList();
-    }
-
-    private List<PksiDocument> getFilteredPksiDocuments(int tahun) {
-        List<PksiDocument> pksiList = pksiDocumentRepository.findAll().stream()
-                .filter(pksi -> pksi.getStatus() == DocumentStatus.DISETUJUI)
-                .filter(pksi -> hasPksiTimelineInYear(pksi, tahun))
-                .collect(Collectors.toList());
-        
-        // Force initialization of team and teamMembers for PKSI count calculation
-        pksiList.forEach(pksi -> {
-            if (pksi.getTeam() != null) {
-                pksi.getTeam().getId(); // Force initialization
-                if (pksi.getTeam().getTeamMembers() != null) {
-                    pksi.getTeam().getTeamMembers().size(); // Force initialization
-                }
-            }
-        });
-        
-        return pksiList;
+    private ScenarioResult toScenarioResult(String name, YearResult result) {
+        ConfigParams config = result.config();
+        return ScenarioResult.builder()
+                .name(name)
+                .parameters(SimulationParameters.builder()
+                        .workingDays(config.workingDays())
+                        .workingHours(config.workingHours())
+                        .inhousePct(config.inhousePct())
+                        .outsourcePct(config.outsourcePct())
+                        .managerPct(config.managerPct())
+                        .asmanPct(config.asmanPct())
+                        .maintBaseCount(result.maintenanceBaseCount())
+                        .maintMgrPct(config.maintMgrPct())
+                        .maintHours(config.maintHours())
+                        .build())
+                .summary(buildCalculationSummary(result))
+                .build();
     }
 
-    private boolean hasPksiTimelineInYear(PksiDocument pksi, int tahun) {
-        if (pksi.getTimelines() == null || pksi.getTimelines().isEmpty()) {
-            return false;
+    // ==================== DETAIL MAPPING METHODS ====================
+
+    private List<PksiDetailItem> buildPksiDetails(YearResult result) {
+        List<PksiWork> pksiList = result.inputs().pksi();
+        List<PksiDetailItem> details = new ArrayList<>(pksiList.size());
+        for (int i = 0; i < pksiList.size(); i++) {
+            PksiWork pksi = pksiList.get(i);
+            WorkLoad load = result.pksiLoads().get(i);
+            details.add(PksiDetailItem.builder()
+                    .id(pksi.id().toString())
+                    .namaPksi(pksi.namaPksi())
+                    .namaAplikasi(pksi.namaAplikasi())
+                    .jenisPksi(pksi.jenisPksi())
+                    .inhouseOutsource(pksi.inhouseOutsource())
+                    .workloadPct(load.workloadPct())
+                    .usreqDate(formatDate(pksi.usreqDate()))
+                    .uatDate(formatDate(pksi.uatDate()))
+                    .durationMonths(load.durationMonths())
+                    .manHour(roundToTwoDecimals(load.manHour()))
+                    .manHourManajer(roundToTwoDecimals(load.manajer()))
+                    .manHourAsman(roundToTwoDecimals(load.asman()))
+                    .build());
         }
-        return pksi.getTimelines().stream()
-                .filter(t -> t.getStage() == TimelineStage.USREQ ||
-                             t.getStage() == TimelineStage.SIT ||
-                             t.getStage() == TimelineStage.UAT ||
-                             t.getStage() == TimelineStage.GO_LIVE)
-                .anyMatch(t -> t.getTargetDate() != null && t.getTargetDate().getYear() == tahun);
-    }
-
-    private List<Fs2Document> getFilteredFs2Documents(int tahun) {
-        List<Fs2Document> fs2List = fs2DocumentRepository.findByStatusOrderByCreatedAtDesc("DISETUJUI").stream()
-                .filter(fs2 -> fs2.getTanggalPengajuan() != null && fs2.getTanggalPengajuan().getYear() == tahun)
-                .collect(Collectors.toList());
-        
-        // Force initialization of team and teamMembers for FS2 count calculation
-        fs2List.forEach(fs2 -> {
-            if (fs2.getTeam() != null) {
-                fs2.getTeam().getId(); // Force initialization
-                if (fs2.getTeam().getTeamMembers() != null) {
-                    fs2.getTeam().getTeamMembers().size(); // Force initialization
-                }
-            }
-            // Force load aplikasi for name
-            if (fs2.getAplikasi() != null) {
-                fs2.getAplikasi().getNamaAplikasi();
-            }
-        });
-        
-        return fs2List;
+        return details;
+    }
+
+    private List<Fs2DetailItem> buildFs2Details(YearResult result) {
+        List<Fs2Work> fs2List = result.inputs().fs2();
+        List<Fs2DetailItem> details = new ArrayList<>(fs2List.size());
+        for (int i = 0; i < fs2List.size(); i++) {
+            Fs2Work fs2 = fs2List.get(i);
+            WorkLoad load = result.fs2Loads().get(i);
+            details.add(Fs2DetailItem.builder()
+                    .id(fs2.id().toString())
+                    .namaAplikasi(fs2.namaAplikasi())
+                    .deskripsiPengubahan(fs2.deskripsiPengubahan())
+                    .mekanisme(fs2.mekanisme())
+                    .workloadPct(load.workloadPct())
+                    .tanggalPengajuan(formatDate(fs2.tanggalPengajuan()))
+                    .targetGoLive(formatDate(fs2.targetGoLive()))
+                    .durationMonths(load.durationMonths())
+                    .manHour(roundToTwoDecimals(load.manHour()))
+                    .manHourManajer(roundToTwoDecimals(load.manajer()))
+                    .manHourAsman(roundToTwoDecimals(load.asman()))
+                    .build());
+        }
+        return details;
     }
 
     // ==================== HELPER METHODS ====================
 
+    private List<MstVariable> loadVariables() {
+        return masterDataService.getActiveVariables(FormasiEfektifEngine.KATEGORI_FORMASI_EFEKTIF);
+    }
+
     private int resolveYear(Integer tahun) {
         return tahun != null ? tahun : LocalDate.now().getYear();
     }
@@ -590,87 +330,48 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
         return years;
     }
 
-    private boolean isManagerLevel(String title) {
-        if (title == null) return false;
-        String lower = title.toLowerCase();
-        return lower.contains("manajer") && !lower.contains("asisten");
-    }
-
-    private boolean isAsmanLevel(String title) {
-        if (title == null) return false;
-        String lower = title.toLowerCase();
-        return lower.contains("asisten") && lower.contains("manajer");
-    }
-
-    private List<DeveloperItem> buildDeveloperList(List<MstUser> developers, List<PksiDocument> pksiList, int tahun) {
-        // Get FS2 list for the year
-        List<Fs2Document> fs2List = getFilteredFs2Documents(tahun);
-
-        // Build map of team ID to PKSI list
-        Map<UUID, List<PksiDocument>> pksiByTeam = pksiList.stream()
-                .filter(pksi -> pksi.getTeam() != null)
-                .collect(Collectors.groupingBy(pksi -> pksi.getTeam().getId()));
-
-        // Build map of team ID to FS2 list
-        Map<UUID, List<Fs2Document>> fs2ByTeam = fs2List.stream()
-                .filter(fs2 -> fs2.getTeam() != null)
-                .collect(Collectors.groupingBy(fs2 -> fs2.getTeam().getId()));
-
-        // Build map of user ID to team IDs (user can be in multiple teams)
-        Map<UUID, Set<UUID>> teamsByUser = new HashMap<>();
-        for (PksiDocument pksi : pksiList) {
-            if (pksi.getTeam() != null && pksi.getTeam().getTeamMembers() != null) {
-                UUID teamId = pksi.getTeam().getId();
-                for (MstTeamMember member : pksi.getTeam().getTeamMembers()) {
-                    UUID userId = member.getUser().getUuid();
-                    teamsByUser.computeIfAbsent(userId, k -> new HashSet<>()).add(teamId);
-                }
+    private List<DeveloperItem> buildDeveloperList(YearResult result) {
+        // Build map of team ID to PKSI/FS2 work items
+        Map<UUID, List<WorkItem>> pksiByTeam = new HashMap<>();
+        for (PksiWork pksi : result.inputs().pksi()) {
+            if (pksi.teamId() != null) {
+                pksiByTeam.computeIfAbsent(pksi.teamId(), k -> new ArrayList<>()).add(WorkItem.builder()
+                        .id(pksi.id().toString())
+                        .name(pksi.namaPksi())
+                        .teamName(pksi.teamName())
+                        .build());
             }
         }
-        // Also add teams from FS2
-        for (Fs2Document fs2 : fs2List) {
-            if (fs2.getTeam() != null && fs2.getTeam().getTeamMembers() != null) {
-                UUID teamId = fs2.getTeam().getId();
-                for (MstTeamMember member : fs2.getTeam().getTeamMembers()) {
-                    UUID userId = member.getUser().getUuid();
-                    teamsByUser.computeIfAbsent(userId, k -> new HashSet<>()).add(teamId);
-                }
+        Map<UUID, List<WorkItem>> fs2ByTeam = new HashMap<>();
+        for (Fs2Work fs2 : result.inputs().fs2()) {
+            if (fs2.teamId() != null) {
+                fs2ByTeam.computeIfAbsent(fs2.teamId(), k -> new ArrayList<>()).add(WorkItem.builder()
+                        .id(fs2.id().toString())
+                        .name(fs2.namaAplikasi() != null ? "FS2 - " + fs2.namaAplikasi() : "FS2 Document")
+                        .teamName(fs2.teamName())
+                        .build());
             }
         }
 
-        return developers.stream().map(user -> {
-            String level = isManagerLevel(user.getTitle()) ? "MANAJER" :
-                          isAsmanLevel(user.getTitle()) ? "ASISTEN_MANAJER" : "LAINNYA";
+        Map<UUID, Set<UUID>> teamsByUser = result.inputs().teamsByUser();
+        return result.inputs().developers().stream().map(developer -> {
+            String level = FormasiEfektifEngine.isManagerLevel(developer.title()) ? "MANAJER" :
+                          FormasiEfektifEngine.isAsmanLevel(developer.title()) ? "ASISTEN_MANAJER" : "LAINNYA";
 
-            Set<UUID> userTeams = teamsByUser.getOrDefault(user.getUuid(), Collections.emptySet());
+            Set<UUID> userTeams = teamsByUser.getOrDefault(developer.uuid(), Collections.emptySet());
 
-            // Build PKSI list for this user
-            List<FormasiEfektifResponse.WorkItem> pksiWorkList = userTeams.stream()
-                    .flatMap(teamId -> pksiByTeam.getOrDefault(teamId, Collections.emptyList()).stream()
-                            .map(pksi -> FormasiEfektifResponse.WorkItem.builder()
-                                    .id(pksi.getId().toString())
-                                    .name(pksi.getNamaPksi())
-                                    .teamName(pksi.getTeam() != null ? pksi.getTeam().getName() : null)
-                                    .build()))
+            List<WorkItem> pksiWorkList = userTeams.stream()
+                    .flatMap(teamId -> pksiByTeam.getOrDefault(teamId, Collections.emptyList()).stream())
                     .collect(Collectors.toList());
-
-            // Build FS2 list for this user
-            List<FormasiEfektifResponse.WorkItem> fs2WorkList = userTeams.stream()
-                    .flatMap(teamId -> fs2ByTeam.getOrDefault(teamId, Collections.emptyList()).stream()
-                            .map(fs2 -> FormasiEfektifResponse.WorkItem.builder()
-                                    .id(fs2.getId().toString())
-                                    .name(fs2.getAplikasi() != null ? 
-                                          "FS2 - " + fs2.getAplikasi().getNamaAplikasi() : 
-                                          "FS2 Document")
-                                    .teamName(fs2.getTeam() != null ? fs2.getTeam().getName() : null)
-                                    .build()))
+            List<WorkItem> fs2WorkList = userTeams.stream()
+                    .flatMap(teamId -> fs2ByTeam.getOrDefault(teamId, Collections.emptyList()).stream())
                     .collect(Collectors.toList());
 
             return DeveloperItem.builder()
-                    .id(user.getUuid().toString())
-                    .fullName(user.getFullName())
-                    .username(user.getUsername())
-                    .title(user.getTitle())
+                    .id(developer.uuid().toString())
+                    .fullName(developer.fullName())
+                    .username(developer.username())
+                    .title(developer.title())
                     .level(level)
                     .pksiCount(pksiWorkList.size())
                     .fs2Count(fs2WorkList.size())
@@ -692,20 +393,8 @@ public class FormasiEfektifServiceImpl implements FormasiEfektifService {
         ).collect(Collectors.toList());
     }
 
-    private int parseInt(String value) {
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return 0;
-        }
-    }
-
-    private double parseDouble(String value) {
-        try {
-            return Double.parseDouble(value);
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
+    private String formatDate(LocalDate date) {
+        return date != null ? date.format(DATE_FORMATTER) : null;
     }
 
     private double roundToTwoDecimals(double value) {
@@ -4,20 +4,22 @@ import com.pcs8.orientasi.domain.dto.request.Fs2ApprovedSearchFilter;
 import com.pcs8.orientasi.domain.dto.response.Fs2DocumentResponse;
 import com.pcs8.orientasi.service.Fs2ExcelExportService;
 import com.pcs8.orientasi.service.Fs2Service;
+import com.pcs8.orientasi.util.StreamingExcelWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.common.usermodel.HyperlinkType;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -26,92 +28,94 @@ import java.util.UUID;
 public class Fs2ExcelExportServiceImpl implements Fs2ExcelExportService {
 
     private final Fs2Service fs2Service;
+
+    /** Persistence context yang terikat ke thread export, dikosongkan setiap selesai menulis satu halaman */
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter MONTH_YEAR_FORMATTER = DateTimeFormatter.ofPattern("MMMM yyyy");
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int MIN_COLUMN_WIDTH = 3000;
+    private static final int MAX_COLUMN_WIDTH = 15000;
 
     @Override
-        public ByteArrayOutputStream exportAllFs2ToExcel(
+    public StreamingResponseBody exportAllFs2ToExcel(
             String search, UUID bidangId, UUID aplikasiId, String statusTahapan, UUID skpaId, String status,
             Integer year, Integer startMonth, Integer endMonth,
             String userDepartment, boolean canSeeAll) {
-        
-        // Fetch all data (no pagination for export)
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<Fs2DocumentResponse> data = fs2Service.search(search, aplikasiId, bidangId, statusTahapan, skpaId, status, year, startMonth, endMonth, pageable, userDepartment, canSeeAll).getContent();
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Semua F.S.2");
-            
-            // Create styles
-            Styles styles = createStyles(workbook);
-            CellStyle headerStyle = styles.headerStyle;
-            CellStyle dataStyle = styles.dataStyle;
-            CellStyle dateStyle = styles.dateStyle;
-            CellStyle hyperlinkStyle = styles.hyperlinkStyle;
-            
-            // Create header row
-            // Move 'Kode Aplikasi' after 'Nama Aplikasi' and place 'Nama FS2' after it
-            String[] headers = {
-                "No", "Nama Aplikasi", "Kode Aplikasi", "Nama FS2", "SKPA", "Bidang",
-                "Status Tahapan", "Target Pengujian", "Target Deployment", "Target Go Live",
-                "Status", "Tanggal Pengajuan", "User Pembuat", "Dokumen FS2"
-            };
-            
-            createHeaderRow(sheet, headers, headerStyle);
-            
-            // Create data rows
-            int rowNum = 1;
-            for (Fs2DocumentResponse item : data) {
-                Row row = sheet.createRow(rowNum);
-                
-                createCell(row, 0, rowNum, dataStyle);
-                createCell(row, 1, item.getNamaAplikasi(), dataStyle);
-                // Kode Aplikasi moved to column 2
-                createCell(row, 2, item.getKodeAplikasi(), dataStyle);
-                // Nama FS2 moved to column 3
-                createCell(row, 3, item.getNamaFs2(), dataStyle);
-                // SKPA display
-                createCell(row, 4, buildSkpaDisplay(item), dataStyle);
-                // Bidang
-                createCell(row, 5, item.getNamaBidang(), dataStyle);
-                createCell(row, 6, formatStatusTahapan(item.getStatusTahapan()), dataStyle);
-                createCell(row, 7, formatMonthYear(item.getTargetPengujian()), dateStyle);
-                createCell(row, 8, formatMonthYear(item.getTargetDeployment()), dateStyle);
-                createCell(row, 9, formatMonthYear(item.getTargetGoLive()), dateStyle);
-                createCell(row, 10, formatStatus(item.getStatus()), dataStyle);
-                createCell(row, 11, formatDate(item.getTanggalPengajuan()), dateStyle);
-                createCell(row, 12, item.getUserName(), dataStyle);
-                createHyperlinkCell(workbook, row, 13, item.getDokumenPath(), hyperlinkStyle);
-                
-                rowNum++;
-            }
-            
-            // Auto-size columns
-            autoSizeColumns(sheet, headers.length);
 
-            // Ensure 'Nama FS2' column is at least as wide as 'Nama Aplikasi'
-            ensureNamaFs2ColumnWidth(sheet, 1, 3, "Failed to adjust Nama FS2 column width, continuing with auto-sized widths");
+        return outputStream -> {
+            try (StreamingExcelWriter writer = new StreamingExcelWriter("Semua F.S.2")) {
+                Styles styles = createStyles(writer.getWorkbook());
 
-            // Apply custom width adjustments for 'Semua F.S.2' export per request
-            applyCustomColumnWidths(sheet, new int[][]{{0,2000},{2,3500},{3,15000}});
+                // Create header row
+                // Move 'Kode Aplikasi' after 'Nama Aplikasi' and place 'Nama FS2' after it
+                String[] headers = {
+                    "No", "Nama Aplikasi", "Kode Aplikasi", "Nama FS2", "SKPA", "Bidang",
+                    "Status Tahapan", "Target Pengujian", "Target Deployment", "Target Go Live",
+                    "Status", "Tanggal Pengajuan", "User Pembuat", "Dokumen FS2"
+                };
 
-            return writeWorkbookToStream(workbook);
-            
-        } catch (IOException e) {
-            log.error("Error creating Excel file for all F.S.2", e);
-            throw new RuntimeException("Gagal membuat file Excel", e);
-        }
+                createHeaderRow(writer, headers, styles.headerStyle);
+
+                // Read and write data page by page so only one page is held in memory
+                int rowNum = 1;
+                int pageNumber = 0;
+                Page<Fs2DocumentResponse> page;
+                do {
+                    page = fs2Service.search(search, aplikasiId, bidangId, statusTahapan, skpaId, status, year, startMonth, endMonth,
+                            exportPage(pageNumber++), userDepartment, canSeeAll);
+                    for (Fs2DocumentResponse item : page.getContent()) {
+                        Row row = writer.createRow(rowNum);
+
+                        createCell(writer, row, 0, rowNum, styles.dataStyle);
+                        createCell(writer, row, 1, item.getNamaAplikasi(), styles.dataStyle);
+                        // Kode Aplikasi moved to column 2
+                        createCell(writer, row, 2, item.getKodeAplikasi(), styles.dataStyle);
+                        // Nama FS2 moved to column 3
+                        createCell(writer, row, 3, item.getNamaFs2(), styles.dataStyle);
+                        // SKPA display
+                        createCell(writer, row, 4, buildSkpaDisplay(item), styles.dataStyle);
+                        // Bidang
+                        createCell(writer, row, 5, item.getNamaBidang(), styles.dataStyle);
+                        createCell(writer, row, 6, formatStatusTahapan(item.getStatusTahapan()), styles.dataStyle);
+                        createCell(writer, row, 7, formatMonthYear(item.getTargetPengujian()), styles.dateStyle);
+                        createCell(writer, row, 8, formatMonthYear(item.getTargetDeployment()), styles.dateStyle);
+                        createCell(writer, row, 9, formatMonthYear(item.getTargetGoLive()), styles.dateStyle);
+                        createCell(writer, row, 10, formatStatus(item.getStatus()), styles.dataStyle);
+                        createCell(writer, row, 11, formatDate(item.getTanggalPengajuan()), styles.dateStyle);
+                        createCell(writer, row, 12, item.getUserName(), styles.dataStyle);
+                        createHyperlinkCell(writer, row, 13, item.getDokumenPath(), styles);
+
+                        rowNum++;
+                    }
+                    // Entity halaman ini sudah dipetakan ke DTO; lepas supaya memori tidak tumbuh per halaman
+                    entityManager.clear();
+                } while (page.hasNext());
+
+                // Size columns from tracked text widths
+                writer.applyColumnWidths(headers.length, MIN_COLUMN_WIDTH, MAX_COLUMN_WIDTH);
+
+                // Ensure 'Nama FS2' column is at least as wide as 'Nama Aplikasi'
+                ensureNamaFs2ColumnWidth(writer.getSheet(), 1, 3, "Failed to adjust Nama FS2 column width, continuing with tracked widths");
+
+                // Apply custom width adjustments for 'Semua F.S.2' export per request
+                applyCustomColumnWidths(writer.getSheet(), new int[][]{{0,2000},{2,3500},{3,15000}});
+
+                writer.write(outputStream);
+                log.info("Exported {} F.S.2 records to Excel", rowNum - 1);
+            }
+        };
     }
 
     @Override
-    public ByteArrayOutputStream exportApprovedFs2ToExcel(
+    public StreamingResponseBody exportApprovedFs2ToExcel(
             String search, UUID bidangId, UUID skpaId, String progres,
             String fasePengajuan, String mekanisme, String pelaksanaan,
             Integer year, Integer startMonth, Integer endMonth,
             String userDepartment, boolean canSeeAll) {
-        
-        // Fetch all data (no pagination for export)
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
+
         Fs2ApprovedSearchFilter filter = Fs2ApprovedSearchFilter.builder()
                 .search(search)
                 .bidangId(bidangId)
@@ -124,146 +128,123 @@ public class Fs2ExcelExportServiceImpl implements Fs2ExcelExportService {
                 .startMonth(startMonth)
                 .endMonth(endMonth)
                 .build();
-        List<Fs2DocumentResponse> data = fs2Service.searchApproved(filter, pageable, userDepartment, canSeeAll).getContent();
-        
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Monitoring F.S.2");
-            
-            // Create styles
-            Styles styles = createStyles(workbook);
-            CellStyle headerStyle = styles.headerStyle;
-            CellStyle dataStyle = styles.dataStyle;
-            CellStyle dateStyle = styles.dateStyle;
-            CellStyle hyperlinkStyle = styles.hyperlinkStyle;
-            
-            // Create header row for Monitoring F.S.2
-            // Removed "Bidang" column and moved "Kode Aplikasi" after "Nama Aplikasi"
-            String[] headers = {
-                "No", "Nama Aplikasi", "Kode Aplikasi", "Nama FS2", "SKPA",
-                "Progres", "Status Progres",
-                "Fase Pengajuan", "IKU", "Mekanisme", "Pelaksanaan",
-                "PIC", "Anggota Tim",
-                "Nomor ND", "Nomor CD",
-                "Target Pengujian", "Realisasi Pengujian",
-                "Target Deployment", "Realisasi Deployment",
-                "Target Go Live", "Keterangan",
-                "Berkas ND", "Tanggal Berkas ND",
-                "Berkas F.S.2", "Tgl Berkas FS2",
-                "Berkas CD Prinsip", "Tanggal Berkas CD Prinsip Persetujuan FS2",
-                "Berkas F.S.2A", "Tgl Berkas FS2A",
-                "Berkas F.S.2B", "Tgl Berkas FS2B",
-                "Berkas F45", "Tgl Berkas F45", "Berkas F46", "Tgl Berkas F46",
-                "Berkas ND/BA", "Tgl Berkas NDBA"
-            };
-            
-            createHeaderRow(sheet, headers, headerStyle);
-            
-            // Create data rows
-            int rowNum = 1;
-            for (Fs2DocumentResponse item : data) {
-                Row row = sheet.createRow(rowNum);
-                
-                createCell(row, 0, rowNum, dataStyle);
-                createCell(row, 1, item.getNamaAplikasi(), dataStyle);
-                // Move Kode Aplikasi to after Nama Aplikasi (index 2)
-                createCell(row, 2, item.getKodeAplikasi(), dataStyle);
-                // Nama FS2 moves to index 3
-                createCell(row, 3, item.getNamaFs2(), dataStyle);
-                // SKPA display
-                createCell(row, 4, buildSkpaDisplay(item), dataStyle);
-                // Derive progress display: prefer explicit progres field, otherwise infer from tahapan statuses
-                createCell(row, 5, deriveProgresDisplay(item), dataStyle);
-                createCell(row, 6, formatProgresStatus(item.getProgresStatus()), dataStyle);
-                createCell(row, 7, formatFasePengajuan(item.getFasePengajuan()), dataStyle);
-                createCell(row, 8, formatIku(item.getIku()), dataStyle);
-                createCell(row, 9, formatMekanisme(item.getMekanisme()), dataStyle);
-                createCell(row, 10, formatPelaksanaan(item), dataStyle);
-                createCell(row, 11, item.getPicName(), dataStyle);
-                createCell(row, 12, item.getAnggotaTimNames(), dataStyle);
-                createCell(row, 13, item.getNomorNd(), dataStyle);
-                createCell(row, 14, item.getNomorCd(), dataStyle);
-                createCell(row, 15, formatMonthYear(item.getTargetPengujian()), dateStyle);
-                createCell(row, 16, formatMonthYear(item.getRealisasiPengujian()), dateStyle);
-                createCell(row, 17, formatMonthYear(item.getTargetDeployment()), dateStyle);
-                createCell(row, 18, formatMonthYear(item.getRealisasiDeployment()), dateStyle);
-                createCell(row, 19, formatMonthYear(item.getTargetGoLive()), dateStyle);
-                createCell(row, 20, item.getKeterangan(), dataStyle);
-                createHyperlinkCell(workbook, row, 21, item.getBerkasNd(), hyperlinkStyle);
-                createCell(row, 22, formatDate(item.getTanggalNd()), dateStyle);
-                createHyperlinkCell(workbook, row, 23, item.getBerkasFs2(), hyperlinkStyle);
-                createCell(row, 24, formatDate(item.getTanggalBerkasFs2()), dateStyle);
-                createHyperlinkCell(workbook, row, 25, item.getBerkasCd(), hyperlinkStyle);
-                createCell(row, 26, formatDate(item.getTanggalCd()), dateStyle);
-                createHyperlinkCell(workbook, row, 27, item.getBerkasFs2a(), hyperlinkStyle);
-                createCell(row, 28, formatDate(item.getTanggalBerkasFs2a()), dateStyle);
-                createHyperlinkCell(workbook, row, 29, item.getBerkasFs2b(), hyperlinkStyle);
-                createCell(row, 30, formatDate(item.getTanggalBerkasFs2b()), dateStyle);
-                createHyperlinkCell(workbook, row, 31, item.getBerkasF45(), hyperlinkStyle);
-                createCell(row, 32, formatDate(item.getTanggalBerkasF45()), dateStyle);
-                createHyperlinkCell(workbook, row, 33, item.getBerkasF46(), hyperlinkStyle);
-                createCell(row, 34, formatDate(item.getTanggalBerkasF46()), dateStyle);
-                createHyperlinkCell(workbook, row, 35, item.getBerkasNdBaDeployment(), hyperlinkStyle);
-                createCell(row, 36, formatDate(item.getTanggalBerkasNdBa()), dateStyle);
-                
-                rowNum++;
-            }
-            
-            // Auto-size columns
-            autoSizeColumns(sheet, headers.length);
 
-            // Ensure 'Nama FS2' column is at least as wide as 'Nama Aplikasi'
-            ensureNamaFs2ColumnWidth(sheet, 1, 2, "Failed to adjust Nama FS2 column width for approved export, continuing with auto-sized widths");
+        return outputStream -> {
+            try (StreamingExcelWriter writer = new StreamingExcelWriter("Monitoring F.S.2")) {
+                Styles styles = createStyles(writer.getWorkbook());
 
-            // Apply custom column width adjustments per request
-            applyCustomColumnWidths(sheet, new int[][]{{0,2000},{2,3500},{3,15000},{26,2000}});
+                // Create header row for Monitoring F.S.2
+                // Removed "Bidang" column and moved "Kode Aplikasi" after "Nama Aplikasi"
+                String[] headers = {
+                    "No", "Nama Aplikasi", "Kode Aplikasi", "Nama FS2", "SKPA",
+                    "Progres", "Status Progres",
+                    "Fase Pengajuan", "IKU", "Mekanisme", "Pelaksanaan",
+                    "PIC", "Anggota Tim",
+                    "Nomor ND", "Nomor CD",
+                    "Target Pengujian", "Realisasi Pengujian",
+                    "Target Deployment", "Realisasi Deployment",
+                    "Target Go Live", "Keterangan",
+                    "Berkas ND", "Tanggal Berkas ND",
+                    "Berkas F.S.2", "Tgl Berkas FS2",
+                    "Berkas CD Prinsip", "Tanggal Berkas CD Prinsip Persetujuan FS2",
+                    "Berkas F.S.2A", "Tgl Berkas FS2A",
+                    "Berkas F.S.2B", "Tgl Berkas FS2B",
+                    "Berkas F45", "Tgl Berkas F45", "Berkas F46", "Tgl Berkas F46",
+                    "Berkas ND/BA", "Tgl Berkas NDBA"
+                };
 
-            return writeWorkbookToStream(workbook);
-            
-        } catch (IOException e) {
-            log.error("Error creating Excel file for approved F.S.2", e);
-            throw new RuntimeException("Gagal membuat file Excel", e);
-        }
+                createHeaderRow(writer, headers, styles.headerStyle);
+
+                // Read and write data page by page so only one page is held in memory
+                int rowNum = 1;
+                int pageNumber = 0;
+                Page<Fs2DocumentResponse> page;
+                do {
+                    page = fs2Service.searchApproved(filter, exportPage(pageNumber++), userDepartment, canSeeAll);
+                    for (Fs2DocumentResponse item : page.getContent()) {
+                        Row row = writer.createRow(rowNum);
+
+                        createCell(writer, row, 0, rowNum, styles.dataStyle);
+                        createCell(writer, row, 1, item.getNamaAplikasi(), styles.dataStyle);
+                        // Move Kode Aplikasi to after Nama Aplikasi (index 2)
+                        createCell(writer, row, 2, item.getKodeAplikasi(), styles.dataStyle);
+                        // Nama FS2 moves to index 3
+                        createCell(writer, row, 3, item.getNamaFs2(), styles.dataStyle);
+                        // SKPA display
+                        createCell(writer, row, 4, buildSkpaDisplay(item), styles.dataStyle);
+                        // Derive progress display: prefer explicit progres field, otherwise infer from tahapan statuses
+                        createCell(writer, row, 5, deriveProgresDisplay(item), styles.dataStyle);
+                        createCell(writer, row, 6, formatProgresStatus(item.getProgresStatus()), styles.dataStyle);
+                        createCell(writer, row, 7, formatFasePengajuan(item.getFasePengajuan()), styles.dataStyle);
+                        createCell(writer, row, 8, formatIku(item.getIku()), styles.dataStyle);
+                        createCell(writer, row, 9, formatMekanisme(item.getMekanisme()), styles.dataStyle);
+                        createCell(writer, row, 10, formatPelaksanaan(item), styles.dataStyle);
+                        createCell(writer, row, 11, item.getPicName(), styles.dataStyle);
+                        createCell(writer, row, 12, item.getAnggotaTimNames(), styles.dataStyle);
+                        createCell(writer, row, 13, item.getNomorNd(), styles.dataStyle);
+                        createCell(writer, row, 14, item.getNomorCd(), styles.dataStyle);
+                        createCell(writer, row, 15, formatMonthYear(item.getTargetPengujian()), styles.dateStyle);
+                        createCell(writer, row, 16, formatMonthYear(item.getRealisasiPengujian()), styles.dateStyle);
+                        createCell(writer, row, 17, formatMonthYear(item.getTargetDeployment()), styles.dateStyle);
+                        createCell(writer, row, 18, formatMonthYear(item.getRealisasiDeployment()), styles.dateStyle);
+                        createCell(writer, row, 19, formatMonthYear(item.getTargetGoLive()), styles.dateStyle);
+                        createCell(writer, row, 20, item.getKeterangan(), styles.dataStyle);
+                        createHyperlinkCell(writer, row, 21, item.getBerkasNd(), styles);
+                        createCell(writer, row, 22, formatDate(item.getTanggalNd()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 23, item.getBerkasFs2(), styles);
+                        createCell(writer, row, 24, formatDate(item.getTanggalBerkasFs2()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 25, item.getBerkasCd(), styles);
+                        createCell(writer, row, 26, formatDate(item.getTanggalCd()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 27, item.getBerkasFs2a(), styles);
+                        createCell(writer, row, 28, formatDate(item.getTanggalBerkasFs2a()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 29, item.getBerkasFs2b(), styles);
+                        createCell(writer, row, 30, formatDate(item.getTanggalBerkasFs2b()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 31, item.getBerkasF45(), styles);
+                        createCell(writer, row, 32, formatDate(item.getTanggalBerkasF45()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 33, item.getBerkasF46(), styles);
+                        createCell(writer, row, 34, formatDate(item.getTanggalBerkasF46()), styles.dateStyle);
+                        createHyperlinkCell(writer, row, 35, item.getBerkasNdBaDeployment(), styles);
+                        createCell(writer, row, 36, formatDate(item.getTanggalBerkasNdBa()), styles.dateStyle);
+
+                        rowNum++;
+                    }
+                    // Entity halaman ini sudah dipetakan ke DTO; lepas supaya memori tidak tumbuh per halaman
+                    entityManager.clear();
+                } while (page.hasNext());
+
+                // Size columns from tracked text widths
+                writer.applyColumnWidths(headers.length, MIN_COLUMN_WIDTH, MAX_COLUMN_WIDTH);
+
+                // Ensure 'Nama FS2' column is at least as wide as 'Nama Aplikasi'
+                ensureNamaFs2ColumnWidth(writer.getSheet(), 1, 2, "Failed to adjust Nama FS2 column width for approved export, continuing with tracked widths");
+
+                // Apply custom column width adjustments per request
+                applyCustomColumnWidths(writer.getSheet(), new int[][]{{0,2000},{2,3500},{3,15000},{26,2000}});
+
+                writer.write(outputStream);
+                log.info("Exported {} approved F.S.2 records to Excel", rowNum - 1);
+            }
+        };
     }
-    
+
     // ==================== Helper Methods ====================
     
     /**
      * Create header row with styling
      */
-    private void createHeaderRow(Sheet sheet, String[] headers, CellStyle headerStyle) {
-        Row headerRow = sheet.createRow(0);
+    private void createHeaderRow(StreamingExcelWriter writer, String[] headers, CellStyle headerStyle) {
+        Row headerRow = writer.createRow(0);
         headerRow.setHeightInPoints(25);
         for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-    }
-    
-    /**
-     * Auto-size columns with min and max width constraints
-     */
-    private void autoSizeColumns(Sheet sheet, int columnCount) {
-        for (int i = 0; i < columnCount; i++) {
-            sheet.autoSizeColumn(i);
-            // Set minimum width for readability
-            if (sheet.getColumnWidth(i) < 3000) {
-                sheet.setColumnWidth(i, 3000);
-            }
-            // Set maximum width to prevent very wide columns
-            if (sheet.getColumnWidth(i) > 15000) {
-                sheet.setColumnWidth(i, 15000);
-            }
+            writer.writeCell(headerRow, i, headers[i], headerStyle);
         }
     }
     
     /**
-     * Write workbook to ByteArrayOutputStream
+     * Page request for reading export data in chunks; id tie-breaks createdAt so pages never overlap
      */
-    private ByteArrayOutputStream writeWorkbookToStream(Workbook workbook) throws IOException {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        workbook.write(outputStream);
-        return outputStream;
+    private Pageable exportPage(int pageNumber) {
+        return PageRequest.of(pageNumber, EXPORT_PAGE_SIZE, Sort.by("id"));
     }
 
     // Helper holder for styles to avoid creating duplicate style setup code
@@ -324,39 +305,26 @@ public class Fs2ExcelExportServiceImpl implements Fs2ExcelExportService {
         }
     }
     
-    private void createCell(Row row, int col, Object value, CellStyle style) {
-        Cell cell = row.createCell(col);
-        if (value == null) {
-            cell.setCellValue("-");
-        } else if (value instanceof Number) {
-            cell.setCellValue(((Number) value).doubleValue());
-        } else {
-            cell.setCellValue(String.valueOf(value));
-        }
-        cell.setCellStyle(style);
+    private void createCell(StreamingExcelWriter writer, Row row, int col, Object value, CellStyle style) {
+        writer.writeCell(row, col, value != null ? value : "-", style);
     }
     
     /**
      * Create a hyperlink cell for URLs
      */
-    private void createHyperlinkCell(Workbook workbook, Row row, int col, String url, CellStyle hyperlinkStyle) {
-        Cell cell = row.createCell(col);
-        
+    private void createHyperlinkCell(StreamingExcelWriter writer, Row row, int col, String url, Styles styles) {
         if (url == null || url.trim().isEmpty()) {
-            cell.setCellValue("-");
             // Use regular data style for empty cells
-            CellStyle dataStyle = createDataStyle(workbook);
-            cell.setCellStyle(dataStyle);
+            writer.writeCell(row, col, "-", styles.dataStyle);
         } else {
             // Create hyperlink
-            CreationHelper creationHelper = workbook.getCreationHelper();
+            CreationHelper creationHelper = writer.getWorkbook().getCreationHelper();
             Hyperlink hyperlink = creationHelper.createHyperlink(HyperlinkType.URL);
             hyperlink.setAddress(url);
-            
+
             // Set cell value and hyperlink
-            cell.setCellValue("Download File");
+            Cell cell = writer.writeCell(row, col, "Download File", styles.hyperlinkStyle);
             cell.setHyperlink(hyperlink);
-            cell.setCellStyle(hyperlinkStyle);
         }
     }
     
@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.domain.dto.FileDownload;
 import com.pcs8.orientasi.domain.dto.response.Fs2FileResponse;
 import com.pcs8.orientasi.domain.entity.Fs2Document;
 import com.pcs8.orientasi.domain.entity.Fs2File;
@@ -15,13 +16,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -157,53 +158,51 @@ public class Fs2FileServiceImpl implements Fs2FileService {
         List<Fs2File> tempFiles = fs2FileRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
         List<Fs2FileResponse> responses = new ArrayList<>();
 
+        // Plan the new blob names, then copy all blobs server-side in parallel
+        Map<String, String> moves = new LinkedHashMap<>();
         for (Fs2File tempFile : tempFiles) {
-            try {
-                // Move blob from temp to permanent location
-                String oldBlobName = tempFile.getBlobName();
-                String extension = extractExtension(tempFile.getOriginalName());
-                // Use FS2 ID for file naming
-                String newBlobName = String.format("%s%s%s",
-                        FS2_PREFIX,
-                        fs2Id,
-                        extension);
-
-                // Download from old location
-                InputStream inputStream = minioService.downloadFile(oldBlobName);
-                
-                // Upload to new location
-                String newFileUrl = minioService.uploadFile(
-                    inputStream,
-                    newBlobName,
-                    tempFile.getContentType(),
-                    tempFile.getFileSize()
-                );
-
-                // Delete old blob
-                if (minioService.fileExists(oldBlobName)) {
-                    minioService.deleteFile(oldBlobName);
-                }
-
-                // Update database record
-                tempFile.setFs2Document(fs2Document);
-                tempFile.setBlobName(newBlobName);
-                tempFile.setFileName(newBlobName);
-                tempFile.setBlobUrl(newFileUrl);
-                tempFile.setSessionId(null); // Clear session ID
-                tempFile = fs2FileRepository.save(tempFile);
-
-                // Update berkas field in fs2_document
-                updateBerkasField(fs2Document, tempFile.getFileType());
-
-                responses.add(mapToResponse(tempFile));
-                log.info("Moved temp file to permanent location successfully");
-
-            } catch (Exception e) {
-                log.error("Failed to move temp file to permanent. Error: {}", e.getMessage(), e);
-                throw new IllegalStateException("Failed to move temp file to permanent storage", e);
-            }
+            String extension = extractExtension(tempFile.getOriginalName());
+            // Use FS2 ID and fileType for file naming; unique suffix keeps parallel copies from colliding
+            String newBlobName = String.format("%s%s_%s_%s%s",
+                    FS2_PREFIX,
+                    fs2Id,
+                    tempFile.getFileType(),
+                    UUID.randomUUID(),
+                    extension);
+            moves.put(tempFile.getBlobName(), newBlobName);
         }
 
+        Map<String, String> newFileUrls;
+        try {
+            newFileUrls = minioService.copyFiles(moves);
+            // Copies are only referenced once this transaction commits
+            minioService.deleteFilesOnRollback(moves.values());
+        } catch (Exception e) {
+            log.error("Failed to move temp file to permanent. Error: {}", e.getMessage(), e);
+            throw new IllegalStateException("Failed to move temp file to permanent storage", e);
+        }
+
+        for (Fs2File tempFile : tempFiles) {
+            String newBlobName = moves.get(tempFile.getBlobName());
+
+            // Update database record
+            tempFile.setFs2Document(fs2Document);
+            tempFile.setBlobName(newBlobName);
+            tempFile.setFileName(newBlobName);
+            tempFile.setBlobUrl(newFileUrls.get(newBlobName));
+            tempFile.setSessionId(null); // Clear session ID
+            tempFile = fs2FileRepository.save(tempFile);
+
+            // Update berkas field in fs2_document
+            updateBerkasField(fs2Document, tempFile.getFileType());
+
+            responses.add(mapToResponse(tempFile));
+        }
+
+        // Old temp blobs are removed in one batch, only once the new locations are committed
+        minioService.deleteFilesAfterCommit(moves.keySet());
+        log.info("Moved {} temp files to permanent location successfully", tempFiles.size());
+
         return responses;
     }
 
@@ -212,12 +211,8 @@ public class Fs2FileServiceImpl implements Fs2FileService {
     public void deleteTempFiles(String sessionId) {
         List<Fs2File> tempFiles = fs2FileRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
 
-        for (Fs2File file : tempFiles) {
-            if (file.getBlobName() != null && minioService.fileExists(file.getBlobName())) {
-                minioService.deleteFile(file.getBlobName());
-            }
-            fs2FileRepository.delete(file);
-        }
+        fs2FileRepository.deleteAll(tempFiles);
+        minioService.deleteFilesAfterCommit(tempFiles.stream().map(Fs2File::getBlobName).toList());
 
         log.info("Deleted temp files successfully");
     }
@@ -366,11 +361,7 @@ public class Fs2FileServiceImpl implements Fs2FileService {
     public void deleteFilesByFs2Id(UUID fs2Id) {
         List<Fs2File> files = fs2FileRepository.findByFs2DocumentId(fs2Id);
         
-        for (Fs2File file : files) {
-            if (file.getBlobName() != null && minioService.fileExists(file.getBlobName())) {
-                minioService.deleteFile(file.getBlobName());
-            }
-        }
+        minioService.deleteFilesAfterCommit(files.stream().map(Fs2File::getBlobName).toList());
 
         fs2FileRepository.deleteByFs2DocumentId(fs2Id);
         log.info("Deleted all files for F.S.2 document successfully");
@@ -384,22 +375,10 @@ public class Fs2FileServiceImpl implements Fs2FileService {
     }
 
     @Override
-    public byte[] downloadFile(UUID fileId) {
+    public FileDownload downloadFile(UUID fileId) {
         Fs2File fs2File = fs2FileRepository.findById(fileId)
                 .orElseThrow(() -> new ResourceNotFoundException(FILE_NOT_FOUND_MSG + fileId));
-
-        try (InputStream inputStream = minioService.downloadFile(fs2File.getBlobName());
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            log.error("Failed to download file. Error: {}", e.getMessage(), e);
-            throw new IllegalStateException("Failed to download file", e);
-        }
+        return toFileDownload(fs2File, fs2File.getOriginalName() != null ? fs2File.getOriginalName() : "download");
     }
 
     @Override
@@ -483,7 +462,7 @@ public class Fs2FileServiceImpl implements Fs2FileService {
     }
 
     @Override
-    public byte[] downloadFileVersion(UUID fs2Id, String fileType, Integer version) {
+    public FileDownload downloadFileVersion(UUID fs2Id, String fileType, Integer version) {
         List<Fs2File> files = fs2FileRepository.findByFs2DocumentIdAndFileTypeOrderByVersionDesc(fs2Id, fileType);
         Fs2File targetFile = files.stream()
                 .filter(f -> f.getVersion().equals(version))
@@ -491,22 +470,23 @@ public class Fs2FileServiceImpl implements Fs2FileService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         String.format("File not found for FS2 %s, type %s, version %d", fs2Id, fileType, version)));
         
-        return downloadFileContent(targetFile);
+        String fileName = targetFile.getDisplayName() != null ? targetFile.getDisplayName() : targetFile.getOriginalName();
+        return toFileDownload(targetFile, fileName);
     }
 
-    private byte[] downloadFileContent(Fs2File fs2File) {
-        try (InputStream inputStream = minioService.downloadFile(fs2File.getBlobName());
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            log.error("Failed to download file. Error: {}", e.getMessage(), e);
-            throw new IllegalStateException("Failed to download file", e);
-        }
+    /**
+     * Describe a stored file for streaming. The Minio stream is only opened when the
+     * response body is written; the ETag is derived from the file ID and stored version.
+     */
+    private FileDownload toFileDownload(Fs2File fs2File, String fileName) {
+        String blobName = fs2File.getBlobName();
+        return FileDownload.builder()
+                .fileName(fileName)
+                .contentType(fs2File.getContentType())
+                .contentLength(fs2File.getFileSize())
+                .etag(fs2File.getId() + "-v" + (fs2File.getVersion() != null ? fs2File.getVersion() : 1))
+                .opener((offset, length) -> minioService.downloadFile(blobName, offset, length))
+                .build();
     }
 
     /**
@@ -28,6 +28,7 @@ import com.pcs8.orientasi.service.AuditService;
 import com.pcs8.orientasi.service.Fs2ChangelogService;
 import com.pcs8.orientasi.service.Fs2FileService;
 import com.pcs8.orientasi.service.Fs2Service;
+import com.pcs8.orientasi.service.MasterDataService;
 import com.pcs8.orientasi.service.MinioService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -38,8 +39,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.Locale;
@@ -52,6 +57,7 @@ public class Fs2ServiceImpl implements Fs2Service {
     private static final Logger log = LoggerFactory.getLogger(Fs2ServiceImpl.class);
     private static final String ENTITY_NAME = "Fs2Document";
     private static final String NOT_FOUND_WITH_ID = " not found with id: ";
+    private static final int ATTACHMENT_QUERY_CHUNK_SIZE = 1000;
 
     private final Fs2DocumentRepository fs2Repository;
     private final Fs2FileRepository fs2FileRepository;
@@ -59,6 +65,7 @@ public class Fs2ServiceImpl implements Fs2Service {
     private final MstAplikasiRepository aplikasiRepository;
     private final MstBidangRepository bidangRepository;
     private final MstSkpaRepository skpaRepository;
+    private final MasterDataService masterDataService;
     private final MstUserRepository userRepository;
     private final TeamRepository teamRepository;
     private final PksiDocumentRepository pksiDocumentRepository;
@@ -181,10 +188,7 @@ public class Fs2ServiceImpl implements Fs2Service {
 
     @Override
     public List<Fs2DocumentResponse> getAll() {
-        return fs2Repository.findAllByOrderByCreatedAtDesc()
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return mapListToResponse(fs2Repository.findAllByOrderByCreatedAtDesc());
     }
 
     @Override
@@ -194,8 +198,7 @@ public class Fs2ServiceImpl implements Fs2Service {
         // Admin/Pengembang can see all documents
         if (canSeeAll) {
             log.info("User can see all - fetching all F.S.2 documents with bidang filter: {}, year: {}, month range: {}-{}", bidangId, year, startMonth, endMonth);
-            return fs2Repository.searchFs2DocumentsWithYearAndMonth(search, bidangId, aplikasiId, statusTahapan, skpaId, status, year, startMonth, endMonth, pageable)
-                .map(this::mapToResponse);
+            return mapPageToResponse(fs2Repository.searchFs2DocumentsWithYearAndMonth(search, bidangId, aplikasiId, statusTahapan, skpaId, status, year, startMonth, endMonth, pageable));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -208,11 +211,10 @@ public class Fs2ServiceImpl implements Fs2Service {
         log.info("User is SKPA - filtering F.S.2 by department: '{}' and year: {}, month range: {}-{}", userDepartment, year, startMonth, endMonth);
         
         // Find SKPA UUID for the user's department
-        Optional<MstSkpa> userSkpa = skpaRepository.findByKodeSkpa(userDepartment.trim().toUpperCase());
+        Optional<MstSkpa> userSkpa = masterDataService.findSkpaByKode(userDepartment.trim().toUpperCase());
             if (userSkpa.isPresent()) {
             log.info("Found SKPA for department '{}': UUID = {}", userDepartment, userSkpa.get().getId());
-            return fs2Repository.searchFs2DocumentsByDepartmentWithYearAndMonth(search, bidangId, aplikasiId, statusTahapan, status, userDepartment.trim(), year, startMonth, endMonth, pageable)
-                .map(this::mapToResponse);
+            return mapPageToResponse(fs2Repository.searchFs2DocumentsByDepartmentWithYearAndMonth(search, bidangId, aplikasiId, statusTahapan, status, userDepartment.trim(), year, startMonth, endMonth, pageable));
         } else {
             log.warn("No SKPA found for department '{}' - user will see no F.S.2", userDepartment);
             return Page.empty(pageable);
@@ -225,10 +227,7 @@ public class Fs2ServiceImpl implements Fs2Service {
         
         // Admin/Pengembang can see all documents
         if (canSeeAll) {
-            return fs2Repository.searchFs2DocumentsList(search, bidangId, skpaId, status)
-                    .stream()
-                    .map(this::mapToResponse)
-                    .toList();
+            return mapListToResponse(fs2Repository.searchFs2DocumentsList(search, bidangId, skpaId, status));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -238,12 +237,9 @@ public class Fs2ServiceImpl implements Fs2Service {
         }
         
         // SKPA users only see documents where SKPA kode matches their department
-        Optional<MstSkpa> userSkpa = skpaRepository.findByKodeSkpa(userDepartment.trim().toUpperCase());
+        Optional<MstSkpa> userSkpa = masterDataService.findSkpaByKode(userDepartment.trim().toUpperCase());
         if (userSkpa.isPresent()) {
-            return fs2Repository.searchFs2DocumentsListByDepartment(search, bidangId, status, userDepartment.trim())
-                    .stream()
-                    .map(this::mapToResponse)
-                    .toList();
+            return mapListToResponse(fs2Repository.searchFs2DocumentsListByDepartment(search, bidangId, status, userDepartment.trim()));
         } else {
             return Collections.emptyList();
         }
@@ -259,8 +255,7 @@ public class Fs2ServiceImpl implements Fs2Service {
         
         // Admin/Pengembang can see all documents
         if (canSeeAll) {
-            return fs2Repository.searchApprovedFs2Documents(filter, pageable)
-                    .map(this::mapToResponse);
+            return mapPageToResponse(fs2Repository.searchApprovedFs2Documents(filter, pageable));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -270,10 +265,9 @@ public class Fs2ServiceImpl implements Fs2Service {
         }
         
         // SKPA users only see approved documents where SKPA kode matches their department
-        Optional<MstSkpa> userSkpa = skpaRepository.findByKodeSkpa(userDepartment.trim().toUpperCase());
+        Optional<MstSkpa> userSkpa = masterDataService.findSkpaByKode(userDepartment.trim().toUpperCase());
         if (userSkpa.isPresent()) {
-            return fs2Repository.searchApprovedFs2DocumentsByDepartment(filter, userDepartment.trim(), pageable)
-                    .map(this::mapToResponse);
+            return mapPageToResponse(fs2Repository.searchApprovedFs2DocumentsByDepartment(filter, userDepartment.trim(), pageable));
         } else {
             return Page.empty(pageable);
         }
@@ -670,27 +664,72 @@ public class Fs2ServiceImpl implements Fs2Service {
     }
 
     private Fs2DocumentResponse mapToResponse(Fs2Document document) {
-        // Query latest file dates for ND and CD to derive tanggal_nd and tanggal_cd
-        LocalDate latestNdFileDate = null;
-        LocalDate latestCdFileDate = null;
-        
-        if (document.getId() != null) {
-            // Get latest ND file date
-            Optional<Fs2File> latestNdFile = fs2FileRepository.findFirstByFs2DocumentIdAndFileTypeOrderByVersionDesc(
-                document.getId(), "ND"
-            );
-            if (latestNdFile.isPresent() && latestNdFile.get().getTanggalDokumen() != null) {
-                latestNdFileDate = latestNdFile.get().getTanggalDokumen();
+        if (document.getId() == null) {
+            return mapToResponse(document, DocumentAttachments.EMPTY);
+        }
+        return mapToResponse(document, loadAttachments(List.of(document)).getOrDefault(document.getId(), DocumentAttachments.EMPTY));
+    }
+
+    private List<Fs2DocumentResponse> mapListToResponse(List<Fs2Document> documents) {
+        Map<UUID, DocumentAttachments> attachments = loadAttachments(documents);
+        return documents.stream()
+                .map(document -> mapToResponse(document, attachments.getOrDefault(document.getId(), DocumentAttachments.EMPTY)))
+                .toList();
+    }
+
+    private Page<Fs2DocumentResponse> mapPageToResponse(Page<Fs2Document> page) {
+        Map<UUID, DocumentAttachments> attachments = loadAttachments(page.getContent());
+        return page.map(document -> mapToResponse(document, attachments.getOrDefault(document.getId(), DocumentAttachments.EMPTY)));
+    }
+
+    /**
+     * Load latest files (one per file type) and timelines for a batch of documents.
+     * Uses one query per table per chunk instead of ~11 queries per document.
+     */
+    private Map<UUID, DocumentAttachments> loadAttachments(List<Fs2Document> documents) {
+        List<UUID> ids = documents.stream()
+                .map(Fs2Document::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Map<String, Fs2File>> filesByDocument = new HashMap<>();
+        Map<UUID, List<Fs2Timeline>> timelinesByDocument = new HashMap<>();
+
+        // Chunk the IN list to stay well below SQL Server's 2100 parameter limit
+        for (int from = 0; from < ids.size(); from += ATTACHMENT_QUERY_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + ATTACHMENT_QUERY_CHUNK_SIZE, ids.size()));
+
+            for (Fs2File file : fs2FileRepository.findLatestVersionFilesByFs2IdIn(chunk)) {
+                if (file.getFileType() != null) {
+                    filesByDocument.computeIfAbsent(file.getFs2Document().getId(), key -> new HashMap<>())
+                            .putIfAbsent(file.getFileType(), file);
+                }
             }
-            
-            // Get latest CD file date
-            Optional<Fs2File> latestCdFile = fs2FileRepository.findFirstByFs2DocumentIdAndFileTypeOrderByVersionDesc(
-                document.getId(), "CD"
-            );
-            if (latestCdFile.isPresent() && latestCdFile.get().getTanggalDokumen() != null) {
-                latestCdFileDate = latestCdFile.get().getTanggalDokumen();
+            for (Fs2Timeline timeline : fs2TimelineRepository.findByFs2DocumentIdInOrderByStageAscPhaseAsc(chunk)) {
+                timelinesByDocument.computeIfAbsent(timeline.getFs2Document().getId(), key -> new ArrayList<>())
+                        .add(timeline);
             }
         }
+
+        Map<UUID, DocumentAttachments> result = new HashMap<>();
+        for (UUID id : ids) {
+            result.put(id, new DocumentAttachments(
+                    filesByDocument.getOrDefault(id, Map.of()),
+                    timelinesByDocument.getOrDefault(id, List.of())));
+        }
+        return result;
+    }
+
+    private Fs2DocumentResponse mapToResponse(Fs2Document document, DocumentAttachments attachments) {
+        // Use latest file dates for ND and CD to derive tanggal_nd and tanggal_cd
+        Fs2File latestNdFile = attachments.latestFiles().get("ND");
+        Fs2File latestCdFile = attachments.latestFiles().get("CD");
+        LocalDate latestNdFileDate = latestNdFile != null ? latestNdFile.getTanggalDokumen() : null;
+        LocalDate latestCdFileDate = latestCdFile != null ? latestCdFile.getTanggalDokumen() : null;
         
         Fs2DocumentResponse.Fs2DocumentResponseBuilder builder = Fs2DocumentResponse.builder()
                 .id(document.getId())
@@ -745,34 +784,34 @@ public class Fs2ServiceImpl implements Fs2Service {
                 .teamName(document.getTeam() != null ? document.getTeam().getName() : null)
                 .anggotaTim(document.getAnggotaTim())
                 .anggotaTimNames(document.getAnggotaTimNames())
-                .dokumenPath(getFileUrl(document.getId(), "FS2"))
+                .dokumenPath(getFileUrl(attachments, "FS2"))
                 // Monitoring Fields - Dokumen Pengajuan F.S.2
                 // Use latest file date for tanggalNd instead of storing it separately
                 .nomorNd(document.getNomorNd())
                 .tanggalNd(latestNdFileDate)
-                .berkasNd(getFileUrl(document.getId(), "ND"))
-                .berkasFs2(getFileUrl(document.getId(), "FS2"))
+                .berkasNd(getFileUrl(attachments, "ND"))
+                .berkasFs2(getFileUrl(attachments, "FS2"))
                 .tanggalBerkasFs2(document.getTanggalBerkasFs2())
                 // Monitoring Fields - CD Prinsip
                 // Use latest file date for tanggalCd instead of storing it separately
                 .nomorCd(document.getNomorCd())
                 .tanggalCd(latestCdFileDate)
-                .berkasCd(getFileUrl(document.getId(), "CD"))
-                .berkasFs2a(getFileUrl(document.getId(), "FS2A"))
+                .berkasCd(getFileUrl(attachments, "CD"))
+                .berkasFs2a(getFileUrl(attachments, "FS2A"))
                 .tanggalBerkasFs2a(document.getTanggalBerkasFs2a())
-                .berkasFs2b(getFileUrl(document.getId(), "FS2B"))
+                .berkasFs2b(getFileUrl(attachments, "FS2B"))
                 .tanggalBerkasFs2b(document.getTanggalBerkasFs2b())
                 // Monitoring Fields - Pengujian
                 // Use tanggalPengujianSelesai for realisasiPengujian (Poin 3)
                 .realisasiPengujian(document.getTanggalPengujianSelesai())
-                .berkasF45(getFileUrl(document.getId(), "F45"))
+                .berkasF45(getFileUrl(attachments, "F45"))
                 .tanggalBerkasF45(document.getTanggalBerkasF45())
-                .berkasF46(getFileUrl(document.getId(), "F46"))
+                .berkasF46(getFileUrl(attachments, "F46"))
                 .tanggalBerkasF46(document.getTanggalBerkasF46())
                 // Monitoring Fields - Deployment
                 // Use tanggalDeploymentSelesai for realisasiDeployment (Poin 3)
                 .realisasiDeployment(document.getTanggalDeploymentSelesai())
-                .berkasNdBaDeployment(getFileUrl(document.getId(), "NDBA"))
+                .berkasNdBaDeployment(getFileUrl(attachments, "NDBA"))
                 .tanggalBerkasNdBa(document.getTanggalBerkasNdBa())
                 // Monitoring Fields - Keterangan
                 .keterangan(document.getKeterangan())
@@ -813,8 +852,7 @@ public class Fs2ServiceImpl implements Fs2Service {
         }
 
         // Map timelines for Progres Tahapan tracking
-        List<Fs2Timeline> timelines = fs2TimelineRepository.findByFs2DocumentIdOrderByStageAscPhaseAsc(document.getId());
-        List<Fs2TimelineDto> timelineDtos = timelines.stream()
+        List<Fs2TimelineDto> timelineDtos = attachments.timelines().stream()
                 .map(timeline -> Fs2TimelineDto.builder()
                         .phase(timeline.getPhase())
                         .targetDate(timeline.getTargetDate().toString())
@@ -893,20 +931,22 @@ public class Fs2ServiceImpl implements Fs2Service {
     }
 
     /**
-     * Get the latest file URL for a specific file type.
+     * Get the latest file URL for a specific file type from the preloaded attachments.
      * Returns null if no file exists for the given type.
-     * Generates a fresh presigned URL to ensure it's valid and accessible.
+     * Presigned URLs are served through MinioService, which caches them per blob name.
+     */
+    private String getFileUrl(DocumentAttachments attachments, String fileType) {
+        Fs2File file = attachments.latestFiles().get(fileType);
+        if (file == null || file.getBlobName() == null || file.getBlobName().isEmpty()) {
+            return null;
+        }
+        return minioService.getFileUrl(file.getBlobName());
+    }
+
+    /**
+     * Latest file per file type and timelines of a single F.S.2 document.
      */
-    private String getFileUrl(UUID fs2Id, String fileType) {
-        return fs2FileRepository.findFirstByFs2DocumentIdAndFileTypeOrderByVersionDesc(fs2Id, fileType)
-                .map(file -> {
-                    // Generate fresh presigned URL using blobName
-                    String blobName = file.getBlobName();
-                    if (blobName != null && !blobName.isEmpty()) {
-                        return minioService.getFileUrl(blobName);
-                    }
-                    return null;
-                })
-                .orElse(null);
+    private record DocumentAttachments(Map<String, Fs2File> latestFiles, List<Fs2Timeline> timelines) {
+        private static final DocumentAttachments EMPTY = new DocumentAttachments(Map.of(), List.of());
     }
 }
@@ -1,65 +1,171 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
+import com.pcs8.orientasi.domain.dto.response.LdapStatsResponse;
 import com.pcs8.orientasi.domain.dto.response.LoginResponse.UserInfo;
 import com.pcs8.orientasi.service.LdapService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import javax.naming.AuthenticationException;
 import javax.naming.Context;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.*;
 import java.util.Hashtable;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Autentikasi user ke Active Directory.
+ *
+ * <p>Hanya koneksi service account yang memakai connection pool bawaan JNDI
+ * ({@code com.sun.jndi.ldap.connect.pool}), sehingga pencarian atribut memakai ulang koneksi yang sama.
+ * Bind user selalu membuka koneksi baru tanpa pool: pool JNDI di-key per principal + password dan
+ * memakai ulang koneksi tanpa bind ulang, sehingga akun yang di-disable atau password yang diganti
+ * masih bisa login sampai koneksinya idle timeout. Atribut user di-cache sebentar
+ * ({@link CacheConfig#LDAP_USER_ATTRIBUTES}); hasil bind (password) tidak pernah di-cache, jadi setiap
+ * login tetap diverifikasi ke directory.</p>
+ *
+ * <p>Ukuran dan idle timeout pool adalah system property JVM yang dibaca sekali ketika pool JNDI pertama
+ * kali dipakai, dan berlaku untuk seluruh JVM; aplikasi tidak mengubahnya. Set lewat JVM argument
+ * (lihat {@code JAVA_TOOL_OPTIONS} di Dockerfile), misalnya
+ * {@code -Dcom.sun.jndi.ldap.connect.pool.maxsize=20 -Dcom.sun.jndi.ldap.connect.pool.prefsize=5
+ * -Dcom.sun.jndi.ldap.connect.pool.timeout=300000}. Untuk {@code ldaps://} tambahkan
+ * {@code com.sun.jndi.ldap.connect.pool.protocol="plain ssl"}, karena default JNDI hanya mem-pool
+ * koneksi plain.</p>
+ *
+ * <p>Jika service account tidak dikonfigurasi, pencarian atribut dilakukan di koneksi bind user
+ * seperti sebelumnya.</p>
+ */
 @Service
 public class LdapServiceImpl implements LdapService {
 
     private static final Logger log = LoggerFactory.getLogger(LdapServiceImpl.class);
 
-    @Value("${spring.ldap.urls}")
-    private String ldapUrl;
+    private static final String LDAP_CTX_FACTORY = "com.sun.jndi.ldap.LdapCtxFactory";
+    private static final String POOL_ENV = "com.sun.jndi.ldap.connect.pool";
+    private static final String CONNECT_TIMEOUT_ENV = "com.sun.jndi.ldap.connect.timeout";
+    private static final String READ_TIMEOUT_ENV = "com.sun.jndi.ldap.read.timeout";
+    private static final String[] RETURNING_ATTRIBUTES = {
+            "sAMAccountName",
+            "displayName",
+            "mail",
+            "department",
+            "title",
+            "distinguishedName"
+    };
 
-    @Value("${spring.ldap.base}")
-    private String ldapBase;
+    private final String ldapUrl;
+    private final String ldapBase;
+    private final String userPrincipalFormat;
+    private final String serviceUsername;
+    private final String servicePassword;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final Cache attributeCache;
+
+    private final LongAdder loginCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder loginNanosTotal = new LongAdder();
+    private final AtomicLong maxLoginNanos = new AtomicLong();
+    private volatile long lastLoginNanos;
+    private final LongAdder bindCount = new LongAdder();
+    private final LongAdder bindNanosTotal = new LongAdder();
+    private final AtomicLong maxBindNanos = new AtomicLong();
+    private final LongAdder searchCount = new LongAdder();
+    private final LongAdder searchNanosTotal = new LongAdder();
+    private final AtomicLong maxSearchNanos = new AtomicLong();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public LdapServiceImpl(@Value("${spring.ldap.urls}") String ldapUrl,
+                           @Value("${spring.ldap.base}") String ldapBase,
+                           @Value("${ldap.user-principal-format:%s@devojk.go.id}") String userPrincipalFormat,
+                           @Value("${ldap.service-account.username:}") String serviceUsername,
+                           @Value("${ldap.service-account.password:}") String servicePassword,
+                           @Value("${ldap.connect-timeout-ms:5000}") int connectTimeoutMs,
+                           @Value("${ldap.read-timeout-ms:10000}") int readTimeoutMs,
+                           CacheManager cacheManager) {
+        this.ldapUrl = ldapUrl;
+        this.ldapBase = ldapBase;
+        this.userPrincipalFormat = userPrincipalFormat;
+        this.serviceUsername = serviceUsername;
+        this.servicePassword = servicePassword;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.attributeCache = cacheManager.getCache(CacheConfig.LDAP_USER_ATTRIBUTES);
+    }
 
     @Override
     public UserInfo authenticate(String username, String password) {
         String cleanUsername = extractUsername(username);
-        String userPrincipalName = cleanUsername + "@devojk.go.id";
+        String userPrincipalName = String.format(userPrincipalFormat, cleanUsername);
 
         log.info("Attempting LDAP authentication for user: {}", cleanUsername);
 
-        Hashtable<String, String> env = new Hashtable<>();
-        env.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.ldap.LdapCtxFactory");
-        env.put(Context.PROVIDER_URL, ldapUrl);
-        env.put(Context.SECURITY_AUTHENTICATION, "simple");
-        env.put(Context.SECURITY_PRINCIPAL, userPrincipalName);
-        env.put(Context.SECURITY_CREDENTIALS, password);
-
+        long start = System.nanoTime();
+        boolean success = false;
         DirContext ctx = null;
         try {
-            ctx = new InitialDirContext(env);
+            ctx = bindAsUser(userPrincipalName, password);
             log.info("LDAP authentication successful for user: {}", cleanUsername);
 
-            UserInfo userInfo = fetchUserAttributes(ctx, cleanUsername);
-            return userInfo;
+            UserAttributes attributes = getCachedAttributes(cleanUsername);
+            if (attributes == null) {
+                if (isServiceAccountEnabled()) {
+                    attributes = searchWithServiceAccount(cleanUsername);
+                }
+                if (attributes == null) {
+                    // Tanpa service account, atau pencarian service account gagal: cari lewat koneksi user
+                    attributes = fetchUserAttributes(ctx, cleanUsername);
+                }
+                if (attributes != null) {
+                    attributeCache.put(cacheKey(cleanUsername), attributes);
+                }
+            }
+
+            success = true;
+            return attributes != null ? attributes.toUserInfo() : UserInfo.builder().username(cleanUsername).build();
 
         } catch (NamingException e) {
             log.error("LDAP authentication failed for user: {}. Error: {}", cleanUsername, e.getMessage());
             throw new RuntimeException("Invalid credentials or LDAP connection error", e);
         } finally {
-            if (ctx != null) {
-                try {
-                    ctx.close();
-                } catch (NamingException e) {
-                    log.warn("Error closing LDAP context: {}", e.getMessage());
-                }
-            }
+            closeQuietly(ctx);
+            recordLogin(System.nanoTime() - start, success);
         }
     }
 
+    @Override
+    public LdapStatsResponse getStats() {
+        long logins = loginCount.sum();
+        long binds = bindCount.sum();
+        long searches = searchCount.sum();
+        return LdapStatsResponse.builder()
+                .serviceAccountEnabled(isServiceAccountEnabled())
+                .loginCount(logins)
+                .failedCount(failedCount.sum())
+                .averageLoginMillis(averageMillis(loginNanosTotal.sum(), logins))
+                .maxLoginMillis(TimeUnit.NANOSECONDS.toMillis(maxLoginNanos.get()))
+                .lastLoginMillis(TimeUnit.NANOSECONDS.toMillis(lastLoginNanos))
+                .bindCount(binds)
+                .averageBindMillis(averageMillis(bindNanosTotal.sum(), binds))
+                .maxBindMillis(TimeUnit.NANOSECONDS.toMillis(maxBindNanos.get()))
+                .searchCount(searches)
+                .averageSearchMillis(averageMillis(searchNanosTotal.sum(), searches))
+                .maxSearchMillis(TimeUnit.NANOSECONDS.toMillis(maxSearchNanos.get()))
+                .attributeCacheHitCount(cacheHits.sum())
+                .attributeCacheMissCount(cacheMisses.sum())
+                .build();
+    }
+
     private String extractUsername(String username) {
         // Handle corp/username format
         if (username.contains("/")) {
@@ -72,62 +178,127 @@ public class LdapServiceImpl implements LdapService {
         return username;
     }
 
-    private UserInfo fetchUserAttributes(DirContext ctx, String username) {
+    private boolean isServiceAccountEnabled() {
+        return serviceUsername != null && !serviceUsername.isBlank();
+    }
+
+    private DirContext bindAsUser(String userPrincipalName, String password) throws NamingException {
+        // Password kosong akan menjadi unauthenticated bind yang selalu sukses di AD
+        if (password == null || password.isEmpty()) {
+            throw new AuthenticationException("Empty password");
+        }
+        long start = System.nanoTime();
+        try {
+            return new InitialDirContext(buildEnvironment(userPrincipalName, password, false));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            bindCount.increment();
+            bindNanosTotal.add(elapsed);
+            maxBindNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private UserAttributes searchWithServiceAccount(String username) {
+        DirContext serviceCtx = null;
+        try {
+            serviceCtx = new InitialDirContext(buildEnvironment(serviceUsername, servicePassword, true));
+            return fetchUserAttributes(serviceCtx, username);
+        } catch (NamingException e) {
+            // User sudah berhasil bind; gagalnya service account tidak boleh menggagalkan login
+            log.error("LDAP service account bind failed, attributes for {} not loaded. Error: {}",
+                    username, e.getMessage());
+            return null;
+        } finally {
+            closeQuietly(serviceCtx);
+        }
+    }
+
+    /**
+     * @param pooled true hanya untuk service account; bind user harus selalu diverifikasi ulang ke directory
+     */
+    private Hashtable<String, String> buildEnvironment(String principal, String credentials, boolean pooled) {
+        Hashtable<String, String> env = new Hashtable<>();
+        env.put(Context.INITIAL_CONTEXT_FACTORY, LDAP_CTX_FACTORY);
+        env.put(Context.PROVIDER_URL, ldapUrl);
+        env.put(Context.SECURITY_AUTHENTICATION, "simple");
+        env.put(Context.SECURITY_PRINCIPAL, principal);
+        env.put(Context.SECURITY_CREDENTIALS, credentials);
+        env.put(POOL_ENV, String.valueOf(pooled));
+        env.put(CONNECT_TIMEOUT_ENV, String.valueOf(connectTimeoutMs));
+        env.put(READ_TIMEOUT_ENV, String.valueOf(readTimeoutMs));
+        return env;
+    }
+
+    private UserAttributes getCachedAttributes(String username) {
+        UserAttributes cached = attributeCache.get(cacheKey(username), UserAttributes.class);
+        if (cached != null) {
+            cacheHits.increment();
+            log.debug("LDAP attributes for {} served from cache", username);
+        } else {
+            cacheMisses.increment();
+        }
+        return cached;
+    }
+
+    private String cacheKey(String username) {
+        // sAMAccountName di AD tidak case-sensitive
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return atribut user, atau null jika user tidak ditemukan / pencarian gagal (tidak di-cache)
+     */
+    private UserAttributes fetchUserAttributes(DirContext ctx, String username) {
+        long start = System.nanoTime();
+        NamingEnumeration<SearchResult> results = null;
         try {
             SearchControls searchControls = new SearchControls();
             searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
-            searchControls.setReturningAttributes(new String[]{
-                    "sAMAccountName",
-                    "displayName",
-                    "mail",
-                    "department",
-                    "title",
-                    "distinguishedName",
-                    "cn",
-                    "givenName",
-                    "sn",
-                    "memberOf",
-                    "telephoneNumber",
-                    "physicalDeliveryOfficeName"
-            });
+            searchControls.setReturningAttributes(RETURNING_ATTRIBUTES);
 
             String searchFilter = "(sAMAccountName={0})";
-            NamingEnumeration<SearchResult> results = ctx.search(ldapBase, searchFilter, new Object[]{username}, searchControls);
+            results = ctx.search(ldapBase, searchFilter, new Object[]{username}, searchControls);
 
             if (results.hasMore()) {
                 SearchResult result = results.next();
                 Attributes attrs = result.getAttributes();
 
-                logAllAttributes(attrs, username);
-
-                String displayName = getAttributeValue(attrs, "displayName");
+                if (log.isDebugEnabled()) {
+                    logAllAttributes(attrs, username);
+                }
 
-                return UserInfo.builder()
-                        .username(getAttributeValue(attrs, "sAMAccountName"))
-                        .displayName(displayName)
-                        .fullName(displayName)
-                        .email(getAttributeValue(attrs, "mail"))
-                        .department(getAttributeValue(attrs, "department"))
-                        .title(getAttributeValue(attrs, "title"))
-                        .distinguishedName(getAttributeValue(attrs, "distinguishedName"))
-                        .build();
+                return new UserAttributes(
+                        getAttributeValue(attrs, "sAMAccountName"),
+                        getAttributeValue(attrs, "displayName"),
+                        getAttributeValue(attrs, "mail"),
+                        getAttributeValue(attrs, "department"),
+                        getAttributeValue(attrs, "title"),
+                        getAttributeValue(attrs, "distinguishedName"));
             }
 
             log.warn("User attributes not found for: {}", username);
-            return UserInfo.builder()
-                    .username(username)
-                    .build();
+            return null;
 
         } catch (NamingException e) {
             log.error("Error fetching user attributes for: {}. Error: {}", username, e.getMessage());
-            return UserInfo.builder()
-                    .username(username)
-                    .build();
+            return null;
+        } finally {
+            if (results != null) {
+                try {
+                    results.close();
+                } catch (NamingException e) {
+                    log.debug("Error closing LDAP search results: {}", e.getMessage());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            searchCount.increment();
+            searchNanosTotal.add(elapsed);
+            maxSearchNanos.accumulateAndGet(elapsed, Math::max);
         }
     }
 
     private void logAllAttributes(Attributes attrs, String username) {
-        log.info("=== LDAP User Attributes for: {} ===", username);
+        log.debug("=== LDAP User Attributes for: {} ===", username);
         try {
             NamingEnumeration<? extends Attribute> allAttrs = attrs.getAll();
             while (allAttrs.hasMore()) {
@@ -138,12 +309,12 @@ public class LdapServiceImpl implements LdapService {
                     if (values.length() > 0) values.append(", ");
                     values.append(vals.next().toString());
                 }
-                log.info("  {} = {}", attr.getID(), values.toString());
+                log.debug("  {} = {}", attr.getID(), values);
             }
         } catch (NamingException e) {
             log.warn("Error logging attributes: {}", e.getMessage());
         }
-        log.info("=== End of LDAP Attributes ===");
+        log.debug("=== End of LDAP Attributes ===");
     }
 
     private String getAttributeValue(Attributes attrs, String attributeName) {
@@ -157,4 +328,48 @@ public class LdapServiceImpl implements LdapService {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private void closeQuietly(DirContext ctx) {
+        if (ctx != null) {
+            try {
+                // Untuk koneksi pooled, close mengembalikan koneksi ke pool
+                ctx.close();
+            } catch (NamingException e) {
+                log.warn("Error closing LDAP context: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void recordLogin(long elapsedNanos, boolean success) {
+        loginCount.increment();
+        if (!success) {
+            failedCount.increment();
+        }
+        loginNanosTotal.add(elapsedNanos);
+        maxLoginNanos.accumulateAndGet(elapsedNanos, Math::max);
+        lastLoginNanos = elapsedNanos;
+    }
+
+    private static double averageMillis(long totalNanos, long count) {
+        return count == 0 ? 0.0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    /**
+     * Atribut user yang disimpan di cache; UserInfo dibuat baru setiap login supaya isi cache tidak ikut berubah
+     */
+    private record UserAttributes(String username, String displayName, String email, String department,
+                                  String title, String distinguishedName) {
+
+        UserInfo toUserInfo() {
+            return UserInfo.builder()
+                    .username(username)
+                    .displayName(displayName)
+                    .fullName(displayName)
+                    .email(email)
+                    .department(department)
+                    .title(title)
+                    .distinguishedName(distinguishedName)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.config.BoundedCache;
+import com.pcs8.orientasi.config.CacheConfig;
+import com.pcs8.orientasi.domain.dto.response.CacheStatsResponse;
+import com.pcs8.orientasi.domain.entity.MstBidang;
+import com.pcs8.orientasi.domain.entity.MstMenu;
+import com.pcs8.orientasi.domain.entity.MstSkpa;
+import com.pcs8.orientasi.domain.entity.MstSubKategori;
+import com.pcs8.orientasi.domain.entity.MstVariable;
+import com.pcs8.orientasi.repository.MstBidangRepository;
+import com.pcs8.orientasi.repository.MstMenuRepository;
+import com.pcs8.orientasi.repository.MstSkpaRepository;
+import com.pcs8.orientasi.repository.MstSubKategoriRepository;
+import com.pcs8.orientasi.repository.MstVariableRepository;
+import com.pcs8.orientasi.service.MasterDataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * List hasil query disalin ke list immutable sebelum masuk cache supaya pemanggil
+ * tidak bisa mengubah isi cache. Invalidasi dilakukan oleh service yang mengubah data master.
+ */
+@Service
+@RequiredArgsConstructor
+public class MasterDataServiceImpl implements MasterDataService {
+
+    private final MstSkpaRepository skpaRepository;
+    private final MstBidangRepository bidangRepository;
+    private final MstSubKategoriRepository subKategoriRepository;
+    private final MstVariableRepository variableRepository;
+    private final MstMenuRepository menuRepository;
+    private final CacheManager cacheManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_SKPA, key = "'all'")
+    public List<MstSkpa> getAllSkpa() {
+        return List.copyOf(skpaRepository.findAllWithBidang());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_SKPA, key = "'kode:' + #kodeSkpa")
+    public Optional<MstSkpa> findSkpaByKode(String kodeSkpa) {
+        return skpaRepository.findByKodeSkpa(kodeSkpa);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_BIDANG, key = "'all'")
+    public List<MstBidang> getAllBidang() {
+        return List.copyOf(bidangRepository.findAllByOrderByKodeBidangAsc());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_SUB_KATEGORI, key = "'all'")
+    public List<MstSubKategori> getAllSubKategori() {
+        return List.copyOf(subKategoriRepository.findAllByOrderByKodeAsc());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_VARIABLE, key = "'kategori:' + #kategori")
+    public List<MstVariable> getActiveVariables(String kategori) {
+        return List.copyOf(variableRepository.findByKategoriAndIsActiveTrueOrderByUrutanAscNamaAsc(kategori));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_VARIABLE, key = "'all'")
+    public List<MstVariable> getAllActiveVariables() {
+        return List.copyOf(variableRepository.findByIsActiveTrueOrderByKategoriAscUrutanAscNamaAsc());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MASTER_MENU, key = "'active'")
+    public List<MstMenu> getActiveMenus() {
+        return List.copyOf(menuRepository.findAllActiveMenus());
+    }
+
+    @Override
+    public List<CacheStatsResponse> getCacheStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof BoundedCache boundedCache) {
+                stats.add(CacheStatsResponse.builder()
+                        .name(cacheName)
+                        .size(boundedCache.size())
+                        .maximumSize(boundedCache.getMaximumSize())
+                        .hitCount(boundedCache.getHitCount())
+                        .missCount(boundedCache.getMissCount())
+                        .hitRatio(boundedCache.getHitRatio())
+                        .evictionCount(boundedCache.getEvictionCount())
+                        .build());
+            }
+        }
+        return stats;
+    }
+}
@@ -4,28 +4,62 @@ import com.pcs8.orientasi.exception.MinioOperationException;
 import com.pcs8.orientasi.service.MinioService;
 import io.minio.*;
 import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class MinioServiceImpl implements MinioService {
 
     private static final Logger log = LoggerFactory.getLogger(MinioServiceImpl.class);
     private static final int PRESIGNED_URL_EXPIRY_HOURS = 24;
+    private static final int DOWNLOAD_URL_EXPIRY_MINUTES = 60;
+    // Cached URLs are handed out for at most half their validity, so clients always get >= 12h
+    private static final Duration PRESIGNED_URL_CACHE_TTL = Duration.ofHours(PRESIGNED_URL_EXPIRY_HOURS / 2L);
+    private static final int PRESIGNED_URL_CACHE_MAX_SIZE = 10_000;
 
     private final MinioClient minioClient;
     private final String bucketName;
+    private final Map<String, CachedUrl> presignedUrlCache = new ConcurrentHashMap<>();
+    private final AtomicLong urlCacheHits = new AtomicLong();
+    private final AtomicLong urlCacheMisses = new AtomicLong();
+    private final AtomicLong urlCacheEvictions = new AtomicLong();
+    // Set once the bucket is known to exist; buckets are never dropped by this service
+    private volatile boolean bucketVerified;
+
+    private final Executor fileTransferExecutor;
 
     public MinioServiceImpl(MinioClient minioClient,
-                            @Value("${minio.bucket-name}") String bucketName) {
+                            @Value("${minio.bucket-name}") String bucketName,
+                            @Qualifier("fileTransferExecutor") Executor fileTransferExecutor) {
         this.minioClient = minioClient;
         this.bucketName = bucketName;
+        this.fileTransferExecutor = fileTransferExecutor;
     }
 
     @Override
@@ -78,6 +112,78 @@ public class MinioServiceImpl implements MinioService {
 
     @Override
     public String getFileUrl(String path) {
+        Instant now = Instant.now();
+        CachedUrl cached = presignedUrlCache.get(path);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            urlCacheHits.incrementAndGet();
+            return cached.url();
+        }
+
+        urlCacheMisses.incrementAndGet();
+        String url = presignFileUrl(path);
+        if (presignedUrlCache.size() >= PRESIGNED_URL_CACHE_MAX_SIZE) {
+            evictPresignedUrls(now);
+        }
+        presignedUrlCache.put(path, new CachedUrl(url, now.plus(PRESIGNED_URL_CACHE_TTL)));
+        return url;
+    }
+
+    @Override
+    public Map<String, Long> getCacheStats() {
+        long hits = urlCacheHits.get();
+        long misses = urlCacheMisses.get();
+        return Map.of(
+                "presigned_url_hits", hits,
+                "presigned_url_misses", misses,
+                "presigned_url_evictions", urlCacheEvictions.get(),
+                "presigned_url_size", (long) presignedUrlCache.size(),
+                "bucket_verified", bucketVerified ? 1L : 0L
+        );
+    }
+
+    /**
+     * Drop expired URLs; if the cache is still full, drop the entries closest to expiry
+     * until it is back to three quarters of its capacity.
+     */
+    private void evictPresignedUrls(Instant now) {
+        int before = presignedUrlCache.size();
+        presignedUrlCache.entrySet().removeIf(entry -> !now.isBefore(entry.getValue().expiresAt()));
+
+        int target = PRESIGNED_URL_CACHE_MAX_SIZE * 3 / 4;
+        if (presignedUrlCache.size() > target) {
+            presignedUrlCache.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparing(CachedUrl::expiresAt)))
+                    .limit((long) presignedUrlCache.size() - target)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(presignedUrlCache::remove);
+        }
+        urlCacheEvictions.addAndGet(Math.max(0, before - presignedUrlCache.size()));
+    }
+
+    @Override
+    public String getDownloadUrl(String path, String downloadFileName) {
+        try {
+            String disposition = ContentDisposition.attachment()
+                    .filename(downloadFileName, StandardCharsets.UTF_8)
+                    .build()
+                    .toString();
+            return minioClient.getPresignedObjectUrl(
+                    GetPresignedObjectUrlArgs.builder()
+                            .method(Method.GET)
+                            .bucket(bucketName)
+                            .object(path)
+                            .expiry(DOWNLOAD_URL_EXPIRY_MINUTES, TimeUnit.MINUTES)
+                            .extraQueryParams(Map.of("response-content-disposition", disposition))
+                            .build()
+            );
+        } catch (Exception e) {
+            log.error("Failed to generate download URL: {}", e.getMessage());
+            throw new MinioOperationException("Failed to generate download URL from Minio", e);
+        }
+    }
+
+    private String presignFileUrl(String path) {
         try {
             String url = minioClient.getPresignedObjectUrl(
                     GetPresignedObjectUrlArgs.builder()
@@ -88,7 +194,7 @@ public class MinioServiceImpl implements MinioService {
                             .build()
             );
             
-            log.info("Generated presigned URL");
+            log.debug("Generated presigned URL");
             return url;
             
         } catch (Exception e) {
@@ -116,6 +222,77 @@ public class MinioServiceImpl implements MinioService {
         }
     }
 
+    @Override
+    public InputStream downloadFile(String path, long offset, long length) {
+        if (length == 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            GetObjectArgs.Builder args = GetObjectArgs.builder()
+                    .bucket(bucketName)
+                    .object(path)
+                    .offset(offset);
+            if (length > 0) {
+                args.length(length);
+            }
+            return minioClient.getObject(args.build());
+            
+        } catch (Exception e) {
+            log.error("Failed to download file range: {}", e.getMessage());
+            throw new MinioOperationException("Failed to download file from Minio", e);
+        }
+    }
+
+    @Override
+    public String copyFile(String sourcePath, String targetPath) {
+        try {
+            minioClient.copyObject(
+                    CopyObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(targetPath)
+                            .source(CopySource.builder()
+                                    .bucket(bucketName)
+                                    .object(sourcePath)
+                                    .build())
+                            .build()
+            );
+            
+            log.info("File copied successfully");
+            return getFileUrl(targetPath);
+            
+        } catch (Exception e) {
+            log.error("Failed to copy file: {}", e.getMessage());
+            throw new MinioOperationException("Failed to copy file in Minio", e);
+        }
+    }
+
+    @Override
+    public Map<String, String> copyFiles(Map<String, String> sourceToTarget) {
+        Map<String, CompletableFuture<String>> copies = new LinkedHashMap<>();
+        sourceToTarget.forEach((source, target) -> copies.put(target,
+                CompletableFuture.supplyAsync(() -> copyFile(source, target), fileTransferExecutor)));
+
+        try {
+            CompletableFuture.allOf(copies.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            // Roll back the copies that did succeed so no orphan objects are left behind
+            List<String> copied = copies.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isCompletedExceptionally())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            deleteFiles(copied);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof MinioOperationException minioException) {
+                throw minioException;
+            }
+            throw new MinioOperationException("Failed to copy files in Minio", cause);
+        }
+
+        Map<String, String> urls = new LinkedHashMap<>();
+        copies.forEach((target, future) -> urls.put(target, future.join()));
+        return urls;
+    }
+
     @Override
     public void deleteFile(String path) {
         try {
@@ -126,6 +303,7 @@ public class MinioServiceImpl implements MinioService {
                             .build()
             );
             
+            presignedUrlCache.remove(path);
             log.info("File deleted successfully");
             
         } catch (Exception e) {
@@ -134,6 +312,83 @@ public class MinioServiceImpl implements MinioService {
         }
     }
 
+    @Override
+    public void deleteFiles(Collection<String> paths) {
+        List<String> names = paths.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (names.isEmpty()) {
+            return;
+        }
+        List<DeleteObject> objects = names.stream()
+                .map(DeleteObject::new)
+                .toList();
+
+        // Results are lazy: iterating them is what actually sends the (1000-object) batches
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(
+                RemoveObjectsArgs.builder()
+                        .bucket(bucketName)
+                        .objects(objects)
+                        .build()
+        );
+        try {
+            for (Result<DeleteError> result : results) {
+                DeleteError error = result.get();
+                log.error("Failed to delete file {}: {}", error.objectName(), error.message());
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete files: {}", e.getMessage());
+            throw new MinioOperationException("Failed to delete files from Minio", e);
+        }
+
+        names.forEach(presignedUrlCache::remove);
+        log.info("Deleted {} files successfully", names.size());
+    }
+
+    @Override
+    public void deleteFilesAfterCommit(Collection<String> paths) {
+        List<String> names = paths.stream().filter(Objects::nonNull).toList();
+        if (names.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deleteFiles(names);
+            return;
+        }
+        deleteOnCompletion(names, TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    @Override
+    public void deleteFilesOnRollback(Collection<String> paths) {
+        List<String> names = paths.stream().filter(Objects::nonNull).toList();
+        if (names.isEmpty() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        deleteOnCompletion(names, TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    /**
+     * Daftarkan penghapusan yang hanya dijalankan jika transaksi selesai dengan status tersebut.
+     * Status unknown diabaikan: lebih aman menyisakan file yatim daripada menghapus file yang dipakai.
+     */
+    private void deleteOnCompletion(List<String> names, int completionStatus) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != completionStatus) {
+                    return;
+                }
+                try {
+                    deleteFiles(names);
+                } catch (Exception e) {
+                    log.error("Failed to delete {} blobs after {}. Error: {}", names.size(),
+                            status == STATUS_COMMITTED ? "commit" : "rollback", e.getMessage(), e);
+                }
+            }
+        });
+    }
+
     @Override
     public boolean fileExists(String path) {
         try {
@@ -150,6 +405,9 @@ public class MinioServiceImpl implements MinioService {
     }
 
     private void ensureBucketExists() {
+        if (bucketVerified) {
+            return;
+        }
         try {
             boolean found = minioClient.bucketExists(
                     BucketExistsArgs.builder()
@@ -165,6 +423,7 @@ public class MinioServiceImpl implements MinioService {
                 );
                 log.info("Bucket created: {}", bucketName);
             }
+            bucketVerified = true;
         } catch (Exception e) {
             log.error("Failed to ensure bucket exists: {}", e.getMessage());
             throw new MinioOperationException("Failed to ensure bucket exists", e);
@@ -178,4 +437,6 @@ public class MinioServiceImpl implements MinioService {
         String normalizedPath = path.endsWith("/") ? path : path + "/";
         return normalizedPath + filename;
     }
+
+    private record CachedUrl(String url, Instant expiresAt) {}
 }
@@ -0,0 +1,136 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.entity.MstRole;
+import com.pcs8.orientasi.domain.entity.MstRolePermission;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot immutable permission role x menu hasil kompilasi tabel mst_role_permission.
+ *
+ * <p>Tiap entry disimpan sebagai bitset view/create/update/delete. Nama role dan kode menu
+ * dibandingkan case-insensitive seperti query {@code findByRoleNameAndMenuCode}.
+ * Instance tidak pernah diubah; perubahan permission menghasilkan instance baru yang
+ * menggantikan instance lama.</p>
+ */
+final class PermissionMatrix {
+
+    static final int VIEW = 1;
+    static final int CREATE = 1 << 1;
+    static final int UPDATE = 1 << 2;
+    static final int DELETE = 1 << 3;
+
+    private final Map<String, RolePermissions> roles;
+    private final int permissionCount;
+
+    private PermissionMatrix(Map<String, RolePermissions> roles, int permissionCount) {
+        this.roles = roles;
+        this.permissionCount = permissionCount;
+    }
+
+    static PermissionMatrix compile(Collection<MstRole> allRoles, Collection<MstRolePermission> permissions) {
+        Map<String, Map<String, Integer>> byMenuCode = new HashMap<>();
+        Map<String, Map<UUID, Integer>> byMenuId = new HashMap<>();
+        for (MstRole role : allRoles) {
+            String key = normalize(role.getRoleName());
+            byMenuCode.put(key, new HashMap<>());
+            byMenuId.put(key, new HashMap<>());
+        }
+
+        for (MstRolePermission permission : permissions) {
+            String roleKey = normalize(permission.getRole().getRoleName());
+            int bits = toBits(permission);
+            byMenuCode.computeIfAbsent(roleKey, k -> new HashMap<>())
+                    .put(normalize(permission.getMenu().getMenuCode()), bits);
+            byMenuId.computeIfAbsent(roleKey, k -> new HashMap<>())
+                    .put(permission.getMenu().getId(), bits);
+        }
+
+        Map<String, RolePermissions> compiled = new HashMap<>();
+        byMenuCode.forEach((roleKey, codes) -> compiled.put(roleKey,
+                new RolePermissions(Map.copyOf(codes), Map.copyOf(byMenuId.get(roleKey)))));
+        return new PermissionMatrix(Map.copyOf(compiled), permissions.size());
+    }
+
+    /**
+     * Bit untuk tipe permission ("view", "create", "update", "delete"); 0 untuk tipe lain
+     */
+    static int bitOf(String permissionType) {
+        return switch (permissionType.toLowerCase(Locale.ROOT)) {
+            case "view" -> VIEW;
+            case "create" -> CREATE;
+            case "update" -> UPDATE;
+            case "delete" -> DELETE;
+            default -> 0;
+        };
+    }
+
+    static boolean hasBit(int bits, int permission) {
+        return (bits & permission) != 0;
+    }
+
+    boolean hasRole(String roleName) {
+        return roleName != null && roles.containsKey(normalize(roleName));
+    }
+
+    boolean has(String roleName, String menuCode, int permission) {
+        if (roleName == null || menuCode == null || permission == 0) {
+            return false;
+        }
+        RolePermissions role = roles.get(normalize(roleName));
+        if (role == null) {
+            return false;
+        }
+        return hasBit(role.byMenuCode().getOrDefault(normalize(menuCode), 0), permission);
+    }
+
+    /**
+     * Gabungan (OR) bit permission semua role pada satu menu
+     */
+    int combinedBits(Collection<String> roleNames, UUID menuId) {
+        int bits = 0;
+        for (String roleName : roleNames) {
+            RolePermissions role = roleName != null ? roles.get(normalize(roleName)) : null;
+            if (role != null) {
+                bits |= role.byMenuId().getOrDefault(menuId, 0);
+            }
+        }
+        return bits;
+    }
+
+    int roleCount() {
+        return roles.size();
+    }
+
+    int permissionCount() {
+        return permissionCount;
+    }
+
+    private static int toBits(MstRolePermission permission) {
+        int bits = 0;
+        if (Boolean.TRUE.equals(permission.getCanView())) {
+            bits |= VIEW;
+        }
+        if (Boolean.TRUE.equals(permission.getCanCreate())) {
+            bits |= CREATE;
+        }
+        if (Boolean.TRUE.equals(permission.getCanUpdate())) {
+            bits |= UPDATE;
+        }
+        if (Boolean.TRUE.equals(permission.getCanDelete())) {
+            bits |= DELETE;
+        }
+        return bits;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record RolePermissions(Map<String, Integer> byMenuCode, Map<UUID, Integer> byMenuId) {
+    }
+}
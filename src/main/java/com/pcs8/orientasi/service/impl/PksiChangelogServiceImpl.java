@@ -5,8 +5,10 @@ import com.pcs8.orientasi.domain.entity.MstSkpa;
 import com.pcs8.orientasi.domain.entity.MstUser;
 import com.pcs8.orientasi.domain.entity.PksiChangelog;
 import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiProgressInterval;
 import com.pcs8.orientasi.repository.MstSkpaRepository;
 import com.pcs8.orientasi.repository.PksiChangelogRepository;
+import com.pcs8.orientasi.repository.PksiProgressIntervalRepository;
 import com.pcs8.orientasi.service.PksiChangelogService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,9 +26,11 @@ import java.util.stream.Collectors;
 public class PksiChangelogServiceImpl implements PksiChangelogService {
 
     private static final Logger log = LoggerFactory.getLogger(PksiChangelogServiceImpl.class);
+    private static final String PROGRESS_FIELD = "progress";
 
         private final PksiChangelogRepository pksiChangelogRepository;
         private final MstSkpaRepository skpaRepository;
+        private final PksiProgressIntervalRepository pksiProgressIntervalRepository;
 
     // Field label mapping for human-readable names
     private static final Map<String, String> FIELD_LABELS = createFieldLabels();
@@ -207,7 +212,7 @@ public class PksiChangelogServiceImpl implements PksiChangelogService {
         // Track anggotaTimNames instead of anggotaTim (UUIDs)
         trackStringChange(changes, pksiDocument, oldDocument, "anggotaTimNames",
                 oldDocument.getAnggotaTimNames(), pksiDocument.getAnggotaTimNames(), updatedBy, updatedByName);
-        trackStringChange(changes, pksiDocument, oldDocument, "progress",
+        trackStringChange(changes, pksiDocument, oldDocument, PROGRESS_FIELD,
                 oldDocument.getProgress(), pksiDocument.getProgress(), updatedBy, updatedByName);
         
         // Monitoring fields - Anggaran
@@ -265,6 +270,10 @@ public class PksiChangelogServiceImpl implements PksiChangelogService {
         // Save all changes
         if (!changes.isEmpty()) {
             pksiChangelogRepository.saveAll(changes);
+            changes.stream()
+                    .filter(change -> PROGRESS_FIELD.equals(change.getFieldName()))
+                    .findFirst()
+                    .ifPresent(this::recordProgressInterval);
             log.info("Saved {} changes for PKSI document: {}", changes.size(), pksiDocument.getId());
         } else {
             log.info("No changes detected for PKSI document: {}", pksiDocument.getId());
@@ -277,6 +286,26 @@ public class PksiChangelogServiceImpl implements PksiChangelogService {
         return pksiChangelogRepository.countByPksiDocumentId(pksiDocumentId);
     }
 
+    /**
+     * Tutup interval progress yang sedang berlaku dan buka interval baru mulai waktu changelog,
+     * supaya lookup progress historis dashboard tidak perlu membaca seluruh changelog.
+     */
+    private void recordProgressInterval(PksiChangelog change) {
+        LocalDateTime changedAt = change.getCreatedAt();
+        pksiProgressIntervalRepository
+                .findFirstByPksiDocumentIdAndValidTo(change.getPksiDocument().getId(), PksiProgressInterval.OPEN_END)
+                .ifPresent(current -> {
+                    current.setValidTo(changedAt);
+                    pksiProgressIntervalRepository.save(current);
+                });
+        pksiProgressIntervalRepository.save(PksiProgressInterval.builder()
+                .pksiDocument(change.getPksiDocument())
+                .progress(change.getNewValue())
+                .validFrom(changedAt)
+                .validTo(PksiProgressInterval.OPEN_END)
+                .build());
+    }
+
     private void trackStringChange(List<PksiChangelog> changes, PksiDocument pksiDocument, 
             PksiDocument oldDocument, String fieldName, String oldValue, String newValue, 
             MstUser updatedBy, String updatedByName) {
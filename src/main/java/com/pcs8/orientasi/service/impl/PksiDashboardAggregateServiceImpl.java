@@ -0,0 +1,196 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.PksiDashboardContribution;
+import com.pcs8.orientasi.domain.dto.PksiDashboardContribution.MonthlyKey;
+import com.pcs8.orientasi.domain.dto.PksiDashboardContribution.YearlyKey;
+import com.pcs8.orientasi.domain.dto.projection.PksiProgressChangeView;
+import com.pcs8.orientasi.domain.entity.MstSkpa;
+import com.pcs8.orientasi.domain.entity.PksiDashboardMonthlyAggregate;
+import com.pcs8.orientasi.domain.entity.PksiDashboardYearlyAggregate;
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiDocument.DocumentStatus;
+import com.pcs8.orientasi.repository.MstSkpaRepository;
+import com.pcs8.orientasi.repository.PksiDashboardMonthlyAggregateRepository;
+import com.pcs8.orientasi.repository.PksiDashboardYearlyAggregateRepository;
+import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.PksiProgressIntervalRepository;
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agregat dashboard PKSI dipelihara secara inkremental: setiap perubahan PKSI menghitung
+ * kontribusi dokumen itu sebelum dan sesudah, lalu hanya selisihnya yang di-MERGE ke tabel
+ * agregat dalam transaksi yang sama. Aturan klasifikasinya sama dengan dashboard
+ * ({@link PksiDashboardRules}).
+ */
+@Service
+@RequiredArgsConstructor
+public class PksiDashboardAggregateServiceImpl implements PksiDashboardAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(PksiDashboardAggregateServiceImpl.class);
+
+    private final PksiDocumentListLoader pksiDocumentListLoader;
+    private final PksiDocumentRepository pksiDocumentRepository;
+    private final PksiProgressIntervalRepository pksiProgressIntervalRepository;
+    private final MstSkpaRepository skpaRepository;
+    private final PksiDashboardYearlyAggregateRepository yearlyAggregateRepository;
+    private final PksiDashboardMonthlyAggregateRepository monthlyAggregateRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PksiDashboardContribution capture(UUID pksiId) {
+        return pksiDocumentListLoader.loadDashboardDocument(pksiId)
+                .map(doc -> contributionOf(doc,
+                        pksiProgressIntervalRepository.findHistoryByPksiDocumentId(pksiId),
+                        loadSkpaMap(doc.getPicSatker())))
+                .orElseGet(PksiDashboardContribution::empty);
+    }
+
+    @Override
+    @Transactional
+    public void refresh(UUID pksiId, PksiDashboardContribution before) {
+        PksiDashboardContribution after = capture(pksiId);
+
+        Map<YearlyKey, Integer> yearlyDelta = PksiDashboardContribution.delta(before.getYearly(), after.getYearly());
+        yearlyDelta.forEach((key, delta) -> yearlyAggregateRepository.applyDelta(key.tahun(), key.status(),
+                key.approvalKategori(), key.jenisKategori(), key.pelaksana(), key.bidangKode(), delta));
+
+        Map<MonthlyKey, Integer> monthlyDelta = PksiDashboardContribution.delta(before.getMonthly(), after.getMonthly());
+        monthlyDelta.forEach((key, delta) -> monthlyAggregateRepository.applyDelta(key.tahun(), key.bulan(),
+                key.progress(), key.bidangKode(), key.deadlineTahun(), key.sudahDibuat(), delta));
+
+        log.debug("Dashboard aggregate for PKSI {} updated: {} yearly and {} monthly counters",
+                pksiId, yearlyDelta.size(), monthlyDelta.size());
+    }
+
+    @Override
+    @Transactional
+    public int rebuild() {
+        log.info("Rebuilding PKSI dashboard aggregates");
+
+        // Hapus dulu: transaksi PKSI lain yang sedang berjalan menunggu lock ini dan
+        // menerapkan selisihnya setelah rebuild selesai
+        monthlyAggregateRepository.deleteAllInBatch();
+        yearlyAggregateRepository.deleteAllInBatch();
+
+        List<PksiDocument> documents = pksiDocumentListLoader.loadDashboardDocuments();
+        Map<UUID, List<PksiProgressChangeView>> history = pksiProgressIntervalRepository.findAllHistory().stream()
+                .collect(Collectors.groupingBy(PksiProgressChangeView::getPksiId));
+        Map<UUID, MstSkpa> skpaMap = skpaRepository.findAllWithBidang().stream()
+                .collect(Collectors.toMap(MstSkpa::getId, Function.identity()));
+
+        PksiDashboardContribution total = PksiDashboardContribution.empty();
+        for (PksiDocument doc : documents) {
+            total.addAll(contributionOf(doc, history.getOrDefault(doc.getId(), List.of()), skpaMap));
+        }
+
+        List<PksiDashboardYearlyAggregate> yearlyRows = new ArrayList<>();
+        total.getYearly().forEach((key, count) -> yearlyRows.add(PksiDashboardYearlyAggregate.builder()
+                .tahun(key.tahun())
+                .status(key.status())
+                .approvalKategori(key.approvalKategori())
+                .jenisKategori(key.jenisKategori())
+                .pelaksana(key.pelaksana())
+                .bidangKode(key.bidangKode())
+                .jumlah(count)
+                .build()));
+        List<PksiDashboardMonthlyAggregate> monthlyRows = new ArrayList<>();
+        total.getMonthly().forEach((key, count) -> monthlyRows.add(PksiDashboardMonthlyAggregate.builder()
+                .tahun(key.tahun())
+                .bulan(key.bulan())
+                .progress(key.progress())
+                .bidangKode(key.bidangKode())
+                .deadlineTahun(key.deadlineTahun())
+                .sudahDibuat(key.sudahDibuat())
+                .jumlah(count)
+                .build()));
+        yearlyAggregateRepository.saveAll(yearlyRows);
+        monthlyAggregateRepository.saveAll(monthlyRows);
+
+        log.info("PKSI dashboard aggregates rebuilt from {} documents: {} yearly and {} monthly rows",
+                documents.size(), yearlyRows.size(), monthlyRows.size());
+        return documents.size();
+    }
+
+    @Override
+    @Transactional
+    public void rebuildIfEmpty() {
+        if (yearlyAggregateRepository.count() == 0 && pksiDocumentRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Kontribusi satu PKSI: satu baris tahunan per tahun tampil, dan untuk PKSI disetujui
+     * satu baris bulanan per bulan di tahun tersebut dengan progress historis di akhir bulan.
+     */
+    private PksiDashboardContribution contributionOf(PksiDocument doc,
+                                                     List<PksiProgressChangeView> progressHistory,
+                                                     Map<UUID, MstSkpa> skpaMap) {
+        PksiDashboardContribution contribution = PksiDashboardContribution.empty();
+        boolean approved = doc.getStatus() == DocumentStatus.DISETUJUI;
+        String bidangKode = Objects.requireNonNullElse(
+                PksiDashboardRules.resolveBidangKode(doc.getPicSatker(), skpaMap), PksiDashboardRules.NONE);
+        LocalDate deadline = PksiDashboardRules.getLastTargetDate(doc);
+
+        for (int tahun : PksiDashboardRules.yearsOf(doc)) {
+            contribution.add(new YearlyKey(
+                    tahun,
+                    doc.getStatus() != null ? doc.getStatus().name() : PksiDashboardRules.NONE,
+                    approved ? PksiDashboardRules.approvalCategory(doc, tahun) : PksiDashboardRules.NONE,
+                    approved ? PksiDashboardRules.jenisCategory(doc, tahun) : PksiDashboardRules.NONE,
+                    approved ? PksiDashboardRules.pelaksana(doc) : PksiDashboardRules.NONE,
+                    approved ? bidangKode : PksiDashboardRules.NONE));
+
+            if (!approved) {
+                continue;
+            }
+            int deadlineTahun = deadline != null && (deadline.getYear() == tahun || deadline.getYear() == tahun + 1)
+                    ? deadline.getYear() : 0;
+            for (int bulan = 1; bulan <= 12; bulan++) {
+                LocalDateTime monthEnd = PksiDashboardRules.endOfMonth(tahun, bulan);
+                String progress = PksiDashboardRules.progressAt(progressHistory, monthEnd, doc.getProgress());
+                boolean sudahDibuat = doc.getCreatedAt() != null && doc.getCreatedAt().isBefore(monthEnd);
+                contribution.add(new MonthlyKey(tahun, bulan,
+                        Objects.requireNonNullElse(progress, PksiDashboardRules.NONE),
+                        bidangKode, deadlineTahun, sudahDibuat));
+            }
+        }
+        return contribution;
+    }
+
+    private Map<UUID, MstSkpa> loadSkpaMap(String picSatker) {
+        if (picSatker == null || picSatker.isBlank()) {
+            return Map.of();
+        }
+        List<UUID> skpaIds = new ArrayList<>();
+        for (String value : picSatker.split(",")) {
+            try {
+                skpaIds.add(UUID.fromString(value.trim()));
+            } catch (IllegalArgumentException e) {
+                log.debug("Invalid UUID in pic_satker: {}", value);
+            }
+        }
+        if (skpaIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, MstSkpa> result = new HashMap<>();
+        skpaRepository.findAllWithBidangByIdIn(skpaIds).forEach(skpa -> result.put(skpa.getId(), skpa));
+        return result;
+    }
+}
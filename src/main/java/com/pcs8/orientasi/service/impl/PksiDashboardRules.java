@@ -0,0 +1,206 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.projection.PksiProgressChangeView;
+import com.pcs8.orientasi.domain.entity.MstSkpa;
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Aturan klasifikasi dashboard PKSI (tahun, kategori persetujuan, jenis, pelaksana, bidang,
+ * progress historis) yang dipakai bersama oleh perhitungan dashboard dan pemeliharaan agregat,
+ * supaya angka dari agregat dan dari hitung ulang selalu sama.
+ */
+final class PksiDashboardRules {
+
+    private static final Logger log = LoggerFactory.getLogger(PksiDashboardRules.class);
+
+    static final String NONE = "";
+
+    static final String APPROVAL_MENDESAK = "MENDESAK";
+    static final String APPROVAL_TAHUN_INI = "TAHUN_INI";
+    static final String APPROVAL_MULTIYEAR_SEBELUMNYA = "MULTIYEAR_SEBELUMNYA";
+
+    static final String JENIS_SINGLE_YEAR = "SINGLE_YEAR";
+    static final String JENIS_MULTIYEAR_Y_MINUS_1 = "MULTIYEAR_Y_MINUS_1";
+    static final String JENIS_MULTIYEAR_Y_PLUS_1 = "MULTIYEAR_Y_PLUS_1";
+
+    static final String PELAKSANA_INHOUSE = "INHOUSE";
+    static final String PELAKSANA_OUTSOURCE = "OUTSOURCE";
+    static final String PELAKSANA_UNKNOWN = "UNKNOWN";
+
+    private PksiDashboardRules() {
+    }
+
+    /**
+     * Semua tahun di mana PKSI tampil di dashboard (tanggal timeline dan tanggal target lama)
+     */
+    static Set<Integer> yearsOf(PksiDocument doc) {
+        Set<Integer> years = new TreeSet<>();
+        if (doc.getTimelines() != null) {
+            for (PksiTimeline timeline : doc.getTimelines()) {
+                addYearIfPresent(years, timeline.getTargetDate());
+            }
+        }
+        // Fallback to consolidated dates for backward compatibility
+        addYearIfPresent(years, doc.getTargetUsreqDate());
+        addYearIfPresent(years, doc.getTargetSitDate());
+        addYearIfPresent(years, doc.getTargetUatDate());
+        addYearIfPresent(years, doc.getTargetGoLiveDate());
+        return years;
+    }
+
+    static boolean isInYear(PksiDocument doc, int year) {
+        return yearsOf(doc).contains(year);
+    }
+
+    private static void addYearIfPresent(Set<Integer> years, LocalDate date) {
+        if (date != null) years.add(date.getYear());
+    }
+
+    /**
+     * Kategori PKSI disetujui untuk breakdown persetujuan: mendesak, tahun ini, atau multiyears tahun sebelumnya
+     */
+    static String approvalCategory(PksiDocument doc, int selectedTahun) {
+        LocalDate targetGoLive = getLastTargetDate(doc);
+        LocalDate targetUsreq = doc.getTargetUsreqDate();
+        if (doc.getJenisPksi() != null && doc.getJenisPksi().equalsIgnoreCase("Mendesak")) {
+            return APPROVAL_MENDESAK;
+        } else if (targetUsreq != null && targetUsreq.getYear() == selectedTahun) {
+            return APPROVAL_TAHUN_INI;
+        } else if ((targetGoLive != null && targetGoLive.getYear() == selectedTahun)
+                && (targetUsreq != null && targetUsreq.getYear() == selectedTahun - 1)) {
+            return APPROVAL_MULTIYEAR_SEBELUMNYA;
+        }
+        log.debug("PKSI {} has approved status but targetGoLive year is unknown or in the future", doc.getId());
+        return NONE;
+    }
+
+    /**
+     * Kategori single year / multiyears (Y-1 atau Y+1) relatif terhadap tahun yang dipilih
+     */
+    static String jenisCategory(PksiDocument doc, int selectedTahun) {
+        if (isMultiyear(doc)) {
+            Integer startYear = getStartYear(doc);
+            Integer endYear = getEndYear(doc);
+            if (startYear != null && startYear <= selectedTahun - 1) {
+                return JENIS_MULTIYEAR_Y_MINUS_1;
+            } else if (endYear != null && endYear >= selectedTahun + 1) {
+                return JENIS_MULTIYEAR_Y_PLUS_1;
+            }
+            return NONE;
+        }
+        LocalDate targetGoLive = getLastTargetDate(doc);
+        return targetGoLive != null && targetGoLive.getYear() == selectedTahun ? JENIS_SINGLE_YEAR : NONE;
+    }
+
+    static String pelaksana(PksiDocument doc) {
+        String io = doc.getInhouseOutsource();
+        if (io == null || io.trim().isEmpty()) {
+            return PELAKSANA_UNKNOWN;
+        } else if (io.toLowerCase().contains("inhouse")) {
+            return PELAKSANA_INHOUSE;
+        } else if (io.toLowerCase().contains("outsource")) {
+            return PELAKSANA_OUTSOURCE;
+        }
+        return PELAKSANA_UNKNOWN;
+    }
+
+    static boolean isMultiyear(PksiDocument doc) {
+        Integer startYear = getStartYear(doc);
+        Integer endYear = getEndYear(doc);
+        return startYear != null && endYear != null && !startYear.equals(endYear);
+    }
+
+    private static Integer getStartYear(PksiDocument doc) {
+        LocalDate firstDate = null;
+
+        // Check all timeline phases and get the earliest date
+        if (doc.getTimelines() != null && !doc.getTimelines().isEmpty()) {
+            for (PksiTimeline timeline : doc.getTimelines()) {
+                if (timeline.getTargetDate() != null
+                        && (firstDate == null || timeline.getTargetDate().isBefore(firstDate))) {
+                    firstDate = timeline.getTargetDate();
+                }
+            }
+            if (firstDate != null) return firstDate.getYear();
+        }
+
+        // Fallback to consolidated dates for backward compatibility
+        if (doc.getTargetUsreqDate() != null) return doc.getTargetUsreqDate().getYear();
+        if (doc.getTargetSitDate() != null) return doc.getTargetSitDate().getYear();
+        if (doc.getTargetUatDate() != null) return doc.getTargetUatDate().getYear();
+        if (doc.getTargetGoLiveDate() != null) return doc.getTargetGoLiveDate().getYear();
+        return null;
+    }
+
+    private static Integer getEndYear(PksiDocument doc) {
+        LocalDate lastDate = getLastTargetDate(doc);
+        return lastDate != null ? lastDate.getYear() : null;
+    }
+
+    static LocalDate getLastTargetDate(PksiDocument doc) {
+        return doc.getTargetGoLiveDateLastPhase();
+    }
+
+    /**
+     * Akhir bulan (23:59:59) sebagai titik snapshot progress historis
+     */
+    static LocalDateTime endOfMonth(int year, int month) {
+        return YearMonth.of(year, month).atEndOfMonth().atTime(23, 59, 59);
+    }
+
+    /**
+     * Progress PKSI pada waktu tertentu: nilai perubahan progress terakhir sampai waktu itu,
+     * atau progress saat ini bila belum ada perubahan tercatat.
+     *
+     * @param history perubahan progress PKSI ini, urut dari yang paling lama
+     */
+    static String progressAt(List<PksiProgressChangeView> history, LocalDateTime at, String currentProgress) {
+        PksiProgressChangeView last = null;
+        for (PksiProgressChangeView change : history) {
+            if (change.getChangedAt() == null || change.getChangedAt().isAfter(at)) {
+                break;
+            }
+            last = change;
+        }
+        return last != null ? last.getProgress() : currentProgress;
+    }
+
+    static String resolveBidangKode(String picSatker, Map<UUID, MstSkpa> skpaMap) {
+        return resolveBidang(picSatker, skpaMap, skpa -> skpa.getBidang().getKodeBidang());
+    }
+
+    static String resolveBidangNama(String picSatker, Map<UUID, MstSkpa> skpaMap) {
+        return resolveBidang(picSatker, skpaMap, skpa -> skpa.getBidang().getNamaBidang());
+    }
+
+    private static String resolveBidang(String picSatker, Map<UUID, MstSkpa> skpaMap, Function<MstSkpa, String> value) {
+        if (picSatker == null || picSatker.trim().isEmpty()) return null;
+
+        String[] skpaIds = picSatker.split(",");
+        for (String skpaIdStr : skpaIds) {
+            try {
+                UUID skpaId = UUID.fromString(skpaIdStr.trim());
+                MstSkpa skpa = skpaMap.get(skpaId);
+                if (skpa != null && skpa.getBidang() != null) {
+                    return value.apply(skpa);
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("Invalid UUID in pic_satker: {}", skpaIdStr);
+            }
+        }
+        return null;
+    }
+}
@@ -1,18 +1,19 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.domain.dto.projection.PksiProgressChangeView;
 import com.pcs8.orientasi.domain.dto.request.PksiDashboardRequest;
 import com.pcs8.orientasi.domain.dto.response.PksiDashboardResponse;
 import com.pcs8.orientasi.domain.dto.response.PksiDashboardResponse.*;
 import com.pcs8.orientasi.domain.entity.MstBidang;
 import com.pcs8.orientasi.domain.entity.MstSkpa;
-import com.pcs8.orientasi.domain.entity.PksiChangelog;
+import com.pcs8.orientasi.domain.entity.PksiDashboardMonthlyAggregate;
+import com.pcs8.orientasi.domain.entity.PksiDashboardYearlyAggregate;
 import com.pcs8.orientasi.domain.entity.PksiDocument;
 import com.pcs8.orientasi.domain.entity.PksiDocument.DocumentStatus;
-import com.pcs8.orientasi.domain.entity.PksiTimeline;
-import com.pcs8.orientasi.repository.MstBidangRepository;
-import com.pcs8.orientasi.repository.MstSkpaRepository;
-import com.pcs8.orientasi.repository.PksiChangelogRepository;
-import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.PksiDashboardMonthlyAggregateRepository;
+import com.pcs8.orientasi.repository.PksiDashboardYearlyAggregateRepository;
+import com.pcs8.orientasi.repository.PksiProgressIntervalRepository;
+import com.pcs8.orientasi.service.MasterDataService;
 import com.pcs8.orientasi.service.PksiDashboardService;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
@@ -26,6 +27,7 @@ import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,10 +51,11 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
         "Juli", "Agustus", "September", "Oktober", "November", "Desember"
     };
 
-    private final PksiDocumentRepository pksiDocumentRepository;
-    private final PksiChangelogRepository pksiChangelogRepository;
-    private final MstSkpaRepository skpaRepository;
-    private final MstBidangRepository bidangRepository;
+    private final PksiDocumentListLoader pksiDocumentListLoader;
+    private final PksiProgressIntervalRepository pksiProgressIntervalRepository;
+    private final PksiDashboardYearlyAggregateRepository yearlyAggregateRepository;
+    private final PksiDashboardMonthlyAggregateRepository monthlyAggregateRepository;
+    private final MasterDataService masterDataService;
 
     @Override
     @Transactional(readOnly = true)
@@ -72,12 +75,10 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
         String snapshotDate = snapshotDateTime.format(DateTimeFormatter.ofPattern("d MMMM yyyy", new Locale("id", "ID")));
 
         // Load SKPA and Bidang mappings
-        List<MstSkpa> allSkpa = skpaRepository.findAllByOrderByKodeSkpaAsc();
-        allSkpa.forEach(skpa -> Hibernate.initialize(skpa.getBidang()));
-        Map<UUID, MstSkpa> skpaMap = allSkpa.stream()
+        Map<UUID, MstSkpa> skpaMap = masterDataService.getAllSkpa().stream()
                 .collect(Collectors.toMap(MstSkpa::getId, s -> s));
 
-        List<MstBidang> allBidang = bidangRepository.findAllByOrderByKodeBidangAsc();
+        List<MstBidang> allBidang = masterDataService.getAllBidang();
         List<BidangItem> bidangList = allBidang.stream()
                 .map(b -> BidangItem.builder()
                         .id(b.getId())
@@ -86,36 +87,35 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
                         .build())
                 .collect(Collectors.toList());
 
-        // Get all PKSI documents
-        List<PksiDocument> allDocuments = pksiDocumentRepository.findAllWithUser();
-        
-        // Filter by year
-        List<PksiDocument> filteredDocuments = filterByYear(allDocuments, selectedTahun);
+        // Counter tahunan/bulanan sudah dihitung saat PKSI berubah (agg_pksi_dashboard_*)
+        List<PksiDashboardYearlyAggregate> yearlyRows = yearlyAggregateRepository.findByTahun(selectedTahun);
+        List<PksiDashboardMonthlyAggregate> monthlyRows = monthlyAggregateRepository.findByTahun(selectedTahun);
+        List<PksiDashboardYearlyAggregate> approvedRows = yearlyRows.stream()
+                .filter(row -> DocumentStatus.DISETUJUI.name().equals(row.getStatus()))
+                .collect(Collectors.toList());
+        List<PksiDashboardMonthlyAggregate> snapshotRows = monthlyRows.stream()
+                .filter(row -> selectedBulan.equals(row.getBulan()))
+                .collect(Collectors.toList());
 
-        // Get historical progress state at snapshot date
+        // PKSI list is per document, so it is still built per request from the selected year only
+        List<PksiDocument> filteredDocuments = filterByYear(
+                pksiDocumentListLoader.loadDashboardDocuments(selectedTahun), selectedTahun);
         Map<UUID, String> historicalProgress = getHistoricalProgressState(filteredDocuments, snapshotDateTime);
 
         // Build available years & months
-        List<Integer> availableYears = extractAvailableYears(allDocuments);
+        List<Integer> availableYears = yearlyAggregateRepository.findAvailableYears();
         List<MonthOption> availableMonths = buildMonthOptions();
 
-        // Calculate summary - using snapshot filtered documents
-        DashboardSummary summary = calculateSummary(filteredDocuments);
-
-        // Filter approved PKSI from snapshot
-        List<PksiDocument> approvedDocuments = filteredDocuments.stream()
-                .filter(p -> p.getStatus() == DocumentStatus.DISETUJUI)
-                .collect(Collectors.toList());
-
         // Calculate various insights
-        ApprovalBreakdown approvalBreakdown = calculateApprovalBreakdown(approvedDocuments, selectedTahun);
-        List<ProgressByBidangRow> progressByBidang = calculateProgressByBidang(approvedDocuments, allBidang, skpaMap, historicalProgress);
-        ProgressInsights progressInsights = calculateProgressInsights(approvedDocuments, selectedTahun, historicalProgress);
-        JenisPksiStats jenisPksiStats = calculateJenisPksiStats(approvedDocuments, selectedTahun);
-        PelaksanaStats pelaksanaStats = calculatePelaksanaStats(approvedDocuments);
-        List<BidangStat> bidangStats = calculateBidangStats(approvedDocuments, allBidang, skpaMap);
+        DashboardSummary summary = calculateSummary(yearlyRows);
+        ApprovalBreakdown approvalBreakdown = calculateApprovalBreakdown(approvedRows);
+        List<ProgressByBidangRow> progressByBidang = calculateProgressByBidang(snapshotRows, allBidang);
+        ProgressInsights progressInsights = calculateProgressInsights(snapshotRows, sumJumlah(approvedRows), selectedTahun);
+        JenisPksiStats jenisPksiStats = calculateJenisPksiStats(approvedRows);
+        PelaksanaStats pelaksanaStats = calculatePelaksanaStats(approvedRows);
+        List<BidangStat> bidangStats = calculateBidangStats(approvedRows, allBidang);
         List<PksiListItem> pksiList = buildPksiList(filteredDocuments, skpaMap, historicalProgress);
-        List<MonthlyProgressTrend> monthlyTrend = calculateMonthlyTrend(approvedDocuments, selectedTahun);
+        List<MonthlyProgressTrend> monthlyTrend = calculateMonthlyTrend(monthlyRows);
 
         return PksiDashboardResponse.builder()
                 .selectedTahun(selectedTahun)
@@ -139,13 +139,9 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
     private Map<UUID, String> getHistoricalProgressState(List<PksiDocument> documents, LocalDateTime snapshotDateTime) {
         Map<UUID, String> result = new HashMap<>();
         
-        // Get last progress change before snapshot date for all PKSIs
-        List<PksiChangelog> progressChanges = pksiChangelogRepository.findLastProgressChangeBeforeDate(snapshotDateTime);
-        
-        for (PksiChangelog change : progressChanges) {
-            if (change.getPksiDocument() != null) {
-                result.put(change.getPksiDocument().getId(), change.getNewValue());
-            }
+        // Progress interval valid at snapshot date for all PKSIs
+        for (PksiProgressChangeView interval : pksiProgressIntervalRepository.findProgressAt(snapshotDateTime)) {
+            result.put(interval.getPksiId(), interval.getProgress());
         }
         
         // For documents without changelog, use current progress if created before snapshot
@@ -174,59 +170,16 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
     private List<PksiDocument> filterByYear(List<PksiDocument> documents, Integer year) {
         if (year == null) return documents;
         return documents.stream()
-                .filter(p -> isInYear(p, year))
+                .filter(p -> PksiDashboardRules.isInYear(p, year))
                 .collect(Collectors.toList());
     }
 
-    private boolean isInYear(PksiDocument doc, int year) {
-        // Check all timeline phases first
-        if (doc.getTimelines() != null && !doc.getTimelines().isEmpty()) {
-            for (PksiTimeline timeline : doc.getTimelines()) {
-                if (timeline.getTargetDate() != null && timeline.getTargetDate().getYear() == year) {
-                    return true;
-                }
-            }
-        }
-        
-        // Fallback to consolidated dates for backward compatibility
-        return checkYearMatch(doc.getTargetUsreqDate(), year) ||
-               checkYearMatch(doc.getTargetSitDate(), year) ||
-               checkYearMatch(doc.getTargetUatDate(), year) ||
-               checkYearMatch(doc.getTargetGoLiveDate(), year);
-    }
-
-    private boolean checkYearMatch(LocalDate date, int year) {
-        return date != null && date.getYear() == year;
-    }
-
-    private List<Integer> extractAvailableYears(List<PksiDocument> documents) {
-        Set<Integer> years = new TreeSet<>();
-        for (PksiDocument doc : documents) {
-            // Check all timeline phases
-            if (doc.getTimelines() != null && !doc.getTimelines().isEmpty()) {
-                for (PksiTimeline timeline : doc.getTimelines()) {
-                    addYearIfPresent(years, timeline.getTargetDate());
-                }
-            }
-            
-            // Fallback to consolidated dates for backward compatibility
-            addYearIfPresent(years, doc.getTargetUsreqDate());
-            addYearIfPresent(years, doc.getTargetSitDate());
-            addYearIfPresent(years, doc.getTargetUatDate());
-            addYearIfPresent(years, doc.getTargetGoLiveDate());
-        }
-        return new ArrayList<>(years);
-    }
-
-    private void addYearIfPresent(Set<Integer> years, LocalDate date) {
-        if (date != null) years.add(date.getYear());
-    }
-
-    private DashboardSummary calculateSummary(List<PksiDocument> documents) {
-        int total = documents.size();
-        int disetujui = (int) documents.stream().filter(p -> p.getStatus() == DocumentStatus.DISETUJUI).count();
-        int dikerjakanDenganCaraLain = (int) documents.stream().filter(p -> p.getStatus() == DocumentStatus.DIKERJAKAN_DENGAN_CARA_LAIN).count();
-        int ditolak = (int) documents.stream().filter(p -> p.getStatus() == DocumentStatus.DITOLAK).count();
+    private DashboardSummary calculateSummary(List<PksiDashboardYearlyAggregate> yearlyRows) {
+        int total = sumJumlah(yearlyRows);
+        int disetujui = sumJumlah(yearlyRows, row -> DocumentStatus.DISETUJUI.name().equals(row.getStatus()));
+        int dikerjakanDenganCaraLain = sumJumlah(yearlyRows,
+                row -> DocumentStatus.DIKERJAKAN_DENGAN_CARA_LAIN.name().equals(row.getStatus()));
+        int ditolak = sumJumlah(yearlyRows, row -> DocumentStatus.DITOLAK.name().equals(row.getStatus()));
         double percentageDisetujui = total > 0 ? Math.round((disetujui * 100.0 / total) * 10.0) / 10.0 : 0.0;
 
         return DashboardSummary.builder()
@@ -238,38 +191,20 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
                 .build();
     }
 
-    private ApprovalBreakdown calculateApprovalBreakdown(List<PksiDocument> approvedDocuments, int selectedTahun) {
-        int disetujuiTahunIni = 0;
-        int disetujuiMultiyearsSebelumnya = 0;
-        int disetujuiMendesak = 0;
-
-        // One More Type: PKSI Mendesak
-        for (PksiDocument doc : approvedDocuments) {
-            LocalDate targetGoLive = getLastTargetDate(doc);
-            LocalDate targetUsreq = doc.getTargetUsreqDate();
-            if (doc.getJenisPksi() != null && doc.getJenisPksi().equalsIgnoreCase("Mendesak")) {
-                disetujuiMendesak++;
-            }else if (targetUsreq != null && targetUsreq.getYear() == selectedTahun) {
-                disetujuiTahunIni++;
-            } else if ((targetGoLive != null && targetGoLive.getYear() == selectedTahun) && (targetUsreq != null && targetUsreq.getYear() == selectedTahun - 1)) {
-                disetujuiMultiyearsSebelumnya++;
-            } else {
-                log.warn("PKSI {} has approved status but targetGoLive year is unknown or in the future", doc.getId());
-            }
-        }
-
+    private ApprovalBreakdown calculateApprovalBreakdown(List<PksiDashboardYearlyAggregate> approvedRows) {
         return ApprovalBreakdown.builder()
-                .disetujuiTahunIni(disetujuiTahunIni)
-                .disetujuiMultiyearsSebelumnya(disetujuiMultiyearsSebelumnya)
-                .disetujuiMendesak(disetujuiMendesak)
+                .disetujuiTahunIni(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.APPROVAL_TAHUN_INI.equals(row.getApprovalKategori())))
+                .disetujuiMultiyearsSebelumnya(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.APPROVAL_MULTIYEAR_SEBELUMNYA.equals(row.getApprovalKategori())))
+                .disetujuiMendesak(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.APPROVAL_MENDESAK.equals(row.getApprovalKategori())))
                 .build();
     }
 
     private List<ProgressByBidangRow> calculateProgressByBidang(
-            List<PksiDocument> approvedDocuments,
-            List<MstBidang> allBidang,
-            Map<UUID, MstSkpa> skpaMap,
-            Map<UUID, String> historicalProgress) {
+            List<PksiDashboardMonthlyAggregate> snapshotRows,
+            List<MstBidang> allBidang) {
 
         List<ProgressByBidangRow> result = new ArrayList<>();
 
@@ -280,14 +215,12 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
             }
 
             int total = 0;
-            for (PksiDocument doc : approvedDocuments) {
-                String docProgress = historicalProgress.getOrDefault(doc.getId(), doc.getProgress());
-                if (progress.equals(docProgress)) {
-                    String bidangKode = resolveBidangKode(doc.getPicSatker(), skpaMap);
-                    if (bidangKode != null && countsByBidang.containsKey(bidangKode)) {
-                        countsByBidang.merge(bidangKode, 1, Integer::sum);
+            for (PksiDashboardMonthlyAggregate row : snapshotRows) {
+                if (progress.equals(row.getProgress())) {
+                    if (countsByBidang.containsKey(row.getBidangKode())) {
+                        countsByBidang.merge(row.getBidangKode(), row.getJumlah(), Integer::sum);
                     }
-                    total++;
+                    total += row.getJumlah();
                 }
             }
 
@@ -303,21 +236,19 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
     }
 
     private ProgressInsights calculateProgressInsights(
-            List<PksiDocument> approvedDocuments, 
-            int selectedTahun,
-            Map<UUID, String> historicalProgress) {
-        
-        int totalApproved = approvedDocuments.size();
+            List<PksiDashboardMonthlyAggregate> snapshotRows,
+            int totalApproved,
+            int selectedTahun) {
 
         // Calculate phase counts
-        PhaseDetail earlyStage = calculatePhaseDetail("Tahap Awal", EARLY_STAGE, approvedDocuments, totalApproved, historicalProgress);
-        PhaseDetail devStage = calculatePhaseDetail("Pengembangan", DEV_STAGE, approvedDocuments, totalApproved, historicalProgress);
-        PhaseDetail testStage = calculatePhaseDetail("Pengujian", TEST_STAGE, approvedDocuments, totalApproved, historicalProgress);
-        PhaseDetail deployStage = calculatePhaseDetail("Finalisasi", DEPLOY_STAGE, approvedDocuments, totalApproved, historicalProgress);
+        PhaseDetail earlyStage = calculatePhaseDetail("Tahap Awal", EARLY_STAGE, snapshotRows, totalApproved);
+        PhaseDetail devStage = calculatePhaseDetail("Pengembangan", DEV_STAGE, snapshotRows, totalApproved);
+        PhaseDetail testStage = calculatePhaseDetail("Pengujian", TEST_STAGE, snapshotRows, totalApproved);
+        PhaseDetail deployStage = calculatePhaseDetail("Finalisasi", DEPLOY_STAGE, snapshotRows, totalApproved);
 
         // Calculate deadline insights
-        DeadlineInsight deadlineCurrentYear = calculateDeadlineInsight(approvedDocuments, selectedTahun, historicalProgress);
-        DeadlineInsight deadlineNextYear = calculateDeadlineInsight(approvedDocuments, selectedTahun + 1, historicalProgress);
+        DeadlineInsight deadlineCurrentYear = calculateDeadlineInsight(snapshotRows, selectedTahun);
+        DeadlineInsight deadlineNextYear = calculateDeadlineInsight(snapshotRows, selectedTahun + 1);
 
         return ProgressInsights.builder()
                 .earlyStage(earlyStage)
@@ -330,23 +261,16 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
     }
 
     private PhaseDetail calculatePhaseDetail(
-            String label, 
-            List<String> progressList, 
-            List<PksiDocument> documents,
-            int totalApproved,
-            Map<UUID, String> historicalProgress) {
-        
+            String label,
+            List<String> progressList,
+            List<PksiDashboardMonthlyAggregate> snapshotRows,
+            int totalApproved) {
+
         List<ProgressCount> breakdown = new ArrayList<>();
         int phaseTotal = 0;
 
         for (String progress : progressList) {
-            int count = 0;
-            for (PksiDocument doc : documents) {
-                String docProgress = historicalProgress.getOrDefault(doc.getId(), doc.getProgress());
-                if (progress.equals(docProgress)) {
-                    count++;
-                }
-            }
+            int count = sumMonthlyJumlah(snapshotRows, row -> progress.equals(row.getProgress()));
             breakdown.add(ProgressCount.builder().progress(progress).count(count).build());
             phaseTotal += count;
         }
@@ -362,10 +286,9 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
     }
 
     private DeadlineInsight calculateDeadlineInsight(
-            List<PksiDocument> approvedDocuments, 
-            int targetYear,
-            Map<UUID, String> historicalProgress) {
-        
+            List<PksiDashboardMonthlyAggregate> snapshotRows,
+            int targetYear) {
+
         List<ProgressCount> breakdown = new ArrayList<>();
         int deadlineTotal = 0;
 
@@ -374,13 +297,11 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
             progressCounts.put(progress, 0);
         }
 
-        for (PksiDocument doc : approvedDocuments) {
-            LocalDate deadline = getLastTargetDate(doc);
-            if (deadline != null && deadline.getYear() == targetYear) {
-                deadlineTotal++;
-                String docProgress = historicalProgress.getOrDefault(doc.getId(), doc.getProgress());
-                if (docProgress != null && progressCounts.containsKey(docProgress)) {
-                    progressCounts.merge(docProgress, 1, Integer::sum);
+        for (PksiDashboardMonthlyAggregate row : snapshotRows) {
+            if (row.getDeadlineTahun() == targetYear) {
+                deadlineTotal += row.getJumlah();
+                if (progressCounts.containsKey(row.getProgress())) {
+                    progressCounts.merge(row.getProgress(), row.getJumlah(), Integer::sum);
                 }
             }
         }
@@ -406,105 +327,31 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
                 .build();
     }
 
-    private JenisPksiStats calculateJenisPksiStats(List<PksiDocument> approvedDocuments, int selectedTahun) {
-        int singleYear = 0;
-        int multiyearsYMinus1 = 0;
-        int multiyearsYPlus1 = 0;
-
-        for (PksiDocument doc : approvedDocuments) {
-            if (isMultiyear(doc)) {
-                // Multiyear PKSI
-                Integer startYear = getStartYear(doc);
-                Integer endYear = getEndYear(doc);
-                
-                if (startYear != null && startYear <= selectedTahun - 1) {
-                    multiyearsYMinus1++;
-                } else if (endYear != null && endYear >= selectedTahun + 1) {
-                    multiyearsYPlus1++;
-                }
-            } else {
-                // Single year PKSI
-                LocalDate targetGoLive = getLastTargetDate(doc);
-                if (targetGoLive != null && targetGoLive.getYear() == selectedTahun) {
-                    singleYear++;
-                }
-            }
-        }
-
+    private JenisPksiStats calculateJenisPksiStats(List<PksiDashboardYearlyAggregate> approvedRows) {
         return JenisPksiStats.builder()
-                .singleYear(singleYear)
-                .multiyearsYMinus1(multiyearsYMinus1)
-                .multiyearsYPlus1(multiyearsYPlus1)
+                .singleYear(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.JENIS_SINGLE_YEAR.equals(row.getJenisKategori())))
+                .multiyearsYMinus1(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.JENIS_MULTIYEAR_Y_MINUS_1.equals(row.getJenisKategori())))
+                .multiyearsYPlus1(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.JENIS_MULTIYEAR_Y_PLUS_1.equals(row.getJenisKategori())))
                 .build();
     }
 
-    private boolean isMultiyear(PksiDocument doc) {
-        Integer startYear = getStartYear(doc);
-        Integer endYear = getEndYear(doc);
-        return startYear != null && endYear != null && !startYear.equals(endYear);
-    }
-
-    private Integer getStartYear(PksiDocument doc) {
-        LocalDate firstDate = null;
-        
-        // Check all timeline phases and get the earliest date
-        if (doc.getTimelines() != null && !doc.getTimelines().isEmpty()) {
-            for (PksiTimeline timeline : doc.getTimelines()) {
-                if (timeline.getTargetDate() != null) {
-                    if (firstDate == null || timeline.getTargetDate().isBefore(firstDate)) {
-                        firstDate = timeline.getTargetDate();
-                    }
-                }
-            }
-            if (firstDate != null) return firstDate.getYear();
-        }
-        
-        // Fallback to consolidated dates for backward compatibility
-        if (doc.getTargetUsreqDate() != null) return doc.getTargetUsreqDate().getYear();
-        if (doc.getTargetSitDate() != null) return doc.getTargetSitDate().getYear();
-        if (doc.getTargetUatDate() != null) return doc.getTargetUatDate().getYear();
-        if (doc.getTargetGoLiveDate() != null) return doc.getTargetGoLiveDate().getYear();
-        return null;
-    }
-
-    private Integer getEndYear(PksiDocument doc) {
-        LocalDate lastDate = getLastTargetDate(doc);
-        return lastDate != null ? lastDate.getYear() : null;
-    }
-
-    private LocalDate getLastTargetDate(PksiDocument doc) {
-        return doc.getTargetGoLiveDateLastPhase();
-    }
-
-    private PelaksanaStats calculatePelaksanaStats(List<PksiDocument> approvedDocuments) {
-        int inhouse = 0;
-        int outsource = 0;
-        int unknown = 0;
-
-        for (PksiDocument doc : approvedDocuments) {
-            String io = doc.getInhouseOutsource();
-            if (io == null || io.trim().isEmpty()) {
-                unknown++;
-            } else if (io.toLowerCase().contains("inhouse")) {
-                inhouse++;
-            } else if (io.toLowerCase().contains("outsource")) {
-                outsource++;
-            } else {
-                unknown++;
-            }
-        }
-
+    private PelaksanaStats calculatePelaksanaStats(List<PksiDashboardYearlyAggregate> approvedRows) {
         return PelaksanaStats.builder()
-                .inhouse(inhouse)
-                .outsource(outsource)
-                .unknown(unknown)
+                .inhouse(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.PELAKSANA_INHOUSE.equals(row.getPelaksana())))
+                .outsource(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.PELAKSANA_OUTSOURCE.equals(row.getPelaksana())))
+                .unknown(sumJumlah(approvedRows,
+                        row -> PksiDashboardRules.PELAKSANA_UNKNOWN.equals(row.getPelaksana())))
                 .build();
     }
 
     private List<BidangStat> calculateBidangStats(
-            List<PksiDocument> approvedDocuments,
-            List<MstBidang> allBidang,
-            Map<UUID, MstSkpa> skpaMap) {
+            List<PksiDashboardYearlyAggregate> approvedRows,
+            List<MstBidang> allBidang) {
         
         // Count PKSI per bidang
         Map<String, Integer> countsByBidang = new LinkedHashMap<>();
@@ -515,10 +362,9 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
             bidangNames.put(bidang.getKodeBidang(), bidang.getNamaBidang());
         }
 
-        for (PksiDocument doc : approvedDocuments) {
-            String bidangKode = resolveBidangKode(doc.getPicSatker(), skpaMap);
-            if (bidangKode != null && countsByBidang.containsKey(bidangKode)) {
-                countsByBidang.merge(bidangKode, 1, Integer::sum);
+        for (PksiDashboardYearlyAggregate row : approvedRows) {
+            if (countsByBidang.containsKey(row.getBidangKode())) {
+                countsByBidang.merge(row.getBidangKode(), row.getJumlah(), Integer::sum);
             }
         }
 
@@ -544,7 +390,7 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
         
         return documents.stream()
                 .map(doc -> {
-                    String bidangNama = resolveBidangNama(doc.getPicSatker(), skpaMap);
+                    String bidangNama = PksiDashboardRules.resolveBidangNama(doc.getPicSatker(), skpaMap);
                     String inisiatifNomor = null;
                     String inisiatifNama = null;
                     
@@ -566,36 +412,28 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
                             .bidangNama(bidangNama)
                             .tahap7Awal(doc.getTargetGoLive() != null ? doc.getTargetGoLive().toString() : null)
                             .tahap7Akhir(doc.getTargetGoLive() != null ? doc.getTargetGoLive().toString() : null)
-                            .isMultiyear(isMultiyear(doc))
+                            .isMultiyear(PksiDashboardRules.isMultiyear(doc))
                             .inhouseOutsource(doc.getInhouseOutsource())
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
-    private List<MonthlyProgressTrend> calculateMonthlyTrend(List<PksiDocument> approvedDocuments, int year) {
+    private List<MonthlyProgressTrend> calculateMonthlyTrend(List<PksiDashboardMonthlyAggregate> monthlyRows) {
         List<MonthlyProgressTrend> trend = new ArrayList<>();
         
         for (int month = 1; month <= 12; month++) {
-            LocalDateTime monthEnd = YearMonth.of(year, month).atEndOfMonth().atTime(23, 59, 59);
-            
-            // Filter documents that existed at this month
-            List<PksiDocument> documentsAtMonth = approvedDocuments.stream()
-                    .filter(doc -> doc.getCreatedAt() != null && doc.getCreatedAt().isBefore(monthEnd))
-                    .collect(Collectors.toList());
-            
-            Map<UUID, String> monthProgress = getHistoricalProgressState(documentsAtMonth, monthEnd);
-            
             int early = 0, dev = 0, test = 0, complete = 0;
             
-            for (PksiDocument doc : documentsAtMonth) {
-                String progress = monthProgress.get(doc.getId());
-                if (progress == null) continue;
-                
-                if (EARLY_STAGE.contains(progress)) early++;
-                else if (DEV_STAGE.contains(progress)) dev++;
-                else if (TEST_STAGE.contains(progress)) test++;
-                else if (DEPLOY_STAGE.contains(progress)) complete++;
+            // Only PKSI that already existed at the end of this month
+            for (PksiDashboardMonthlyAggregate row : monthlyRows) {
+                if (row.getBulan() != month || !Boolean.TRUE.equals(row.getSudahDibuat())) continue;
+
+                String progress = row.getProgress();
+                if (EARLY_STAGE.contains(progress)) early += row.getJumlah();
+                else if (DEV_STAGE.contains(progress)) dev += row.getJumlah();
+                else if (TEST_STAGE.contains(progress)) test += row.getJumlah();
+                else if (DEPLOY_STAGE.contains(progress)) complete += row.getJumlah();
             }
             
             trend.add(MonthlyProgressTrend.builder()
@@ -611,39 +449,15 @@ public class PksiDashboardServiceImpl implements PksiDashboardService {
         return trend;
     }
 
-    private String resolveBidangKode(String picSatker, Map<UUID, MstSkpa> skpaMap) {
-        if (picSatker == null || picSatker.trim().isEmpty()) return null;
-
-        String[] skpaIds = picSatker.split(",");
-        for (String skpaIdStr : skpaIds) {
-            try {
-                UUID skpaId = UUID.fromString(skpaIdStr.trim());
-                MstSkpa skpa = skpaMap.get(skpaId);
-                if (skpa != null && skpa.getBidang() != null) {
-                    return skpa.getBidang().getKodeBidang();
-                }
-            } catch (IllegalArgumentException e) {
-                log.debug("Invalid UUID in pic_satker: {}", skpaIdStr);
-            }
-        }
-        return null;
+    private int sumJumlah(List<PksiDashboardYearlyAggregate> rows) {
+        return sumJumlah(rows, row -> true);
     }
 
-    private String resolveBidangNama(String picSatker, Map<UUID, MstSkpa> skpaMap) {
-        if (picSatker == null || picSatker.trim().isEmpty()) return null;
+    private int sumJumlah(List<PksiDashboardYearlyAggregate> rows, Predicate<PksiDashboardYearlyAggregate> filter) {
+        return rows.stream().filter(filter).mapToInt(PksiDashboardYearlyAggregate::getJumlah).sum();
+    }
 
-        String[] skpaIds = picSatker.split(",");
-        for (String skpaIdStr : skpaIds) {
-            try {
-                UUID skpaId = UUID.fromString(skpaIdStr.trim());
-                MstSkpa skpa = skpaMap.get(skpaId);
-                if (skpa != null && skpa.getBidang() != null) {
-                    return skpa.getBidang().getNamaBidang();
-                }
-            } catch (IllegalArgumentException e) {
-                log.debug("Invalid UUID in pic_satker: {}", skpaIdStr);
-            }
-        }
-        return null;
+    private int sumMonthlyJumlah(List<PksiDashboardMonthlyAggregate> rows, Predicate<PksiDashboardMonthlyAggregate> filter) {
+        return rows.stream().filter(filter).mapToInt(PksiDashboardMonthlyAggregate::getJumlah).sum();
     }
 }
@@ -0,0 +1,270 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.projection.PksiDashboardView;
+import com.pcs8.orientasi.domain.dto.projection.PksiDocumentListView;
+import com.pcs8.orientasi.domain.entity.InisiatifGroup;
+import com.pcs8.orientasi.domain.entity.MstAplikasi;
+import com.pcs8.orientasi.domain.entity.MstTeam;
+import com.pcs8.orientasi.domain.entity.MstUser;
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiTimeline;
+import com.pcs8.orientasi.domain.entity.RbsiInisiatif;
+import com.pcs8.orientasi.repository.InisiatifGroupRepository;
+import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.PksiTimelineRepository;
+import com.pcs8.orientasi.repository.RbsiInisiatifRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Memuat PKSI untuk halaman list, monitoring dan dashboard tanpa kolom narasi NVARCHAR(MAX).
+ *
+ * <p>Baris diambil lewat projection lalu dirakit menjadi instance {@link PksiDocument} transient
+ * (timeline, inisiatif, parent dan child di-load per batch), sehingga {@link PksiDocumentMapper}
+ * dan logika nested/effective di entity tetap dipakai apa adanya. Instance ini read-only dan kolom
+ * narasinya null: jangan di-save dan jangan dipakai untuk detail dokumen.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PksiDocumentListLoader {
+
+    /** Chunk IN list agar tetap jauh di bawah batas 2100 parameter SQL Server */
+    private static final int ID_QUERY_CHUNK_SIZE = 1000;
+
+    private final PksiDocumentRepository pksiDocumentRepository;
+    private final PksiTimelineRepository pksiTimelineRepository;
+    private final RbsiInisiatifRepository rbsiInisiatifRepository;
+    private final InisiatifGroupRepository inisiatifGroupRepository;
+
+    /**
+     * Rakit halaman hasil searchDocumentIds* menjadi dokumen list, dengan urutan halaman dipertahankan.
+     * Harus dipanggil di dalam transaksi karena relasi inisiatif/group di-load lazy oleh mapper.
+     */
+    public Page<PksiDocument> loadPage(Page<UUID> idPage) {
+        Map<UUID, PksiDocument> documents = loadListDocuments(idPage.getContent());
+        return idPage.map(documents::get);
+    }
+
+    /**
+     * Dokumen untuk dashboard: status, progress, PIC satker, target tanggal, timeline dan inisiatif.
+     */
+    public List<PksiDocument> loadDashboardDocuments() {
+        Map<UUID, List<PksiTimeline>> timelines = groupByDocument(pksiTimelineRepository.findAllByOrderByStageAscPhaseAsc());
+
+        return pksiDocumentRepository.findAllDashboardViews().stream()
+                .map(view -> toDashboardDocument(view, timelines))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Dokumen dashboard yang punya tanggal target (timeline atau kolom lama) di tahun tersebut.
+     * Hasilnya kandidat: aturan tahun yang persis tetap diterapkan oleh pemanggil.
+     */
+    public List<PksiDocument> loadDashboardDocuments(int tahun) {
+        List<PksiDashboardView> views = pksiDocumentRepository.findDashboardViewsByTargetDateBetween(
+                LocalDate.of(tahun, 1, 1), LocalDate.of(tahun, 12, 31));
+        Map<UUID, List<PksiTimeline>> timelines = groupByDocument(queryInChunks(
+                views.stream().map(PksiDashboardView::getId).toList(),
+                pksiTimelineRepository::findByPksiDocumentIdInOrderByStageAscPhaseAsc));
+
+        return views.stream()
+                .map(view -> toDashboardDocument(view, timelines))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Satu dokumen dashboard, misalnya untuk memperbarui agregat setelah PKSI berubah
+     */
+    public Optional<PksiDocument> loadDashboardDocument(UUID id) {
+        return pksiDocumentRepository.findDashboardViewById(id)
+                .map(view -> toDashboardDocument(view, groupByDocument(
+                        pksiTimelineRepository.findByPksiDocumentIdInOrderByStageAscPhaseAsc(List.of(id)))));
+    }
+
+    private Map<UUID, PksiDocument> loadListDocuments(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        List<PksiDocumentListView> views = new ArrayList<>(queryInChunks(ids, pksiDocumentRepository::findListViewsByIdIn));
+
+        // Parent yang tidak ada di halaman ini tetap dibutuhkan untuk nilai effective di monitoring
+        Set<UUID> pageIds = new LinkedHashSet<>(ids);
+        List<UUID> missingParentIds = views.stream()
+                .map(PksiDocumentListView::getParentPksiId)
+                .filter(Objects::nonNull)
+                .filter(parentId -> !pageIds.contains(parentId))
+                .distinct()
+                .toList();
+        views.addAll(queryInChunks(missingParentIds, pksiDocumentRepository::findListViewsByIdIn));
+
+        List<PksiDocumentListView> childViews = queryInChunks(ids, pksiDocumentRepository::findListViewsByParentPksiIdIn);
+
+        Map<UUID, RbsiInisiatif> inisiatifs = findAllById(views, PksiDocumentListView::getInisiatifId,
+                rbsiInisiatifRepository::findAllById, RbsiInisiatif::getId);
+        Map<UUID, InisiatifGroup> groups = findAllById(views, PksiDocumentListView::getInisiatifGroupId,
+                inisiatifGroupRepository::findAllById, InisiatifGroup::getId);
+        Map<UUID, List<PksiTimeline>> timelines = groupByDocument(queryInChunks(
+                views.stream().map(PksiDocumentListView::getId).toList(),
+                pksiTimelineRepository::findByPksiDocumentIdInOrderByStageAscPhaseAsc));
+
+        Map<UUID, PksiDocument> documents = new HashMap<>();
+        for (PksiDocumentListView view : views) {
+            PksiDocument document = toListDocument(view);
+            document.setInisiatif(view.getInisiatifId() != null ? inisiatifs.get(view.getInisiatifId()) : null);
+            document.setInisiatifGroup(view.getInisiatifGroupId() != null ? groups.get(view.getInisiatifGroupId()) : null);
+            document.setTimelines(timelines.getOrDefault(view.getId(), new ArrayList<>()));
+            documents.put(view.getId(), document);
+        }
+        for (PksiDocumentListView view : views) {
+            if (view.getParentPksiId() != null) {
+                documents.get(view.getId()).setParentPksi(documents.get(view.getParentPksiId()));
+            }
+        }
+        for (PksiDocumentListView childView : childViews) {
+            PksiDocument parent = documents.get(childView.getParentPksiId());
+            if (parent != null) {
+                parent.getChildPksiList().add(toListDocument(childView));
+            }
+        }
+        return documents;
+    }
+
+    private PksiDocument toListDocument(PksiDocumentListView view) {
+        return PksiDocument.builder()
+                .id(view.getId())
+                .namaPksi(view.getNamaPksi())
+                .jenisPksi(view.getJenisPksi())
+                .tanggalPengajuan(view.getTanggalPengajuan())
+                .kapanDiselesaikan(view.getKapanDiselesaikan())
+                .picSatker(view.getPicSatker())
+                .pengelolaAplikasi(view.getPengelolaAplikasi())
+                .programInisiatifRbsi(view.getProgramInisiatifRbsi())
+                .status(view.getStatus())
+                .iku(view.getIku())
+                .inhouseOutsource(view.getInhouseOutsource())
+                .picApproval(view.getPicApproval())
+                .picApprovalName(view.getPicApprovalName())
+                .anggotaTim(view.getAnggotaTim())
+                .anggotaTimNames(view.getAnggotaTimNames())
+                .progress(view.getProgress())
+                .anggaranTotal(view.getAnggaranTotal())
+                .anggaranTahunIni(view.getAnggaranTahunIni())
+                .anggaranTahunDepan(view.getAnggaranTahunDepan())
+                .targetUsreq(view.getTargetUsreq())
+                .targetSit(view.getTargetSit())
+                .targetUat(view.getTargetUat())
+                .targetGoLive(view.getTargetGoLive())
+                .tanggalPengadaan(view.getTanggalPengadaan())
+                .tanggalDesain(view.getTanggalDesain())
+                .tanggalCoding(view.getTanggalCoding())
+                .tanggalUnitTest(view.getTanggalUnitTest())
+                .statusT01T02(view.getStatusT01T02())
+                .berkasT01T02(view.getBerkasT01T02())
+                .statusT11(view.getStatusT11())
+                .berkasT11(view.getBerkasT11())
+                .statusCd(view.getStatusCd())
+                .nomorCd(view.getNomorCd())
+                .kontrakTanggalMulai(view.getKontrakTanggalMulai())
+                .kontrakTanggalSelesai(view.getKontrakTanggalSelesai())
+                .kontrakNilai(view.getKontrakNilai())
+                .kontrakJumlahTermin(view.getKontrakJumlahTermin())
+                .kontrakDetailPembayaran(view.getKontrakDetailPembayaran())
+                .baDeploy(view.getBaDeploy())
+                .tahapanStatusUsreq(view.getTahapanStatusUsreq())
+                .tahapanStatusPengadaan(view.getTahapanStatusPengadaan())
+                .tahapanStatusDesain(view.getTahapanStatusDesain())
+                .tahapanStatusCoding(view.getTahapanStatusCoding())
+                .tahapanStatusUnitTest(view.getTahapanStatusUnitTest())
+                .tahapanStatusSit(view.getTahapanStatusSit())
+                .tahapanStatusUat(view.getTahapanStatusUat())
+                .tahapanStatusDeployment(view.getTahapanStatusDeployment())
+                .tahapanStatusSelesai(view.getTahapanStatusSelesai())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .user(view.getUserId() != null
+                        ? MstUser.builder().uuid(view.getUserId()).fullName(view.getUserFullName()).build()
+                        : null)
+                .aplikasi(view.getAplikasiId() != null
+                        ? MstAplikasi.builder().id(view.getAplikasiId()).namaAplikasi(view.getNamaAplikasi()).build()
+                        : null)
+                .team(view.getTeamId() != null
+                        ? MstTeam.builder().id(view.getTeamId()).name(view.getTeamName()).build()
+                        : null)
+                .build();
+    }
+
+    private PksiDocument toDashboardDocument(PksiDashboardView view, Map<UUID, List<PksiTimeline>> timelines) {
+        return PksiDocument.builder()
+                .id(view.getId())
+                .namaPksi(view.getNamaPksi())
+                .jenisPksi(view.getJenisPksi())
+                .status(view.getStatus())
+                .progress(view.getProgress())
+                .picSatker(view.getPicSatker())
+                .inhouseOutsource(view.getInhouseOutsource())
+                .targetUsreq(view.getTargetUsreq())
+                .targetSit(view.getTargetSit())
+                .targetUat(view.getTargetUat())
+                .targetGoLive(view.getTargetGoLive())
+                .createdAt(view.getCreatedAt())
+                .inisiatif(toDashboardInisiatif(view))
+                .timelines(timelines.getOrDefault(view.getId(), new ArrayList<>()))
+                .build();
+    }
+
+    private RbsiInisiatif toDashboardInisiatif(PksiDashboardView view) {
+        if (view.getInisiatifId() == null) {
+            return null;
+        }
+        return RbsiInisiatif.builder()
+                .id(view.getInisiatifId())
+                .nomorInisiatif(view.getInisiatifNomor())
+                .namaInisiatif(view.getInisiatifNama())
+                .build();
+    }
+
+    private <T> List<T> queryInChunks(List<UUID> ids, Function<Collection<UUID>, List<T>> query) {
+        List<T> result = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_QUERY_CHUNK_SIZE) {
+            result.addAll(query.apply(ids.subList(from, Math.min(from + ID_QUERY_CHUNK_SIZE, ids.size()))));
+        }
+        return result;
+    }
+
+    private <E> Map<UUID, E> findAllById(List<PksiDocumentListView> views,
+                                         Function<PksiDocumentListView, UUID> idExtractor,
+                                         Function<Iterable<UUID>, List<E>> finder,
+                                         Function<E, UUID> idOf) {
+        List<UUID> ids = views.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return queryInChunks(ids, finder::apply).stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+    }
+
+    private Map<UUID, List<PksiTimeline>> groupByDocument(List<PksiTimeline> timelines) {
+        Map<UUID, List<PksiTimeline>> result = new HashMap<>();
+        for (PksiTimeline timeline : timelines) {
+            result.computeIfAbsent(timeline.getPksiDocument().getId(), key -> new ArrayList<>()).add(timeline);
+        }
+        return result;
+    }
+}
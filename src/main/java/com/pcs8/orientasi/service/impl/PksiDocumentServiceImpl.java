@@ -2,6 +2,7 @@ package com.pcs8.orientasi.service.impl;
 
 import com.pcs8.orientasi.config.UserContext;
 import com.pcs8.orientasi.domain.dto.ApprovalFields;
+import com.pcs8.orientasi.domain.dto.PksiDashboardContribution;
 import com.pcs8.orientasi.domain.dto.request.PksiDocumentRequest;
 import com.pcs8.orientasi.domain.dto.request.UpdateApprovalRequest;
 import com.pcs8.orientasi.domain.dto.request.UpdateStatusRequest;
@@ -11,6 +12,7 @@ import com.pcs8.orientasi.domain.dto.response.PksiHistorisResponse;
 import com.pcs8.orientasi.domain.entity.MstSkpa;
 import com.pcs8.orientasi.domain.entity.MstUser;
 import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiSkpa;
 import com.pcs8.orientasi.domain.entity.PksiTimeline;
 import com.pcs8.orientasi.exception.BadRequestException;
 import com.pcs8.orientasi.exception.ResourceNotFoundException;
@@ -20,9 +22,13 @@ import com.pcs8.orientasi.repository.RbsiInisiatifRepository;
 import com.pcs8.orientasi.repository.MstSkpaRepository;
 import com.pcs8.orientasi.repository.MstUserRepository;
 import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.PksiProgressIntervalRepository;
+import com.pcs8.orientasi.repository.PksiSkpaRepository;
 import com.pcs8.orientasi.repository.PksiTimelineRepository;
 import com.pcs8.orientasi.repository.TeamRepository;
+import com.pcs8.orientasi.service.MasterDataService;
 import com.pcs8.orientasi.service.PksiChangelogService;
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
 import com.pcs8.orientasi.service.PksiDocumentService;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.Hibernate;
@@ -37,6 +43,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -54,14 +61,19 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
     private static final String PKSI_NOT_FOUND = "PKSI document not found";
 
     private final PksiDocumentRepository pksiDocumentRepository;
+    private final PksiDocumentListLoader pksiDocumentListLoader;
     private final PksiTimelineRepository pksiTimelineRepository;
+    private final PksiSkpaRepository pksiSkpaRepository;
+    private final PksiProgressIntervalRepository pksiProgressIntervalRepository;
     private final MstUserRepository userRepository;
     private final PksiDocumentMapper mapper;
     private final MstAplikasiRepository aplikasiRepository;
     private final MstSkpaRepository skpaRepository;
+    private final MasterDataService masterDataService;
     private final RbsiInisiatifRepository rbsiInisiatifRepository;
     private final InisiatifGroupRepository inisiatifGroupRepository;
     private final PksiChangelogService pksiChangelogService;
+    private final PksiDashboardAggregateService pksiDashboardAggregateService;
     private final TeamRepository teamRepository;
     private final UserContext userContext;
 
@@ -92,6 +104,8 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         
         // Handle timelines
         updateTimelines(saved, request);
+        updatePicSatkerLinks(saved);
+        pksiDashboardAggregateService.refresh(saved.getId(), PksiDashboardContribution.empty());
         
         log.info("PKSI document created successfully");
 
@@ -114,11 +128,10 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
     public List<PksiDocumentResponse> getAllDocuments() {
         log.info("Fetching all PKSI documents");
         
-        return pksiDocumentRepository.findAllWithUser().stream()
+        return enrichWithSkpaNames(pksiDocumentRepository.findAllWithUser().stream()
                 .map(this::initializeLazyRelations)
                 .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -126,11 +139,10 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
     public List<PksiDocumentResponse> getDocumentsByUser(UUID userId) {
         log.info("Fetching PKSI documents for user");
         
-        return pksiDocumentRepository.findByUserUuid(userId).stream()
+        return enrichWithSkpaNames(pksiDocumentRepository.findByUserUuid(userId).stream()
                 .map(this::initializeLazyRelations)
                 .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
@@ -142,10 +154,8 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         String searchPattern = formatSearchPattern(search);
         String sanitizedStatus = sanitizeSearchInput(status);
         
-        return pksiDocumentRepository.searchDocuments(searchPattern, sanitizedStatus, pageable)
-                .map(this::initializeLazyRelations)
-                .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames);
+        return enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIds(searchPattern, sanitizedStatus, pageable))
+                .map(mapper::mapToResponseOriginal));
     }
 
     @Override
@@ -160,10 +170,8 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         // Admin/Pengembang can see all documents
         if (canSeeAll) {
             log.info("User can see all - fetching all documents");
-            return pksiDocumentRepository.searchDocuments(searchPattern, sanitizedStatus, pageable)
-                    .map(this::initializeLazyRelations)
-                    .map(mapper::mapToResponseOriginal)
-                    .map(this::enrichWithSkpaNames);
+            return enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIds(searchPattern, sanitizedStatus, pageable))
+                    .map(mapper::mapToResponseOriginal));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -175,18 +183,14 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         // SKPA users only see documents where SKPA kode matches their department
         log.info("User is SKPA - filtering by department: '{}'", userDepartment);
         
-        // Debug: Find SKPA UUID for the user's department
-        Optional<MstSkpa> userSkpa = skpaRepository.findByKodeSkpa(userDepartment.trim().toUpperCase());
-        if (userSkpa.isPresent()) {
-            log.info("Found SKPA for department '{}': UUID = {}", userDepartment, userSkpa.get().getId());
-        } else {
-            log.warn("No SKPA found for department '{}' - user will see no PKSI", userDepartment);
+        Optional<UUID> skpaId = resolveDepartmentSkpaId(userDepartment);
+        if (skpaId.isEmpty()) {
+            return Page.empty(pageable);
         }
         
-        Page<PksiDocumentResponse> result = pksiDocumentRepository.searchDocumentsByDepartment(searchPattern, sanitizedStatus, userDepartment.trim(), pageable)
-                .map(this::initializeLazyRelations)
-                .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames);
+        Page<PksiDocumentResponse> result = enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIdsByDepartment(
+                searchPattern, sanitizedStatus, skpaId.get(), pageable))
+                .map(mapper::mapToResponseOriginal));
         
         log.info("Search result: {} documents found for department '{}'", result.getTotalElements(), userDepartment);
         
@@ -203,12 +207,10 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         // Admin/Pengembang can see all documents
         if (canSeeAll) {
             log.info("User can see all - fetching all documents with filters (year: {})", year);
-            return pksiDocumentRepository.searchDocumentsWithFilters(
+            return enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIdsWithFilters(
                     searchPattern, sanitizedStatus, year, noInisiatif, 
-                    null, null, null, null, pageable)
-                    .map(this::initializeLazyRelations)
-                    .map(mapper::mapToResponseOriginal)
-                    .map(this::enrichWithSkpaNames);
+                    null, null, null, null, pageable))
+                    .map(mapper::mapToResponseOriginal));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -220,12 +222,15 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         // SKPA users only see documents where SKPA kode matches their department
         log.info("User is SKPA - filtering by department: '{}' (year: {})", userDepartment, year);
         
-        Page<PksiDocumentResponse> result = pksiDocumentRepository.searchDocumentsByDepartmentWithFilters(
+        Optional<UUID> skpaId = resolveDepartmentSkpaId(userDepartment);
+        if (skpaId.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        Page<PksiDocumentResponse> result = enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIdsByDepartmentWithFilters(
                 searchPattern, sanitizedStatus, year, noInisiatif, 
-                null, null, null, null, userDepartment.trim(), pageable)
-                .map(this::initializeLazyRelations)
-                .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames);
+                null, null, null, null, skpaId.get(), pageable))
+                .map(mapper::mapToResponseOriginal));
         
         log.info("Search result with filters: {} documents found (year: {})", result.getTotalElements(), year);
         
@@ -246,12 +251,10 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         if (canSeeAll) {
             log.info("User can see all - fetching monitoring documents with filters (year: {}, timelineStage: {}, timelineFromMonth: {}, timelineToMonth: {}, timelineYear: {})", 
                     year, sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear);
-            return pksiDocumentRepository.searchDocumentsWithFilters(
+            return enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIdsWithFilters(
                     searchPattern, sanitizedStatus, year, noInisiatif, 
-                    sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear, pageable)
-                    .map(this::initializeLazyRelations)
-                    .map(mapper::mapToResponseForMonitoring)
-                    .map(this::enrichWithSkpaNames);
+                    sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear, pageable))
+                    .map(mapper::mapToResponseForMonitoring));
         }
         
         // SKPA users: if department is empty, return empty result (security)
@@ -264,12 +267,15 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         log.info("User is SKPA - filtering monitoring by department: '{}' (year: {}, timelineStage: {}, timelineFromMonth: {}, timelineToMonth: {}, timelineYear: {})", 
                 userDepartment, year, sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear);
         
-        Page<PksiDocumentResponse> result = pksiDocumentRepository.searchDocumentsByDepartmentWithFilters(
+        Optional<UUID> skpaId = resolveDepartmentSkpaId(userDepartment);
+        if (skpaId.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        Page<PksiDocumentResponse> result = enrichWithSkpaNames(pksiDocumentListLoader.loadPage(pksiDocumentRepository.searchDocumentIdsByDepartmentWithFilters(
                 searchPattern, sanitizedStatus, year, noInisiatif, 
-                sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear, userDepartment.trim(), pageable)
-                .map(this::initializeLazyRelations)
-                .map(mapper::mapToResponseForMonitoring)
-                .map(this::enrichWithSkpaNames);
+                sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear, skpaId.get(), pageable))
+                .map(mapper::mapToResponseForMonitoring));
         
         log.info("Monitoring search result with filters: {} documents found (year: {}, timelineStage: {}, timelineFromMonth: {}, timelineToMonth: {}, timelineYear: {})", 
                 result.getTotalElements(), year, sanitizedTimelineStage, timelineFromMonth, timelineToMonth, timelineYear);
@@ -325,6 +331,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
 
         // Create a snapshot of the old values for change tracking
         PksiDocument oldSnapshot = createSnapshot(document);
+        PksiDashboardContribution dashboardBefore = pksiDashboardAggregateService.capture(id);
 
         setAplikasiFromRequest(document, request);
         setInisiatifFromRequest(document, request, true);
@@ -334,6 +341,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         
         // Handle timelines
         updateTimelines(updated, request);
+        updatePicSatkerLinks(updated);
         
         log.info("PKSI document updated successfully");
 
@@ -342,6 +350,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         if (updatedBy != null) {
             pksiChangelogService.trackChanges(updated, oldSnapshot, updatedBy);
         }
+        pksiDashboardAggregateService.refresh(id, dashboardBefore);
 
         return enrichWithSkpaNames(mapper.mapToResponseOriginal(initializeLazyRelations(updated)));
     }
@@ -355,7 +364,11 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
             throw new ResourceNotFoundException(PKSI_NOT_FOUND);
         }
 
+        PksiDashboardContribution dashboardBefore = pksiDashboardAggregateService.capture(id);
+        pksiSkpaRepository.deleteByPksiDocumentId(id);
+        pksiProgressIntervalRepository.deleteByPksiDocumentId(id);
         pksiDocumentRepository.deleteById(id);
+        pksiDashboardAggregateService.refresh(id, dashboardBefore);
         log.info("PKSI document deleted successfully");
     }
 
@@ -369,6 +382,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
 
         // Create a snapshot of the old values for change tracking
         PksiDocument oldSnapshot = createSnapshot(document);
+        PksiDashboardContribution dashboardBefore = pksiDashboardAggregateService.capture(id);
 
         PksiDocument.DocumentStatus newStatus = parseDocumentStatus(request.getStatus(), id);
         document.setStatus(newStatus);
@@ -390,6 +404,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
         if (updatedBy != null) {
             pksiChangelogService.trackChanges(updated, oldSnapshot, updatedBy);
         }
+        pksiDashboardAggregateService.refresh(id, dashboardBefore);
 
         log.info("PKSI document status updated successfully");
         return enrichWithSkpaNames(mapper.mapToResponseOriginal(initializeLazyRelations(updated)));
@@ -487,6 +502,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
 
         // Create snapshot for change tracking BEFORE applying changes
         PksiDocument oldSnapshot = createSnapshot(document);
+        PksiDashboardContribution dashboardBefore = pksiDashboardAggregateService.capture(id);
 
         applyApprovalFields(document, request);
         
@@ -503,6 +519,7 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
             ? userRepository.findById(currentUserId).orElse(document.getUser())
             : document.getUser();
         pksiChangelogService.trackChanges(updated, oldSnapshot, updatedBy);
+        pksiDashboardAggregateService.refresh(id, dashboardBefore);
         
         log.info("PKSI document approval fields updated successfully");
         return response;
@@ -867,30 +884,88 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
      * This method looks up each UUID and returns comma-separated kode_skpa values.
      */
     private PksiDocumentResponse enrichWithSkpaNames(PksiDocumentResponse response) {
-        String picSatker = response.getPicSatkerBA();
-        if (picSatker == null || picSatker.trim().isEmpty()) {
-            response.setPicSatkerNames(null);
-            return response;
+        enrichWithSkpaNames(List.of(response));
+        return response;
+    }
+
+    private Page<PksiDocumentResponse> enrichWithSkpaNames(Page<PksiDocumentResponse> page) {
+        enrichWithSkpaNames(page.getContent());
+        return page;
+    }
+
+    /**
+     * Batch version: all SKPA GUIDs of the given responses are resolved with a single query.
+     */
+    private List<PksiDocumentResponse> enrichWithSkpaNames(List<PksiDocumentResponse> responses) {
+        Set<UUID> skpaIds = responses.stream()
+                .flatMap(response -> parseSkpaIds(response.getPicSatkerBA()).stream())
+                .collect(Collectors.toSet());
+        Map<UUID, String> kodeById = skpaIds.isEmpty() ? Map.of() : skpaRepository.findAllById(skpaIds).stream()
+                .collect(Collectors.toMap(MstSkpa::getId, MstSkpa::getKodeSkpa));
+
+        for (PksiDocumentResponse response : responses) {
+            String resolvedNames = parseSkpaIds(response.getPicSatkerBA()).stream()
+                    .map(kodeById::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.joining(", "));
+            response.setPicSatkerNames(resolvedNames.isEmpty() ? null : resolvedNames);
         }
+        return responses;
+    }
 
-        String[] guids = picSatker.split(",");
-        String resolvedNames = Arrays.stream(guids)
+    /**
+     * Parse comma-separated SKPA GUIDs from picSatker, skipping blanks and invalid values
+     */
+    private List<UUID> parseSkpaIds(String picSatker) {
+        if (picSatker == null || picSatker.trim().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(picSatker.split(","))
                 .map(String::trim)
                 .filter(guid -> !guid.isEmpty())
                 .map(guid -> {
                     try {
-                        UUID uuid = UUID.fromString(guid);
-                        Optional<MstSkpa> skpa = skpaRepository.findById(uuid);
-                        return skpa.map(MstSkpa::getKodeSkpa).orElse(null);
+                        return UUID.fromString(guid);
                     } catch (IllegalArgumentException e) {
                         return null;
                     }
                 })
-                .filter(name -> name != null)
-                .collect(Collectors.joining(", "));
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
 
-        response.setPicSatkerNames(resolvedNames.isEmpty() ? null : resolvedNames);
-        return response;
+    /**
+     * Sync trn_pksi_skpa with the document's picSatker string (DRY helper, same pattern as timelines).
+     * GUIDs that do not refer to an existing SKPA are skipped.
+     */
+    private void updatePicSatkerLinks(PksiDocument document) {
+        pksiSkpaRepository.deleteByPksiDocumentId(document.getId());
+
+        List<UUID> skpaIds = parseSkpaIds(document.getPicSatker());
+        if (skpaIds.isEmpty()) {
+            return;
+        }
+        List<PksiSkpa> links = skpaRepository.findAllById(skpaIds).stream()
+                .map(skpa -> PksiSkpa.builder()
+                        .pksiDocument(document)
+                        .skpa(skpa)
+                        .build())
+                .collect(Collectors.toList());
+        pksiSkpaRepository.saveAll(links);
+    }
+
+    /**
+     * Resolve the SKPA ID of an SKPA user's department; empty if no SKPA has that kode.
+     */
+    private Optional<UUID> resolveDepartmentSkpaId(String userDepartment) {
+        Optional<MstSkpa> userSkpa = masterDataService.findSkpaByKode(userDepartment.trim().toUpperCase());
+        if (userSkpa.isPresent()) {
+            log.info("Found SKPA for department '{}': UUID = {}", userDepartment, userSkpa.get().getId());
+        } else {
+            log.warn("No SKPA found for department '{}' - user will see no PKSI", userDepartment);
+        }
+        return userSkpa.map(MstSkpa::getId);
     }
 
     // ==================== NESTED PKSI METHODS ====================
@@ -908,11 +983,10 @@ public class PksiDocumentServiceImpl implements PksiDocumentService {
     public List<PksiDocumentResponse> getChildPksi(UUID parentId) {
         log.info("Fetching child PKSI for parent: {}", parentId);
 
-        return pksiDocumentRepository.findChildPksiByParentId(parentId).stream()
+        return enrichWithSkpaNames(pksiDocumentRepository.findChildPksiByParentId(parentId).stream()
                 .map(this::initializeLazyRelations)
                 .map(mapper::mapToResponseOriginal)
-                .map(this::enrichWithSkpaNames)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     @Override
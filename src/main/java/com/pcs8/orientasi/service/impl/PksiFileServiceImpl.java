@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.domain.dto.FileDownload;
 import com.pcs8.orientasi.domain.dto.response.PksiFileResponse;
 import com.pcs8.orientasi.domain.entity.PksiDocument;
 import com.pcs8.orientasi.domain.entity.PksiFile;
@@ -15,13 +16,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -160,51 +161,47 @@ public class PksiFileServiceImpl implements PksiFileService {
         List<PksiFile> tempFiles = pksiFileRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
         List<PksiFileResponse> responses = new ArrayList<>();
 
+        // Plan the new blob names, then copy all blobs server-side in parallel
+        Map<String, String> moves = new LinkedHashMap<>();
         for (PksiFile tempFile : tempFiles) {
-            try {
-                // Move blob from temp to permanent location
-                String oldBlobName = tempFile.getBlobName();
-                String extension = getFileExtension(tempFile.getOriginalName());
-                String newBlobName = String.format("%s%s/%s_%s%s",
-                        PKSI_PREFIX,
-                        pksiId,
-                        UUID.randomUUID(),
-                        System.currentTimeMillis(),
-                        extension);
-
-                // Download from old location
-                InputStream inputStream = minioService.downloadFile(oldBlobName);
-                
-                // Upload to new location
-                String newFileUrl = minioService.uploadFile(
-                    inputStream,
-                    newBlobName,
-                    tempFile.getContentType(),
-                    tempFile.getFileSize()
-                );
-
-                // Delete old blob
-                if (minioService.fileExists(oldBlobName)) {
-                    minioService.deleteFile(oldBlobName);
-                }
-
-                // Update database record
-                tempFile.setPksiDocument(pksiDocument);
-                tempFile.setBlobName(newBlobName);
-                tempFile.setFileName(newBlobName);
-                tempFile.setBlobUrl(newFileUrl);
-                tempFile.setSessionId(null); // Clear session ID
-                tempFile = pksiFileRepository.save(tempFile);
-
-                responses.add(mapToResponse(tempFile));
-                log.info("Moved temp file to permanent location successfully");
-
-            } catch (Exception e) {
-                log.error("Failed to move temp file to permanent. Error: {}", e.getMessage(), e);
-                throw new IllegalStateException("Failed to move temp file to permanent storage", e);
-            }
+            String extension = getFileExtension(tempFile.getOriginalName());
+            String newBlobName = String.format("%s%s/%s_%s%s",
+                    PKSI_PREFIX,
+                    pksiId,
+                    UUID.randomUUID(),
+                    System.currentTimeMillis(),
+                    extension);
+            moves.put(tempFile.getBlobName(), newBlobName);
+        }
+
+        Map<String, String> newFileUrls;
+        try {
+            newFileUrls = minioService.copyFiles(moves);
+            // Copies are only referenced once this transaction commits
+            minioService.deleteFilesOnRollback(moves.values());
+        } catch (Exception e) {
+            log.error("Failed to move temp file to permanent. Error: {}", e.getMessage(), e);
+            throw new IllegalStateException("Failed to move temp file to permanent storage", e);
+        }
+
+        for (PksiFile tempFile : tempFiles) {
+            String newBlobName = moves.get(tempFile.getBlobName());
+
+            // Update database record
+            tempFile.setPksiDocument(pksiDocument);
+            tempFile.setBlobName(newBlobName);
+            tempFile.setFileName(newBlobName);
+            tempFile.setBlobUrl(newFileUrls.get(newBlobName));
+            tempFile.setSessionId(null); // Clear session ID
+            tempFile = pksiFileRepository.save(tempFile);
+
+            responses.add(mapToResponse(tempFile));
         }
 
+        // Old temp blobs are removed in one batch, only once the new locations are committed
+        minioService.deleteFilesAfterCommit(moves.keySet());
+        log.info("Moved {} temp files to permanent location successfully", tempFiles.size());
+
         return responses;
     }
 
@@ -213,12 +210,8 @@ public class PksiFileServiceImpl implements PksiFileService {
     public void deleteTempFiles(String sessionId) {
         List<PksiFile> tempFiles = pksiFileRepository.findBySessionIdOrderByCreatedAtDesc(sessionId);
 
-        for (PksiFile file : tempFiles) {
-            if (file.getBlobName() != null && minioService.fileExists(file.getBlobName())) {
-                minioService.deleteFile(file.getBlobName());
-            }
-            pksiFileRepository.delete(file);
-        }
+        pksiFileRepository.deleteAll(tempFiles);
+        minioService.deleteFilesAfterCommit(tempFiles.stream().map(PksiFile::getBlobName).toList());
 
         log.info("Deleted temp files successfully");
     }
@@ -335,11 +328,7 @@ public class PksiFileServiceImpl implements PksiFileService {
     public void deleteFilesByPksiId(UUID pksiId) {
         List<PksiFile> files = pksiFileRepository.findByPksiDocumentId(pksiId);
         
-        for (PksiFile file : files) {
-            if (file.getBlobName() != null && minioService.fileExists(file.getBlobName())) {
-                minioService.deleteFile(file.getBlobName());
-            }
-        }
+        minioService.deleteFilesAfterCommit(files.stream().map(PksiFile::getBlobName).toList());
 
         pksiFileRepository.deleteByPksiDocumentId(pksiId);
         log.info("Deleted all files for PKSI document successfully");
@@ -353,22 +342,10 @@ public class PksiFileServiceImpl implements PksiFileService {
     }
 
     @Override
-    public byte[] downloadFile(UUID fileId) {
+    public FileDownload downloadFile(UUID fileId) {
         PksiFile pksiFile = pksiFileRepository.findById(fileId)
                 .orElseThrow(() -> new ResourceNotFoundException(FILE_NOT_FOUND_MSG + fileId));
-
-        try (InputStream inputStream = minioService.downloadFile(pksiFile.getBlobName());
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            log.error("Failed to download file. Error: {}", e.getMessage(), e);
-            throw new IllegalStateException("Failed to download file", e);
-        }
+        return toFileDownload(pksiFile, pksiFile.getOriginalName() != null ? pksiFile.getOriginalName() : "download");
     }
 
     @Override
@@ -452,7 +429,7 @@ public class PksiFileServiceImpl implements PksiFileService {
     }
 
     @Override
-    public byte[] downloadFileVersion(UUID pksiId, String fileType, Integer version) {
+    public FileDownload downloadFileVersion(UUID pksiId, String fileType, Integer version) {
         List<PksiFile> files = pksiFileRepository.findByPksiDocumentIdAndFileTypeOrderByVersionDesc(pksiId, fileType);
         PksiFile targetFile = files.stream()
                 .filter(f -> f.getVersion().equals(version))
@@ -460,21 +437,22 @@ public class PksiFileServiceImpl implements PksiFileService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         String.format("File not found for PKSI %s, type %s, version %d", pksiId, fileType, version)));
         
-        return downloadFileContent(targetFile);
+        String fileName = targetFile.getDisplayName() != null ? targetFile.getDisplayName() : targetFile.getOriginalName();
+        return toFileDownload(targetFile, fileName);
     }
 
-    private byte[] downloadFileContent(PksiFile pksiFile) {
-        try (InputStream inputStream = minioService.downloadFile(pksiFile.getBlobName());
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            log.error("Failed to download file. Error: {}", e.getMessage(), e);
-            throw new IllegalStateException("Failed to download file", e);
-        }
+    /**
+     * Describe a stored file for streaming. The Minio stream is only opened when the
+     * response body is written; the ETag is derived from the file ID and stored version.
+     */
+    private FileDownload toFileDownload(PksiFile pksiFile, String fileName) {
+        String blobName = pksiFile.getBlobName();
+        return FileDownload.builder()
+                .fileName(fileName)
+                .contentType(pksiFile.getContentType())
+                .contentLength(pksiFile.getFileSize())
+                .etag(pksiFile.getId() + "-v" + (pksiFile.getVersion() != null ? pksiFile.getVersion() : 1))
+                .opener((offset, length) -> minioService.downloadFile(blobName, offset, length))
+                .build();
     }
 }
@@ -3,15 +3,16 @@ package com.pcs8.orientasi.service.impl;
 import com.pcs8.orientasi.domain.dto.response.RbsiMonitoringResponse;
 import com.pcs8.orientasi.service.RbsiExcelExportService;
 import com.pcs8.orientasi.service.RbsiService;
+import com.pcs8.orientasi.util.StreamingExcelWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 
 @Slf4j
@@ -22,17 +23,24 @@ public class RbsiExcelExportServiceImpl implements RbsiExcelExportService {
     private final RbsiService rbsiService;
 
     @Override
-    public ByteArrayOutputStream exportMonitoringToExcel(UUID rbsiId) {
+    public StreamingResponseBody exportMonitoringToExcel(UUID rbsiId) {
         RbsiMonitoringResponse monitoringData = rbsiService.getMonitoringData(rbsiId);
 
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Monitoring Progress RBSI");
+        // Validate before the response is committed so the error still reaches the client as JSON
+        List<RbsiMonitoringResponse.KepInfo> kepList = monitoringData.getKepList();
+        if (kepList.isEmpty()) {
+            throw new IllegalStateException("Tidak ada data KEP untuk di-export");
+        }
 
-            // Get KEP list and period years
-            List<RbsiMonitoringResponse.KepInfo> kepList = monitoringData.getKepList();
-            if (kepList.isEmpty()) {
-                throw new IllegalStateException("Tidak ada data KEP untuk di-export");
-            }
+        return outputStream -> writeMonitoringWorkbook(monitoringData, kepList, outputStream);
+    }
+
+    private void writeMonitoringWorkbook(RbsiMonitoringResponse monitoringData,
+                                         List<RbsiMonitoringResponse.KepInfo> kepList,
+                                         OutputStream outputStream) throws IOException {
+        try (StreamingExcelWriter writer = new StreamingExcelWriter("Monitoring Progress RBSI")) {
+            Workbook workbook = writer.getWorkbook();
+            Sheet sheet = writer.getSheet();
 
             // Determine period years from KEP data
             int minYear = kepList.stream().mapToInt(RbsiMonitoringResponse.KepInfo::getTahunPelaporan).min().orElse(2024);
@@ -284,13 +292,7 @@ public class RbsiExcelExportServiceImpl implements RbsiExcelExportService {
             colorLegendCell.setCellValue("Warna: Hijau = Baru | Kuning = Diubah | Merah = Dihapus");
 
             // Write to output stream
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream;
-
-        } catch (IOException e) {
-            log.error("Failed to generate Excel file", e);
-            throw new RuntimeException("Gagal membuat file Excel: " + e.getMessage());
+            writer.write(outputStream);
         }
     }
 
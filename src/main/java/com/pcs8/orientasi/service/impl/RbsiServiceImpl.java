@@ -50,6 +50,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -1035,39 +1036,41 @@ public List<InisiatifGroupDropdownResponse> getInisiatifGroupsDropdown(UUID rbsi
         List<KepProgressFullResponse.InisiatifKepProgress> progressList = new ArrayList<>();
 
         if (targetTahun != null) {
-            List<RbsiProgram> programs = programRepository.findByRbsiIdAndTahunWithInisiatifs(rbsiId, targetTahun);
-
-            for (RbsiProgram program : programs) {
-                List<RbsiInisiatif> inisiatifs = inisiatifRepository
-                        .findByProgramIdAndTahunAndIsDeletedFalseOrderByNomorInisiatifAsc(program.getId(), targetTahun);
-
-                for (RbsiInisiatif inisiatif : inisiatifs) {
-                    List<KepProgressFullResponse.KepProgressItem> kepProgressItems = new ArrayList<>();
-
-                    for (RbsiKep kep : kepList) {
-                        List<KepProgress> progressEntries = kepProgressRepository
-                                .findByKepIdAndInisiatifGroupIdOrderByTahunAsc(kep.getId(), inisiatif.getGroup().getId());
-
-                        List<KepProgressResponse.YearlyProgressResponse> yearlyProgress = progressEntries.stream()
-                                .map(p -> KepProgressResponse.YearlyProgressResponse.builder()
-                                        .tahun(p.getTahun())
-                                        .status(p.getStatus().name())
-                                        .build())
-                                .collect(Collectors.toList());
-
-                        kepProgressItems.add(KepProgressFullResponse.KepProgressItem.builder()
-                                .kepId(kep.getId())
-                                .nomorKep(kep.getNomorKep())
-                                .tahunPelaporan(kep.getTahunPelaporan())
-                                .yearlyProgress(yearlyProgress)
-                                .build());
-                    }
+            // Load the whole matrix in two queries and assemble it in memory (group ID -> KEP ID -> yearly progress)
+            List<RbsiInisiatif> inisiatifs = inisiatifRepository.findActiveByRbsiIdAndTahunWithGroup(rbsiId, targetTahun);
+            Map<UUID, Map<UUID, List<KepProgress>>> progressByGroupAndKep = kepProgressRepository
+                    .findByRbsiIdForInisiatifTahun(rbsiId, targetTahun).stream()
+                    .collect(Collectors.groupingBy(
+                            kp -> kp.getInisiatifGroup().getId(),
+                            Collectors.groupingBy(kp -> kp.getKep().getId())
+                    ));
+
+            for (RbsiInisiatif inisiatif : inisiatifs) {
+                UUID groupId = inisiatif.getGroup().getId();
+                Map<UUID, List<KepProgress>> progressByKep = progressByGroupAndKep.getOrDefault(groupId, Map.of());
+                List<KepProgressFullResponse.KepProgressItem> kepProgressItems = new ArrayList<>();
+
+                for (RbsiKep kep : kepList) {
+                    List<KepProgressResponse.YearlyProgressResponse> yearlyProgress = progressByKep
+                            .getOrDefault(kep.getId(), List.of()).stream()
+                            .map(p -> KepProgressResponse.YearlyProgressResponse.builder()
+                                    .tahun(p.getTahun())
+                                    .status(p.getStatus().name())
+                                    .build())
+                            .collect(Collectors.toList());
 
-                    progressList.add(KepProgressFullResponse.InisiatifKepProgress.builder()
-                            .inisiatifId(inisiatif.getGroup().getId())  // Use group ID for consistent tracking across years
-                            .kepProgress(kepProgressItems)
+                    kepProgressItems.add(KepProgressFullResponse.KepProgressItem.builder()
+                            .kepId(kep.getId())
+                            .nomorKep(kep.getNomorKep())
+                            .tahunPelaporan(kep.getTahunPelaporan())
+                            .yearlyProgress(yearlyProgress)
                             .build());
                 }
+
+                progressList.add(KepProgressFullResponse.InisiatifKepProgress.builder()
+                        .inisiatifId(groupId)  // Use group ID for consistent tracking across years
+                        .kepProgress(kepProgressItems)
+                        .build());
             }
         }
 
@@ -1134,46 +1137,78 @@ public List<InisiatifGroupDropdownResponse> getInisiatifGroupsDropdown(UUID rbsi
         rbsiRepository.findById(rbsiId)
                 .orElseThrow(() -> new ResourceNotFoundException("RBSI tidak ditemukan"));
 
+        List<BatchKepProgressRequest.KepProgressUpdate> updates = request.getUpdates();
+
+        // Prefetch every referenced KEP, group and existing progress row up front
+        Set<UUID> kepIds = updates.stream()
+                .map(BatchKepProgressRequest.KepProgressUpdate::getKepId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<UUID> groupIds = updates.stream()
+                .map(BatchKepProgressRequest.KepProgressUpdate::getGroupId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<UUID, RbsiKep> kepById = kepRepository.findAllById(kepIds).stream()
+                .collect(Collectors.toMap(RbsiKep::getId, kep -> kep));
+        Map<UUID, InisiatifGroup> groupById = inisiatifGroupRepository.findAllById(groupIds).stream()
+                .collect(Collectors.toMap(InisiatifGroup::getId, group -> group));
+        Map<ProgressKey, KepProgress> existingProgress = kepIds.isEmpty() || groupIds.isEmpty()
+                ? new HashMap<>()
+                : kepProgressRepository.findByKepIdInAndInisiatifGroupIdIn(kepIds, groupIds).stream()
+                        .collect(Collectors.toMap(
+                                kp -> new ProgressKey(kp.getKep().getId(), kp.getInisiatifGroup().getId(), kp.getTahun()),
+                                kp -> kp,
+                                (a, b) -> a,
+                                HashMap::new));
+
+        List<KepProgress> toSave = new ArrayList<>();
         List<KepProgressResponse> updatedProgressList = new ArrayList<>();
         int successCount = 0;
 
-        for (BatchKepProgressRequest.KepProgressUpdate update : request.getUpdates()) {
+        for (BatchKepProgressRequest.KepProgressUpdate update : updates) {
             try {
-                log.info("Processing update Kep Progress");
                 // Validate KEP exists and belongs to this RBSI
-                RbsiKep kep = kepRepository.findById(update.getKepId())
-                        .orElseThrow(() -> new ResourceNotFoundException("KEP " + update.getKepId() + " tidak ditemukan"));
+                RbsiKep kep = kepById.get(update.getKepId());
+                if (kep == null) {
+                    throw new ResourceNotFoundException("KEP " + update.getKepId() + " tidak ditemukan");
+                }
 
                 if (!kep.getRbsi().getId().equals(rbsiId)) {
                     log.warn("KEP {} tidak termasuk dalam RBSI {}", update.getKepId(), rbsiId);
                     continue;
                 }
 
-                // Get the group directly
-                log.info("Looking for InisiatifGroup");
-                InisiatifGroup group = inisiatifGroupRepository.findById(update.getGroupId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Group " + update.getGroupId() + " tidak ditemukan"));
-                
-                log.info("Group found: {}", group.getId());
+                InisiatifGroup group = groupById.get(update.getGroupId());
+                if (group == null) {
+                    throw new ResourceNotFoundException("Group " + update.getGroupId() + " tidak ditemukan");
+                }
+
+                // Resolve all statuses first so an invalid item does not leave the update half-applied
+                List<KepProgress.ProgressStatus> statuses = new ArrayList<>();
+                for (BatchKepProgressRequest.KepProgressUpdate.YearlyProgressItem item : update.getYearlyProgress()) {
+                    statuses.add(KepProgress.ProgressStatus.valueOf(item.getStatus().toLowerCase()));
+                }
 
                 List<KepProgressResponse.YearlyProgressResponse> savedProgress = new ArrayList<>();
 
                 // Update or create progress for each year
-                for (BatchKepProgressRequest.KepProgressUpdate.YearlyProgressItem item : update.getYearlyProgress()) {
-                    KepProgress progress = kepProgressRepository
-                            .findByKepIdAndInisiatifGroupIdAndTahun(update.getKepId(), group.getId(), item.getTahun())
-                            .orElseGet(() -> KepProgress.builder()
+                for (int i = 0; i < statuses.size(); i++) {
+                    Integer tahun = update.getYearlyProgress().get(i).getTahun();
+                    KepProgress progress = existingProgress.computeIfAbsent(
+                            new ProgressKey(kep.getId(), group.getId(), tahun),
+                            key -> KepProgress.builder()
                                     .kep(kep)
                                     .inisiatifGroup(group)
-                                    .tahun(item.getTahun())
+                                    .tahun(tahun)
                                     .build());
 
-                    progress.setStatus(KepProgress.ProgressStatus.valueOf(item.getStatus().toLowerCase()));
-                    KepProgress saved = kepProgressRepository.save(progress);
+                    progress.setStatus(statuses.get(i));
+                    toSave.add(progress);
 
                     savedProgress.add(KepProgressResponse.YearlyProgressResponse.builder()
-                            .tahun(saved.getTahun())
-                            .status(saved.getStatus().name().toLowerCase())
+                            .tahun(progress.getTahun())
+                            .status(progress.getStatus().name().toLowerCase())
                             .build());
                 }
 
@@ -1194,15 +1229,21 @@ public List<InisiatifGroupDropdownResponse> getInisiatifGroupsDropdown(UUID rbsi
             }
         }
 
-        log.info("Batch update completed: {} out of {} updates successful", successCount, request.getUpdates().size());
+        // Single flush; inserts and updates go out as JDBC batches
+        kepProgressRepository.saveAll(toSave);
+
+        log.info("Batch update completed: {} out of {} updates successful ({} progress rows written)",
+                successCount, updates.size(), toSave.size());
 
         return BatchKepProgressResponse.builder()
                 .totalUpdated(successCount)
                 .updatedProgress(updatedProgressList)
-                .message(String.format("Successfully updated %d out of %d KEP progress records", successCount, request.getUpdates().size()))
+                .message(String.format("Successfully updated %d out of %d KEP progress records", successCount, updates.size()))
                 .build();
     }
 
+    private record ProgressKey(UUID kepId, UUID groupId, Integer tahun) {}
+
     private void copyProgressFromLatestKep(UUID rbsiId, RbsiKep newKep) {
         // Find the previous latest KEP
         List<RbsiKep> existingKeps = kepRepository.findByRbsiIdOrderByTahunPelaporanAsc(rbsiId);
@@ -1217,21 +1258,10 @@ public List<InisiatifGroupDropdownResponse> getInisiatifGroupsDropdown(UUID rbsi
         // We must check if the group has initiatives in the specific year, not just "any year"
         Integer targetYear = newKep.getTahunPelaporan();
         
-        // Get all programs in the target year
-        List<RbsiProgram> programsInTargetYear = programRepository.findByRbsiIdAndTahunWithInisiatifs(rbsiId, targetYear);
-        
         // Collect group IDs that have at least one active initiative in the target year
-        Set<UUID> activeGroupIdsInTargetYear = new HashSet<>();
-        for (RbsiProgram program : programsInTargetYear) {
-            List<RbsiInisiatif> activeInisiatifs = inisiatifRepository
-                    .findByProgramIdAndTahunAndIsDeletedFalseOrderByNomorInisiatifAsc(program.getId(), targetYear);
-            
-            for (RbsiInisiatif inisiatif : activeInisiatifs) {
-                if (inisiatif.getGroup() != null) {
-                    activeGroupIdsInTargetYear.add(inisiatif.getGroup().getId());
-                }
-            }
-        }
+        Set<UUID> activeGroupIdsInTargetYear = inisiatifRepository.findActiveByRbsiIdAndTahunWithGroup(rbsiId, targetYear).stream()
+                .map(inisiatif -> inisiatif.getGroup().getId())
+                .collect(Collectors.toSet());
 
         // Copy progress entries only for initiative groups that exist in the target year
         List<KepProgress> previousProgress = kepProgressRepository.findByKepIdOrderByInisiatifGroupIdAscTahunAsc(previousKep.getId());
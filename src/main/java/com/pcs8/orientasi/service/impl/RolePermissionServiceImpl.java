@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.config.UserContext;
 import com.pcs8.orientasi.domain.dto.request.BulkRolePermissionRequest;
 import com.pcs8.orientasi.domain.dto.request.CreateMenuRequest;
@@ -16,6 +17,7 @@ import com.pcs8.orientasi.repository.MstMenuRepository;
 import com.pcs8.orientasi.repository.MstRolePermissionRepository;
 import com.pcs8.orientasi.repository.MstRoleRepository;
 import com.pcs8.orientasi.service.AuditService;
+import com.pcs8.orientasi.service.MasterDataService;
 import com.pcs8.orientasi.service.RolePermissionService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,9 +25,12 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -45,6 +50,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     private static final String ENTITY_NAME_PERMISSION = "Role Permission";
 
     private final MstMenuRepository menuRepository;
+    private final MasterDataService masterDataService;
     private final MstRoleRepository roleRepository;
     private final MstRolePermissionRepository rolePermissionRepository;
     private final AuditService auditService;
@@ -53,6 +59,10 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     // Self-injection via setter to avoid transactional proxy bypass
     // Cannot use constructor injection due to circular dependency
     private RolePermissionService self;
+
+    /** Matrix permission hasil compile; null sampai pertama kali dibutuhkan */
+    private volatile PermissionMatrix permissionMatrix;
+    private final Object permissionMatrixLock = new Object();
     
     @Autowired
     public void setSelf(@Lazy RolePermissionService self) {
@@ -63,6 +73,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_MENU, allEntries = true)
     public MenuResponse createMenu(CreateMenuRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -95,6 +106,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
         MenuResponse response = mapToMenuResponse(savedMenu, false);
         
+        refreshPermissionMatrix();
+
         // Audit log
         auditService.logCreate(ENTITY_NAME_MENU, savedMenu.getId(), response, userId, username);
         
@@ -132,6 +145,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_MENU, allEntries = true)
     public MenuResponse updateMenu(UUID menuId, CreateMenuRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -172,6 +186,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
         MenuResponse newValue = mapToMenuResponse(updatedMenu, false);
         
+        refreshPermissionMatrix();
+
         // Audit log
         auditService.logUpdate(ENTITY_NAME_MENU, menuId, oldValue, newValue, userId, username);
         
@@ -182,7 +198,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     @Transactional(readOnly = true)
     public List<MenuResponse> getAllMenus() {
         log.info("Getting all menus");
-        List<MstMenu> menus = menuRepository.findAllActiveMenus();
+        List<MstMenu> menus = masterDataService.getActiveMenus();
         return menus.stream()
                 .map(m -> mapToMenuResponse(m, false))
                 .toList();
@@ -209,6 +225,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_MENU, allEntries = true)
     public void deleteMenu(UUID menuId) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -229,6 +246,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         menuRepository.delete(menu);
         log.info("Deleted menu: {}", menu.getMenuCode());
         
+        refreshPermissionMatrix();
+
         // Audit log
         auditService.logDelete(ENTITY_NAME_MENU, menuId, oldValue, userId, username);
     }
@@ -277,6 +296,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
         RolePermissionResponse response = mapToRolePermissionResponse(savedPermission);
         
+        refreshPermissionMatrix();
+
         // Audit log
         if (isNew) {
             auditService.logCreate(ENTITY_NAME_PERMISSION, savedPermission.getId(), response, userId, username);
@@ -351,6 +372,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
                     savedPermission.getCanUpdate(), savedPermission.getCanDelete());
         }
 
+        refreshPermissionMatrix();
+
         log.info("[bulkUpdatePermissions] Completed: {} permissions saved for role '{}', {} with can_view=true", 
                 results.size(), role.getRoleName(), viewTrueCount);
         return results;
@@ -379,7 +402,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         MstRole role = roleRepository.findById(roleId)
                 .orElseThrow(() -> new ResourceNotFoundException(ROLE_NOT_FOUND_MSG + roleId));
 
-        List<MstMenu> allMenus = menuRepository.findAllActiveMenus();
+        List<MstMenu> allMenus = masterDataService.getActiveMenus();
         List<MstRolePermission> rolePermissions = rolePermissionRepository.findByRoleId(roleId);
 
         List<RolePermissionMatrixResponse.MenuPermissionItem> menuPermissions = new ArrayList<>();
@@ -457,6 +480,8 @@ public class RolePermissionServiceImpl implements RolePermissionService {
             rolePermissionRepository.deleteByRoleIdAndMenuId(roleId, menuId);
             log.info("Deleted permission for role: {} on menu: {}", roleId, menuId);
             
+            refreshPermissionMatrix();
+
             // Audit log
             auditService.logDelete(ENTITY_NAME_PERMISSION, permissionId, oldValue, userId, username);
         } else {
@@ -465,25 +490,9 @@ public class RolePermissionServiceImpl implements RolePermissionService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public boolean hasPermission(String roleName, String menuCode, String permissionType) {
         log.debug("Checking permission: role={}, menu={}, type={}", roleName, menuCode, permissionType);
-
-        Optional<MstRolePermission> permission = rolePermissionRepository
-                .findByRoleNameAndMenuCode(roleName, menuCode);
-
-        if (permission.isEmpty()) {
-            return false;
-        }
-
-        MstRolePermission rp = permission.get();
-        return switch (permissionType.toLowerCase()) {
-            case "view" -> rp.getCanView();
-            case "create" -> rp.getCanCreate();
-            case "update" -> rp.getCanUpdate();
-            case "delete" -> rp.getCanDelete();
-            default -> false;
-        };
+        return currentPermissionMatrix().has(roleName, menuCode, PermissionMatrix.bitOf(permissionType));
     }
 
     @Override
@@ -503,7 +512,7 @@ public class RolePermissionServiceImpl implements RolePermissionService {
         boolean isAdmin = roleNames.stream()
                 .anyMatch(roleName -> roleName.equalsIgnoreCase("Admin"));
 
-        List<MstMenu> allMenus = menuRepository.findAllActiveMenus();
+        List<MstMenu> allMenus = masterDataService.getActiveMenus();
 
         List<RolePermissionMatrixResponse.MenuPermissionItem> menuPermissions = isAdmin
                 ? buildAdminPermissions(allMenus)
@@ -532,60 +541,27 @@ public class RolePermissionServiceImpl implements RolePermissionService {
 
     private List<RolePermissionMatrixResponse.MenuPermissionItem> buildCombinedRolePermissions(
             List<MstMenu> menus, List<String> roleNames) {
-        List<MstRole> roles = roleNames.stream()
-                .map(name -> {
-                    Optional<MstRole> roleOpt = roleRepository.findByRoleNameIgnoreCase(name);
-                    if (roleOpt.isEmpty()) {
-                        log.warn("[buildCombinedRolePermissions] Role not found");
-                    }
-                    return roleOpt;
-                })
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        PermissionMatrix matrix = currentPermissionMatrix();
+        long knownRoles = roleNames.stream().filter(matrix::hasRole).count();
+        if (knownRoles < roleNames.size()) {
+            log.warn("[buildCombinedRolePermissions] Role not found");
+        }
 
         log.info("[buildCombinedRolePermissions] Found {} roles out of {} role names provided", 
-                roles.size(), roleNames.size());
-
-        // Log permission count for each role to help debug
-        for (MstRole role : roles) {
-            List<MstRolePermission> perms = rolePermissionRepository.findByRoleId(role.getId());
-            long viewCount = perms.stream().filter(MstRolePermission::getCanView).count();
-            log.info("[buildCombinedRolePermissions] Role (ID: {}) has {} permission entries, {} with can_view=true", 
-                    role.getId(), perms.size(), viewCount);
-        }
+                knownRoles, roleNames.size());
 
         return new ArrayList<>(menus.stream()
-                .map(menu -> buildPermissionForMenu(menu, roles))
+                .map(menu -> {
+                    int bits = matrix.combinedBits(roleNames, menu.getId());
+                    return buildMenuPermissionItem(menu,
+                            PermissionMatrix.hasBit(bits, PermissionMatrix.VIEW),
+                            PermissionMatrix.hasBit(bits, PermissionMatrix.CREATE),
+                            PermissionMatrix.hasBit(bits, PermissionMatrix.UPDATE),
+                            PermissionMatrix.hasBit(bits, PermissionMatrix.DELETE));
+                })
                 .toList());
     }
 
-    private RolePermissionMatrixResponse.MenuPermissionItem buildPermissionForMenu(MstMenu menu, List<MstRole> roles) {
-        boolean canView = false;
-        boolean canCreate = false;
-        boolean canUpdate = false;
-        boolean canDelete = false;
-
-        for (MstRole role : roles) {
-            Optional<MstRolePermission> permission = rolePermissionRepository
-                    .findByRoleIdAndMenuId(role.getId(), menu.getId());
-
-            if (permission.isPresent()) {
-                MstRolePermission rp = permission.get();
-                canView = canView || rp.getCanView();
-                canCreate = canCreate || rp.getCanCreate();
-                canUpdate = canUpdate || rp.getCanUpdate();
-                canDelete = canDelete || rp.getCanDelete();
-                log.debug("Role {} has permission on menu {}: view={}, create={}, update={}, delete={}",
-                        role.getRoleName(), menu.getMenuCode(), rp.getCanView(), rp.getCanCreate(), rp.getCanUpdate(), rp.getCanDelete());
-            } else {
-                log.debug("Role {} has no permission entry for menu {}", role.getRoleName(), menu.getMenuCode());
-            }
-        }
-
-        return buildMenuPermissionItem(menu, canView, canCreate, canUpdate, canDelete);
-    }
-
     private RolePermissionMatrixResponse.MenuPermissionItem buildMenuPermissionItem(
             MstMenu menu, boolean canView, boolean canCreate, boolean canUpdate, boolean canDelete) {
         MstMenu parent = menu.getParent();
@@ -609,6 +585,43 @@ public class RolePermissionServiceImpl implements RolePermissionService {
                 .thenComparing(RolePermissionMatrixResponse.MenuPermissionItem::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())));
     }
 
+    // ========== PERMISSION MATRIX ==========
+
+    @Override
+    public void refreshPermissionMatrix() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            compilePermissionMatrix();
+            return;
+        }
+        // Compile setelah commit supaya matrix baru membaca data yang sudah committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                compilePermissionMatrix();
+            }
+        });
+    }
+
+    private PermissionMatrix currentPermissionMatrix() {
+        PermissionMatrix matrix = permissionMatrix;
+        return matrix != null ? matrix : compilePermissionMatrix();
+    }
+
+    /**
+     * Compile dan swap matrix. Dijalankan serial supaya hasil compile yang lebih lama
+     * tidak menimpa hasil compile yang membaca data lebih baru.
+     */
+    private PermissionMatrix compilePermissionMatrix() {
+        synchronized (permissionMatrixLock) {
+            PermissionMatrix matrix = PermissionMatrix.compile(
+                    roleRepository.findAll(), rolePermissionRepository.findAllWithRoleAndMenu());
+            permissionMatrix = matrix;
+            log.info("Compiled permission matrix: {} roles, {} permission entries",
+                    matrix.roleCount(), matrix.permissionCount());
+            return matrix;
+        }
+    }
+
     // ========== MAPPING METHODS ==========
 
     private MenuResponse mapToMenuResponse(MstMenu menu, boolean includeChildren) {
@@ -12,6 +12,7 @@ import com.pcs8.orientasi.exception.ResourceNotFoundException;
 import com.pcs8.orientasi.repository.MstRoleRepository;
 import com.pcs8.orientasi.repository.MstUserRepository;
 import com.pcs8.orientasi.repository.UserRoleRepository;
+import com.pcs8.orientasi.service.RolePermissionService;
 import com.pcs8.orientasi.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -31,6 +32,7 @@ public class RoleServiceImpl implements RoleService {
     private final MstRoleRepository roleRepository;
     private final MstUserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final RolePermissionService rolePermissionService;
 
     @Override
     @Transactional
@@ -46,6 +48,7 @@ public class RoleServiceImpl implements RoleService {
 
         MstRole savedRole = roleRepository.save(role);
         log.info("Created role: {} with ID: {}", savedRole.getRoleName(), savedRole.getId());
+        rolePermissionService.refreshPermissionMatrix();
 
         return mapToResponse(savedRole);
     }
@@ -69,6 +72,7 @@ public class RoleServiceImpl implements RoleService {
 
         MstRole updatedRole = roleRepository.save(role);
         log.info("Updated role: {}", updatedRole.getRoleName());
+        rolePermissionService.refreshPermissionMatrix();
 
         return mapToResponse(updatedRole);
     }
@@ -111,6 +115,7 @@ public class RoleServiceImpl implements RoleService {
 
         roleRepository.delete(role);
         log.info("Deleted role: {}", role.getRoleName());
+        rolePermissionService.refreshPermissionMatrix();
     }
 
     @Override
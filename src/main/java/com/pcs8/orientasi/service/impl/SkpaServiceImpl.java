@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.config.UserContext;
 import com.pcs8.orientasi.domain.dto.request.SkpaRequest;
 import com.pcs8.orientasi.domain.dto.response.BidangResponse;
@@ -10,15 +11,20 @@ import com.pcs8.orientasi.exception.BadRequestException;
 import com.pcs8.orientasi.exception.ResourceNotFoundException;
 import com.pcs8.orientasi.repository.MstBidangRepository;
 import com.pcs8.orientasi.repository.MstSkpaRepository;
+import com.pcs8.orientasi.repository.PksiSkpaRepository;
 import com.pcs8.orientasi.service.AuditService;
+import com.pcs8.orientasi.service.MasterDataService;
+import com.pcs8.orientasi.service.PksiDashboardAggregateService;
 import com.pcs8.orientasi.service.SkpaService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,11 +37,15 @@ public class SkpaServiceImpl implements SkpaService {
 
     private final MstSkpaRepository skpaRepository;
     private final MstBidangRepository bidangRepository;
+    private final PksiSkpaRepository pksiSkpaRepository;
+    private final PksiDashboardAggregateService pksiDashboardAggregateService;
+    private final MasterDataService masterDataService;
     private final AuditService auditService;
     private final UserContext userContext;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SKPA, allEntries = true)
     public SkpaResponse create(SkpaRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -90,7 +100,7 @@ public class SkpaServiceImpl implements SkpaService {
     @Override
     @Transactional(readOnly = true)
     public List<SkpaResponse> getAll() {
-        return skpaRepository.findAllByOrderByKodeSkpaAsc()
+        return masterDataService.getAllSkpa()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -98,6 +108,7 @@ public class SkpaServiceImpl implements SkpaService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SKPA, allEntries = true)
     public SkpaResponse update(UUID id, SkpaRequest request) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -121,6 +132,8 @@ public class SkpaServiceImpl implements SkpaService {
                     .orElseThrow(() -> new BadRequestException("Bidang dengan ID '" + request.getBidangId() + "' tidak ditemukan"));
         }
 
+        boolean bidangChanged = !Objects.equals(
+                skpa.getBidang() != null ? skpa.getBidang().getId() : null, request.getBidangId());
         skpa.setKodeSkpa(newKode);
         skpa.setNamaSkpa(request.getNamaSkpa().trim());
         skpa.setKeterangan(request.getKeterangan() != null ? request.getKeterangan().trim() : null);
@@ -129,6 +142,11 @@ public class SkpaServiceImpl implements SkpaService {
         MstSkpa updated = skpaRepository.save(skpa);
         log.info("SKPA updated: {} - {}", updated.getKodeSkpa(), updated.getNamaSkpa());
 
+        // Bidang PKSI di agregat dashboard diturunkan dari bidang SKPA PIC Satker
+        if (bidangChanged) {
+            pksiDashboardAggregateService.rebuild();
+        }
+
         SkpaResponse newValue = mapToResponse(updated);
         
         // Audit log
@@ -139,6 +157,7 @@ public class SkpaServiceImpl implements SkpaService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SKPA, allEntries = true)
     public void delete(UUID id) {
         // Get user info di main thread sebelum async audit
         UUID userId = userContext.getCurrentUserId();
@@ -150,8 +169,11 @@ public class SkpaServiceImpl implements SkpaService {
         // Capture old value untuk audit sebelum delete
         SkpaResponse oldValue = mapToResponse(skpa);
 
+        // Lepas relasi PIC Satker PKSI agar FK trn_pksi_skpa tidak menghalangi delete
+        pksiSkpaRepository.deleteBySkpaId(id);
         skpaRepository.delete(skpa);
         log.info("SKPA deleted: {}", skpa.getKodeSkpa());
+        pksiDashboardAggregateService.rebuild();
         
         // Audit log
         auditService.logDelete(ENTITY_NAME, id, oldValue, userId, username);
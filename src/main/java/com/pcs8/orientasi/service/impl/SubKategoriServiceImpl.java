@@ -1,5 +1,6 @@
 package com.pcs8.orientasi.service.impl;
 
+import com.pcs8.orientasi.config.CacheConfig;
 import com.pcs8.orientasi.config.UserContext;
 import com.pcs8.orientasi.domain.dto.request.SubKategoriRequest;
 import com.pcs8.orientasi.domain.dto.response.SubKategoriResponse;
@@ -10,10 +11,12 @@ import com.pcs8.orientasi.exception.BadRequestException;
 import com.pcs8.orientasi.exception.ResourceNotFoundException;
 import com.pcs8.orientasi.repository.MstSubKategoriRepository;
 import com.pcs8.orientasi.repository.MstSubKategoriSnapshotRepository;
+import com.pcs8.orientasi.service.MasterDataService;
 import com.pcs8.orientasi.service.SubKategoriService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,10 +36,12 @@ public class SubKategoriServiceImpl implements SubKategoriService {
 
     private final MstSubKategoriRepository subKategoriRepository;
     private final MstSubKategoriSnapshotRepository snapshotRepository;
+    private final MasterDataService masterDataService;
     private final UserContext userContext;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SUB_KATEGORI, allEntries = true)
     public SubKategoriResponse create(SubKategoriRequest request) {
         String kode = request.getKode().toUpperCase().trim();
 
@@ -62,6 +67,7 @@ public class SubKategoriServiceImpl implements SubKategoriService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SUB_KATEGORI, allEntries = true)
     public List<SubKategoriResponse> bulkCreate(List<SubKategoriRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             throw new BadRequestException("Request list tidak boleh kosong");
@@ -108,8 +114,10 @@ public class SubKategoriServiceImpl implements SubKategoriService {
     @Override
     @Transactional(readOnly = true)
     public List<SubKategoriResponse> getByCategoryCode(String categoryCode) {
-        return subKategoriRepository.findByCategoryCodeOrderByKodeAsc(categoryCode.toUpperCase())
+        String code = categoryCode.toUpperCase();
+        return masterDataService.getAllSubKategori()
                 .stream()
+                .filter(sk -> code.equals(sk.getCategoryCode()))
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
@@ -117,7 +125,7 @@ public class SubKategoriServiceImpl implements SubKategoriService {
     @Override
     @Transactional(readOnly = true)
     public List<SubKategoriResponse> getAll() {
-        return subKategoriRepository.findAllByOrderByKodeAsc()
+        return masterDataService.getAllSubKategori()
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -132,7 +140,7 @@ public class SubKategoriServiceImpl implements SubKategoriService {
     @Override
     @Transactional(readOnly = true)
     public Map<String, String> getAllCategoryCodesWithNames() {
-        List<MstSubKategori> allSubKategori = subKategoriRepository.findAllByOrderByKodeAsc();
+        List<MstSubKategori> allSubKategori = masterDataService.getAllSubKategori();
         Map<String, String> result = new LinkedHashMap<>();
         
         for (MstSubKategori sk : allSubKategori) {
@@ -146,6 +154,7 @@ public class SubKategoriServiceImpl implements SubKategoriService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SUB_KATEGORI, allEntries = true)
     public SubKategoriResponse update(UUID id, SubKategoriRequest request) {
         MstSubKategori subKategori = subKategoriRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sub Kategori tidak ditemukan"));
@@ -172,6 +181,7 @@ public class SubKategoriServiceImpl implements SubKategoriService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.MASTER_SUB_KATEGORI, allEntries = true)
     public void delete(UUID id) {
         MstSubKategori subKategori = subKategoriRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Sub Kategori tidak ditemukan"));
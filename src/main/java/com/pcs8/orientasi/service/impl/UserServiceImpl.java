@@ -32,13 +32,17 @@ public class UserServiceImpl implements UserService {
         MstUser savedUser;
         if (existingUser.isPresent()) {
             MstUser user = existingUser.get();
-            user.setFullName(ldapUserInfo.getDisplayName());
-            user.setEmail(ldapUserInfo.getEmail());
-            user.setDepartment(ldapUserInfo.getDepartment());
-            user.setTitle(ldapUserInfo.getTitle());
+            if (hasProfileAttributes(ldapUserInfo)) {
+                user.setFullName(ldapUserInfo.getDisplayName());
+                user.setEmail(ldapUserInfo.getEmail());
+                user.setDepartment(ldapUserInfo.getDepartment());
+                user.setTitle(ldapUserInfo.getTitle());
+            } else {
+                // Atribut LDAP tidak terbaca; jangan timpa profil (title dipakai Formasi Efektif) dengan null
+                log.warn("No LDAP attributes for user {}, keeping stored profile", username);
+            }
             user.setLastLoginAt(LocalDateTime.now());
 
-            savedUser = mstUserRepository.save(user);
             savedUser = mstUserRepository.save(user);
             log.info("Updated existing user: {} with UUID: {}", username, savedUser.getUuid());
         } else {
@@ -51,7 +55,6 @@ public class UserServiceImpl implements UserService {
                     .lastLoginAt(LocalDateTime.now())
                     .build();
 
-            savedUser = mstUserRepository.save(newUser);
             savedUser = mstUserRepository.save(newUser);
             log.info("Created new user: {} with UUID: {}", username, savedUser.getUuid());
         }
@@ -68,4 +71,11 @@ public class UserServiceImpl implements UserService {
     public MstUser getByUsername(String username) {
         return mstUserRepository.findByUsername(username).orElse(null);
     }
+
+    private static boolean hasProfileAttributes(UserInfo ldapUserInfo) {
+        return ldapUserInfo.getDisplayName() != null
+                || ldapUserInfo.getEmail() != null
+                || ldapUserInfo.getDepartment() != null
+                || ldapUserInfo.getTitle() != null;
+    }
 }
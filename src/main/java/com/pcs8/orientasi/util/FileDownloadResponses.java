@@ -0,0 +1,167 @@
+package com.pcs8.orientasi.util;
+
+import com.pcs8.orientasi.domain.dto.FileDownload;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Utility untuk membangun response download file yang di-stream dari Minio.
+ *
+ * <p>Mendukung ETag/If-None-Match (304 tanpa membuka stream), If-Range, dan
+ * single-range Range request yang diteruskan ke Minio sebagai ranged GET.
+ * Multi-range dijawab dengan isi file utuh. Body tidak pernah di-buffer di heap.</p>
+ *
+ * <p>Body selalu {@link StreamingResponseBody}, bukan {@code Resource}: Spring MVC menerapkan header
+ * Range request ke setiap body Resource berstatus 200 tanpa memeriksa If-Range, sehingga
+ * response utuh untuk If-Range yang tidak cocok akan berubah menjadi 206 dari versi file yang baru.</p>
+ */
+public class FileDownloadResponses {
+
+    private static final String BYTES_UNIT = "bytes";
+
+    public static final MediaType XLSX_MEDIA_TYPE =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private FileDownloadResponses() {
+        // Utility class, no instantiation
+    }
+
+    /**
+     * Build streaming response untuk file.
+     *
+     * @param download metadata file dan pembuka stream
+     * @param requestHeaders header request (Range, If-None-Match, If-Range)
+     * @param inline true untuk Content-Disposition inline (preview), false untuk attachment
+     * @return response dengan body yang di-stream
+     */
+    public static ResponseEntity<StreamingResponseBody> build(FileDownload download, HttpHeaders requestHeaders,
+                                                              boolean inline) {
+        String etag = download.getEtag() != null ? "\"" + download.getEtag() + "\"" : null;
+        Long length = download.getContentLength();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(resolveContentType(download.getContentType()));
+        headers.setContentDisposition(buildDisposition(download.getFileName(), inline));
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+
+        if (etag != null && matchesIfNoneMatch(requestHeaders.getIfNoneMatch(), etag)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        if (length == null) {
+            return new ResponseEntity<>(streamBody(download, 0, -1), headers, HttpStatus.OK);
+        }
+
+        headers.set(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+
+        List<HttpRange> ranges;
+        try {
+            ranges = isRangeApplicable(requestHeaders, etag) ? requestHeaders.getRange() : List.of();
+        } catch (IllegalArgumentException e) {
+            ranges = List.of();
+        }
+
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+            if (start >= length) {
+                headers.set(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                return new ResponseEntity<>(headers, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            }
+
+            long rangeLength = end - start + 1;
+            headers.set(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + start + "-" + end + "/" + length);
+            headers.setContentLength(rangeLength);
+            return new ResponseEntity<>(streamBody(download, start, rangeLength), headers, HttpStatus.PARTIAL_CONTENT);
+        }
+
+        // No range, If-Range mismatch, invalid or multi-range Range header: full body
+        headers.setContentLength(length);
+        return new ResponseEntity<>(streamBody(download, 0, length), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Build response attachment yang body-nya ditulis langsung ke output stream response
+     * (dipakai export Excel), dengan header yang sama seperti export berbasis byte[] sebelumnya.
+     *
+     * @param fileName nama file untuk Content-Disposition
+     * @param contentType content type file
+     * @param body penulis body yang dijalankan oleh Spring MVC di async thread
+     * @return response streaming
+     */
+    public static ResponseEntity<StreamingResponseBody> streamAttachment(String fileName, MediaType contentType,
+                                                                         StreamingResponseBody body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDispositionFormData("attachment", fileName);
+        headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private static boolean matchesIfNoneMatch(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String normalized = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(normalized) || etag.equals(normalized)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-Range: range hanya dipakai jika ETag client masih sama dengan versi sekarang.
+     */
+    private static boolean isRangeApplicable(HttpHeaders requestHeaders, String etag) {
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.equals(etag);
+    }
+
+    private static MediaType resolveContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static ContentDisposition buildDisposition(String fileName, boolean inline) {
+        ContentDisposition.Builder builder = inline ? ContentDisposition.inline() : ContentDisposition.attachment();
+        if (fileName != null) {
+            builder.filename(fileName, StandardCharsets.UTF_8);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Body yang membuka stream Minio secara lazy saat response ditulis.
+     */
+    private static StreamingResponseBody streamBody(FileDownload download, long offset, long length) {
+        return outputStream -> {
+            try (InputStream in = download.getOpener().open(offset, length)) {
+                in.transferTo(outputStream);
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.pcs8.orientasi.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Engine export Excel berbasis SXSSF yang dipakai bersama oleh export F.S.2, Aplikasi dan RBSI.
+ *
+ * <p>Hanya {@code rowWindow} baris terakhir yang disimpan di heap; baris yang lebih lama
+ * di-flush ke temp file terkompresi. Lebar kolom dihitung dari panjang teks terpanjang yang
+ * pernah ditulis ke kolom tersebut, sehingga tidak perlu {@code autoSizeColumn} yang harus
+ * membaca ulang seluruh sheet. Satu instance untuk satu sheet dan satu kali export.</p>
+ */
+@Slf4j
+public class StreamingExcelWriter implements AutoCloseable {
+
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
+    /** Lebar kolom Excel dalam 1/256 karakter */
+    private static final int CHAR_WIDTH_UNITS = 256;
+    private static final int WIDTH_PADDING_CHARS = 2;
+
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private int[] maxChars = new int[16];
+
+    public StreamingExcelWriter(String sheetName) {
+        this(sheetName, DEFAULT_ROW_WINDOW);
+    }
+
+    public StreamingExcelWriter(String sheetName, int rowWindow) {
+        this.workbook = new SXSSFWorkbook(rowWindow);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet(sheetName);
+    }
+
+    public Workbook getWorkbook() {
+        return workbook;
+    }
+
+    public Sheet getSheet() {
+        return sheet;
+    }
+
+    public Row createRow(int rowNum) {
+        return sheet.createRow(rowNum);
+    }
+
+    /**
+     * Tulis nilai ke cell dan catat panjangnya untuk perhitungan lebar kolom.
+     * Number ditulis sebagai numeric cell, null sebagai cell kosong.
+     */
+    public Cell writeCell(Row row, int col, Object value, CellStyle style) {
+        Cell cell = row.createCell(col);
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else {
+            cell.setCellValue(value != null ? value.toString() : "");
+        }
+        if (style != null) {
+            cell.setCellStyle(style);
+        }
+        trackWidth(col, value);
+        return cell;
+    }
+
+    /**
+     * Catat lebar teks untuk kolom tanpa menulis cell, misalnya untuk cell hyperlink
+     * atau cell yang diisi langsung lewat API POI.
+     */
+    public void trackWidth(int col, Object value) {
+        if (value == null) {
+            return;
+        }
+        int length = longestLine(value.toString());
+        if (col >= maxChars.length) {
+            maxChars = Arrays.copyOf(maxChars, Math.max(col + 1, maxChars.length * 2));
+        }
+        if (length > maxChars[col]) {
+            maxChars[col] = length;
+        }
+    }
+
+    /**
+     * Terapkan lebar kolom hasil tracking, dibatasi antara {@code minWidth} dan {@code maxWidth}
+     * (dalam satuan 1/256 karakter seperti {@link Sheet#setColumnWidth(int, int)}).
+     */
+    public void applyColumnWidths(int columnCount, int minWidth, int maxWidth) {
+        for (int col = 0; col < columnCount; col++) {
+            int tracked = col < maxChars.length ? maxChars[col] : 0;
+            int width = (tracked + WIDTH_PADDING_CHARS) * CHAR_WIDTH_UNITS;
+            sheet.setColumnWidth(col, Math.max(minWidth, Math.min(maxWidth, width)));
+        }
+    }
+
+    /**
+     * Tulis workbook ke output stream. Stream tidak ditutup; pemanggil yang memilikinya.
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        workbook.write(outputStream);
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Hapus temp file SXSSF sebelum menutup workbook
+        if (!workbook.dispose()) {
+            log.warn("Failed to delete SXSSF temporary files for sheet '{}'", sheet.getSheetName());
+        }
+        workbook.close();
+    }
+
+    private static int longestLine(String text) {
+        int longest = 0;
+        int current = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                longest = Math.max(longest, current);
+                current = 0;
+            } else {
+                current++;
+            }
+        }
+        return Math.max(longest, current);
+    }
+}
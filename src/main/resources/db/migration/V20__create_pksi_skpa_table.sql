@@ -0,0 +1,24 @@
+-- Normalized PIC Satker: one row per (PKSI, SKPA) parsed from trn_pksi_document.pic_satker
+CREATE TABLE trn_pksi_skpa (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    pksi_id UNIQUEIDENTIFIER NOT NULL,
+    skpa_id UNIQUEIDENTIFIER NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT uk_pksi_skpa UNIQUE (pksi_id, skpa_id),
+    CONSTRAINT fk_pksi_skpa_document FOREIGN KEY (pksi_id)
+        REFERENCES trn_pksi_document(id),
+    CONSTRAINT fk_pksi_skpa_skpa FOREIGN KEY (skpa_id)
+        REFERENCES mst_skpa(id)
+);
+
+-- Index for department-scoped PKSI search (filter by SKPA)
+CREATE INDEX idx_pksi_skpa_skpa ON trn_pksi_skpa(skpa_id, pksi_id);
+
+-- Backfill from existing comma-separated GUIDs, skipping values that are not valid SKPA IDs
+INSERT INTO trn_pksi_skpa (pksi_id, skpa_id)
+SELECT DISTINCT p.id, s.id
+FROM trn_pksi_document p
+CROSS APPLY STRING_SPLIT(p.pic_satker, ',') v
+JOIN mst_skpa s ON s.id = TRY_CAST(LTRIM(RTRIM(v.value)) AS UNIQUEIDENTIFIER);
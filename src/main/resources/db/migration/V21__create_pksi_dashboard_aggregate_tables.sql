@@ -0,0 +1,37 @@
+-- Incrementally maintained PKSI dashboard counters.
+-- Rows are written by PksiDashboardAggregateService (MERGE per changed key); an empty
+-- dimension is stored as '' so the unique keys never contain NULL.
+-- The tables are filled on first startup (or via POST /pksi/dashboard/aggregates/rebuild).
+
+CREATE TABLE agg_pksi_dashboard_tahunan (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    tahun INT NOT NULL,
+    status NVARCHAR(50) NOT NULL,
+    approval_kategori NVARCHAR(30) NOT NULL,
+    jenis_kategori NVARCHAR(30) NOT NULL,
+    pelaksana NVARCHAR(20) NOT NULL,
+    bidang_kode NVARCHAR(50) NOT NULL,
+    jumlah INT NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT uk_agg_pksi_tahunan
+        UNIQUE (tahun, status, approval_kategori, jenis_kategori, pelaksana, bidang_kode)
+);
+
+-- Approved PKSI only, one row set per snapshot month (progress as of the end of that month)
+CREATE TABLE agg_pksi_dashboard_bulanan (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    tahun INT NOT NULL,
+    bulan INT NOT NULL,
+    progress NVARCHAR(50) NOT NULL,
+    bidang_kode NVARCHAR(50) NOT NULL,
+    deadline_tahun INT NOT NULL,
+    sudah_dibuat BIT NOT NULL,
+    jumlah INT NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT uk_agg_pksi_bulanan
+        UNIQUE (tahun, bulan, progress, bidang_kode, deadline_tahun, sudah_dibuat)
+);
@@ -0,0 +1,26 @@
+-- Point-in-time progress history: one row per [valid_from, valid_to) interval per PKSI.
+-- The current interval ends at 9999-12-31 23:59:59 so "progress as of X" is a single
+-- range scan: valid_to > X AND valid_from <= X.
+CREATE TABLE his_pksi_progress (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    pksi_id UNIQUEIDENTIFIER NOT NULL,
+    progress NVARCHAR(50) NULL,
+    valid_from DATETIME2 NOT NULL,
+    valid_to DATETIME2 NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT fk_pksi_progress_document FOREIGN KEY (pksi_id)
+        REFERENCES trn_pksi_document(id)
+);
+
+CREATE INDEX idx_pksi_progress_range ON his_pksi_progress(valid_to, valid_from);
+CREATE INDEX idx_pksi_progress_pksi ON his_pksi_progress(pksi_id, valid_from);
+
+-- Backfill from the existing progress changelog
+INSERT INTO his_pksi_progress (pksi_id, progress, valid_from, valid_to)
+SELECT c.pksi_document_id, LEFT(c.new_value, 50), c.created_at,
+       COALESCE(LEAD(c.created_at) OVER (PARTITION BY c.pksi_document_id ORDER BY c.created_at, c.id),
+                '9999-12-31 23:59:59')
+FROM his_pksi_changelog c
+WHERE c.field_name = 'progress';
@@ -0,0 +1,2 @@
+-- Audit UPDATE stores a JSON-Patch style delta instead of full old/new snapshots
+ALTER TABLE audit_log ADD value_delta NVARCHAR(MAX) NULL;
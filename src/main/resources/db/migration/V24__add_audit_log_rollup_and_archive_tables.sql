@@ -0,0 +1,50 @@
+-- Audit log query engine: composite indexes for keyset pagination (created_at, id),
+-- daily rollup counters for statistics, and a month-tagged archive table.
+
+-- Replace single-column lookup indexes with (filter, created_at) so filtered searches
+-- can seek and read rows already in keyset order
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_audit_entity' AND object_id = OBJECT_ID('audit_log'))
+    DROP INDEX idx_audit_entity ON audit_log;
+IF EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_audit_user' AND object_id = OBJECT_ID('audit_log'))
+    DROP INDEX idx_audit_user ON audit_log;
+
+CREATE INDEX idx_audit_entity_created ON audit_log(entity_name, entity_id, created_at);
+CREATE INDEX idx_audit_user_created ON audit_log(user_id, created_at);
+CREATE INDEX idx_audit_action_created ON audit_log(action, created_at);
+CREATE INDEX idx_audit_username_created ON audit_log(username, created_at);
+
+-- Rows are written by AuditLogWriter (MERGE per day/entity/action in the same transaction
+-- as the audit insert). Filled on first startup or via POST /audit-logs/rollups/rebuild.
+CREATE TABLE agg_audit_log_harian (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    tanggal DATE NOT NULL,
+    entity_name NVARCHAR(100) NOT NULL,
+    action NVARCHAR(20) NOT NULL,
+    jumlah BIGINT NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT uk_agg_audit_harian UNIQUE (tanggal, entity_name, action)
+);
+
+-- Audit rows past audit.retention-months, moved one calendar month at a time.
+-- partition_month (yyyyMM) is the leading key so a month can be read or purged as one range.
+CREATE TABLE audit_log_archive (
+    id UNIQUEIDENTIFIER NOT NULL PRIMARY KEY NONCLUSTERED,
+    partition_month INT NOT NULL,
+    entity_name NVARCHAR(100) NOT NULL,
+    entity_id UNIQUEIDENTIFIER NOT NULL,
+    action NVARCHAR(20) NOT NULL,
+    old_value NVARCHAR(MAX) NULL,
+    new_value NVARCHAR(MAX) NULL,
+    value_delta NVARCHAR(MAX) NULL,
+    changed_fields NVARCHAR(MAX) NULL,
+    user_id UNIQUEIDENTIFIER NULL,
+    username NVARCHAR(100) NULL,
+    ip_address NVARCHAR(45) NULL,
+    user_agent NVARCHAR(500) NULL,
+    created_at DATETIME2 NOT NULL
+);
+
+CREATE CLUSTERED INDEX idx_audit_archive_month ON audit_log_archive(partition_month, created_at);
+CREATE INDEX idx_audit_archive_entity ON audit_log_archive(entity_name, entity_id, created_at);
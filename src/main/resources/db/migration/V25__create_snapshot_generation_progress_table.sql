@@ -0,0 +1,17 @@
+-- Progress of the chunked yearly snapshot generation (POST /arsitektur/historis-aplikasi/generate).
+-- Updated in the same transaction as each committed chunk so an interrupted run can resume
+-- after last_kode_aplikasi.
+CREATE TABLE his_snapshot_generation_progress (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    tahun INT NOT NULL,
+    status NVARCHAR(20) NOT NULL,
+    last_kode_aplikasi NVARCHAR(50) NULL,
+    processed_count INT NOT NULL,
+    started_at DATETIME2 NOT NULL,
+    finished_at DATETIME2 NULL,
+    error_message NVARCHAR(500) NULL,
+    created_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+    updated_at DATETIME2 NOT NULL DEFAULT GETDATE(),
+
+    CONSTRAINT uk_snapshot_generation_tahun UNIQUE (tahun)
+);
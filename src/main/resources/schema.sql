@@ -70,3 +70,30 @@ IF COLUMNPROPERTY(OBJECT_ID('trn_pksi_document'), 'rencana_pengelolaan', 'Allows
 
 IF COLUMNPROPERTY(OBJECT_ID('trn_pksi_document'), 'tujuan_pengajuan', 'AllowsNull') = 0
     ALTER TABLE trn_pksi_document ALTER COLUMN tujuan_pengajuan NVARCHAR(MAX) NULL;
+
+-- Backfill trn_pksi_skpa (normalized PIC Satker) from the comma-separated pic_satker GUIDs.
+-- Idempotent: only inserts missing links; the application keeps the table in sync on every PKSI save.
+IF OBJECT_ID('trn_pksi_skpa') IS NOT NULL
+    INSERT INTO trn_pksi_skpa (id, pksi_id, skpa_id, created_at, updated_at)
+    SELECT NEWID(), links.pksi_id, links.skpa_id, GETDATE(), GETDATE()
+    FROM (
+        SELECT DISTINCT p.id AS pksi_id, s.id AS skpa_id
+        FROM trn_pksi_document p
+        CROSS APPLY STRING_SPLIT(p.pic_satker, ',') v
+        JOIN mst_skpa s ON s.id = TRY_CAST(LTRIM(RTRIM(v.value)) AS UNIQUEIDENTIFIER)
+    ) links
+    WHERE NOT EXISTS (
+        SELECT 1 FROM trn_pksi_skpa ps WHERE ps.pksi_id = links.pksi_id AND ps.skpa_id = links.skpa_id
+    );
+
+-- Backfill his_pksi_progress (progress intervals) from the progress changelog.
+-- Idempotent: only PKSI without any interval yet; new changes are recorded by PksiChangelogService.
+IF OBJECT_ID('his_pksi_progress') IS NOT NULL
+    INSERT INTO his_pksi_progress (id, pksi_id, progress, valid_from, valid_to, created_at, updated_at)
+    SELECT NEWID(), c.pksi_document_id, LEFT(c.new_value, 50), c.created_at,
+           COALESCE(LEAD(c.created_at) OVER (PARTITION BY c.pksi_document_id ORDER BY c.created_at, c.id),
+                    '9999-12-31 23:59:59'),
+           GETDATE(), GETDATE()
+    FROM his_pksi_changelog c
+    WHERE c.field_name = 'progress'
+      AND NOT EXISTS (SELECT 1 FROM his_pksi_progress h WHERE h.pksi_id = c.pksi_document_id);
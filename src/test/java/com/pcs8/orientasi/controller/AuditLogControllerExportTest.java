@@ -0,0 +1,71 @@
+package com.pcs8.orientasi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.enums.AuditExportFormat;
+import com.pcs8.orientasi.exception.GlobalExceptionHandler;
+import com.pcs8.orientasi.service.AuditArchiveService;
+import com.pcs8.orientasi.service.AuditLogExportService;
+import com.pcs8.orientasi.service.AuditService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export audit log tidak dibatasi timeout async MVC, sedangkan request async lain tetap dibatasi
+ */
+class AuditLogControllerExportTest {
+
+    private static final long DEFAULT_ASYNC_TIMEOUT_MS = 10 * 60 * 1000L;
+
+    private AuditLogExportService exportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        exportService = mock(AuditLogExportService.class);
+        AuditLogController controller = new AuditLogController(mock(AuditService.class),
+                mock(AuditArchiveService.class), exportService, new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setAsyncRequestTimeout(DEFAULT_ASYNC_TIMEOUT_MS)
+                .build();
+    }
+
+    @Test
+    void export_runsWithoutAsyncTimeout() throws Exception {
+        StreamingResponseBody body = out -> out.write("a\r\n# export_complete row_count=1\r\n"
+                .getBytes(StandardCharsets.UTF_8));
+        when(exportService.exportAuditLogs(any(), eq(AuditExportFormat.CSV), eq(false))).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/audit-logs/export").param("format", "csv")).andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isLessThanOrEqualTo(0);
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andExpect(content().string("a\r\n# export_complete row_count=1\r\n"));
+    }
+
+    @Test
+    void invalidFormat_isRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/audit-logs/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
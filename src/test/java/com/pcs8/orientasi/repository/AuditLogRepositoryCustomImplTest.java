@@ -0,0 +1,91 @@
+package com.pcs8.orientasi.repository;
+
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filter username di search dan export audit log adalah contains match dengan wildcard di-escape
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuditLogRepositoryCustomImplTest {
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        persist("alice.wonder");
+        persist("malice");
+        persist("bob");
+        persist("ali_ce");
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void searchAuditLogs_matchesUsernameAnywhere() {
+        assertThat(searchUsernames("lic")).containsExactlyInAnyOrder("alice.wonder", "malice");
+    }
+
+    @Test
+    void searchAuditLogsAfter_matchesUsernameAnywhere() {
+        List<AuditLog> rows = auditLogRepository.searchAuditLogsAfter(criteria("wonder"), null, null, 10);
+
+        assertThat(rows).extracting(AuditLog::getUsername).containsExactly("alice.wonder");
+    }
+
+    @Test
+    void streamAuditLogRows_matchesUsernameAnywhere() {
+        List<String> usernames = new ArrayList<>();
+        auditLogRepository.streamAuditLogRows(criteria("lic"), rs -> usernames.add(rs.getString("username")));
+
+        assertThat(usernames).containsExactlyInAnyOrder("alice.wonder", "malice");
+    }
+
+    @Test
+    void wildcardsInTermAreLiteral() {
+        assertThat(searchUsernames("i_c")).containsExactly("ali_ce");
+    }
+
+    private List<String> searchUsernames(String term) {
+        return auditLogRepository.searchAuditLogs(criteria(term), PageRequest.of(0, 10))
+                .map(AuditLog::getUsername)
+                .getContent();
+    }
+
+    private static AuditLogSearchCriteria criteria(String username) {
+        return AuditLogSearchCriteria.builder().username(username).build();
+    }
+
+    private void persist(String username) {
+        em.persist(AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(UUID.randomUUID())
+                .action(AuditAction.UPDATE)
+                .username(username)
+                .createdAt(LocalDateTime.of(2025, 3, 1, 10, 0))
+                .build());
+    }
+}
@@ -0,0 +1,354 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.config.CacheConfig;
+import com.pcs8.orientasi.domain.dto.response.AplikasiSnapshotResponse;
+import com.pcs8.orientasi.domain.dto.response.SnapshotGenerationResponse;
+import com.pcs8.orientasi.domain.entity.AplikasiChangelog;
+import com.pcs8.orientasi.domain.entity.AplikasiKomunikasiSistem;
+import com.pcs8.orientasi.domain.entity.AplikasiPenggunaEksternal;
+import com.pcs8.orientasi.domain.entity.AplikasiPenghargaan;
+import com.pcs8.orientasi.domain.entity.AplikasiSatkerInternal;
+import com.pcs8.orientasi.domain.entity.AplikasiSnapshot;
+import com.pcs8.orientasi.domain.entity.AplikasiSnapshotGenerationProgress;
+import com.pcs8.orientasi.domain.entity.AplikasiUrl;
+import com.pcs8.orientasi.domain.entity.MstAplikasi;
+import com.pcs8.orientasi.domain.entity.MstBidang;
+import com.pcs8.orientasi.domain.entity.MstSkpa;
+import com.pcs8.orientasi.domain.entity.MstVariable;
+import com.pcs8.orientasi.repository.AplikasiSnapshotGenerationProgressRepository;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepository;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepositoryCustom.SnapshotSource;
+import com.pcs8.orientasi.service.AplikasiHistorisService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Generate snapshot tahunan lewat JDBC terhadap H2: insert, update di tempat, penggantian child,
+ * resume dari progress, dan kesamaan field dengan snapshot yang dibuat lewat JPA
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AplikasiSnapshotGenerator.class, AplikasiHistorisServiceImpl.class,
+        AplikasiSnapshotGeneratorTest.CacheTestConfig.class})
+class AplikasiSnapshotGeneratorTest {
+
+    private static final int TAHUN = 2025;
+    private static final String[] TABLES = {
+        "his_aplikasi_url", "his_aplikasi_satker_internal", "his_aplikasi_pengguna_eksternal",
+        "his_aplikasi_komunikasi_sistem", "his_aplikasi_penghargaan", "his_aplikasi_changelog",
+        "his_aplikasi_snapshot", "his_snapshot_generation_progress",
+        "trn_aplikasi_url", "trn_aplikasi_satker_internal", "trn_aplikasi_pengguna_eksternal",
+        "trn_aplikasi_komunikasi_sistem", "trn_aplikasi_penghargaan",
+        "mst_aplikasi", "mst_skpa", "mst_bidang", "mst_variable"
+    };
+
+    @TestConfiguration
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.HISTORIS_STATISTIK);
+        }
+    }
+
+    @Autowired
+    private AplikasiSnapshotGenerator generator;
+
+    @Autowired
+    private AplikasiHistorisService historisService;
+
+    @Autowired
+    private AplikasiSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private AplikasiSnapshotGenerationProgressRepository progressRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void generate_createsSnapshotWithChildren() {
+        UUID lengkapId = seedAplikasiLengkap("APP-001");
+        UUID minimalId = seedAplikasi("APP-002");
+
+        SnapshotGenerationResponse result = generator.generate(TAHUN, false);
+
+        assertThat(result.getTotalGenerated()).isEqualTo(2);
+        assertThat(result.getCreatedCount()).isEqualTo(2);
+        assertThat(result.getUpdatedCount()).isZero();
+        assertThat(result.getChildRowCount()).isEqualTo(6);
+        assertThat(result.getChunkCount()).isEqualTo(1);
+
+        tx.executeWithoutResult(status -> {
+            AplikasiSnapshot lengkap = snapshotRepository.findByAplikasiIdAndTahun(lengkapId, TAHUN).orElseThrow();
+            assertThat(lengkap.getSnapshotType()).isEqualTo("MANUAL");
+            assertThat(lengkap.getNamaAplikasi()).isEqualTo("Aplikasi APP-001");
+            assertThat(lengkap.getBidangKode()).isEqualTo("DPEA");
+            assertThat(lengkap.getSkpaNama()).isEqualTo("SKPA Satu");
+            assertThat(lengkap.getProsesDataPribadi()).isTrue();
+            assertThat(lengkap.getUrls()).extracting(url -> url.getUrl())
+                    .containsExactlyInAnyOrder("https://app-001.devojk.go.id", "https://intra.app-001");
+            assertThat(lengkap.getKomunikasiSistems()).singleElement()
+                    .satisfies(kom -> assertThat(kom.getIsPlanned()).isTrue());
+            assertThat(lengkap.getPenghargaans()).singleElement()
+                    .satisfies(p -> assertThat(p.getKategoriKode()).isEqualTo("INOVASI"));
+
+            AplikasiSnapshot minimal = snapshotRepository.findByAplikasiIdAndTahun(minimalId, TAHUN).orElseThrow();
+            assertThat(minimal.getBidangId()).isNull();
+            assertThat(minimal.getSkpaId()).isNull();
+            assertThat(minimal.getUrls()).isEmpty();
+        });
+
+        AplikasiSnapshotGenerationProgress progress = progressRepository.findByTahun(TAHUN).orElseThrow();
+        assertThat(progress.getStatus()).isEqualTo(AplikasiSnapshotGenerationProgress.STATUS_COMPLETED);
+        assertThat(progress.getLastKodeAplikasi()).isEqualTo("APP-002");
+        assertThat(progress.getProcessedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void regenerate_updatesInPlaceAndReplacesChildren() {
+        UUID aplikasiId = seedAplikasiLengkap("APP-001");
+        generator.generate(TAHUN, false);
+
+        UUID snapshotId = tx.execute(status -> {
+            AplikasiSnapshot snapshot = snapshotRepository.findByAplikasiIdAndTahun(aplikasiId, TAHUN).orElseThrow();
+            snapshot.setKeteranganHistoris("Dicatat manual");
+            em.persist(AplikasiChangelog.builder()
+                    .snapshot(snapshot)
+                    .tanggalPerubahan(LocalDate.of(2025, 5, 1))
+                    .keterangan("Migrasi server")
+                    .build());
+            return snapshot.getId();
+        });
+        tx.executeWithoutResult(status -> {
+            MstAplikasi aplikasi = em.find(MstAplikasi.class, aplikasiId);
+            aplikasi.setNamaAplikasi("Aplikasi Baru");
+            aplikasi.setStatusAplikasi("IDLE");
+            aplikasi.getUrls().clear();
+            aplikasi.getUrls().add(AplikasiUrl.builder()
+                    .aplikasi(aplikasi).url("https://baru.devojk.go.id").tipeAkses("INTERNET").build());
+            aplikasi.getSatkerInternals().clear();
+        });
+
+        SnapshotGenerationResponse result = generator.generate(TAHUN, false);
+
+        assertThat(result.getCreatedCount()).isZero();
+        assertThat(result.getUpdatedCount()).isEqualTo(1);
+        assertThat(result.getChildRowCount()).isEqualTo(4);
+        tx.executeWithoutResult(status -> {
+            AplikasiSnapshot snapshot = snapshotRepository.findByAplikasiIdAndTahun(aplikasiId, TAHUN).orElseThrow();
+            assertThat(snapshot.getId()).isEqualTo(snapshotId);
+            assertThat(snapshot.getNamaAplikasi()).isEqualTo("Aplikasi Baru");
+            assertThat(snapshot.getStatusAplikasi()).isEqualTo("IDLE");
+            assertThat(snapshot.getKeteranganHistoris()).isEqualTo("Dicatat manual");
+            assertThat(snapshot.getChangelogs()).extracting(AplikasiChangelog::getKeterangan)
+                    .containsExactly("Migrasi server");
+            assertThat(snapshot.getUrls()).extracting(url -> url.getUrl())
+                    .containsExactly("https://baru.devojk.go.id");
+            assertThat(snapshot.getSatkerInternals()).isEmpty();
+            assertThat(snapshot.getPenggunaEksternals()).hasSize(1);
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM his_aplikasi_url", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void failedChunk_isResumedFromCommittedProgress() {
+        // Dua chunk: 500 aplikasi pertama ter-commit, chunk kedua gagal
+        seedManyAplikasi(501);
+        AplikasiSnapshotRepository failingRepository = mock(AplikasiSnapshotRepository.class,
+                delegatesTo(snapshotRepository));
+        AtomicInteger writes = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (writes.incrementAndGet() == 2) {
+                throw new DataAccessResourceFailureException("Connection reset");
+            }
+            List<SnapshotSource> sources = invocation.getArgument(2);
+            return snapshotRepository.writeSnapshots(invocation.getArgument(0), invocation.getArgument(1),
+                    sources, invocation.getArgument(3));
+        }).when(failingRepository).writeSnapshots(anyInt(), anyString(), any(), any());
+
+        AplikasiSnapshotGenerator failing = new AplikasiSnapshotGenerator(failingRepository, progressRepository,
+                transactionManager);
+        assertThatThrownBy(() -> failing.generate(TAHUN, false))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        AplikasiSnapshotGenerationProgress failed = progressRepository.findByTahun(TAHUN).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(AplikasiSnapshotGenerationProgress.STATUS_FAILED);
+        assertThat(failed.getLastKodeAplikasi()).isEqualTo("APP-0500");
+        assertThat(failed.getProcessedCount()).isEqualTo(500);
+        assertThat(failed.getErrorMessage()).isEqualTo("Connection reset");
+        assertThat(snapshotCount()).isEqualTo(500);
+
+        SnapshotGenerationResponse resumed = generator.generate(TAHUN, true);
+
+        assertThat(resumed.getResumedAfter()).isEqualTo("APP-0500");
+        assertThat(resumed.getTotalGenerated()).isEqualTo(1);
+        assertThat(resumed.getCreatedCount()).isEqualTo(1);
+        assertThat(snapshotCount()).isEqualTo(501);
+        AplikasiSnapshotGenerationProgress completed = progressRepository.findByTahun(TAHUN).orElseThrow();
+        assertThat(completed.getStatus()).isEqualTo(AplikasiSnapshotGenerationProgress.STATUS_COMPLETED);
+        assertThat(completed.getProcessedCount()).isEqualTo(501);
+        assertThat(completed.getErrorMessage()).isNull();
+    }
+
+    @Test
+    void resumeFalse_startsOverAfterFailure() {
+        seedAplikasi("APP-001");
+        seedAplikasi("APP-002");
+        tx.executeWithoutResult(status -> em.persist(AplikasiSnapshotGenerationProgress.builder()
+                .tahun(TAHUN)
+                .status(AplikasiSnapshotGenerationProgress.STATUS_FAILED)
+                .lastKodeAplikasi("APP-001")
+                .processedCount(1)
+                .startedAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .build()));
+
+        SnapshotGenerationResponse result = generator.generate(TAHUN, false);
+
+        assertThat(result.getResumedAfter()).isNull();
+        assertThat(result.getTotalGenerated()).isEqualTo(2);
+    }
+
+    @Test
+    void generatedSnapshot_matchesJpaSnapshotFieldMapping() {
+        UUID aplikasiId = seedAplikasiLengkap("APP-001");
+
+        historisService.createOrUpdateSnapshot(aplikasiId, TAHUN - 1, "MANUAL");
+        generator.generate(TAHUN, false);
+
+        List<AplikasiSnapshotResponse> snapshots = historisService.getSnapshotsByAplikasiId(aplikasiId);
+        assertThat(snapshots).extracting(AplikasiSnapshotResponse::getTahun).containsExactly(TAHUN, TAHUN - 1);
+        assertThat(snapshots.get(0).getUrls()).hasSize(2);
+        assertThat(snapshots.get(0))
+                .usingRecursiveComparison()
+                .ignoringCollectionOrder()
+                .ignoringFields("id", "tahun", "snapshotDate", "createdAt", "updatedAt",
+                        "urls.id", "satkerInternals.id", "penggunaEksternals.id", "komunikasiSistems.id",
+                        "penghargaans.id")
+                .isEqualTo(snapshots.get(1));
+    }
+
+    private long snapshotCount() {
+        return snapshotRepository.count();
+    }
+
+    private UUID seedAplikasi(String kode) {
+        return tx.execute(status -> em.persist(MstAplikasi.builder()
+                .kodeAplikasi(kode)
+                .namaAplikasi("Aplikasi " + kode)
+                .build()).getId());
+    }
+
+    /**
+     * Aplikasi dengan bidang, SKPA, idle info dan semua child collection (6 child row)
+     */
+    private UUID seedAplikasiLengkap(String kode) {
+        return tx.execute(status -> {
+            MstBidang bidang = em.persist(MstBidang.builder().kodeBidang("DPEA").namaBidang("Bidang DPEA").build());
+            MstSkpa skpa = em.persist(MstSkpa.builder().kodeSkpa("SKPA1").namaSkpa("SKPA Satu").bidang(bidang).build());
+            MstVariable kategori = em.persist(MstVariable.builder()
+                    .kategori("KATEGORI_PENGHARGAAN").kode("INOVASI").nama("Inovasi").build());
+
+            MstAplikasi aplikasi = MstAplikasi.builder()
+                    .kodeAplikasi(kode)
+                    .namaAplikasi("Aplikasi " + kode)
+                    .deskripsi("Deskripsi, dengan \"kutip\"")
+                    .statusAplikasi("IDLE")
+                    .tanggalStatus(LocalDate.of(2024, 7, 1))
+                    .bidang(bidang)
+                    .skpa(skpa)
+                    .tanggalImplementasi(LocalDate.of(2019, 3, 15))
+                    .akses("INTERNET,INTRANET")
+                    .prosesDataPribadi(true)
+                    .dataPribadiDiproses("NIK, alamat")
+                    .kategoriIdle("HISTORIS")
+                    .alasanIdle("Digantikan aplikasi baru")
+                    .rencanaPengakhiran("2026")
+                    .alasanBelumDiakhiri("Masih dipakai audit")
+                    .build();
+            aplikasi.getUrls().add(AplikasiUrl.builder()
+                    .aplikasi(aplikasi).url("https://" + kode.toLowerCase() + ".devojk.go.id")
+                    .tipeAkses("INTERNET").keterangan("Utama").build());
+            aplikasi.getUrls().add(AplikasiUrl.builder()
+                    .aplikasi(aplikasi).url("https://intra." + kode.toLowerCase()).tipeAkses("INTRANET").build());
+            aplikasi.getSatkerInternals().add(AplikasiSatkerInternal.builder()
+                    .aplikasi(aplikasi).namaSatker("DKSP").keterangan("Pemilik proses").build());
+            aplikasi.getPenggunaEksternals().add(AplikasiPenggunaEksternal.builder()
+                    .aplikasi(aplikasi).namaPengguna("Bank Umum").build());
+            aplikasi.getKomunikasiSistems().add(AplikasiKomunikasiSistem.builder()
+                    .aplikasi(aplikasi).namaSistem("SIPO").tipeSistem("INTERNAL")
+                    .deskripsiKomunikasi("REST").isPlanned(true).build());
+            aplikasi.getPenghargaans().add(AplikasiPenghargaan.builder()
+                    .aplikasi(aplikasi).kategori(kategori).tanggal(LocalDate.of(2023, 11, 20))
+                    .deskripsi("Juara inovasi").build());
+            return em.persist(aplikasi).getId();
+        });
+    }
+
+    private void seedManyAplikasi(int count) {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String kode = String.format("APP-%04d", i);
+            rows.add(new Object[]{UUID.randomUUID().toString(), kode, "Aplikasi " + kode, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO mst_aplikasi (id, kode_aplikasi, nama_aplikasi, status_aplikasi, " +
+                "proses_data_pribadi, created_at, updated_at) VALUES (?, ?, ?, 'AKTIF', 0, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,206 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.dto.request.AuditLogSearchCriteria;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.domain.enums.AuditExportFormat;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export audit log terhadap H2: escaping CSV, kolom JSON mentah di NDJSON, gzip, trailer, dan filter
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuditLogExportServiceImplTest {
+
+    private static final UUID ENTITY_ID = UUID.fromString("6f1c2d3e-4b5a-4c6d-8e7f-9a0b1c2d3e4f");
+    private static final UUID USER_ID = UUID.fromString("0a1b2c3d-4e5f-4a6b-8c7d-8e9f0a1b2c3d");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void csv_escapesDelimitersQuotesAndNewlines() throws Exception {
+        persist(AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(ENTITY_ID)
+                .action(AuditAction.UPDATE)
+                .oldValue("{\"nama\":\"A, B\"}")
+                .username("alice")
+                .userAgent("Mozilla \"Test\"\r\nline 2")
+                .createdAt(LocalDateTime.of(2025, 3, 1, 10, 0)));
+
+        String csv = export(AuditLogSearchCriteria.builder().build(), AuditExportFormat.CSV, false);
+
+        assertThat(csv.split("\r\n", 2)[0]).isEqualTo("id,entity_name,entity_id,action,old_value,new_value,"
+                + "value_delta,changed_fields,user_id,username,ip_address,user_agent,created_at");
+        assertThat(csv).contains(",Aplikasi," + ENTITY_ID + ",UPDATE,\"{\"\"nama\"\":\"\"A, B\"\"}\",,,,,alice,,"
+                + "\"Mozilla \"\"Test\"\"\r\nline 2\",2025-03-01T10:00\r\n");
+        assertThat(csv).endsWith("\r\n# export_complete row_count=1\r\n");
+    }
+
+    @Test
+    void ndjson_writesJsonColumnsAsRawJson() throws Exception {
+        persist(AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(ENTITY_ID)
+                .action(AuditAction.UPDATE)
+                .oldValue("{\"status\":\"DRAFT\"}")
+                .newValue("{\"status\":\"AKTIF\",\"versi\":2}")
+                .changedFields("[\"status\",\"versi\"]")
+                .userId(USER_ID)
+                .username("alice")
+                .createdAt(LocalDateTime.of(2025, 3, 1, 10, 0)));
+
+        List<JsonNode> lines = ndjsonLines(export(AuditLogSearchCriteria.builder().build(), AuditExportFormat.NDJSON, false));
+
+        assertThat(lines).hasSize(2);
+        JsonNode row = lines.get(0);
+        assertThat(row.get("new_value").isObject()).isTrue();
+        assertThat(row.get("new_value").get("versi").asInt()).isEqualTo(2);
+        assertThat(row.get("changed_fields").isArray()).isTrue();
+        assertThat(row.get("value_delta").isNull()).isTrue();
+        assertThat(row.get("entity_id").asText()).isEqualTo(ENTITY_ID.toString());
+        assertThat(row.get("user_id").asText()).isEqualTo(USER_ID.toString());
+        assertThat(row.get("created_at").asText()).isEqualTo("2025-03-01T10:00");
+        assertThat(lines.get(1).get("export_complete").asBoolean()).isTrue();
+        assertThat(lines.get(1).get("row_count").asLong()).isEqualTo(1);
+    }
+
+    @Test
+    void gzip_compressesCompleteOutput() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            persist(log("Aplikasi", AuditAction.CREATE, "alice", LocalDateTime.of(2025, 3, 1, 10, i)));
+        }
+
+        byte[] compressed = exportBytes(AuditLogSearchCriteria.builder().build(), AuditExportFormat.NDJSON, true);
+
+        assertThat(compressed[0]).isEqualTo((byte) 0x1f);
+        assertThat(compressed[1]).isEqualTo((byte) 0x8b);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            List<JsonNode> lines = ndjsonLines(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            assertThat(lines).hasSize(4);
+            assertThat(lines.get(3).get("row_count").asLong()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void streamAuditLogRows_appliesEveryFilter() {
+        AuditLog match = persist(AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(ENTITY_ID)
+                .action(AuditAction.UPDATE)
+                .userId(USER_ID)
+                .username("alice.wonder")
+                .createdAt(LocalDateTime.of(2025, 3, 10, 9, 0)));
+        persist(log("Fs2Document", AuditAction.UPDATE, "alice.wonder", LocalDateTime.of(2025, 3, 10, 9, 0)));
+        persist(log("Aplikasi", AuditAction.DELETE, "alice.wonder", LocalDateTime.of(2025, 3, 10, 9, 0)));
+        persist(log("Aplikasi", AuditAction.UPDATE, "bob", LocalDateTime.of(2025, 3, 10, 9, 0)));
+        persist(log("Aplikasi", AuditAction.UPDATE, "alice.wonder", LocalDateTime.of(2025, 2, 1, 9, 0)));
+        persist(AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(UUID.randomUUID())
+                .action(AuditAction.UPDATE)
+                .userId(UUID.randomUUID())
+                .username("alice.wonder")
+                .createdAt(LocalDateTime.of(2025, 3, 10, 9, 0)));
+
+        assertThat(streamedIds(AuditLogSearchCriteria.builder()
+                .entityName("Aplikasi")
+                .entityId(ENTITY_ID)
+                .action(AuditAction.UPDATE)
+                .userId(USER_ID)
+                .username("wonder")
+                .startDate(LocalDateTime.of(2025, 3, 1, 0, 0))
+                .endDate(LocalDateTime.of(2025, 3, 31, 23, 59))
+                .build())).containsExactly(match.getId().toString());
+
+        assertThat(streamedIds(AuditLogSearchCriteria.builder().entityName("Aplikasi").build())).hasSize(5);
+        assertThat(streamedIds(AuditLogSearchCriteria.builder().action(AuditAction.DELETE).build())).hasSize(1);
+        assertThat(streamedIds(AuditLogSearchCriteria.builder().userId(USER_ID).build())).hasSize(1);
+        assertThat(streamedIds(AuditLogSearchCriteria.builder()
+                .endDate(LocalDateTime.of(2025, 2, 28, 0, 0))
+                .build())).hasSize(1);
+    }
+
+    @Test
+    void rowsAreOrderedNewestFirst() throws Exception {
+        persist(log("Aplikasi", AuditAction.CREATE, "old", LocalDateTime.of(2025, 1, 1, 8, 0)));
+        persist(log("Aplikasi", AuditAction.CREATE, "new", LocalDateTime.of(2025, 6, 1, 8, 0)));
+
+        List<JsonNode> lines = ndjsonLines(export(AuditLogSearchCriteria.builder().build(), AuditExportFormat.NDJSON, false));
+
+        assertThat(lines).extracting(line -> line.path("username").asText(null))
+                .containsExactly("new", "old", null);
+    }
+
+    private List<String> streamedIds(AuditLogSearchCriteria criteria) {
+        List<String> ids = new ArrayList<>();
+        auditLogRepository.streamAuditLogRows(criteria, rs -> ids.add(rs.getString("id").toLowerCase()));
+        return ids;
+    }
+
+    private String export(AuditLogSearchCriteria criteria, AuditExportFormat format, boolean gzip) throws Exception {
+        return new String(exportBytes(criteria, format, gzip), StandardCharsets.UTF_8);
+    }
+
+    private byte[] exportBytes(AuditLogSearchCriteria criteria, AuditExportFormat format, boolean gzip) throws Exception {
+        em.flush();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new AuditLogExportServiceImpl(auditLogRepository, objectMapper)
+                .exportAuditLogs(criteria, format, gzip)
+                .writeTo(out);
+        return out.toByteArray();
+    }
+
+    private List<JsonNode> ndjsonLines(String ndjson) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private AuditLog persist(AuditLog.AuditLogBuilder builder) {
+        AuditLog auditLog = em.persist(builder.build());
+        em.flush();
+        return auditLog;
+    }
+
+    private static AuditLog.AuditLogBuilder log(String entityName, AuditAction action, String username,
+                                                LocalDateTime createdAt) {
+        return AuditLog.builder()
+                .entityName(entityName)
+                .entityId(UUID.randomUUID())
+                .action(action)
+                .username(username)
+                .createdAt(createdAt);
+    }
+}
@@ -0,0 +1,165 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.repository.AuditLogDailyAggregateRepository;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Spill dan replay audit log terhadap database H2 sungguhan: entry yang gagal saat commit
+ * harus tersimpan saat replay, bukan di-merge sebagai entity detached yang tidak ada
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditLogWriterReplayTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private FailingCommitTransactionManager failingTransactionManager;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        failingTransactionManager = new FailingCommitTransactionManager(transactionManager);
+        writer = new AuditLogWriter(auditLogRepository, mock(AuditLogDailyAggregateRepository.class),
+                failingTransactionManager, Jackson2ObjectMapperBuilder.json().build(), spillDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditLogRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void connectionLostAtCommit_rowsAreWrittenOnReplay() throws Exception {
+        failingTransactionManager.failCommits(connectionReset());
+
+        writer.writeBatch(auditLogs(3));
+
+        assertThat(auditLogRepository.count()).isZero();
+        assertThat(Files.readAllLines(spillDir.resolve("audit-spill.ndjson"))).hasSize(3)
+                .allSatisfy(line -> assertThat(line).doesNotContain("\"id\":\""));
+
+        writer.replaySpill();
+
+        assertThat(auditLogRepository.count()).isEqualTo(3);
+        assertThat(writer.getStats().getReplayedCount()).isEqualTo(3);
+        assertThat(writer.getStats().getDeadLetteredCount()).isZero();
+        assertThat(Files.exists(spillDir.resolve("audit-spill.ndjson"))).isFalse();
+    }
+
+    @Test
+    void connectionLostDuringIndividualRetry_remainingRowsAreWrittenOnReplay() {
+        // Batch ditolak, baris pertama tersimpan sendiri, lalu koneksi putus saat commit baris kedua
+        failingTransactionManager.failCommits(new DataIntegrityViolationException("batch rejected"), null,
+                connectionReset());
+
+        writer.writeBatch(auditLogs(3));
+        assertThat(auditLogRepository.count()).isEqualTo(1);
+
+        writer.replaySpill();
+
+        assertThat(auditLogRepository.count()).isEqualTo(3);
+        assertThat(writer.getStats().getWrittenCount()).isEqualTo(3);
+        assertThat(writer.getStats().getDeadLetteredCount()).isZero();
+    }
+
+    private static DataAccessResourceFailureException connectionReset() {
+        return new DataAccessResourceFailureException("Connection reset");
+    }
+
+    private static List<AuditLog> auditLogs(int count) {
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            auditLogs.add(AuditLog.builder()
+                    .entityName("Aplikasi")
+                    .entityId(UUID.randomUUID())
+                    .action(AuditAction.CREATE)
+                    .username("alice")
+                    .createdAt(LocalDateTime.of(2025, 3, 1, 10, i))
+                    .build());
+        }
+        return auditLogs;
+    }
+
+    /**
+     * Transaction manager yang me-rollback lalu melempar error pada commit tertentu, seperti koneksi
+     * yang putus setelah statement terkirim
+     */
+    private static class FailingCommitTransactionManager implements PlatformTransactionManager {
+
+        private final PlatformTransactionManager delegate;
+        private final Deque<Optional<RuntimeException>> commitFailures = new ArrayDeque<>();
+
+        FailingCommitTransactionManager(PlatformTransactionManager delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Error untuk commit berikutnya secara berurutan; null berarti commit berjalan normal
+         */
+        void failCommits(RuntimeException... failures) {
+            Arrays.stream(failures).forEach(failure -> commitFailures.add(Optional.ofNullable(failure)));
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            Optional<RuntimeException> failure = commitFailures.isEmpty() ? Optional.empty() : commitFailures.poll();
+            if (failure.isPresent()) {
+                delegate.rollback(status);
+                throw failure.get();
+            }
+            delegate.commit(status);
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.dto.response.AuditWriterStatsResponse;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.repository.AuditLogDailyAggregateRepository;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Spill, replay dan dead-letter di writer audit log, tanpa thread writer
+ */
+class AuditLogWriterTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private AuditLogRepository auditLogRepository;
+    private PlatformTransactionManager transactionManager;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(AuditLogRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        writer = new AuditLogWriter(auditLogRepository, mock(AuditLogDailyAggregateRepository.class),
+                transactionManager, objectMapper, spillDir.toString());
+    }
+
+    @Test
+    void stopsAfterWebServerGracefulShutdown() {
+        assertThat(writer.getPhase()).isEqualTo(SmartLifecycle.DEFAULT_PHASE - 4096);
+    }
+
+    @Test
+    void databaseUnavailable_spillsWholeBatchWithoutIndividualRetries() throws IOException {
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager",
+                        new SQLTransientConnectionException("Connection is not available")));
+
+        writer.writeBatch(auditLogs("Aplikasi", 3));
+
+        verify(auditLogRepository, never()).save(any(AuditLog.class));
+        assertThat(spillLines()).hasSize(3);
+        assertThat(writer.getStats().getSpilledCount()).isEqualTo(3);
+        assertThat(writer.getStats().getDeadLetteredCount()).isZero();
+    }
+
+    @Test
+    void partiallyRejectedBatch_movesRejectedRowsToDeadLetter() throws IOException {
+        when(auditLogRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(auditLogRepository.save(argThat(log -> log != null && "Rusak".equals(log.getEntityName()))))
+                .thenThrow(new DataIntegrityViolationException("String or binary data would be truncated"));
+        List<AuditLog> batch = new ArrayList<>(auditLogs("Aplikasi", 2));
+        batch.addAll(auditLogs("Rusak", 1));
+
+        writer.writeBatch(batch);
+
+        AuditWriterStatsResponse stats = writer.getStats();
+        assertThat(stats.getWrittenCount()).isEqualTo(2);
+        assertThat(stats.getDeadLetteredCount()).isEqualTo(1);
+        assertThat(Files.exists(spillDir.resolve("audit-spill.ndjson"))).isFalse();
+        List<JsonNode> deadLetters = deadLetterLines();
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0).get("audit_log").get("entityName").asText()).isEqualTo("Rusak");
+        assertThat(deadLetters.get(0).get("reason").asText()).contains("truncated");
+    }
+
+    @Test
+    void batchRejectedOnEveryReplay_isDeadLetteredAfterRetryCap() throws IOException {
+        when(auditLogRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch"));
+        when(auditLogRepository.save(any(AuditLog.class))).thenThrow(new DataIntegrityViolationException("row"));
+
+        writer.writeBatch(auditLogs("Rusak", 2));
+        assertThat(spillLines()).extracting(line -> line.get("rejected_attempts").asInt()).containsOnly(1);
+
+        for (int replay = 2; replay < 5; replay++) {
+            writer.replaySpill();
+            assertThat(spillLines()).hasSize(2)
+                    .extracting(line -> line.get("rejected_attempts").asInt()).containsOnly(replay);
+        }
+        writer.replaySpill();
+
+        assertThat(Files.exists(spillDir.resolve("audit-spill.ndjson"))).isFalse();
+        assertThat(deadLetterLines()).hasSize(2)
+                .extracting(line -> line.get("rejected_attempts").asInt()).containsOnly(5);
+        writer.replaySpill();
+        assertThat(writer.getStats().getDeadLetteredCount()).isEqualTo(2);
+    }
+
+    @Test
+    void replay_writesSpilledEntriesIncludingLegacyLines() throws IOException {
+        AuditLog legacy = auditLogs("Bidang", 1).get(0);
+        Files.writeString(spillDir.resolve("audit-spill.ndjson"),
+                objectMapper.writeValueAsString(legacy) + System.lineSeparator(), StandardCharsets.UTF_8);
+        when(transactionManager.getTransaction(any()))
+                .thenThrow(new CannotCreateTransactionException("down"))
+                .thenReturn(null);
+        writer.writeBatch(auditLogs("Aplikasi", 2));
+
+        writer.replaySpill();
+
+        verify(auditLogRepository).saveAll(argThat(logs -> logs instanceof List<?> list && list.size() == 3));
+        AuditWriterStatsResponse stats = writer.getStats();
+        assertThat(stats.getReplayedCount()).isEqualTo(3);
+        assertThat(stats.getSpillFileBytes()).isZero();
+        assertThat(Files.exists(spillDir.resolve("audit-spill.ndjson.replay"))).isFalse();
+    }
+
+    @Test
+    void flushWaitsWhileWriterIsPaused() throws Exception {
+        Thread flusher = new Thread(() -> writer.writeBatch(auditLogs("Aplikasi", 1)));
+
+        boolean flushedWhilePaused = writer.runPaused(() -> {
+            flusher.start();
+            awaitQuietly(flusher, 300);
+            return flusher.isAlive() ? mockingDetails(auditLogRepository).getInvocations().size() > 0 : true;
+        });
+        flusher.join(5_000);
+
+        assertThat(flushedWhilePaused).isFalse();
+        verify(auditLogRepository).saveAll(anyList());
+        assertThat(writer.getStats().getWrittenCount()).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(Thread thread, long millis) {
+        try {
+            thread.join(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<AuditLog> auditLogs(String entityName, int count) {
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            auditLogs.add(AuditLog.builder()
+                    .entityName(entityName)
+                    .entityId(UUID.randomUUID())
+                    .action(AuditAction.CREATE)
+                    .username("alice")
+                    .createdAt(LocalDateTime.of(2025, 3, 1, 10, 0))
+                    .build());
+        }
+        return auditLogs;
+    }
+
+    private List<JsonNode> spillLines() throws IOException {
+        return readLines(spillDir.resolve("audit-spill.ndjson"));
+    }
+
+    private List<JsonNode> deadLetterLines() throws IOException {
+        return readLines(spillDir.resolve("audit-dead-letter.ndjson"));
+    }
+
+    private List<JsonNode> readLines(Path file) throws IOException {
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            nodes.add(objectMapper.readTree(line));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,108 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pcs8.orientasi.domain.entity.AuditLog;
+import com.pcs8.orientasi.domain.enums.AuditAction;
+import com.pcs8.orientasi.repository.AuditLogArchiveRepository;
+import com.pcs8.orientasi.repository.AuditLogDailyAggregateRepository;
+import com.pcs8.orientasi.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuild rollup harian tidak boleh berjalan bersamaan dengan flush writer audit log
+ */
+class AuditServiceImplRollupTest {
+
+    @TempDir
+    Path spillDir;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private AuditLogRepository auditLogRepository;
+    private AuditLogDailyAggregateRepository dailyAggregateRepository;
+    private PlatformTransactionManager transactionManager;
+    private AuditLogWriter writer;
+    private AuditServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository = mock(AuditLogRepository.class);
+        dailyAggregateRepository = mock(AuditLogDailyAggregateRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        writer = new AuditLogWriter(auditLogRepository, mock(AuditLogDailyAggregateRepository.class),
+                transactionManager, objectMapper, spillDir.toString());
+        service = new AuditServiceImpl(auditLogRepository, mock(AuditLogArchiveRepository.class),
+                dailyAggregateRepository, writer, objectMapper, transactionManager, true);
+    }
+
+    @Test
+    void rebuild_commitsBeforeWriterFlushesNextBatch() throws Exception {
+        Thread flusher = new Thread(() -> writer.writeBatch(List.of(auditLog())));
+        doAnswer(invocation -> {
+            flusher.start();
+            awaitBlocked(flusher);
+            return null;
+        }).when(dailyAggregateRepository).deleteAllInBatch();
+        when(dailyAggregateRepository.rebuildFromAuditLog()).thenReturn(3);
+
+        int rows = service.rebuildAuditRollups();
+        flusher.join(5_000);
+
+        assertThat(rows).isEqualTo(3);
+        InOrder order = inOrder(dailyAggregateRepository, transactionManager, auditLogRepository);
+        order.verify(dailyAggregateRepository).deleteAllInBatch();
+        order.verify(dailyAggregateRepository).rebuildFromAuditLog();
+        order.verify(transactionManager).commit(any());
+        order.verify(auditLogRepository).saveAll(anyList());
+    }
+
+    @Test
+    void rebuildIfEmpty_skipsWhenRollupsExist() {
+        when(dailyAggregateRepository.count()).thenReturn(10L);
+
+        service.rebuildAuditRollupsIfEmpty();
+
+        verify(dailyAggregateRepository, never()).deleteAllInBatch();
+        verify(dailyAggregateRepository, never()).rebuildFromAuditLog();
+    }
+
+    /**
+     * Tunggu sampai thread flush parkir di lock writer
+     */
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static AuditLog auditLog() {
+        return AuditLog.builder()
+                .entityName("Aplikasi")
+                .entityId(UUID.randomUUID())
+                .action(AuditAction.UPDATE)
+                .username("alice")
+                .createdAt(LocalDateTime.of(2025, 3, 1, 10, 0))
+                .build();
+    }
+}
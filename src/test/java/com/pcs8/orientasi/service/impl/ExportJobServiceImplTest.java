@@ -0,0 +1,169 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.response.BaseResponse;
+import com.pcs8.orientasi.domain.dto.response.ExportJobResponse;
+import com.pcs8.orientasi.domain.enums.ExportJobStatus;
+import com.pcs8.orientasi.domain.enums.ExportJobType;
+import com.pcs8.orientasi.exception.GlobalExceptionHandler;
+import com.pcs8.orientasi.exception.ResourceNotFoundException;
+import com.pcs8.orientasi.exception.ServiceUnavailableException;
+import com.pcs8.orientasi.service.MinioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ExportJobServiceImplTest {
+
+    private static final byte[] CONTENT = "xlsx".getBytes();
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private final RecordingTransactionManager transactionManager = new RecordingTransactionManager();
+    private MinioService minioService;
+    private boolean rejectTasks;
+    private ExportJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        minioService = mock(MinioService.class);
+        Executor executor = task -> {
+            if (rejectTasks) {
+                throw new TaskRejectedException("queue full");
+            }
+            queued.add(task);
+        };
+        service = new ExportJobServiceImpl(minioService, executor, transactionManager);
+    }
+
+    @Test
+    void exporterRunsInsideReadOnlyTransaction() {
+        AtomicBoolean inReadOnlyTransaction = new AtomicBoolean();
+        ExportJobResponse submitted = service.submit(ExportJobType.FS2_ALL, Map.of("year", 2025), "fs2.xlsx", "alice",
+                () -> out -> {
+                    inReadOnlyTransaction.set(TransactionSynchronizationManager.isActualTransactionActive()
+                            && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                    out.write(CONTENT);
+                });
+
+        runQueued();
+
+        assertThat(inReadOnlyTransaction).isTrue();
+        assertThat(transactionManager.commits).isEqualTo(1);
+        assertThat(service.getJob(submitted.getJobId(), "alice").getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        verify(minioService).uploadFile(any(InputStream.class), eq("exports/" + submitted.getJobId() + "/fs2.xlsx"),
+                anyString(), eq((long) CONTENT.length));
+    }
+
+    @Test
+    void failingExporterRollsBackAndMarksJobFailed() {
+        ExportJobResponse submitted = service.submit(ExportJobType.FS2_APPROVED, Map.of(), "fs2.xlsx", "alice",
+                () -> out -> {
+                    throw new IllegalStateException("lazy load failed");
+                });
+
+        runQueued();
+
+        ExportJobResponse job = service.getJob(submitted.getJobId(), "alice");
+        assertThat(job.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(job.getErrorMessage()).isEqualTo("lazy load failed");
+        assertThat(transactionManager.rollbacks).isEqualTo(1);
+        verify(minioService, never()).uploadFile(any(InputStream.class), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void identicalRequestJoinsRunningJob() {
+        StreamingResponseBody body = out -> out.write(CONTENT);
+        ExportJobResponse first = service.submit(ExportJobType.FS2_ALL, Map.of("year", 2025), "fs2.xlsx", "alice", () -> body);
+        ExportJobResponse second = service.submit(ExportJobType.FS2_ALL, Map.of("year", 2025), "fs2.xlsx", "bob", () -> body);
+
+        assertThat(second.getJobId()).isEqualTo(first.getJobId());
+        assertThat(queued).hasSize(1);
+        assertThat(service.getJob(first.getJobId(), "bob").getJobId()).isEqualTo(first.getJobId());
+    }
+
+    @Test
+    void jobIsOnlyVisibleToItsRequesters() {
+        ExportJobResponse submitted = service.submit(ExportJobType.FS2_ALL, Map.of(), "fs2.xlsx", "alice",
+                () -> out -> out.write(CONTENT));
+
+        assertThatThrownBy(() -> service.getJob(submitted.getJobId(), "mallory"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void fullQueueIsRejectedWith503AndRetryAfter() {
+        rejectTasks = true;
+
+        assertThatThrownBy(() -> service.submit(ExportJobType.FS2_ALL, Map.of(), "fs2.xlsx", "alice",
+                () -> out -> out.write(CONTENT)))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class, e -> {
+                    ResponseEntity<BaseResponse> response = new GlobalExceptionHandler().handleServiceUnavailable(e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+                });
+
+        // The rejected job must not block a later identical request
+        rejectTasks = false;
+        service.submit(ExportJobType.FS2_ALL, Map.of(), "fs2.xlsx", "alice", () -> out -> out.write(CONTENT));
+        assertThat(queued).hasSize(1);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    /**
+     * Transaction manager tanpa resource; cukup untuk mengaktifkan synchronization dan flag read-only
+     */
+    private static class RecordingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private int commits;
+        private int rollbacks;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // nothing to bind
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            rollbacks++;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.projection.FormasiFs2WorkView;
+import com.pcs8.orientasi.domain.entity.Fs2Document;
+import com.pcs8.orientasi.domain.entity.MstUser;
+import com.pcs8.orientasi.domain.entity.PksiDocument;
+import com.pcs8.orientasi.domain.entity.PksiDocument.DocumentStatus;
+import com.pcs8.orientasi.domain.entity.PksiTimeline;
+import com.pcs8.orientasi.domain.entity.PksiTimeline.TimelineStage;
+import com.pcs8.orientasi.repository.AplikasiSnapshotRepository;
+import com.pcs8.orientasi.repository.Fs2DocumentRepository;
+import com.pcs8.orientasi.repository.MstUserRepository;
+import com.pcs8.orientasi.repository.PksiDocumentRepository;
+import com.pcs8.orientasi.repository.TeamRepository;
+import com.pcs8.orientasi.service.MasterDataService;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.ConfigParams;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.Fs2Work;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.PksiWork;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.WorkLoad;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.YearInputs;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.YearResult;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Formasi Efektif terhadap fixture tetap di H2. Angka yang diharapkan dihitung dengan rumus
+ * implementasi lama (findAll + filter di Java): filter status/stage/tahun, tanggal USREQ/UAT
+ * terjauh, pemotongan lintas tahun, persentase OUTSOURCE, dan urutan fallback maintenance.
+ * <p>
+ * Bean {@link Fs2DocumentRepository} tidak bisa dibuat di H2 (query MONTH() lain gagal divalidasi),
+ * sehingga JPQL {@code findFormasiWorkViews} dijalankan langsung dari anotasi {@link Query}-nya.
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class FormasiEfektifEngineTest {
+
+    private static final int TAHUN = 2025;
+    /** 22 hari x 8 jam = 176 man hour per bulan; inhouse 100%, outsource 30%, manajer 80%, asman 100% */
+    private static final ConfigParams CONFIG = new ConfigParams(22, 8, 100, 30, 80, 100, 86, 50, 80, null);
+    private static final double EPSILON = 1e-9;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private MstUserRepository userRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private PksiDocumentRepository pksiDocumentRepository;
+
+    @Autowired
+    private AplikasiSnapshotRepository aplikasiSnapshotRepository;
+
+    private FormasiEfektifEngine engine;
+    private MstUser pemilik;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        Fs2DocumentRepository fs2DocumentRepository = fs2RepositoryOnH2();
+        engine = new FormasiEfektifEngine(userRepository, teamRepository, pksiDocumentRepository,
+                fs2DocumentRepository, aplikasiSnapshotRepository, mock(MasterDataService.class));
+        pemilik = em.persist(MstUser.builder().username("pemilik").build());
+    }
+
+    @Test
+    void loadInputs_filtersPksiByStatusStageAndYear() {
+        // Dua fase: USREQ terjauh Maret, UAT terjauh Agustus
+        pksi("Dua fase", DocumentStatus.DISETUJUI, "INHOUSE",
+                timeline(TimelineStage.USREQ, 1, "2025-02-10"), timeline(TimelineStage.USREQ, 2, "2025-03-05"),
+                timeline(TimelineStage.UAT, 1, "2025-06-20"), timeline(TimelineStage.UAT, 2, "2025-08-15"));
+        pksi("Lintas dari 2024", DocumentStatus.DISETUJUI, "OUTSOURCE",
+                timeline(TimelineStage.USREQ, 1, "2024-10-01"), timeline(TimelineStage.UAT, 1, "2025-04-30"));
+        pksi("SIT di hari pertama", DocumentStatus.DISETUJUI, null,
+                timeline(TimelineStage.USREQ, 1, "2024-06-01"), timeline(TimelineStage.SIT, 1, "2025-01-01"),
+                timeline(TimelineStage.UAT, 1, "2024-12-31"));
+        pksi("Belum disetujui", DocumentStatus.PENDING, "INHOUSE",
+                timeline(TimelineStage.USREQ, 1, "2025-02-01"), timeline(TimelineStage.UAT, 1, "2025-05-01"));
+        pksi("Hanya stage lain", DocumentStatus.DISETUJUI, "INHOUSE",
+                timeline(TimelineStage.USREQ, 1, "2024-02-01"), timeline(TimelineStage.CODING, 1, "2025-03-01"));
+        pksi("Go live tahun depan", DocumentStatus.DISETUJUI, "INHOUSE",
+                timeline(TimelineStage.UAT, 1, "2024-12-31"), timeline(TimelineStage.GO_LIVE, 1, "2026-01-01"));
+
+        YearInputs inputs = engine.loadInputs(TAHUN);
+
+        assertThat(inputs.pksi()).extracting(PksiWork::namaPksi)
+                .containsExactlyInAnyOrder("Dua fase", "Lintas dari 2024", "SIT di hari pertama");
+        PksiWork duaFase = pksiNamed(inputs, "Dua fase");
+        assertThat(duaFase.usreqDate()).isEqualTo(LocalDate.of(2025, 3, 5));
+        assertThat(duaFase.uatDate()).isEqualTo(LocalDate.of(2025, 8, 15));
+        PksiWork lintas = pksiNamed(inputs, "Lintas dari 2024");
+        assertThat(lintas.usreqDate()).isEqualTo(LocalDate.of(2024, 10, 1));
+        assertThat(lintas.uatDate()).isEqualTo(LocalDate.of(2025, 4, 30));
+        assertThat(inputs.aplikasiAktifCount()).isZero();
+    }
+
+    @Test
+    void loadInputs_filtersFs2ByStatusAndSubmissionYear() {
+        fs2("Diajukan Maret", "DISETUJUI", "INHOUSE", "2025-03-15", "2025-05-01");
+        fs2("Diajukan akhir tahun", "DISETUJUI", "Outsource", "2025-12-31", "2026-04-01");
+        fs2("Belum disetujui", "PENDING", "INHOUSE", "2025-04-01", "2025-06-01");
+        fs2("Diajukan 2024", "DISETUJUI", "INHOUSE", "2024-12-31", "2025-03-01");
+        fs2("Diajukan 2026", "DISETUJUI", "INHOUSE", "2026-01-01", "2026-03-01");
+
+        YearInputs inputs = engine.loadInputs(TAHUN);
+
+        assertThat(inputs.fs2()).extracting(Fs2Work::deskripsiPengubahan)
+                .containsExactlyInAnyOrder("Diajukan Maret", "Diajukan akhir tahun");
+    }
+
+    @Test
+    void compute_matchesBaselineNumbersForFixture() {
+        pksi("Dua fase", DocumentStatus.DISETUJUI, "INHOUSE",
+                timeline(TimelineStage.USREQ, 1, "2025-02-10"), timeline(TimelineStage.USREQ, 2, "2025-03-05"),
+                timeline(TimelineStage.UAT, 1, "2025-06-20"), timeline(TimelineStage.UAT, 2, "2025-08-15"));
+        pksi("Lintas dari 2024", DocumentStatus.DISETUJUI, "OUTSOURCE",
+                timeline(TimelineStage.USREQ, 1, "2024-10-01"), timeline(TimelineStage.UAT, 1, "2025-04-30"));
+        pksi("Lintas ke 2026", DocumentStatus.DISETUJUI, null,
+                timeline(TimelineStage.USREQ, 1, "2025-11-01"), timeline(TimelineStage.UAT, 1, "2026-03-01"));
+        pksi("SIT di hari pertama", DocumentStatus.DISETUJUI, "INHOUSE",
+                timeline(TimelineStage.USREQ, 1, "2024-06-01"), timeline(TimelineStage.SIT, 1, "2025-01-01"),
+                timeline(TimelineStage.UAT, 1, "2024-12-31"));
+        fs2("Diajukan Maret", "DISETUJUI", "INHOUSE", "2025-03-15", "2025-05-01");
+        fs2("Diajukan November", "DISETUJUI", "Outsource", "2025-11-20", "2026-04-01");
+        fs2("Tanpa target", "DISETUJUI", "INHOUSE", "2025-12-31", null);
+
+        YearInputs inputs = engine.loadInputs(TAHUN);
+        YearResult result = FormasiEfektifEngine.compute(inputs, CONFIG);
+
+        // Durasi (bulan) dipotong ke tahun berjalan; OUTSOURCE memakai 30%
+        assertPksiLoad(inputs, result, "Dua fase", 6, 100, 1056);
+        assertPksiLoad(inputs, result, "Lintas dari 2024", 4, 30, 211.2);
+        assertPksiLoad(inputs, result, "Lintas ke 2026", 2, 100, 352);
+        assertPksiLoad(inputs, result, "SIT di hari pertama", 0, 100, 0);
+        assertFs2Load(inputs, result, "Diajukan Maret", 3, 100, 528);
+        assertFs2Load(inputs, result, "Diajukan November", 2, 30, 105.6);
+        assertFs2Load(inputs, result, "Tanpa target", 0, 100, 0);
+
+        assertThat(result.pksi().manajer()).isCloseTo(1295.36, within(EPSILON));
+        assertThat(result.pksi().asman()).isCloseTo(1619.2, within(EPSILON));
+        assertThat(result.fs2().manajer()).isCloseTo(506.88, within(EPSILON));
+        assertThat(result.fs2().asman()).isCloseTo(633.6, within(EPSILON));
+        // Belum ada snapshot aplikasi: maintenance memakai parameter default 86
+        assertThat(result.maintenanceBaseCount()).isEqualTo(86);
+        assertThat(result.maintenance().manajer()).isCloseTo(3440, within(EPSILON));
+        assertThat(result.maintenance().asman()).isCloseTo(6880, within(EPSILON));
+        assertThat(result.total().manajer()).isCloseTo(5242.24, within(EPSILON));
+        assertThat(result.total().asman()).isCloseTo(9132.8, within(EPSILON));
+    }
+
+    @Test
+    void compute_maintenanceFallsBackFromOverrideToSnapshotToDefault() {
+        ConfigParams withOverride = new ConfigParams(22, 8, 100, 30, 80, 100, 86, 50, 80, 40);
+
+        assertThat(FormasiEfektifEngine.compute(emptyInputs(120), withOverride).maintenanceBaseCount()).isEqualTo(40);
+        assertThat(FormasiEfektifEngine.compute(emptyInputs(120), CONFIG).maintenanceBaseCount()).isEqualTo(120);
+        assertThat(FormasiEfektifEngine.compute(emptyInputs(0), CONFIG).maintenanceBaseCount()).isEqualTo(86);
+
+        YearResult snapshot = FormasiEfektifEngine.compute(emptyInputs(120), CONFIG);
+        assertThat(snapshot.maintenance().manajer()).isCloseTo(120 * 0.5 * 80, within(EPSILON));
+        assertThat(snapshot.maintenance().asman()).isCloseTo(120 * 80, within(EPSILON));
+    }
+
+    @Test
+    void compute_capsDurationToTwelveMonths() {
+        PksiWork multiYear = new PksiWork(null, "Multi tahun", null, null, "INHOUSE", null, null,
+                LocalDate.of(2023, 5, 1), LocalDate.of(2027, 2, 1));
+        YearInputs inputs = new YearInputs(TAHUN, List.of(multiYear), List.of(), List.of(), Map.of(), 0);
+
+        WorkLoad load = FormasiEfektifEngine.compute(inputs, CONFIG).pksiLoads().get(0);
+
+        assertThat(load.durationMonths()).isEqualTo(12);
+        assertThat(load.manHour()).isCloseTo(12 * 176, within(EPSILON));
+    }
+
+    /**
+     * Mock repository yang mengeksekusi JPQL asli {@code findFormasiWorkViews} lewat EntityManager
+     */
+    private Fs2DocumentRepository fs2RepositoryOnH2() throws NoSuchMethodException {
+        String jpql = Fs2DocumentRepository.class
+                .getMethod("findFormasiWorkViews", String.class, LocalDate.class, LocalDate.class)
+                .getAnnotation(Query.class)
+                .value();
+        SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+        Fs2DocumentRepository repository = mock(Fs2DocumentRepository.class);
+        when(repository.findFormasiWorkViews(anyString(), any(), any())).thenAnswer(invocation ->
+                em.getEntityManager().createQuery(jpql, Tuple.class)
+                        .setParameter("status", invocation.getArgument(0))
+                        .setParameter("startDate", invocation.getArgument(1))
+                        .setParameter("endDate", invocation.getArgument(2))
+                        .getResultStream()
+                        .map(tuple -> projectionFactory.createProjection(FormasiFs2WorkView.class, toMap(tuple)))
+                        .toList());
+        return repository;
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> values = new HashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            values.put(element.getAlias(), tuple.get(element));
+        }
+        return values;
+    }
+
+    private static YearInputs emptyInputs(long aplikasiAktifCount) {
+        return new YearInputs(TAHUN, List.of(), List.of(), List.of(), Map.of(), aplikasiAktifCount);
+    }
+
+    private static void assertPksiLoad(YearInputs inputs, YearResult result, String namaPksi, int months,
+                                       double workloadPct, double manHour) {
+        assertLoad(result.pksiLoads().get(inputs.pksi().indexOf(pksiNamed(inputs, namaPksi))),
+                months, workloadPct, manHour);
+    }
+
+    private static void assertFs2Load(YearInputs inputs, YearResult result, String deskripsi, int months,
+                                      double workloadPct, double manHour) {
+        Fs2Work fs2 = inputs.fs2().stream()
+                .filter(work -> deskripsi.equals(work.deskripsiPengubahan()))
+                .findFirst()
+                .orElseThrow();
+        assertLoad(result.fs2Loads().get(inputs.fs2().indexOf(fs2)), months, workloadPct, manHour);
+    }
+
+    private static void assertLoad(WorkLoad load, int months, double workloadPct, double manHour) {
+        assertThat(load.durationMonths()).isEqualTo(months);
+        assertThat(load.workloadPct()).isCloseTo(workloadPct, within(EPSILON));
+        assertThat(load.manHour()).isCloseTo(manHour, within(EPSILON));
+        assertThat(load.manajer()).isCloseTo(manHour * 0.8, within(EPSILON));
+        assertThat(load.asman()).isCloseTo(manHour, within(EPSILON));
+    }
+
+    private static PksiWork pksiNamed(YearInputs inputs, String namaPksi) {
+        return inputs.pksi().stream()
+                .filter(work -> namaPksi.equals(work.namaPksi()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void pksi(String namaPksi, DocumentStatus status, String inhouseOutsource, PksiTimeline... timelines) {
+        PksiDocument pksi = PksiDocument.builder()
+                .user(pemilik)
+                .namaPksi(namaPksi)
+                .status(status)
+                .inhouseOutsource(inhouseOutsource)
+                .build();
+        for (PksiTimeline timeline : timelines) {
+            timeline.setPksiDocument(pksi);
+            pksi.getTimelines().add(timeline);
+        }
+        em.persist(pksi);
+    }
+
+    private static PksiTimeline timeline(TimelineStage stage, int phase, String targetDate) {
+        return PksiTimeline.builder()
+                .stage(stage)
+                .phase(phase)
+                .targetDate(LocalDate.parse(targetDate))
+                .build();
+    }
+
+    private void fs2(String deskripsi, String status, String mekanisme, String tanggalPengajuan, String targetGoLive) {
+        em.persist(Fs2Document.builder()
+                .deskripsiPengubahan(deskripsi)
+                .status(status)
+                .mekanisme(mekanisme)
+                .tanggalPengajuan(LocalDate.parse(tanggalPengajuan))
+                .targetGoLive(targetGoLive != null ? LocalDate.parse(targetGoLive) : null)
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest;
+import com.pcs8.orientasi.domain.dto.request.FormasiEfektifSimulationRequest.ScenarioParameters;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse;
+import com.pcs8.orientasi.domain.dto.response.FormasiEfektifSimulationResponse.ScenarioResult;
+import com.pcs8.orientasi.repository.MstVariableRepository;
+import com.pcs8.orientasi.service.MasterDataService;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.ConfigParams;
+import com.pcs8.orientasi.service.impl.FormasiEfektifEngine.YearInputs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Override maint_base_count di skenario simulasi harus dipakai walaupun snapshot aplikasi aktif tersedia
+ */
+class FormasiEfektifServiceImplSimulationTest {
+
+    private static final int TAHUN = 2025;
+    private static final int MAINT_HOURS = 80;
+    private static final ConfigParams CONFIG = new ConfigParams(22, 8, 100, 30, 80, 100, 86, 50, MAINT_HOURS, null);
+
+    private FormasiEfektifEngine engine;
+    private FormasiEfektifServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        engine = mock(FormasiEfektifEngine.class);
+        service = new FormasiEfektifServiceImpl(engine, mock(MstVariableRepository.class), mock(MasterDataService.class));
+    }
+
+    @Test
+    void maintBaseCountOverride_replacesSnapshotCount() {
+        givenAplikasiAktif(120);
+
+        FormasiEfektifSimulationResponse response = simulate(ScenarioParameters.builder()
+                .name("Konsolidasi")
+                .maintBaseCount(40)
+                .build());
+
+        ScenarioResult scenario = response.getScenarios().get(0);
+        assertThat(scenario.getParameters().getMaintBaseCount()).isEqualTo(40);
+        assertThat(scenario.getSummary().getMaintenanceBaseCount()).isEqualTo(40);
+        assertThat(scenario.getSummary().getMaintenanceManHour().getAsistenManajer()).isEqualTo(40.0 * MAINT_HOURS);
+
+        ScenarioResult baseline = response.getBaseline();
+        assertThat(baseline.getParameters().getMaintBaseCount()).isEqualTo(120);
+        assertThat(baseline.getSummary().getMaintenanceManHour().getAsistenManajer()).isEqualTo(120.0 * MAINT_HOURS);
+    }
+
+    @Test
+    void withoutOverride_scenarioKeepsSnapshotCount() {
+        givenAplikasiAktif(120);
+
+        FormasiEfektifSimulationResponse response = simulate(ScenarioParameters.builder().maintHours(40).build());
+
+        ScenarioResult scenario = response.getScenarios().get(0);
+        assertThat(scenario.getParameters().getMaintBaseCount()).isEqualTo(120);
+        assertThat(scenario.getSummary().getMaintenanceManHour().getAsistenManajer()).isEqualTo(120.0 * 40);
+    }
+
+    @Test
+    void withoutSnapshot_storedDefaultIsUsed() {
+        givenAplikasiAktif(0);
+
+        FormasiEfektifSimulationResponse response = simulate(ScenarioParameters.builder().build());
+
+        assertThat(response.getScenarios().get(0).getSummary().getMaintenanceBaseCount()).isEqualTo(86);
+    }
+
+    private void givenAplikasiAktif(long count) {
+        YearInputs inputs = new YearInputs(TAHUN, List.of(), List.of(), List.of(), Map.of(), count);
+        when(engine.calculate(TAHUN)).thenReturn(FormasiEfektifEngine.compute(inputs, CONFIG));
+    }
+
+    private FormasiEfektifSimulationResponse simulate(ScenarioParameters scenario) {
+        return service.simulate(FormasiEfektifSimulationRequest.builder()
+                .tahun(TAHUN)
+                .scenarios(List.of(scenario))
+                .build());
+    }
+}
@@ -0,0 +1,176 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.config.CacheConfig;
+import com.pcs8.orientasi.domain.dto.response.LdapStatsResponse;
+import com.pcs8.orientasi.domain.dto.response.LoginResponse.UserInfo;
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.InMemoryListenerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSimpleBindResult;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.Modification;
+import com.unboundid.ldap.sdk.ModificationType;
+import com.unboundid.ldap.sdk.ResultCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Login LDAP terhadap directory in-memory (UnboundID): bind user, cache atribut, dan pencarian lewat service account
+ */
+class LdapServiceImplTest {
+
+    private static final String BASE = "dc=devojk,dc=go,dc=id";
+    private static final String PEOPLE = "ou=people," + BASE;
+    private static final String USER_DN = "uid=alice," + PEOPLE;
+    private static final String SERVICE_DN = "cn=svc-orientasi," + BASE;
+    private static final String PASSWORD = "Rahasia#1";
+    private static final String SERVICE_PASSWORD = "Svc#Secret";
+
+    private final Map<Long, String> bindDnByConnection = new ConcurrentHashMap<>();
+    private final List<String> searchBindDns = new CopyOnWriteArrayList<>();
+    private InMemoryDirectoryServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE);
+        config.setListenerConfigs(InMemoryListenerConfig.createLDAPConfig("default", 0));
+        // Atribut AD (sAMAccountName dsb.) tidak ada di schema standar
+        config.setSchema(null);
+        config.addInMemoryOperationInterceptor(new InMemoryOperationInterceptor() {
+            @Override
+            public void processSimpleBindResult(InMemoryInterceptedSimpleBindResult bind) {
+                if (bind.getResult().getResultCode() == ResultCode.SUCCESS) {
+                    bindDnByConnection.put(bind.getConnectionID(), bind.getRequest().getBindDN());
+                }
+            }
+
+            @Override
+            public void processSearchRequest(InMemoryInterceptedSearchRequest search) {
+                searchBindDns.add(bindDnByConnection.getOrDefault(search.getConnectionID(), ""));
+            }
+        });
+
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE, "objectClass: top", "objectClass: domain", "dc: devojk");
+        server.add("dn: " + PEOPLE, "objectClass: top", "objectClass: organizationalUnit", "ou: people");
+        server.add("dn: " + USER_DN,
+                "objectClass: top",
+                "objectClass: person",
+                "uid: alice",
+                "cn: Alice",
+                "sn: Wonder",
+                "sAMAccountName: alice",
+                "displayName: Alice Wonder",
+                "mail: alice@devojk.go.id",
+                "department: DPEA",
+                "title: Asisten Manajer",
+                "distinguishedName: " + USER_DN,
+                "userPassword: " + PASSWORD);
+        server.add("dn: " + SERVICE_DN, "objectClass: top", "objectClass: person",
+                "cn: svc-orientasi", "sn: svc", "userPassword: " + SERVICE_PASSWORD);
+        server.startListening();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.shutDown(true);
+    }
+
+    @Test
+    void successfulBind_returnsUserAttributes() {
+        UserInfo user = service("", "").authenticate("corp\\alice", PASSWORD);
+
+        assertThat(user.getUsername()).isEqualTo("alice");
+        assertThat(user.getDisplayName()).isEqualTo("Alice Wonder");
+        assertThat(user.getEmail()).isEqualTo("alice@devojk.go.id");
+        assertThat(user.getDepartment()).isEqualTo("DPEA");
+        assertThat(user.getTitle()).isEqualTo("Asisten Manajer");
+        assertThat(searchBindDns).containsExactly(USER_DN);
+    }
+
+    @Test
+    void wrongPassword_isRejected() {
+        LdapServiceImpl ldapService = service("", "");
+
+        assertThatThrownBy(() -> ldapService.authenticate("alice", "salah"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Invalid credentials");
+        assertThat(ldapService.getStats().getFailedCount()).isEqualTo(1);
+        assertThat(searchBindDns).isEmpty();
+    }
+
+    @Test
+    void emptyPassword_isRejectedWithoutBinding() {
+        LdapServiceImpl ldapService = service("", "");
+
+        assertThatThrownBy(() -> ldapService.authenticate("alice", ""))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(ldapService.getStats().getBindCount()).isZero();
+        assertThat(bindDnByConnection).isEmpty();
+    }
+
+    @Test
+    void changedPassword_isRejectedOnNextLogin() throws Exception {
+        LdapServiceImpl ldapService = service(SERVICE_DN, SERVICE_PASSWORD);
+        ldapService.authenticate("alice", PASSWORD);
+
+        server.modify(USER_DN, new Modification(ModificationType.REPLACE, "userPassword", "Baru#2"));
+
+        assertThatThrownBy(() -> ldapService.authenticate("alice", PASSWORD))
+                .isInstanceOf(RuntimeException.class);
+        assertThat(ldapService.authenticate("alice", "Baru#2").getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    void secondLogin_servesAttributesFromCache() {
+        LdapServiceImpl ldapService = service("", "");
+
+        ldapService.authenticate("alice", PASSWORD);
+        UserInfo cached = ldapService.authenticate("ALICE", PASSWORD);
+
+        LdapStatsResponse stats = ldapService.getStats();
+        assertThat(cached.getDisplayName()).isEqualTo("Alice Wonder");
+        assertThat(stats.getBindCount()).isEqualTo(2);
+        assertThat(stats.getSearchCount()).isEqualTo(1);
+        assertThat(stats.getAttributeCacheHitCount()).isEqualTo(1);
+        assertThat(stats.getAttributeCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void serviceAccount_searchesAttributesOnItsOwnConnection() {
+        LdapServiceImpl ldapService = service(SERVICE_DN, SERVICE_PASSWORD);
+
+        UserInfo user = ldapService.authenticate("alice", PASSWORD);
+
+        assertThat(user.getDisplayName()).isEqualTo("Alice Wonder");
+        assertThat(searchBindDns).containsExactly(SERVICE_DN);
+        assertThat(ldapService.getStats().isServiceAccountEnabled()).isTrue();
+    }
+
+    @Test
+    void serviceAccountFailure_fallsBackToUserConnection() {
+        UserInfo user = service(SERVICE_DN, "salah").authenticate("alice", PASSWORD);
+
+        assertThat(user.getUsername()).isEqualTo("alice");
+        assertThat(user.getDisplayName()).isEqualTo("Alice Wonder");
+        assertThat(user.getTitle()).isEqualTo("Asisten Manajer");
+        assertThat(searchBindDns).containsExactly(USER_DN);
+    }
+
+    private LdapServiceImpl service(String serviceUsername, String servicePassword) {
+        return new LdapServiceImpl("ldap://localhost:" + server.getListenPort(), BASE, "uid=%s," + PEOPLE,
+                serviceUsername, servicePassword, 2_000, 5_000,
+                new ConcurrentMapCacheManager(CacheConfig.LDAP_USER_ATTRIBUTES));
+    }
+}
@@ -0,0 +1,85 @@
+package com.pcs8.orientasi.service.impl;
+
+import io.minio.MinioClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Penghapusan blob yang dikaitkan dengan hasil akhir transaksi: setelah commit atau saat rollback
+ */
+class MinioServiceImplTest {
+
+    private MinioServiceImpl minioService;
+
+    @BeforeEach
+    void setUp() {
+        minioService = spy(new MinioServiceImpl(mock(MinioClient.class), "orientasi", Runnable::run));
+        doNothing().when(minioService).deleteFiles(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deleteFilesAfterCommit_withoutTransaction_deletesImmediately() {
+        minioService.deleteFilesAfterCommit(Arrays.asList("temp/a.pdf", null));
+
+        verify(minioService).deleteFiles(List.of("temp/a.pdf"));
+    }
+
+    @Test
+    void deleteFilesAfterCommit_deletesOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        minioService.deleteFilesAfterCommit(List.of("temp/a.pdf"));
+        verify(minioService, never()).deleteFiles(any());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(minioService, never()).deleteFiles(any());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(minioService).deleteFiles(List.of("temp/a.pdf"));
+    }
+
+    @Test
+    void deleteFilesOnRollback_deletesOnlyOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        minioService.deleteFilesOnRollback(List.of("fs2/doc_1.pdf", "fs2/doc_2.pdf"));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        complete(TransactionSynchronization.STATUS_UNKNOWN);
+        verify(minioService, never()).deleteFiles(any());
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        verify(minioService).deleteFiles(List.of("fs2/doc_1.pdf", "fs2/doc_2.pdf"));
+    }
+
+    @Test
+    void deleteFilesOnRollback_withoutTransaction_keepsFiles() {
+        minioService.deleteFilesOnRollback(List.of("fs2/doc_1.pdf"));
+
+        verify(minioService, never()).deleteFiles(any());
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), status);
+    }
+}
@@ -0,0 +1,155 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.config.UserContext;
+import com.pcs8.orientasi.domain.dto.response.KepProgressFullResponse;
+import com.pcs8.orientasi.domain.entity.InisiatifGroup;
+import com.pcs8.orientasi.domain.entity.KepProgress;
+import com.pcs8.orientasi.domain.entity.ProgramGroup;
+import com.pcs8.orientasi.domain.entity.Rbsi;
+import com.pcs8.orientasi.domain.entity.RbsiInisiatif;
+import com.pcs8.orientasi.domain.entity.RbsiKep;
+import com.pcs8.orientasi.domain.entity.RbsiProgram;
+import com.pcs8.orientasi.service.AuditService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Jumlah query getKepProgress harus tetap, berapa pun banyaknya program/inisiatif dan KEP.
+ * Repository di-bootstrap lazy karena sebagian query memakai fungsi khusus SQL Server yang tidak dikenal H2.
+ */
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RbsiServiceImpl.class)
+class RbsiServiceImplKepProgressTest {
+
+    private static final int TAHUN = 2025;
+
+    @Autowired
+    private RbsiServiceImpl rbsiService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AuditService auditService;
+
+    @MockitoBean
+    private UserContext userContext;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void getKepProgress_queryCountDoesNotGrowWithProgramCount() {
+        UUID singleRbsi = createRbsi("2024-2028", 1, 1);
+        UUID largeRbsi = createRbsi("2029-2033", 8, 3);
+        em.flush();
+
+        long singleCount = countStatements(singleRbsi);
+        long largeCount = countStatements(largeRbsi);
+
+        assertThat(singleCount).isPositive();
+        assertThat(largeCount).isEqualTo(singleCount);
+    }
+
+    @Test
+    void getKepProgress_assemblesFullMatrix() {
+        UUID rbsiId = createRbsi("2024-2028", 3, 2);
+        em.flush();
+        em.clear();
+
+        KepProgressFullResponse response = rbsiService.getKepProgress(rbsiId, TAHUN);
+
+        assertThat(response.getKepList()).hasSize(2);
+        assertThat(response.getProgress()).hasSize(3);
+        assertThat(response.getProgress()).allSatisfy(item -> {
+            assertThat(item.getKepProgress()).hasSize(2);
+            assertThat(item.getKepProgress()).allSatisfy(kep -> assertThat(kep.getYearlyProgress()).hasSize(1));
+        });
+    }
+
+    private long countStatements(UUID rbsiId) {
+        em.clear();
+        statistics.clear();
+        rbsiService.getKepProgress(rbsiId, TAHUN);
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * RBSI dengan {@code programCount} program (masing-masing satu inisiatif) dan {@code kepCount} KEP,
+     * setiap pasangan KEP x inisiatif punya satu baris progress
+     */
+    private UUID createRbsi(String periode, int programCount, int kepCount) {
+        Rbsi rbsi = em.persist(Rbsi.builder().periode(periode).build());
+
+        List<RbsiKep> keps = new ArrayList<>();
+        for (int k = 0; k < kepCount; k++) {
+            keps.add(em.persist(RbsiKep.builder()
+                    .rbsi(rbsi)
+                    .nomorKep("KEP-" + periode + "-" + k)
+                    .tahunPelaporan(TAHUN + k)
+                    .build()));
+        }
+
+        for (int p = 0; p < programCount; p++) {
+            ProgramGroup programGroup = em.persist(ProgramGroup.builder()
+                    .rbsi(rbsi)
+                    .namaProgram("Program " + p)
+                    .build());
+            RbsiProgram program = em.persist(RbsiProgram.builder()
+                    .programGroup(programGroup)
+                    .kep(keps.get(0))
+                    .tahun(TAHUN)
+                    .nomorProgram(String.valueOf(p + 1))
+                    .namaProgram("Program " + p)
+                    .build());
+            InisiatifGroup group = em.persist(InisiatifGroup.builder()
+                    .rbsi(rbsi)
+                    .namaInisiatif("Inisiatif " + p)
+                    .build());
+            em.persist(RbsiInisiatif.builder()
+                    .program(program)
+                    .group(group)
+                    .tahun(TAHUN)
+                    .nomorInisiatif((p + 1) + ".1")
+                    .namaInisiatif("Inisiatif " + p)
+                    .build());
+
+            for (RbsiKep kep : keps) {
+                em.persist(KepProgress.builder()
+                        .kep(kep)
+                        .inisiatifGroup(group)
+                        .tahun(TAHUN)
+                        .status(KepProgress.ProgressStatus.planned)
+                        .build());
+            }
+        }
+        return rbsi.getId();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pcs8.orientasi.service.impl;
+
+import com.pcs8.orientasi.domain.dto.response.LoginResponse.UserInfo;
+import com.pcs8.orientasi.domain.entity.MstUser;
+import com.pcs8.orientasi.repository.MstUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Profil user dari LDAP hanya ditimpa jika LDAP benar-benar mengembalikan atribut
+ */
+class UserServiceImplTest {
+
+    private MstUserRepository userRepository;
+    private UserServiceImpl service;
+    private MstUser stored;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(MstUserRepository.class);
+        service = new UserServiceImpl(userRepository);
+        stored = MstUser.builder()
+                .username("alice")
+                .fullName("Alice Wonder")
+                .email("alice@devojk.go.id")
+                .department("DPEA")
+                .title("Asisten Manajer")
+                .lastLoginAt(LocalDateTime.of(2025, 1, 1, 8, 0))
+                .build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(stored));
+        when(userRepository.findByUsernameWithRoles(anyString())).thenReturn(Optional.empty());
+        when(userRepository.save(any(MstUser.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void loginWithoutLdapAttributes_keepsStoredProfile() {
+        MstUser user = service.saveOrUpdateFromLdap(UserInfo.builder().username("alice").build());
+
+        assertThat(user.getFullName()).isEqualTo("Alice Wonder");
+        assertThat(user.getEmail()).isEqualTo("alice@devojk.go.id");
+        assertThat(user.getDepartment()).isEqualTo("DPEA");
+        assertThat(user.getTitle()).isEqualTo("Asisten Manajer");
+        assertThat(user.getLastLoginAt()).isAfter(LocalDateTime.of(2025, 1, 1, 8, 0));
+    }
+
+    @Test
+    void loginWithLdapAttributes_updatesProfile() {
+        MstUser user = service.saveOrUpdateFromLdap(UserInfo.builder()
+                .username("alice")
+                .displayName("Alice W.")
+                .email("alice.w@devojk.go.id")
+                .department("DKSP")
+                .title("Manajer")
+                .build());
+
+        assertThat(user.getFullName()).isEqualTo("Alice W.");
+        assertThat(user.getEmail()).isEqualTo("alice.w@devojk.go.id");
+        assertThat(user.getDepartment()).isEqualTo("DKSP");
+        assertThat(user.getTitle()).isEqualTo("Manajer");
+    }
+}
@@ -0,0 +1,136 @@
+package com.pcs8.orientasi.util;
+
+import com.pcs8.orientasi.domain.dto.FileDownload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response download lewat Spring MVC: Range, If-Range dan If-None-Match
+ */
+class FileDownloadResponsesTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String ETAG = "file-1-v2";
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new DownloadController()).build();
+    }
+
+    @Test
+    void fullDownload() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ETAG + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void singleRange_returnsPartialContent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download").header(HttpHeaders.RANGE, "bytes=5-9")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/" + CONTENT.length()))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void matchingIfRange_returnsPartialContent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download")
+                        .header(HttpHeaders.RANGE, "bytes=0-3")
+                        .header(HttpHeaders.IF_RANGE, "\"" + ETAG + "\""))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("0123"));
+    }
+
+    @Test
+    void mismatchedIfRange_returnsFullNewVersion() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download")
+                        .header(HttpHeaders.RANGE, "bytes=5-9")
+                        .header(HttpHeaders.IF_RANGE, "\"file-1-v1\""))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void invalidRangeHeader_returnsFullContent() throws Exception {
+        MvcResult result = mockMvc.perform(get("/download").header(HttpHeaders.RANGE, "bytes=abc")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    void unsatisfiableRange_returns416() throws Exception {
+        mockMvc.perform(get("/download").header(HttpHeaders.RANGE, "bytes=100-200"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + CONTENT.length()));
+        assertThat(opened).hasValue(0);
+    }
+
+    @Test
+    void matchingIfNoneMatch_returns304WithoutOpeningStream() throws Exception {
+        mockMvc.perform(get("/download").header(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\""))
+                .andExpect(status().isNotModified());
+        assertThat(opened).hasValue(0);
+    }
+
+    @RestController
+    class DownloadController {
+
+        @GetMapping("/download")
+        ResponseEntity<StreamingResponseBody> download(@RequestHeader HttpHeaders requestHeaders) {
+            byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+            FileDownload download = FileDownload.builder()
+                    .fileName("dokumen.pdf")
+                    .contentType("application/pdf")
+                    .contentLength((long) bytes.length)
+                    .etag(ETAG)
+                    .opener((offset, length) -> {
+                        opened.incrementAndGet();
+                        int end = length < 0 ? bytes.length : (int) (offset + length);
+                        return new ByteArrayInputStream(Arrays.copyOfRange(bytes, (int) offset, end));
+                    })
+                    .build();
+            return FileDownloadResponses.build(download, requestHeaders, false);
+        }
+    }
+}